@@ -1,9 +1,12 @@
 package com.concordia.smarthomesimulator;
 
+import com.concordia.smarthomesimulator.enums.CompressionCodec;
+import com.concordia.smarthomesimulator.enums.LogOverflowPolicy;
 import com.concordia.smarthomesimulator.enums.Permissions;
 
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
 
 public class Constants {
     // Permissions Request Codes
@@ -83,6 +86,11 @@ public class Constants {
     public static final double HVAC_TEMPERATURE_CHANGE = 0.1;
     public static final double OUTSIDE_TEMPERATURE_CHANGE = 0.05;
     public static final long TEMPERATURE_SAVE_INTERVAL = 5000;
+    public static final long LAYOUT_SAVE_DELAY = 1000;
+    public static final int LAYOUT_EVENTS_COMPACTION_THRESHOLD = 64;
+    public static final int LAYOUT_LOADER_THREADS = 4;
+    public static final CompressionCodec LAYOUT_COMPRESSION = CompressionCodec.DEFLATE_FAST;
+    public static final long USERBASE_SAVE_DELAY = 2000;
 
     // Default House Layout Values
     public static final String DEFAULT_NAME_OUTDOORS = "Backyard";
@@ -95,8 +103,26 @@ public class Constants {
 
     // Directories
     public static final String DIRECTORY_NAME_LAYOUTS = "layouts";
+    public static final String DIRECTORY_NAME_LAYOUT_EVENTS = "layout_events";
+    public static final String DIRECTORY_NAME_LOGS = "logs";
+    public static final String DIRECTORY_NAME_EXPORTS = "exports";
+
+    // Activity Logs
+    public static final int LOG_QUEUE_CAPACITY = 1024;
+    public static final int LOG_BATCH_SIZE = 64;
+    public static final long LOG_FLUSH_INTERVAL = 5;
+    public static final LogOverflowPolicy LOG_OVERFLOW_POLICY = LogOverflowPolicy.COALESCE;
+    public static final long LOG_SEGMENT_MAX_SIZE = 1024 * 1024;
+    public static final long LOG_SEGMENT_MAX_AGE = TimeUnit.DAYS.toMillis(1);
+    public static final long LOG_RETENTION_MAX_SIZE = 50 * 1024 * 1024;
+    public static final long LOG_RETENTION_MAX_AGE = TimeUnit.DAYS.toMillis(7);
+    public static final CompressionCodec LOG_COMPRESSION = CompressionCodec.DEFLATE_BEST;
+    public static final int LOG_PAGE_SIZE = 50;
+    public static final int LOG_EXPORT_PAGE_SIZE = 500;
+    public static final String LOG_EXPORT_FILE_NAME = "logs";
 
     // Clock Values
+    public static final int SIMULATION_MAX_CATCH_UP_TICKS = 10;
     public static final float[] AVAILABLE_TIME_FACTORS = { 0.1f, 0.5f, 1f, 1.5f, 2f, 5f, 10f, 50f, 100f, 200f };
     public static final String DATE_FORMAT = "MMMM d yyyy";
     public static final String TIME_FORMAT = "h:mm a";
@@ -320,7 +320,7 @@ public class EditDashboardController extends AppCompatActivity {
                             if (model.hasSelectedSelf(preferences, usernameToDelete)){
                                 Toast.makeText(context, R.string.delete_logged_user_warning, Toast.LENGTH_LONG).show();
                             } else {
-                                model.deleteUser(context, model.getUserbase(), usernameToDelete);
+                                model.deleteUser(model.getUserbase(), usernameToDelete);
 
                                 String message = getString(R.string.delete_logged_user_success);
                                 LogsHelper.add(context, new LogEntry("Edit Simulation Context", message, LogImportance.IMPORTANT));
@@ -357,7 +357,7 @@ public class EditDashboardController extends AppCompatActivity {
                 }
                 Permissions newPermissions = Permissions.fromString(newPermissionsSpinner.getSelectedItem().toString());
                 // Add the new User
-                int feedbackResource = model.addUser(context, model.getUserbase(), new User(newUsername, newPassword, newPermissions));
+                int feedbackResource = model.addUser(model.getUserbase(), new User(newUsername, newPassword, newPermissions));
                 String message = getString(feedbackResource);
                 LogsHelper.add(context, new LogEntry("Edit Simulation Context", message, LogImportance.IMPORTANT));
                 Toast.makeText(context, message, Toast.LENGTH_LONG).show();
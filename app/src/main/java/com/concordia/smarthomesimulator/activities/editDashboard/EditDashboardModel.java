@@ -8,16 +8,15 @@ import com.concordia.smarthomesimulator.R;
 import com.concordia.smarthomesimulator.dataModels.*;
 import com.concordia.smarthomesimulator.enums.Action;
 import com.concordia.smarthomesimulator.enums.Permissions;
+import com.concordia.smarthomesimulator.events.AwayModeEnabledEvent;
 import com.concordia.smarthomesimulator.exceptions.PermissionNotFoundException;
 import com.concordia.smarthomesimulator.helpers.LayoutsHelper;
+import com.concordia.smarthomesimulator.helpers.SimulationHelper;
 import com.concordia.smarthomesimulator.helpers.UserbaseHelper;
-import com.concordia.smarthomesimulator.interfaces.IDevice;
-import com.concordia.smarthomesimulator.interfaces.IInhabitant;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.ArrayList;
 import java.util.Map;
 
 import static com.concordia.smarthomesimulator.Constants.*;
@@ -40,7 +39,8 @@ public class EditDashboardModel extends ViewModel{
      * @param context the context
      */
     public void initializeModel(Context context) {
-        userbase = UserbaseHelper.loadUserbase(context);
+        // Edit a copy, the changes are only saved once the user is allowed to make them
+        userbase = UserbaseHelper.loadUserbaseCopy(context);
     }
 
     /**
@@ -225,14 +225,14 @@ public class EditDashboardModel extends ViewModel{
 
     /**
      * Adds the user to the userbase if no similar users exists in the userbase.
+     * The userbase is saved with the rest of the changes.
      *
-     * @param context   the context
      * @param userbase  the userbase the user is added to
      * @param userToAdd the user to add
      * @return the int code for the feedback message
      */
-    public int addUser(Context context, Userbase userbase, User userToAdd){
-        if (userbase.addUserIfPossible(context, userToAdd)){
+    public int addUser(Userbase userbase, User userToAdd){
+        if (userbase.addUserIfPossible(userToAdd)){
             return R.string.create_user_successful;
         }
         return R.string.create_user_failed;
@@ -240,13 +240,13 @@ public class EditDashboardModel extends ViewModel{
 
     /**
      * Delete user.
+     * The userbase is saved with the rest of the changes.
      *
-     * @param context          the context
      * @param userbase         the userbase
      * @param usernameToDelete the username to delete
      */
-    public void deleteUser(Context context, Userbase userbase, String usernameToDelete){
-        userbase.deleteUserFromUsernameIfPossible(context, usernameToDelete);
+    public void deleteUser(Userbase userbase, String usernameToDelete){
+        userbase.deleteUserFromUsernameIfPossible(usernameToDelete);
     }
 
     /**
@@ -305,10 +305,10 @@ public class EditDashboardModel extends ViewModel{
         newUser.setUserPreferences(oldUser.getUserPreferences());
 
         // Delete the Old User and transfer the preferences
-        userbase.deleteUserFromUsernameIfPossible(context, oldUser.getUsername());
+        userbase.deleteUserFromUsernameIfPossible(oldUser.getUsername());
 
         // Add the New User
-        addUser(context, userbase, newUser);
+        addUser(userbase, newUser);
 
         // If the edited user is the current user modify it
         if (preferences.getString(PREFERENCES_KEY_USERNAME, "").equalsIgnoreCase(oldUser.getUsername())) {
@@ -369,6 +369,8 @@ public class EditDashboardModel extends ViewModel{
             Toast.makeText(context, context.getString(R.string.invalid_seasons_range), Toast.LENGTH_SHORT).show();
         }
         editor.apply();
+        // The timers read the parameters from the simulation context
+        SimulationHelper.updateSimulationContext(preferences);
     }
 
     /**
@@ -391,8 +393,7 @@ public class EditDashboardModel extends ViewModel{
     public boolean isHouseEmpty(Context context) {
         HouseLayout houseLayout = LayoutsHelper.getSelectedLayout(context);
         if (houseLayout != null) {
-            ArrayList<IInhabitant> inhabitants = houseLayout.getAllInhabitants();
-            return inhabitants.stream().allMatch(IInhabitant::isIntruder);
+            return houseLayout.getInhabitantCount() == houseLayout.getIntruderCount();
         }
         else{
             return false;
@@ -420,27 +421,8 @@ public class EditDashboardModel extends ViewModel{
 
     private void setLayoutInAwayMode(Context context) {
         HouseLayout layout = LayoutsHelper.getSelectedLayout(context);
-        for (Room room : layout.getRooms()) {
-            if (room.getDevices().size() == 0) {
-                continue;
-            }
-            for (IDevice device : room.getDevices()) {
-                switch (device.getDeviceType()) {
-                    case DOOR:
-                        Door door = (Door) device;
-                        if (door.isAutoLock()) {
-                            door.setIsLocked(true);
-                        }
-                        break;
-                    case WINDOW:
-                        Window window = (Window) device;
-                        window.setIsOpened(false);
-                }
-            }
-        }
-        if (!LayoutsHelper.isLayoutNameDefault(layout)) {
-            LayoutsHelper.saveHouseLayout(context, layout);
-        }
+        // Lock the doors and close the windows, only that change is saved
+        LayoutsHelper.applyEvent(context, layout, new AwayModeEnabledEvent());
         LayoutsHelper.updateSelectedLayout(context, layout);
     }
 }
\ No newline at end of file
@@ -18,6 +18,7 @@ import androidx.lifecycle.ViewModelProvider;
 import com.concordia.smarthomesimulator.R;
 import com.concordia.smarthomesimulator.listAdapters.HouseLayoutAdapter;
 import com.concordia.smarthomesimulator.dataModels.HouseLayout;
+import com.concordia.smarthomesimulator.dataModels.LayoutSummary;
 import com.concordia.smarthomesimulator.helpers.LayoutsHelper;
 import com.concordia.smarthomesimulator.views.customMapSettingsView.CustomMapSettingsView;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
@@ -110,9 +111,9 @@ public class EditMapController extends AppCompatActivity {
                 @Override
                 public void onClick(DialogInterface dialog, int which) {
                     // If the previously selected layout is now deleted, select a default layout
-                    ArrayList<HouseLayout> layouts = LayoutsHelper.listSavedLayouts(context);
-                    if (layouts.stream().noneMatch(layout -> layout.equals(backupLayout))) {
-                        editMapModel.setHouseLayout(layouts.get(0));
+                    ArrayList<LayoutSummary> layouts = LayoutsHelper.listLayoutSummaries(context);
+                    if (layouts.stream().noneMatch(layout -> layout.getName().equalsIgnoreCase(backupLayout.getName()))) {
+                        editMapModel.setHouseLayout(LayoutsHelper.loadHouseLayout(context, layouts.get(0)));
                         LayoutsHelper.updateSelectedLayout(context, editMapModel.getHouseLayout());
                     } else {
                         editMapModel.setHouseLayout(backupLayout);
@@ -174,7 +175,7 @@ public class EditMapController extends AppCompatActivity {
         dialog.show();
     }
 
-    private void setupDeleteDialog(int position, ArrayList<HouseLayout> layouts, HouseLayoutAdapter adapter) {
+    private void setupDeleteDialog(int position, ArrayList<LayoutSummary> layouts, HouseLayoutAdapter adapter) {
         final AlertDialog dialog = new AlertDialog.Builder(context)
                 .setTitle(String.format(getString(R.string.title_alert_delete_layout), layouts.get(position).getName()))
                 .setMessage(getString(R.string.text_alert_delete_layout))
@@ -204,14 +205,19 @@ public class EditMapController extends AppCompatActivity {
         final View customView = inflater.inflate(R.layout.alert_open_house_layout, null, false);
         final ListView layoutList = customView.findViewById(R.id.alert_open_layout_list);
 
-        ArrayList<HouseLayout> layouts = LayoutsHelper.listSavedLayouts(context);
+        ArrayList<LayoutSummary> layouts = LayoutsHelper.listLayoutSummaries(context);
         HouseLayoutAdapter adapter = new HouseLayoutAdapter(context, 0, layouts);
         layoutList.setAdapter(adapter);
 
         layoutList.setOnItemClickListener(new AdapterView.OnItemClickListener() {
             @Override
             public void onItemClick(AdapterView<?> parent, View view, int position, long id) {
-                editMapModel.setHouseLayout(layouts.get(position));
+                // Only the selected layout is loaded
+                HouseLayout selected = LayoutsHelper.loadHouseLayout(context, layouts.get(position));
+                if (selected == null) {
+                    return;
+                }
+                editMapModel.setHouseLayout(selected);
                 for (int i = 0; i < parent.getChildCount(); i ++) {
                     View child = parent.getChildAt(i);
                     child.setBackgroundColor(context.getColor(android.R.color.transparent));
@@ -7,6 +7,7 @@ import androidx.lifecycle.ViewModel;
 import com.concordia.smarthomesimulator.R;
 import com.concordia.smarthomesimulator.dataModels.*;
 import com.concordia.smarthomesimulator.helpers.LayoutsHelper;
+import com.concordia.smarthomesimulator.helpers.SimulationHelper;
 
 import java.util.ArrayList;
 
@@ -66,7 +67,7 @@ public class EditMapModel  extends ViewModel {
      * @param layouts  the list of currently available layouts
      * @param position the position of the layout to remove
      */
-    public void deleteHouseLayout(Context context, ArrayList<HouseLayout> layouts, int position) {
+    public void deleteHouseLayout(Context context, ArrayList<LayoutSummary> layouts, int position) {
         LayoutsHelper.removeHouseLayout(context, layouts.get(position));
         layouts.remove(position);
     }
@@ -79,5 +80,6 @@ public class EditMapModel  extends ViewModel {
         SharedPreferences.Editor editor = preferences.edit();
         editor.putBoolean(PREFERENCES_KEY_AWAY_MODE, false);
         editor.apply();
+        SimulationHelper.updateSimulationContext(preferences);
     }
 }
@@ -52,6 +52,8 @@ public class MainController extends AppCompatActivity {
         sharedPreferences = context.getSharedPreferences(context.getPackageName(),Context.MODE_PRIVATE);
 
         updateSharedPreferences();
+        // Load the selected layout while the views are created
+        LayoutsHelper.preloadSelectedLayout(context);
 
         // Setup the toolbar
         Toolbar toolbar = findViewById(R.id.toolbar);
@@ -73,6 +75,15 @@ public class MainController extends AppCompatActivity {
         NavigationUI.setupWithNavController(navigationView, navController);
     }
 
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // Make sure the queued logs, layout and userbase saves reach the disk if the app is killed in the background
+        LogsHelper.flush();
+        LayoutsHelper.flushSaves();
+        UserbaseHelper.flush();
+    }
+
     @Override
     public boolean onCreateOptionsMenu(Menu menu) {
         // Inflate the menu; this adds items to the action bar if it is present.
@@ -99,6 +110,7 @@ public class MainController extends AppCompatActivity {
                 saveAndClearUser();
                 // Redirect to the Login Screen
                 LogsHelper.add(context, new LogEntry("Exit","User logged out.", LogImportance.IMPORTANT));
+                LogsHelper.flush();
                 MainController.this.startActivity(new Intent(MainController.this, LoginController.class));
                 finish();
                 return true;
@@ -151,16 +163,20 @@ public class MainController extends AppCompatActivity {
         // If he's not add him back
         if (user == null) {
             user = new User(username, password, permissions);
-            userbase.addUserIfPossible(context, user);
+            userbase.addUserIfPossible(user);
+        }
+        // The userbase is shared with the simulation thread, only change it while holding its lock
+        synchronized (userbase) {
+            // Save the permission configuration
+            userbase.getPermissionsConfiguration().receiveFromContext(sharedPreferences);
+            // Update the user preferences
+            user.getUserPreferences().receiveFromContext(sharedPreferences);
+            userbase.deleteUserFromUsernameIfPossible(user.getUsername());
+            userbase.addUserIfPossible(user);
         }
-        // Save the permission configuration
-        userbase.getPermissionsConfiguration().receiveFromContext(sharedPreferences);
-        // Update the user preferences
-        user.getUserPreferences().receiveFromContext(sharedPreferences);
-        userbase.deleteUserFromUsernameIfPossible(context, user.getUsername());
-        userbase.addUserIfPossible(context, user);
         // Save Userbase and Remove Logged In User Information
         UserbaseHelper.saveUserbase(context, userbase);
+        UserbaseHelper.flush();
         UserPreferences.clear(sharedPreferences);
         // Reset the selected layout
         LayoutSingleton.getInstance().setLayout(null);
@@ -8,12 +8,23 @@ import java.io.Serializable;
 
 public class InhabitantAdapter implements IInhabitant, Serializable {
 
+    private static final long serialVersionUID = -937604744255139121L;
+
     private final User user;
 
     public InhabitantAdapter(User user) {
         this.user = user;
     }
 
+    /**
+     * Gets user.
+     *
+     * @return the user
+     */
+    public User getUser() {
+        return user;
+    }
+
     @Override
     public String getName() {
         return user.getUsername();
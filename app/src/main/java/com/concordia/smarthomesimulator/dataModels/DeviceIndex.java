@@ -0,0 +1,167 @@
+package com.concordia.smarthomesimulator.dataModels;
+
+import com.concordia.smarthomesimulator.interfaces.IDevice;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Index of the devices of a layout by id, with the room each device is in.
+ * The ids are kept in an open addressing table of longs, so a lookup does not allocate anything.
+ */
+final class DeviceIndex {
+
+    private static final AtomicLong lastId = new AtomicLong();
+
+    private long[] ids;
+    private Room[] rooms;
+    private IDevice[] devices;
+    private int size;
+
+    /**
+     * Instantiates a new Device index.
+     */
+    DeviceIndex() {
+        allocate(16);
+    }
+
+    /**
+     * Gets a new device id, ids are never 0.
+     *
+     * @return the id
+     */
+    static long nextId() {
+        return lastId.incrementAndGet();
+    }
+
+    /**
+     * Gets a device.
+     *
+     * @param id the device id
+     * @return the device, or null if there is none
+     */
+    IDevice getDevice(long id) {
+        int slot = find(id);
+        return slot < 0 ? null : devices[slot];
+    }
+
+    /**
+     * Gets the room a device is in.
+     *
+     * @param id the device id
+     * @return the room, or null if there is no such device
+     */
+    Room getRoom(long id) {
+        int slot = find(id);
+        return slot < 0 ? null : rooms[slot];
+    }
+
+    /**
+     * Gets size.
+     *
+     * @return the number of devices
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds a device, or moves it to another room.
+     *
+     * @param room   the room
+     * @param device the device
+     */
+    void put(Room room, IDevice device) {
+        if ((size + 1) * 2 > ids.length) {
+            resize(ids.length * 2);
+        }
+        int mask = ids.length - 1;
+        int slot = hash(device.getId()) & mask;
+        while (ids[slot] != 0 && ids[slot] != device.getId()) {
+            slot = (slot + 1) & mask;
+        }
+        if (ids[slot] == 0) {
+            ids[slot] = device.getId();
+            size++;
+        }
+        rooms[slot] = room;
+        devices[slot] = device;
+    }
+
+    /**
+     * Removes a device from a room.
+     *
+     * @param room   the room
+     * @param device the device
+     */
+    void remove(Room room, IDevice device) {
+        int gap = find(device.getId());
+        // The device may have been added to another room, or replaced by a copy, since
+        if (gap < 0 || rooms[gap] != room || devices[gap] != device) {
+            return;
+        }
+        // Move back the following entries that can not be found past the gap anymore
+        int mask = ids.length - 1;
+        for (int next = (gap + 1) & mask; ids[next] != 0; next = (next + 1) & mask) {
+            int ideal = hash(ids[next]) & mask;
+            if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+                ids[gap] = ids[next];
+                rooms[gap] = rooms[next];
+                devices[gap] = devices[next];
+                gap = next;
+            }
+        }
+        ids[gap] = 0;
+        rooms[gap] = null;
+        devices[gap] = null;
+        size--;
+    }
+
+    /**
+     * Removes all devices.
+     */
+    void clear() {
+        Arrays.fill(ids, 0);
+        Arrays.fill(rooms, null);
+        Arrays.fill(devices, null);
+        size = 0;
+    }
+
+    private int find(long id) {
+        if (id == 0) {
+            return -1;
+        }
+        int mask = ids.length - 1;
+        for (int slot = hash(id) & mask; ids[slot] != 0; slot = (slot + 1) & mask) {
+            if (ids[slot] == id) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void resize(int capacity) {
+        long[] oldIds = ids;
+        Room[] oldRooms = rooms;
+        IDevice[] oldDevices = devices;
+        allocate(capacity);
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldIds[i] != 0) {
+                put(oldRooms[i], oldDevices[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        ids = new long[capacity];
+        rooms = new Room[capacity];
+        devices = new IDevice[capacity];
+        size = 0;
+    }
+
+    private static int hash(long id) {
+        // The ids are sequential, spread them over the table
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32);
+    }
+}
@@ -5,14 +5,20 @@ import com.concordia.smarthomesimulator.R;
 import com.concordia.smarthomesimulator.enums.DeviceType;
 import com.concordia.smarthomesimulator.interfaces.IDevice;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 
 public class Door implements IDevice, Serializable {
 
+    private static final long serialVersionUID = 5925459488428938946L;
+
     private boolean isOpened = false;
     private boolean isLocked = false;
     private boolean autoLock = false;
     private Geometry geometry;
+    private transient long version;
+    private transient long id = DeviceIndex.nextId();
 
     public Door() {
         geometry = new Geometry();
@@ -39,7 +45,10 @@ public class Door implements IDevice, Serializable {
 
     @Override
     public void setIsOpened(boolean isOpened) {
-        this.isOpened = isOpened;
+        if (this.isOpened != isOpened) {
+            this.isOpened = isOpened;
+            version++;
+        }
     }
 
     @Override
@@ -50,6 +59,17 @@ public class Door implements IDevice, Serializable {
     @Override
     public void setGeometry(Geometry geometry) {
         this.geometry = geometry;
+        version++;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public long getId() {
+        return id;
     }
 
     @Override
@@ -64,6 +84,7 @@ public class Door implements IDevice, Serializable {
         copy.setIsOpened(isOpened);
         copy.setIsLocked(isLocked);
         copy.setAutoLock(autoLock);
+        copy.id = id;
         return copy;
     }
 
@@ -98,7 +119,10 @@ public class Door implements IDevice, Serializable {
      * @param isLocked the is locked
      */
     public void setIsLocked(boolean isLocked) {
-        this.isLocked = isLocked;
+        if (this.isLocked != isLocked) {
+            this.isLocked = isLocked;
+            version++;
+        }
     }
 
     /**
@@ -116,6 +140,15 @@ public class Door implements IDevice, Serializable {
      * @param autoLock the auto lock
      */
     public void setAutoLock(boolean autoLock) {
-        this.autoLock = autoLock;
+        if (this.autoLock != autoLock) {
+            this.autoLock = autoLock;
+            version++;
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        // The id is not serialized
+        id = DeviceIndex.nextId();
     }
 }
@@ -0,0 +1,79 @@
+package com.concordia.smarthomesimulator.dataModels;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a fast-forward of the simulation.
+ */
+public final class FastForwardResult {
+
+    private static final double NANOSECONDS_PER_SECOND = 1e9;
+
+    private final LocalDateTime dateTime;
+    private final long ticks;
+    private final long elapsedNanos;
+    private final long ventilationChanges;
+
+    /**
+     * Instantiates a new Fast forward result.
+     *
+     * @param dateTime           the simulation time reached
+     * @param ticks              the number of thermal ticks simulated
+     * @param elapsedNanos       the wall-clock time it took, in nanoseconds
+     * @param ventilationChanges the number of times the HVAC of a room started heating or cooling
+     */
+    public FastForwardResult(LocalDateTime dateTime, long ticks, long elapsedNanos, long ventilationChanges) {
+        this.dateTime = dateTime;
+        this.ticks = ticks;
+        this.elapsedNanos = elapsedNanos;
+        this.ventilationChanges = ventilationChanges;
+    }
+
+    /**
+     * Gets the simulation time reached.
+     *
+     * @return the date time
+     */
+    public LocalDateTime getDateTime() {
+        return dateTime;
+    }
+
+    /**
+     * Gets the number of thermal ticks simulated.
+     *
+     * @return the ticks
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Gets the wall-clock time it took, in nanoseconds.
+     *
+     * @return the elapsed nanos
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the number of times the HVAC of a room started heating or cooling.
+     *
+     * @return the ventilation changes
+     */
+    public long getVentilationChanges() {
+        return ventilationChanges;
+    }
+
+    /**
+     * Gets the achieved number of ticks per second.
+     *
+     * @return the ticks per second
+     */
+    public double getTicksPerSecond() {
+        if (elapsedNanos <= 0) {
+            return ticks;
+        }
+        return ticks * NANOSECONDS_PER_SECOND / elapsedNanos;
+    }
+}
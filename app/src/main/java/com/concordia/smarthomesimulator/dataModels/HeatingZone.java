@@ -2,20 +2,30 @@ package com.concordia.smarthomesimulator.dataModels;
 
 import androidx.annotation.NonNull;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Observable;
+import java.util.Observer;
 
 import static com.concordia.smarthomesimulator.Constants.*;
 
 /**
  * Heating zone, used to set the desired temperature of a group of rooms.
  * The rooms don't have to be adjacent to be part of the same zone.
+ * The zone is an observer to its rooms, to keep finding them by name when they are renamed.
+ * The zone notifies its observers with the room when a room is added or removed, and with its previous name when renamed.
  */
-public class HeatingZone implements Serializable {
+public class HeatingZone extends Observable implements Observer, Serializable {
+
+    private static final long serialVersionUID = 1690799322209247645L;
 
     private double desiredTemp;
     private String name;
     private final ArrayList<Room> rooms;
+    private transient long version;
+    private transient NameIndex<Room> roomIndex;
 
     /**
      * Instantiates a new Heating zone.
@@ -27,6 +37,15 @@ public class HeatingZone implements Serializable {
         this.desiredTemp = DEFAULT_TEMPERATURE;
 
         rooms = new ArrayList<>();
+        roomIndex = new NameIndex<>(Room::getName);
+    }
+
+    @Override
+    public void update(Observable observable, Object arg) {
+        // A room was renamed, the argument is its previous name
+        if (observable instanceof Room && arg instanceof String) {
+            roomIndex.rename((Room) observable, (String) arg, rooms);
+        }
     }
 
     @NonNull
@@ -57,7 +76,21 @@ public class HeatingZone implements Serializable {
      * @param temperature the temperature
      */
     public void setDesiredTemperature(double temperature) {
-        this.desiredTemp = temperature;
+        if (desiredTemp != temperature) {
+            desiredTemp = temperature;
+            version++;
+        }
+    }
+
+    /**
+     * Gets version.
+     * The version increases every time the zone, or the list of its rooms, changes.
+     * Changes made to the rooms themselves are tracked by the rooms.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
     }
 
     /**
@@ -75,7 +108,11 @@ public class HeatingZone implements Serializable {
      * @param name the name
      */
     public void setName(String name) {
+        String previous = this.name;
         this.name = name;
+        version++;
+        setChanged();
+        notifyObservers(previous);
     }
 
     /**
@@ -85,10 +122,7 @@ public class HeatingZone implements Serializable {
      * @return the room
      */
     public Room getRoom(String name) {
-        return rooms.stream()
-            .filter(room -> room.getName().equalsIgnoreCase(name))
-            .findFirst()
-            .orElse(null);
+        return roomIndex.get(name);
     }
 
     /**
@@ -110,7 +144,12 @@ public class HeatingZone implements Serializable {
         if (room.getName().equalsIgnoreCase(DEFAULT_NAME_OUTDOORS)) {
             return;
         }
+        room.addObserver(this);
         rooms.add(room);
+        roomIndex.add(room);
+        version++;
+        setChanged();
+        notifyObservers(room);
     }
 
     /**
@@ -130,9 +169,24 @@ public class HeatingZone implements Serializable {
      * @param name the name
      */
     public void removeRoom(String name) {
-        rooms.stream()
-            .filter(room -> room.getName().equalsIgnoreCase(name))
-            .findFirst()
-            .ifPresent(rooms::remove);
+        Room room = roomIndex.get(name);
+        if (room != null) {
+            room.deleteObserver(this);
+            rooms.remove(room);
+            roomIndex.remove(room, rooms);
+            setChanged();
+            notifyObservers(room);
+        }
+        version++;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        // The index and the observers are not serialized
+        roomIndex = new NameIndex<>(Room::getName);
+        for (Room room : rooms) {
+            room.addObserver(this);
+            roomIndex.add(room);
+        }
     }
 }
@@ -5,23 +5,39 @@ import androidx.annotation.Nullable;
 import com.concordia.smarthomesimulator.adapters.InhabitantAdapter;
 import com.concordia.smarthomesimulator.enums.Orientation;
 import com.concordia.smarthomesimulator.enums.Permissions;
+import com.concordia.smarthomesimulator.interfaces.IDevice;
 import com.concordia.smarthomesimulator.interfaces.IInhabitant;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static com.concordia.smarthomesimulator.Constants.*;
 
 /**
- * The house layout is an observer to the rooms inside of it.
+ * The house layout is an observer to the rooms and heating zones inside of it.
+ * Rooms and zones are indexed by name, the indexes follow them when they are renamed.
+ * The layout also knows the zone of every room, a room is always in a single zone,
+ * and the room of every device, by device id, and of every inhabitant, by name.
  */
 public class HouseLayout extends Observable implements Observer, Serializable {
 
+    private static final long serialVersionUID = 3227786980624123109L;
+
     private String name;
     private final String currentUser;
     private ArrayList<Room> rooms;
     private ArrayList<HeatingZone> heatingZones;
+    private transient long version;
+    private transient long roomsVersion;
+    private transient NameIndex<Room> roomIndex;
+    private transient NameIndex<HeatingZone> zoneIndex;
+    private transient HashMap<String, HeatingZone> roomZones;
+    private transient DeviceIndex deviceIndex;
+    private transient HashMap<String, Room> inhabitantRooms;
+    private transient int inhabitantCount;
+    private transient int intruderCount;
 
     /**
      * Instantiates a new House layout.
@@ -33,6 +49,11 @@ public class HouseLayout extends Observable implements Observer, Serializable {
         this.currentUser = currentUser;
 
         rooms = new ArrayList<>();
+        roomIndex = new NameIndex<>(Room::getName);
+        zoneIndex = new NameIndex<>(HeatingZone::getName);
+        roomZones = new HashMap<>();
+        deviceIndex = new DeviceIndex();
+        inhabitantRooms = new HashMap<>();
         // Create the default rooms (Outdoors and Garage)
         Room garage = new Room(DEFAULT_NAME_GARAGE, new Geometry(-1, -1));
         Room outdoors = new Room(DEFAULT_NAME_OUTDOORS, new Geometry(-1, -1));
@@ -54,9 +75,15 @@ public class HouseLayout extends Observable implements Observer, Serializable {
         outdoors.addDevice(outdoorsLight);
         // Add the rooms to the layout
         rooms.addAll(new ArrayList<>(Arrays.asList(garage, outdoors)));
+        for (Room room : rooms) {
+            room.addObserver(this);
+            roomIndex.add(room);
+            indexDevices(room);
+            indexInhabitants(room);
+        }
 
         // Add the current user if he's not already in a room
-        boolean userExists = currentUser != null && rooms.stream().anyMatch(room -> room.hasInhabitant(currentUser));
+        boolean userExists = currentUser != null && getInhabitantRoom(currentUser) != null;
         if (!userExists) {
             // Create a dummy user to make the adapter work...
             User user = new User(currentUser, "", Permissions.STRANGER);
@@ -68,10 +95,42 @@ public class HouseLayout extends Observable implements Observer, Serializable {
         HeatingZone zone = new HeatingZone(DEFAULT_NAME_HEATING_ZONE);
         zone.addRooms(rooms);
         heatingZones.add(zone);
+        index(zone);
     }
 
     @Override
     public void update(Observable observable, Object arg) {
+        // A room or a zone was renamed, the argument is its previous name
+        if (arg instanceof String) {
+            if (observable instanceof Room) {
+                Room room = (Room) observable;
+                roomIndex.rename(room, (String) arg, rooms);
+                HeatingZone zone = roomZones.remove(NameIndex.fold((String) arg));
+                if (zone != null) {
+                    roomZones.put(NameIndex.fold(room.getName()), zone);
+                }
+            } else if (observable instanceof HeatingZone) {
+                zoneIndex.rename((HeatingZone) observable, (String) arg, heatingZones);
+            }
+        }
+        // A room was added to or removed from a zone
+        if (observable instanceof HeatingZone && arg instanceof Room) {
+            updateRoomZone((HeatingZone) observable, (Room) arg);
+        }
+        // An inhabitant entered or left a room
+        if (observable instanceof Room && arg instanceof IInhabitant) {
+            updateInhabitantRoom((Room) observable, (IInhabitant) arg);
+        }
+        // A device was added to or removed from a room
+        if (observable instanceof Room && arg instanceof IDevice) {
+            Room room = (Room) observable;
+            IDevice device = (IDevice) arg;
+            if (room.hasDevice(device)) {
+                deviceIndex.put(room, device);
+            } else {
+                deviceIndex.remove(room, device);
+            }
+        }
         notifyObservers();
     }
 
@@ -107,8 +166,23 @@ public class HouseLayout extends Observable implements Observer, Serializable {
      * To be used only by the clone operation!
      */
     public void clearForClone() {
+        for (Room room : rooms) {
+            room.deleteObserver(this);
+        }
+        for (HeatingZone zone : heatingZones) {
+            zone.deleteObserver(this);
+        }
         heatingZones = new ArrayList<>();
         rooms = new ArrayList<>();
+        roomIndex.rebuild(rooms);
+        zoneIndex.rebuild(heatingZones);
+        roomZones.clear();
+        deviceIndex.clear();
+        inhabitantRooms.clear();
+        inhabitantCount = 0;
+        intruderCount = 0;
+        version++;
+        roomsVersion++;
     }
 
     /**
@@ -120,16 +194,22 @@ public class HouseLayout extends Observable implements Observer, Serializable {
         return name;
     }
 
+    /**
+     * Gets the user the layout was created for.
+     *
+     * @return the current user
+     */
+    public String getCurrentUser() {
+        return currentUser;
+    }
+
     /**
      * Gets a specific room based on its name.
      *
      * @return the room
      */
     public Room getRoom(String name) {
-        return rooms.stream()
-            .filter(room -> room.getName().equalsIgnoreCase(name))
-            .findFirst()
-            .orElse(null);
+        return roomIndex.get(name);
     }
 
     /**
@@ -148,10 +228,37 @@ public class HouseLayout extends Observable implements Observer, Serializable {
      * @return the heating zone
      */
     public HeatingZone getHeatingZone(String name) {
-        return heatingZones.stream()
-            .filter(zone -> zone.getName().equalsIgnoreCase(name))
-            .findFirst()
-            .orElse(null);
+        return zoneIndex.get(name);
+    }
+
+    /**
+     * Gets the heating zone a room is in.
+     *
+     * @param roomName the room name
+     * @return the heating zone, or null if the room is not in a zone
+     */
+    public HeatingZone getHeatingZoneOfRoom(String roomName) {
+        return roomName == null ? null : roomZones.get(NameIndex.fold(roomName));
+    }
+
+    /**
+     * Gets a device based on its id.
+     *
+     * @param id the device id
+     * @return the device, or null if it is not in the layout
+     */
+    public IDevice getDevice(long id) {
+        return deviceIndex.getDevice(id);
+    }
+
+    /**
+     * Gets the room a device is in.
+     *
+     * @param id the device id
+     * @return the room, or null if the device is not in the layout
+     */
+    public Room getDeviceRoom(long id) {
+        return deviceIndex.getRoom(id);
     }
 
     /**
@@ -163,13 +270,69 @@ public class HouseLayout extends Observable implements Observer, Serializable {
         return heatingZones;
     }
 
+    /**
+     * Gets version.
+     * The version increases every time the layout, or anything inside of it, changes.
+     * It is used to skip saving a layout that did not change since it was last saved.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        long total = version;
+        for (Room room : rooms) {
+            total += room.getVersion();
+        }
+        for (HeatingZone zone : heatingZones) {
+            total += zone.getVersion();
+        }
+        return total;
+    }
+
+    /**
+     * Gets the version of the list of rooms.
+     * It increases every time a room is added or removed, but not when a room itself changes.
+     *
+     * @return the rooms version
+     */
+    public long getRoomsVersion() {
+        return roomsVersion;
+    }
+
     /**
      * Is intruder detected boolean.
      *
      * @return the boolean
      */
     public boolean isIntruderDetected() {
-        return getAllInhabitants().stream().anyMatch(IInhabitant::isIntruder);
+        return intruderCount > 0;
+    }
+
+    /**
+     * Gets the number of intruders in the layout.
+     *
+     * @return the intruder count
+     */
+    public int getIntruderCount() {
+        return intruderCount;
+    }
+
+    /**
+     * Gets the number of inhabitants in the layout, intruders included.
+     *
+     * @return the inhabitant count
+     */
+    public int getInhabitantCount() {
+        return inhabitantCount;
+    }
+
+    /**
+     * Gets the room an inhabitant is in.
+     *
+     * @param name the name of the inhabitant
+     * @return the room, or null if the inhabitant is not in the layout
+     */
+    public Room getInhabitantRoom(String name) {
+        return name == null ? null : inhabitantRooms.get(NameIndex.fold(name));
     }
 
     /**
@@ -179,6 +342,7 @@ public class HouseLayout extends Observable implements Observer, Serializable {
      */
     public void setName(String name) {
         this.name = name;
+        version++;
     }
 
     /**
@@ -189,10 +353,15 @@ public class HouseLayout extends Observable implements Observer, Serializable {
     public void addRoom(Room room) {
         room.addObserver(this);
         rooms.add(room);
-        heatingZones.stream()
-            .filter(zone -> zone.getName().equalsIgnoreCase(DEFAULT_NAME_HEATING_ZONE))
-            .findFirst()
-            .ifPresent(heatingZone -> heatingZone.addRoom(room));
+        roomIndex.add(room);
+        indexDevices(room);
+        indexInhabitants(room);
+        version++;
+        roomsVersion++;
+        HeatingZone defaultZone = zoneIndex.get(DEFAULT_NAME_HEATING_ZONE);
+        if (defaultZone != null) {
+            defaultZone.addRoom(room);
+        }
         update(room, null);
     }
 
@@ -213,17 +382,28 @@ public class HouseLayout extends Observable implements Observer, Serializable {
      * @param name the name
      */
     public void removeRoom(String name) {
-        for(Room room : rooms) {
-           if (room.getName().equals(name)) {
-               room.deleteObserver(this);
-               heatingZones.stream()
-                   .filter(zone -> zone.getRoom(name) != null)
-                   .findFirst()
-                   .ifPresent(heatingZone -> heatingZone.removeRoom(name));
-               rooms.remove(room);
-               return;
-           }
+        Room room = roomIndex.get(name);
+        if (room == null) {
+            return;
+        }
+        room.deleteObserver(this);
+        HeatingZone zone = getHeatingZoneOfRoom(room.getName());
+        if (zone != null) {
+            zone.removeRoom(room.getName());
+        }
+        rooms.remove(room);
+        roomIndex.remove(room, rooms);
+        for (int i = 0; i < room.getDeviceCount(); i++) {
+            deviceIndex.remove(room, room.getDevice(i));
         }
+        for (IInhabitant inhabitant : room.getInhabitants()) {
+            inhabitantRooms.remove(NameIndex.fold(inhabitant.getName()), room);
+        }
+        inhabitantCount -= room.getInhabitants().size();
+        intruderCount -= room.getIntruderCount();
+        // Keep the changes of the removed room so the version never goes back
+        version += room.getVersion() + 1;
+        roomsVersion++;
     }
 
     /**
@@ -233,6 +413,8 @@ public class HouseLayout extends Observable implements Observer, Serializable {
      */
     public void addHeatingZone(HeatingZone heatingZone) {
         heatingZones.add(heatingZone);
+        index(heatingZone);
+        version++;
     }
 
     /**
@@ -241,32 +423,57 @@ public class HouseLayout extends Observable implements Observer, Serializable {
      * @param heatingZones the rooms
      */
     public void addHeatingZones(ArrayList<HeatingZone> heatingZones) {
-        this.heatingZones.addAll(heatingZones);
+        for (HeatingZone heatingZone : heatingZones) {
+            addHeatingZone(heatingZone);
+        }
     }
 
     /**
-     * Remove a room.
+     * Remove a heating zone.
      *
      * @param name the name
      */
     public void removeHeatingZone(String name) {
-        HeatingZone heatingZone = heatingZones.stream()
-            .filter(zone -> zone.getName().equalsIgnoreCase(name))
-            .findFirst()
-            .orElse(null);
+        HeatingZone heatingZone = zoneIndex.get(name);
         // Do not allow removing the default zone
         if (heatingZone == null || heatingZone.getName().equalsIgnoreCase(DEFAULT_NAME_HEATING_ZONE)) {
             return;
         }
         // Transfer all rooms inside the zone to the default zone
-        if (heatingZone.getRooms().size() > 0) {
-            heatingZones.stream()
-                .filter(zone -> zone.getName().equalsIgnoreCase(DEFAULT_NAME_HEATING_ZONE))
-                .findFirst()
-                .ifPresent(zone -> zone.addRooms(heatingZone.getRooms()));
+        HeatingZone defaultZone = zoneIndex.get(DEFAULT_NAME_HEATING_ZONE);
+        if (heatingZone.getRooms().size() > 0 && defaultZone != null) {
+            // Adding the rooms to the default zone takes them out of this one
+            defaultZone.addRooms(new ArrayList<>(heatingZone.getRooms()));
+        }
+        for (Room room : heatingZone.getRooms()) {
+            roomZones.remove(NameIndex.fold(room.getName()), heatingZone);
         }
         // Remove the actual zone
+        heatingZone.deleteObserver(this);
         heatingZones.remove(heatingZone);
+        zoneIndex.remove(heatingZone, heatingZones);
+        version += heatingZone.getVersion() + 1;
+    }
+
+    /**
+     * Move a room to another heating zone, it is taken out of the zone it was in.
+     *
+     * @param roomName the room name
+     * @param zoneName the heating zone name
+     * @return whether the room was moved
+     */
+    public boolean moveRoom(String roomName, String zoneName) {
+        Room room = roomIndex.get(roomName);
+        HeatingZone zone = zoneIndex.get(zoneName);
+        if (room == null || zone == null || zone == getHeatingZoneOfRoom(roomName)) {
+            return false;
+        }
+        // Outdoors should not be in a heating zone
+        if (room.getName().equalsIgnoreCase(DEFAULT_NAME_OUTDOORS)) {
+            return false;
+        }
+        zone.addRoom(room);
+        return true;
     }
 
     /**
@@ -275,14 +482,78 @@ public class HouseLayout extends Observable implements Observer, Serializable {
      * @return the all inhabitants
      */
     public ArrayList<IInhabitant> getAllInhabitants() {
-        List<ArrayList<IInhabitant>> inhabitantLists = rooms
-                .stream()
-                .map(Room::getInhabitants)
-                .collect(Collectors.toList());
-        ArrayList<IInhabitant> inhabitants = new ArrayList<>();
-        for (ArrayList<IInhabitant> list : inhabitantLists) {
-            inhabitants.addAll(list);
+        ArrayList<IInhabitant> inhabitants = new ArrayList<>(inhabitantCount);
+        for (Room room : rooms) {
+            inhabitants.addAll(room.getInhabitants());
         }
         return inhabitants;
     }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        // The indexes and the observers are not serialized
+        roomIndex = new NameIndex<>(Room::getName);
+        zoneIndex = new NameIndex<>(HeatingZone::getName);
+        roomZones = new HashMap<>();
+        deviceIndex = new DeviceIndex();
+        inhabitantRooms = new HashMap<>();
+        for (Room room : rooms) {
+            room.addObserver(this);
+            roomIndex.add(room);
+            indexDevices(room);
+            indexInhabitants(room);
+        }
+        for (HeatingZone zone : heatingZones) {
+            index(zone);
+        }
+    }
+
+    private void indexDevices(Room room) {
+        for (int i = 0; i < room.getDeviceCount(); i++) {
+            deviceIndex.put(room, room.getDevice(i));
+        }
+    }
+
+    private void indexInhabitants(Room room) {
+        for (IInhabitant inhabitant : room.getInhabitants()) {
+            inhabitantRooms.put(NameIndex.fold(inhabitant.getName()), room);
+        }
+        inhabitantCount += room.getInhabitants().size();
+        intruderCount += room.getIntruderCount();
+    }
+
+    private void updateInhabitantRoom(Room room, IInhabitant inhabitant) {
+        String key = NameIndex.fold(inhabitant.getName());
+        int change = room.getInhabitants().contains(inhabitant) ? 1 : -1;
+        if (change > 0) {
+            inhabitantRooms.put(key, room);
+        } else {
+            inhabitantRooms.remove(key, room);
+        }
+        inhabitantCount += change;
+        if (inhabitant.isIntruder()) {
+            intruderCount += change;
+        }
+    }
+
+    private void index(HeatingZone zone) {
+        zone.addObserver(this);
+        zoneIndex.add(zone);
+        for (Room room : new ArrayList<>(zone.getRooms())) {
+            updateRoomZone(zone, room);
+        }
+    }
+
+    private void updateRoomZone(HeatingZone zone, Room room) {
+        String key = NameIndex.fold(room.getName());
+        if (zone.getRoom(room.getName()) == null) {
+            roomZones.remove(key, zone);
+            return;
+        }
+        // A room is in a single zone, take it out of the one it was in
+        HeatingZone previous = roomZones.put(key, zone);
+        if (previous != null && previous != zone) {
+            previous.removeRoom(room.getName());
+        }
+    }
 }
@@ -0,0 +1,122 @@
+package com.concordia.smarthomesimulator.dataModels;
+
+/**
+ * What the layout catalog knows about a house layout, enough to list it without loading it.
+ */
+public class LayoutSummary {
+
+    private final String name;
+    private final String fileName;
+    private final int roomCount;
+    private final int deviceCount;
+    private final long lastModified;
+    private final long size;
+    private final long checksum;
+
+    /**
+     * Instantiates a new Layout summary.
+     *
+     * @param name         the name of the layout
+     * @param fileName     the name of the layout file, null if the layout is not saved in a file
+     * @param roomCount    the number of rooms
+     * @param deviceCount  the number of devices
+     * @param lastModified the last modification time of the file
+     * @param size         the size of the file
+     * @param checksum     the CRC32 of the file
+     */
+    public LayoutSummary(String name, String fileName, int roomCount, int deviceCount, long lastModified, long size, long checksum) {
+        this.name = name;
+        this.fileName = fileName;
+        this.roomCount = roomCount;
+        this.deviceCount = deviceCount;
+        this.lastModified = lastModified;
+        this.size = size;
+        this.checksum = checksum;
+    }
+
+    /**
+     * Instantiates a new Layout summary of a layout not saved in a file.
+     *
+     * @param layout the layout
+     */
+    public LayoutSummary(HouseLayout layout) {
+        this(layout.getName(), null, layout.getRooms().size(), countDevices(layout), 0, 0, 0);
+    }
+
+    /**
+     * Count the devices of a layout.
+     *
+     * @param layout the layout
+     * @return the device count
+     */
+    public static int countDevices(HouseLayout layout) {
+        int deviceCount = 0;
+        for (Room room : layout.getRooms()) {
+            deviceCount += room.getDeviceCount();
+        }
+        return deviceCount;
+    }
+
+    /**
+     * Gets name.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the name of the layout file.
+     *
+     * @return the file name, null if the layout is not saved in a file
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Gets room count.
+     *
+     * @return the room count
+     */
+    public int getRoomCount() {
+        return roomCount;
+    }
+
+    /**
+     * Gets device count.
+     *
+     * @return the device count
+     */
+    public int getDeviceCount() {
+        return deviceCount;
+    }
+
+    /**
+     * Gets the last modification time of the file.
+     *
+     * @return the last modified
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Gets the size of the file.
+     *
+     * @return the size
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the CRC32 of the file.
+     *
+     * @return the checksum
+     */
+    public long getChecksum() {
+        return checksum;
+    }
+}
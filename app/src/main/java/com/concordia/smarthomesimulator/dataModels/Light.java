@@ -5,13 +5,19 @@ import com.concordia.smarthomesimulator.R;
 import com.concordia.smarthomesimulator.enums.DeviceType;
 import com.concordia.smarthomesimulator.interfaces.IDevice;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 
 public class Light implements IDevice, Serializable {
 
+    private static final long serialVersionUID = -4602066092045628959L;
+
     private boolean isOpened = false;
     private boolean autoOn = false;
     private Geometry geometry;
+    private transient long version;
+    private transient long id = DeviceIndex.nextId();
 
     public Light() {
         geometry = new Geometry();
@@ -38,7 +44,10 @@ public class Light implements IDevice, Serializable {
 
     @Override
     public void setIsOpened(boolean isOpened) {
-        this.isOpened = isOpened;
+        if (this.isOpened != isOpened) {
+            this.isOpened = isOpened;
+            version++;
+        }
     }
 
     @Override
@@ -49,6 +58,17 @@ public class Light implements IDevice, Serializable {
     @Override
     public void setGeometry(Geometry geometry) {
         this.geometry = geometry;
+        version++;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public long getId() {
+        return id;
     }
 
     @Override
@@ -62,6 +82,7 @@ public class Light implements IDevice, Serializable {
         Light copy = new Light(geometry);
         copy.setIsOpened(isOpened);
         copy.setAutoOn(autoOn);
+        copy.id = id;
         return copy;
     }
 
@@ -87,6 +108,15 @@ public class Light implements IDevice, Serializable {
      * @param autoOn the auto on
      */
     public void setAutoOn(boolean autoOn) {
-        this.autoOn = autoOn;
+        if (this.autoOn != autoOn) {
+            this.autoOn = autoOn;
+            version++;
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        // The id is not serialized
+        id = DeviceIndex.nextId();
     }
 }
\ No newline at end of file
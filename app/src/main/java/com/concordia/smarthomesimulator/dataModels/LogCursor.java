@@ -0,0 +1,42 @@
+package com.concordia.smarthomesimulator.dataModels;
+
+import java.io.Serializable;
+
+/**
+ * Position in the activity logs where the next page of a query starts.
+ * Entries written after the cursor was created do not move it.
+ */
+public class LogCursor implements Serializable {
+
+    private final long segment;
+    private final long position;
+
+    /**
+     * Instantiates a new Log cursor.
+     *
+     * @param segment  the sequence number of the segment
+     * @param position the offset in the segment right after the next entry to read
+     */
+    public LogCursor(long segment, long position) {
+        this.segment = segment;
+        this.position = position;
+    }
+
+    /**
+     * Gets segment.
+     *
+     * @return the segment
+     */
+    public long getSegment() {
+        return segment;
+    }
+
+    /**
+     * Gets position.
+     *
+     * @return the position
+     */
+    public long getPosition() {
+        return position;
+    }
+}
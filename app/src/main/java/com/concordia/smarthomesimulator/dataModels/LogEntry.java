@@ -6,6 +6,9 @@ import java.io.Serializable;
 import java.util.Date;
 
 public class LogEntry implements Serializable {
+    // Pinned so the logs saved before the constructors changed can still be read
+    private static final long serialVersionUID = -818505271232598515L;
+
     private final String component;
     private final String message;
     private final LogImportance importance;
@@ -25,6 +28,21 @@ public class LogEntry implements Serializable {
         this.dateTime = new Date();
     }
 
+    /**
+     * Instantiates a new Log entry that was created at a given time.
+     *
+     * @param component  the component
+     * @param message    the message
+     * @param importance the importance
+     * @param dateTime   the date time
+     */
+    public LogEntry(String component, String message, LogImportance importance, Date dateTime) {
+        this.component = component;
+        this.message = message;
+        this.importance = importance;
+        this.dateTime = dateTime;
+    }
+
     /**
      * Gets component.
      *
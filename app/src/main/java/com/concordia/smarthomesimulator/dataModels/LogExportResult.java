@@ -0,0 +1,87 @@
+package com.concordia.smarthomesimulator.dataModels;
+
+import java.util.Locale;
+
+/**
+ * Outcome of an export of the activity logs.
+ */
+public final class LogExportResult {
+
+    private static final double NANOSECONDS_PER_SECOND = 1e9;
+    private static final double BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    private final long entryCount;
+    private final long size;
+    private final long elapsedNanos;
+
+    /**
+     * Instantiates a new Log export result.
+     *
+     * @param entryCount   the number of entries exported
+     * @param size         the number of bytes written
+     * @param elapsedNanos the wall-clock time it took, in nanoseconds
+     */
+    public LogExportResult(long entryCount, long size, long elapsedNanos) {
+        this.entryCount = entryCount;
+        this.size = size;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the number of entries exported.
+     *
+     * @return the entry count
+     */
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Gets the number of bytes written.
+     *
+     * @return the size
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the wall-clock time it took, in nanoseconds.
+     *
+     * @return the elapsed nanos
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the achieved number of entries exported per second.
+     *
+     * @return the entries per second
+     */
+    public double getEntriesPerSecond() {
+        if (elapsedNanos <= 0) {
+            return entryCount;
+        }
+        return entryCount * NANOSECONDS_PER_SECOND / elapsedNanos;
+    }
+
+    /**
+     * Gets the achieved number of megabytes written per second.
+     *
+     * @return the megabytes per second
+     */
+    public double getMegabytesPerSecond() {
+        double megabytes = size / BYTES_PER_MEGABYTE;
+        if (elapsedNanos <= 0) {
+            return megabytes;
+        }
+        return megabytes * NANOSECONDS_PER_SECOND / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%d entries, %d bytes in %.1f ms (%.0f entries/s, %.1f MB/s)", entryCount, size,
+            elapsedNanos / 1e6, getEntriesPerSecond(), getMegabytesPerSecond());
+    }
+}
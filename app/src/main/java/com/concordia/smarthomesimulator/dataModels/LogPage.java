@@ -0,0 +1,51 @@
+package com.concordia.smarthomesimulator.dataModels;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of activity logs returned by a query, newest entry first.
+ */
+public class LogPage {
+
+    private final List<LogEntry> entries;
+    private final LogCursor next;
+
+    /**
+     * Instantiates a new Log page.
+     *
+     * @param entries the entries
+     * @param next    the cursor of the next page, null if this is the last page
+     */
+    public LogPage(List<LogEntry> entries, LogCursor next) {
+        this.entries = Collections.unmodifiableList(entries);
+        this.next = next;
+    }
+
+    /**
+     * Gets entries.
+     *
+     * @return the entries
+     */
+    public List<LogEntry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Gets the cursor of the next page.
+     *
+     * @return the next cursor, null if this is the last page
+     */
+    public LogCursor getNext() {
+        return next;
+    }
+
+    /**
+     * Determines if there is a page after this one.
+     *
+     * @return true or false
+     */
+    public boolean hasNext() {
+        return next != null;
+    }
+}
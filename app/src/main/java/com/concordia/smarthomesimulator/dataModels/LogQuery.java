@@ -0,0 +1,149 @@
+package com.concordia.smarthomesimulator.dataModels;
+
+import com.concordia.smarthomesimulator.enums.LogImportance;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Filter and page size used to read the activity logs.
+ * A filter that is not set matches every entry.
+ */
+public class LogQuery {
+
+    private final int pageSize;
+    private final Set<String> components;
+    private final EnumSet<LogImportance> importances;
+    private final Date from;
+    private final Date to;
+
+    /**
+     * Instantiates a new Log query that matches every entry.
+     *
+     * @param pageSize the maximum number of entries per page
+     */
+    public LogQuery(int pageSize) {
+        this(pageSize, null, null, null, null);
+    }
+
+    private LogQuery(int pageSize, Set<String> components, EnumSet<LogImportance> importances, Date from, Date to) {
+        this.pageSize = Math.max(1, pageSize);
+        this.components = components;
+        this.importances = importances;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Copy of this query that only matches some components.
+     *
+     * @param components the components
+     * @return the query
+     */
+    public LogQuery withComponents(String... components) {
+        Set<String> set = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(components)));
+        return new LogQuery(pageSize, set, importances, from, to);
+    }
+
+    /**
+     * Copy of this query that only matches some importances.
+     *
+     * @param importances the importances
+     * @return the query
+     */
+    public LogQuery withImportances(LogImportance... importances) {
+        EnumSet<LogImportance> set = EnumSet.noneOf(LogImportance.class);
+        set.addAll(Arrays.asList(importances));
+        return new LogQuery(pageSize, components, set, from, to);
+    }
+
+    /**
+     * Copy of this query that only matches a time range.
+     *
+     * @param from the oldest time matched, null for no limit
+     * @param to   the time right after the newest time matched, null for no limit
+     * @return the query
+     */
+    public LogQuery withTimeRange(Date from, Date to) {
+        return new LogQuery(pageSize, components, importances, from, to);
+    }
+
+    /**
+     * Gets page size.
+     *
+     * @return the page size
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Gets components, null when every component matches.
+     *
+     * @return the components
+     */
+    public Set<String> getComponents() {
+        return components;
+    }
+
+    /**
+     * Gets importances, null when every importance matches.
+     *
+     * @return the importances
+     */
+    public Set<LogImportance> getImportances() {
+        return importances == null ? null : Collections.unmodifiableSet(importances);
+    }
+
+    /**
+     * Gets the oldest time matched.
+     *
+     * @return the from time
+     */
+    public Date getFrom() {
+        return from;
+    }
+
+    /**
+     * Gets the time right after the newest time matched.
+     *
+     * @return the to time
+     */
+    public Date getTo() {
+        return to;
+    }
+
+    /**
+     * Determines if an entry matches every filter of the query.
+     *
+     * @param entry the entry
+     * @return true or false
+     */
+    public boolean matches(LogEntry entry) {
+        if (components != null && !components.contains(entry.getComponent())) {
+            return false;
+        }
+        if (importances != null && !importances.contains(entry.getImportance())) {
+            return false;
+        }
+        return overlaps(entry.getDateTime().getTime(), entry.getDateTime().getTime());
+    }
+
+    /**
+     * Determines if a time range contains at least one time matched by the query.
+     *
+     * @param minTime the oldest time of the range
+     * @param maxTime the newest time of the range
+     * @return true or false
+     */
+    public boolean overlaps(long minTime, long maxTime) {
+        if (from != null && maxTime < from.getTime()) {
+            return false;
+        }
+        return to == null || minTime < to.getTime();
+    }
+}
@@ -0,0 +1,51 @@
+package com.concordia.smarthomesimulator.dataModels;
+
+/**
+ * A log entry with everything the Logs screen needs to display it already computed.
+ */
+public class LogRow {
+
+    private final LogEntry entry;
+    private final String dateTimeText;
+    private final int color;
+
+    /**
+     * Instantiates a new Log row.
+     *
+     * @param entry        the entry
+     * @param dateTimeText the formatted date time
+     * @param color        the text color of the importance
+     */
+    public LogRow(LogEntry entry, String dateTimeText, int color) {
+        this.entry = entry;
+        this.dateTimeText = dateTimeText;
+        this.color = color;
+    }
+
+    /**
+     * Gets entry.
+     *
+     * @return the entry
+     */
+    public LogEntry getEntry() {
+        return entry;
+    }
+
+    /**
+     * Gets the formatted date time.
+     *
+     * @return the date time text
+     */
+    public String getDateTimeText() {
+        return dateTimeText;
+    }
+
+    /**
+     * Gets color.
+     *
+     * @return the color
+     */
+    public int getColor() {
+        return color;
+    }
+}
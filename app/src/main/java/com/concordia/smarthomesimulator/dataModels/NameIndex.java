@@ -0,0 +1,128 @@
+package com.concordia.smarthomesimulator.dataModels;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Case insensitive index of named items, used to find rooms and heating zones without going through every one of them.
+ * When several items have the same name, the index keeps the first one of the list, like a linear search would.
+ *
+ * @param <T> the type of the items
+ */
+final class NameIndex<T> {
+
+    private final HashMap<String, T> items;
+    private final Function<T, String> naming;
+
+    /**
+     * Instantiates a new Name index.
+     *
+     * @param naming gets the name of an item
+     */
+    NameIndex(Function<T, String> naming) {
+        this.items = new HashMap<>();
+        this.naming = naming;
+    }
+
+    /**
+     * Case folds a name the same way equalsIgnoreCase compares it.
+     *
+     * @param name the name
+     * @return the folded name
+     */
+    static String fold(String name) {
+        if (name == null) {
+            return null;
+        }
+        char[] chars = name.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Gets the first item with a name.
+     *
+     * @param name the name, in any case
+     * @return the item, or null if there is none
+     */
+    T get(String name) {
+        return name == null ? null : items.get(fold(name));
+    }
+
+    /**
+     * Adds an item at the end of the list.
+     *
+     * @param item the item
+     */
+    void add(T item) {
+        items.putIfAbsent(fold(naming.apply(item)), item);
+    }
+
+    /**
+     * Removes an item, after it was removed from the list.
+     *
+     * @param item the item
+     * @param list the remaining items
+     */
+    void remove(T item, List<T> list) {
+        unlink(item, fold(naming.apply(item)), list);
+    }
+
+    /**
+     * Moves an item to its new name, after it was renamed.
+     *
+     * @param item     the item
+     * @param previous the name before it was renamed
+     * @param list     the items
+     */
+    void rename(T item, String previous, List<T> list) {
+        unlink(item, fold(previous), list);
+        String key = fold(naming.apply(item));
+        T existing = items.get(key);
+        // The new name may already be taken, keep whichever item comes first in the list
+        if (existing == null || existing != item && isBefore(item, existing, list)) {
+            items.put(key, item);
+        }
+    }
+
+    /**
+     * Indexes all the items again.
+     *
+     * @param list the items
+     */
+    void rebuild(List<T> list) {
+        items.clear();
+        for (T item : list) {
+            add(item);
+        }
+    }
+
+    private static <T> boolean isBefore(T item, T other, List<T> list) {
+        for (T candidate : list) {
+            if (candidate == item) {
+                return true;
+            }
+            if (candidate == other) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private void unlink(T item, String key, List<T> list) {
+        if (key == null || items.get(key) != item) {
+            return;
+        }
+        items.remove(key);
+        // Another item may have the same name
+        for (T other : list) {
+            if (other != item && key.equals(fold(naming.apply(other)))) {
+                items.put(key, other);
+                return;
+            }
+        }
+    }
+}
@@ -6,6 +6,8 @@ import com.concordia.smarthomesimulator.enums.VentilationStatus;
 import com.concordia.smarthomesimulator.interfaces.IDevice;
 import com.concordia.smarthomesimulator.interfaces.IInhabitant;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Observable;
@@ -14,6 +16,8 @@ import static com.concordia.smarthomesimulator.Constants.DEFAULT_TEMPERATURE;
 
 public class Room extends Observable implements Serializable {
 
+    private static final long serialVersionUID = 4384113398162325944L;
+
     private double desiredTemp;
     private double desiredAwayTemp;
     private double actualTemp;
@@ -26,6 +30,9 @@ public class Room extends Observable implements Serializable {
     private final ArrayList<Door> doors;
     private final ArrayList<Light> lights;
     private final ArrayList<Window> windows;
+    private transient long version;
+    private transient NameIndex<IInhabitant> inhabitantIndex;
+    private transient int intruderCount;
 
     /**
      * Instantiates a new Room.
@@ -42,6 +49,7 @@ public class Room extends Observable implements Serializable {
         this.desiredAwayTemp = DEFAULT_TEMPERATURE;
         this.actualTemp = DEFAULT_TEMPERATURE;
         this.inhabitants = new ArrayList<>();
+        this.inhabitantIndex = new NameIndex<>(IInhabitant::getName);
         this.windows = new ArrayList<>();
         this.doors = new ArrayList<>();
         this.lights = new ArrayList<>();
@@ -61,9 +69,9 @@ public class Room extends Observable implements Serializable {
     @Override
     public Object clone() {
         Room newRoom = new Room(name, geometry);
-        ArrayList<IDevice> newDevices = new ArrayList<>();
-        for (IDevice device : getDevices()) {
-            newDevices.add(device.clone());
+        ArrayList<IDevice> newDevices = new ArrayList<>(getDeviceCount());
+        for (int i = 0; i < getDeviceCount(); i++) {
+            newDevices.add(getDevice(i).clone());
         }
         ArrayList<IInhabitant> newInhabitants = new ArrayList<>();
         for (IInhabitant inhabitant : inhabitants) {
@@ -124,19 +132,84 @@ public class Room extends Observable implements Serializable {
         return inhabitants;
     }
 
+    /**
+     * Gets an inhabitant based on its name.
+     *
+     * @param name the name of the inhabitant
+     * @return the inhabitant, or null if it is not in this room
+     */
+    public IInhabitant getInhabitant(String name) {
+        return inhabitantIndex.get(name);
+    }
+
+    /**
+     * Gets the number of intruders in the room.
+     *
+     * @return the intruder count
+     */
+    public int getIntruderCount() {
+        return intruderCount;
+    }
+
     /**
      * Gets devices.
+     * A new list is built on every call, loops that run often should use getDeviceCount and getDevice instead.
      *
      * @return the devices
      */
     public ArrayList<IDevice> getDevices() {
-        ArrayList<IDevice> devices = new ArrayList<>();
+        ArrayList<IDevice> devices = new ArrayList<>(getDeviceCount());
         devices.addAll(doors);
         devices.addAll(lights);
         devices.addAll(windows);
         return devices;
     }
 
+    /**
+     * Gets the number of devices.
+     *
+     * @return the device count
+     */
+    public int getDeviceCount() {
+        return doors.size() + lights.size() + windows.size();
+    }
+
+    /**
+     * Gets a device without building the list of devices.
+     * The devices are in the same order as in getDevices: doors, lights, then windows.
+     *
+     * @param index the index, from 0 to getDeviceCount() - 1
+     * @return the device
+     */
+    public IDevice getDevice(int index) {
+        if (index < doors.size()) {
+            return doors.get(index);
+        }
+        index -= doors.size();
+        if (index < lights.size()) {
+            return lights.get(index);
+        }
+        return windows.get(index - lights.size());
+    }
+
+    /**
+     * Gets all doors
+     *
+     * @return the doors
+     */
+    public ArrayList<Door> getDoors() {
+        return doors;
+    }
+
+    /**
+     * Gets all lights
+     *
+     * @return the lights
+     */
+    public ArrayList<Light> getLights() {
+        return lights;
+    }
+
     /**
      * Gets all windows
      *
@@ -146,6 +219,26 @@ public class Room extends Observable implements Serializable {
         return windows;
     }
 
+    /**
+     * Gets version.
+     * The version increases every time the room, or one of its devices, changes.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        long total = version;
+        for (Door door : doors) {
+            total += door.getVersion();
+        }
+        for (Light light : lights) {
+            total += light.getVersion();
+        }
+        for (Window window : windows) {
+            total += window.getVersion();
+        }
+        return total;
+    }
+
     /**
      * Gets desired temperature.
      *
@@ -155,6 +248,33 @@ public class Room extends Observable implements Serializable {
         return awayTemperature ? desiredAwayTemp : desiredTemp;
     }
 
+    /**
+     * Gets desired home temperature.
+     *
+     * @return the desired home temperature
+     */
+    public double getDesiredHomeTemperature() {
+        return desiredTemp;
+    }
+
+    /**
+     * Gets desired away temperature.
+     *
+     * @return the desired away temperature
+     */
+    public double getDesiredAwayTemperature() {
+        return desiredAwayTemp;
+    }
+
+    /**
+     * Is the away temperature used.
+     *
+     * @return true if the away temperature is the desired temperature
+     */
+    public boolean isAwayTemperature() {
+        return awayTemperature;
+    }
+
     /**
      * Gets actual temperature.
      *
@@ -180,16 +300,21 @@ public class Room extends Observable implements Serializable {
      * @return whether the inhabitant is in this room or not.
      */
     public boolean hasInhabitant(String name) {
-        return this.inhabitants.stream().anyMatch(inhabitant -> inhabitant.getName().equalsIgnoreCase(name));
+        return inhabitantIndex.get(name) != null;
     }
 
     /**
      * Sets name.
+     * The observers are given the previous name, so the layout and the zone can find the room under its new name.
      *
      * @param name the name
      */
     public void setName(String name) {
+        String previous = this.name;
         this.name = name;
+        version++;
+        setChanged();
+        notifyObservers(previous);
     }
 
     /**
@@ -199,6 +324,7 @@ public class Room extends Observable implements Serializable {
      */
     public void setGeometry(Geometry geometry) {
         this.geometry = geometry;
+        version++;
     }
 
     /**
@@ -207,7 +333,10 @@ public class Room extends Observable implements Serializable {
      * @param ventilationStatus the ventilation status
      */
     public void setVentilationStatus(VentilationStatus ventilationStatus) {
-        this.ventilationStatus = ventilationStatus;
+        if (this.ventilationStatus != ventilationStatus) {
+            this.ventilationStatus = ventilationStatus;
+            version++;
+        }
     }
 
     /**
@@ -216,7 +345,10 @@ public class Room extends Observable implements Serializable {
      * @param temperature the temperature
      */
     public void setDesiredTemperature(double temperature) {
-        desiredTemp = temperature;
+        if (desiredTemp != temperature) {
+            desiredTemp = temperature;
+            version++;
+        }
     }
 
     /**
@@ -225,7 +357,10 @@ public class Room extends Observable implements Serializable {
      * @param temperature the temperature
      */
     public void setDesiredAwayTemperature(double temperature) {
-        this.desiredAwayTemp = temperature;
+        if (desiredAwayTemp != temperature) {
+            desiredAwayTemp = temperature;
+            version++;
+        }
     }
 
     /**
@@ -234,7 +369,10 @@ public class Room extends Observable implements Serializable {
      * @param temperature the temperature
      */
     public void setActualTemperature(double temperature) {
-        actualTemp = temperature;
+        if (actualTemp != temperature) {
+            actualTemp = temperature;
+            version++;
+        }
     }
 
     /**
@@ -243,7 +381,10 @@ public class Room extends Observable implements Serializable {
      * @param overridden the overridden
      */
     public void setIsTemperatureOverridden(boolean overridden) {
-        overrideZoneTemp = overridden;
+        if (overrideZoneTemp != overridden) {
+            overrideZoneTemp = overridden;
+            version++;
+        }
     }
 
     /**
@@ -252,7 +393,10 @@ public class Room extends Observable implements Serializable {
      * @param awayTemperature the away temperature
      */
     public void setAwayTemperature(boolean awayTemperature) {
-        this.awayTemperature = awayTemperature;
+        if (this.awayTemperature != awayTemperature) {
+            this.awayTemperature = awayTemperature;
+            version++;
+        }
     }
 
     /**
@@ -262,7 +406,15 @@ public class Room extends Observable implements Serializable {
      */
     public void addInhabitant(IInhabitant inhabitant) {
         inhabitants.add(inhabitant);
+        inhabitantIndex.add(inhabitant);
+        if (inhabitant.isIntruder()) {
+            intruderCount++;
+        }
+        version++;
         notifyObservers();
+        // Let the layout know where the inhabitant is
+        setChanged();
+        notifyObservers(inhabitant);
     }
 
     /**
@@ -282,6 +434,7 @@ public class Room extends Observable implements Serializable {
      * @param device the device
      */
     public void addDevice(IDevice device) {
+        version++;
         switch (device.getDeviceType()) {
             case DOOR:
                 doors.add((Door) device);
@@ -293,6 +446,9 @@ public class Room extends Observable implements Serializable {
                 windows.add((Window) device);
                 break;
         }
+        // Let the layout index the device
+        setChanged();
+        notifyObservers(device);
     }
 
     /**
@@ -312,13 +468,20 @@ public class Room extends Observable implements Serializable {
      * @param name the name
      */
     public void removeInhabitant(String name) {
-        for(IInhabitant inhabitant : inhabitants) {
-            if (inhabitant.getName().equals(name)) {
-                inhabitants.remove(inhabitant);
-                break;
+        IInhabitant inhabitant = inhabitantIndex.get(name);
+        if (inhabitant != null) {
+            inhabitants.remove(inhabitant);
+            inhabitantIndex.remove(inhabitant, inhabitants);
+            if (inhabitant.isIntruder()) {
+                intruderCount--;
             }
+            version++;
         }
         notifyObservers();
+        if (inhabitant != null) {
+            setChanged();
+            notifyObservers(inhabitant);
+        }
     }
 
     /**
@@ -327,16 +490,54 @@ public class Room extends Observable implements Serializable {
      * @param device the device
      */
     public void removeDevice(IDevice device) {
+        boolean removed = false;
         switch (device.getDeviceType()) {
             case DOOR:
-                doors.remove(device);
+                removed = doors.remove(device);
                 break;
             case LIGHT:
-                lights.remove(device);
+                removed = lights.remove(device);
                 break;
             case WINDOW:
-                windows.remove(device);
+                removed = windows.remove(device);
                 break;
         }
+        // Keep the changes of the removed device so the version never goes back
+        if (removed) {
+            version += device.getVersion() + 1;
+            setChanged();
+            notifyObservers(device);
+        }
+    }
+
+    /**
+     * Checks if the room holds a device.
+     *
+     * @param device the device
+     * @return whether this exact device is in the room
+     */
+    public boolean hasDevice(IDevice device) {
+        switch (device.getDeviceType()) {
+            case DOOR:
+                return doors.contains(device);
+            case LIGHT:
+                return lights.contains(device);
+            case WINDOW:
+                return windows.contains(device);
+            default:
+                return false;
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        // The index and the intruder count are not serialized
+        inhabitantIndex = new NameIndex<>(IInhabitant::getName);
+        for (IInhabitant inhabitant : inhabitants) {
+            inhabitantIndex.add(inhabitant);
+            if (inhabitant.isIntruder()) {
+                intruderCount++;
+            }
+        }
     }
 }
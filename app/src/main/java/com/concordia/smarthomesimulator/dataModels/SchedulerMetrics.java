@@ -0,0 +1,73 @@
+package com.concordia.smarthomesimulator.dataModels;
+
+import java.util.Locale;
+
+/**
+ * How well the simulation scheduler kept up with the simulated clock.
+ */
+public final class SchedulerMetrics {
+
+    private static final double NANOSECONDS_PER_MILLISECOND = 1e6;
+
+    private final long ticks;
+    private final long missedTicks;
+    private final long totalLagNanos;
+    private final long maxLagNanos;
+
+    /**
+     * Instantiates new Scheduler metrics.
+     *
+     * @param ticks         the number of times a task was run
+     * @param missedTicks   the number of periods skipped by periodic tasks that fell too far behind
+     * @param totalLagNanos the sum of how late the tasks were run, in real nanoseconds
+     * @param maxLagNanos   the latest a task was run, in real nanoseconds
+     */
+    public SchedulerMetrics(long ticks, long missedTicks, long totalLagNanos, long maxLagNanos) {
+        this.ticks = ticks;
+        this.missedTicks = missedTicks;
+        this.totalLagNanos = totalLagNanos;
+        this.maxLagNanos = maxLagNanos;
+    }
+
+    /**
+     * Gets the number of times a task was run.
+     *
+     * @return the ticks
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Gets the number of periods skipped by periodic tasks that fell too far behind.
+     *
+     * @return the missed ticks
+     */
+    public long getMissedTicks() {
+        return missedTicks;
+    }
+
+    /**
+     * Gets how late the tasks were run on average, in real nanoseconds.
+     *
+     * @return the average lag
+     */
+    public long getAverageLagNanos() {
+        return ticks == 0 ? 0 : totalLagNanos / ticks;
+    }
+
+    /**
+     * Gets the latest a task was run, in real nanoseconds.
+     *
+     * @return the max lag
+     */
+    public long getMaxLagNanos() {
+        return maxLagNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%d ticks, %d missed, lag %.1f ms on average, %.1f ms at most", ticks, missedTicks,
+            getAverageLagNanos() / NANOSECONDS_PER_MILLISECOND, maxLagNanos / NANOSECONDS_PER_MILLISECOND);
+    }
+}
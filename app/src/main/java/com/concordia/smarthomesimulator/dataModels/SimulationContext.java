@@ -0,0 +1,238 @@
+package com.concordia.smarthomesimulator.dataModels;
+
+import android.content.SharedPreferences;
+import com.concordia.smarthomesimulator.simulation.LightsSchedule;
+import com.concordia.smarthomesimulator.simulation.ThermalEngine;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static com.concordia.smarthomesimulator.Constants.*;
+
+/**
+ * Immutable snapshot of the simulation parameters, read by the timers on every tick.
+ *
+ * It is built from the shared preferences only when the parameters are changed, and the values derived from them,
+ * such as the season and the away temperature, are computed once at that time. The simulation clock moves it forward
+ * with {@link #withDateTime(LocalDateTime)}.
+ */
+public final class SimulationContext {
+
+    private final boolean status;
+    private final float timeScale;
+    private final boolean awayMode;
+    private final int outsideTemperature;
+    private final int summerTemperature;
+    private final int winterTemperature;
+    private final int summerStart;
+    private final int summerEnd;
+    private final int minAlertTemperature;
+    private final int maxAlertTemperature;
+    private final int callDelay;
+    private final LightsSchedule lightsSchedule;
+    private final LocalDateTime dateTime;
+
+    private final boolean summer;
+    private final ThermalParameters thermalParameters;
+
+    /**
+     * Instantiates a new Simulation context.
+     *
+     * @param status              whether the simulation is running
+     * @param timeScale           how much faster than real time the simulation runs
+     * @param awayMode            whether the house is in away mode
+     * @param outsideTemperature  the outside temperature
+     * @param summerTemperature   the desired temperature of the rooms in away mode, in summer
+     * @param winterTemperature   the desired temperature of the rooms in away mode, out of summer
+     * @param summerStart         the first month of summer (1-12)
+     * @param summerEnd           the last month of summer (1-12)
+     * @param minAlertTemperature the temperature under which an alert is raised
+     * @param maxAlertTemperature the temperature over which an alert is raised
+     * @param callDelay           the delay before the authorities are called, in minutes
+     * @param lightsSchedule      the auto-light schedule
+     * @param dateTime            the simulation date time
+     */
+    public SimulationContext(boolean status, float timeScale, boolean awayMode, int outsideTemperature, int summerTemperature,
+                             int winterTemperature, int summerStart, int summerEnd, int minAlertTemperature,
+                             int maxAlertTemperature, int callDelay, LightsSchedule lightsSchedule, LocalDateTime dateTime) {
+        this(status, timeScale, awayMode, outsideTemperature, summerTemperature, winterTemperature, summerStart, summerEnd,
+            minAlertTemperature, maxAlertTemperature, callDelay, lightsSchedule, dateTime,
+            new ThermalParameters(awayMode, outsideTemperature, summerStart, summerEnd, dateTime.getMonthValue(), minAlertTemperature, maxAlertTemperature));
+    }
+
+    private SimulationContext(boolean status, float timeScale, boolean awayMode, int outsideTemperature, int summerTemperature,
+                              int winterTemperature, int summerStart, int summerEnd, int minAlertTemperature,
+                              int maxAlertTemperature, int callDelay, LightsSchedule lightsSchedule, LocalDateTime dateTime,
+                              ThermalParameters thermalParameters) {
+        this.status = status;
+        this.timeScale = timeScale;
+        this.awayMode = awayMode;
+        this.outsideTemperature = outsideTemperature;
+        this.summerTemperature = summerTemperature;
+        this.winterTemperature = winterTemperature;
+        this.summerStart = summerStart;
+        this.summerEnd = summerEnd;
+        this.minAlertTemperature = minAlertTemperature;
+        this.maxAlertTemperature = maxAlertTemperature;
+        this.callDelay = callDelay;
+        this.lightsSchedule = lightsSchedule;
+        this.dateTime = dateTime;
+        this.summer = ThermalEngine.isInSummer(summerStart, summerEnd, dateTime.getMonthValue());
+        this.thermalParameters = thermalParameters;
+    }
+
+    /**
+     * Read the simulation context from the shared preferences.
+     *
+     * @param preferences the preferences
+     * @return the simulation context
+     */
+    public static SimulationContext fromPreferences(SharedPreferences preferences) {
+        LocalDateTime timeNow = LocalDateTime.now();
+        LocalDateTime dateTime = LocalDateTime.of(
+            preferences.getInt(PREFERENCES_KEY_DATETIME_YEAR, timeNow.getYear()),
+            preferences.getInt(PREFERENCES_KEY_DATETIME_MONTH, timeNow.getMonthValue()),
+            preferences.getInt(PREFERENCES_KEY_DATETIME_DAY, timeNow.getDayOfMonth()),
+            preferences.getInt(PREFERENCES_KEY_DATETIME_HOUR, timeNow.getHour()),
+            preferences.getInt(PREFERENCES_KEY_DATETIME_MINUTE, timeNow.getMinute()));
+        LightsSchedule lightsSchedule = new LightsSchedule(
+            LocalTime.of(preferences.getInt(PREFERENCES_KEY_MIN_LIGHTS_TIME_HOUR, DEFAULT_MIN_LIGHTS_TIME.getHour()),
+                preferences.getInt(PREFERENCES_KEY_MIN_LIGHTS_TIME_MINUTE, DEFAULT_MIN_LIGHTS_TIME.getMinute())),
+            LocalTime.of(preferences.getInt(PREFERENCES_KEY_MAX_LIGHTS_TIME_HOUR, DEFAULT_MAX_LIGHTS_TIME.getHour()),
+                preferences.getInt(PREFERENCES_KEY_MAX_LIGHTS_TIME_MINUTE, DEFAULT_MAX_LIGHTS_TIME.getMinute())));
+        return new SimulationContext(
+            preferences.getBoolean(PREFERENCES_KEY_STATUS, DEFAULT_STATUS),
+            preferences.getFloat(PREFERENCES_KEY_TIME_SCALE, DEFAULT_TIME_SCALE),
+            preferences.getBoolean(PREFERENCES_KEY_AWAY_MODE, false),
+            preferences.getInt(PREFERENCES_KEY_TEMPERATURE, DEFAULT_TEMPERATURE),
+            preferences.getInt(PREFERENCES_KEY_SUMMER_TEMPERATURE, DEFAULT_SUMMER_TEMPERATURE),
+            preferences.getInt(PREFERENCES_KEY_WINTER_TEMPERATURE, DEFAULT_WINTER_TEMPERATURE),
+            preferences.getInt(PREFERENCES_KEY_SUMMER_START, DEFAULT_SUMMER_START),
+            preferences.getInt(PREFERENCES_KEY_SUMMER_END, DEFAULT_SUMMER_END),
+            preferences.getInt(PREFERENCES_KEY_MIN_TEMPERATURE_ALERT, DEFAULT_MIN_TEMPERATURE_ALERT),
+            preferences.getInt(PREFERENCES_KEY_MAX_TEMPERATURE_ALERT, DEFAULT_MAX_TEMPERATURE_ALERT),
+            preferences.getInt(PREFERENCES_KEY_CALL_DELAY, DEFAULT_CALL_DELAY),
+            lightsSchedule,
+            dateTime);
+    }
+
+    /**
+     * Returns a copy of this context at a different simulation date time.
+     *
+     * @param dateTime the date time
+     * @return the simulation context
+     */
+    public SimulationContext withDateTime(LocalDateTime dateTime) {
+        return new SimulationContext(status, timeScale, awayMode, outsideTemperature, summerTemperature, winterTemperature,
+            summerStart, summerEnd, minAlertTemperature, maxAlertTemperature, callDelay, lightsSchedule, dateTime,
+            thermalParameters.withMonth(dateTime.getMonthValue()));
+    }
+
+    /**
+     * Whether the simulation is running.
+     *
+     * @return the status
+     */
+    public boolean getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets how much faster than real time the simulation runs.
+     *
+     * @return the time scale
+     */
+    public float getTimeScale() {
+        return timeScale;
+    }
+
+    /**
+     * Is away mode boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isAwayMode() {
+        return awayMode;
+    }
+
+    /**
+     * Gets outside temperature.
+     *
+     * @return the outside temperature
+     */
+    public int getOutsideTemperature() {
+        return outsideTemperature;
+    }
+
+    /**
+     * Gets min alert temperature.
+     *
+     * @return the min alert temperature
+     */
+    public int getMinAlertTemperature() {
+        return minAlertTemperature;
+    }
+
+    /**
+     * Gets max alert temperature.
+     *
+     * @return the max alert temperature
+     */
+    public int getMaxAlertTemperature() {
+        return maxAlertTemperature;
+    }
+
+    /**
+     * Gets the delay before the authorities are called, in minutes.
+     *
+     * @return the call delay
+     */
+    public int getCallDelay() {
+        return callDelay;
+    }
+
+    /**
+     * Gets the auto-light schedule.
+     *
+     * @return the lights schedule
+     */
+    public LightsSchedule getLightsSchedule() {
+        return lightsSchedule;
+    }
+
+    /**
+     * Gets the simulation date time.
+     *
+     * @return the date time
+     */
+    public LocalDateTime getDateTime() {
+        return dateTime;
+    }
+
+    /**
+     * Whether the simulation date is in summer.
+     *
+     * @return the boolean
+     */
+    public boolean isSummer() {
+        return summer;
+    }
+
+    /**
+     * Gets the desired temperature of the rooms in away mode, for the season of the simulation date.
+     *
+     * @return the away temperature
+     */
+    public int getAwayTemperature() {
+        return summer ? summerTemperature : winterTemperature;
+    }
+
+    /**
+     * Gets the parameters of the thermal engine.
+     *
+     * @return the thermal parameters
+     */
+    public ThermalParameters getThermalParameters() {
+        return thermalParameters;
+    }
+}
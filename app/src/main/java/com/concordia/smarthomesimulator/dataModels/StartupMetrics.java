@@ -0,0 +1,56 @@
+package com.concordia.smarthomesimulator.dataModels;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * How long each step of the startup took, in the order the steps completed.
+ */
+public class StartupMetrics {
+
+    private static final double NANOSECONDS_PER_MILLISECOND = 1e6;
+
+    private final LinkedHashMap<String, Long> durations = new LinkedHashMap<>();
+
+    /**
+     * Record how long a step took.
+     * A step recorded again keeps its first duration, only the cold start is measured.
+     *
+     * @param step         the name of the step
+     * @param elapsedNanos the wall-clock time it took, in nanoseconds
+     */
+    public synchronized void record(String step, long elapsedNanos) {
+        durations.putIfAbsent(step, elapsedNanos);
+    }
+
+    /**
+     * Gets the wall-clock time a step took.
+     *
+     * @param step the name of the step
+     * @return the elapsed nanos, -1 if the step was not recorded
+     */
+    public synchronized long getElapsedNanos(String step) {
+        Long elapsed = durations.get(step);
+        return elapsed == null ? -1 : elapsed;
+    }
+
+    /**
+     * Forget every step, so the next startup is measured again.
+     */
+    public synchronized void clear() {
+        durations.clear();
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, Long> entry : durations.entrySet()) {
+            if (builder.length() > 0) {
+                builder.append(", ");
+            }
+            builder.append(String.format(Locale.US, "%s: %.1f ms", entry.getKey(), entry.getValue() / NANOSECONDS_PER_MILLISECOND));
+        }
+        return builder.toString();
+    }
+}
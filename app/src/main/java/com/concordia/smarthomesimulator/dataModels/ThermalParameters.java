@@ -0,0 +1,113 @@
+package com.concordia.smarthomesimulator.dataModels;
+
+/**
+ * Immutable set of values the thermal engine needs to advance the simulation.
+ * It is built once by the caller so the engine never has to read the shared preferences itself.
+ */
+public final class ThermalParameters {
+
+    private final boolean awayMode;
+    private final double outsideTemperature;
+    private final int summerStart;
+    private final int summerEnd;
+    private final int month;
+    private final int minAlertTemperature;
+    private final int maxAlertTemperature;
+
+    /**
+     * Instantiates new Thermal parameters.
+     *
+     * @param awayMode            whether the house is in away mode
+     * @param outsideTemperature  the outside temperature
+     * @param summerStart         the first month of summer (1-12)
+     * @param summerEnd           the last month of summer (1-12)
+     * @param month               the current simulation month (1-12)
+     * @param minAlertTemperature the temperature under which an alert is raised
+     * @param maxAlertTemperature the temperature over which an alert is raised
+     */
+    public ThermalParameters(boolean awayMode, double outsideTemperature, int summerStart, int summerEnd, int month, int minAlertTemperature, int maxAlertTemperature) {
+        this.awayMode = awayMode;
+        this.outsideTemperature = outsideTemperature;
+        this.summerStart = summerStart;
+        this.summerEnd = summerEnd;
+        this.month = month;
+        this.minAlertTemperature = minAlertTemperature;
+        this.maxAlertTemperature = maxAlertTemperature;
+    }
+
+    /**
+     * Is away mode boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isAwayMode() {
+        return awayMode;
+    }
+
+    /**
+     * Gets outside temperature.
+     *
+     * @return the outside temperature
+     */
+    public double getOutsideTemperature() {
+        return outsideTemperature;
+    }
+
+    /**
+     * Gets summer start.
+     *
+     * @return the summer start
+     */
+    public int getSummerStart() {
+        return summerStart;
+    }
+
+    /**
+     * Gets summer end.
+     *
+     * @return the summer end
+     */
+    public int getSummerEnd() {
+        return summerEnd;
+    }
+
+    /**
+     * Gets the current simulation month.
+     *
+     * @return the month
+     */
+    public int getMonth() {
+        return month;
+    }
+
+    /**
+     * Gets min alert temperature.
+     *
+     * @return the min alert temperature
+     */
+    public int getMinAlertTemperature() {
+        return minAlertTemperature;
+    }
+
+    /**
+     * Gets max alert temperature.
+     *
+     * @return the max alert temperature
+     */
+    public int getMaxAlertTemperature() {
+        return maxAlertTemperature;
+    }
+
+    /**
+     * Returns a copy of these parameters for a different month.
+     *
+     * @param month the month
+     * @return the thermal parameters
+     */
+    public ThermalParameters withMonth(int month) {
+        if (month == this.month) {
+            return this;
+        }
+        return new ThermalParameters(awayMode, outsideTemperature, summerStart, summerEnd, month, minAlertTemperature, maxAlertTemperature);
+    }
+}
@@ -2,10 +2,13 @@ package com.concordia.smarthomesimulator.dataModels;
 
 import android.content.SharedPreferences;
 import com.concordia.smarthomesimulator.enums.Permissions;
+import com.concordia.smarthomesimulator.singletons.SimulationContextSingleton;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
 
 import static com.concordia.smarthomesimulator.Constants.*;
 
@@ -325,14 +328,18 @@ public class UserPreferences implements Serializable {
         editor.putInt(PREFERENCES_KEY_SUMMER_START, summerStart);
         editor.putInt(PREFERENCES_KEY_SUMMER_END, summerEnd);
         editor.apply();
+        // The timers read the parameters from the simulation context
+        SimulationContextSingleton.getInstance().setContext(SimulationContext.fromPreferences(preferences));
     }
 
     /**
      * Save user preferences.
      *
      * @param preferences the preferences
+     * @return whether any preference changed
      */
-    public void receiveFromContext(SharedPreferences preferences){
+    public boolean receiveFromContext(SharedPreferences preferences){
+        List<Object> previous = getValues();
         username = preferences.getString(PREFERENCES_KEY_USERNAME, "");
         password = preferences.getString(PREFERENCES_KEY_PASSWORD,"");
         permissions = Permissions.fromInteger(preferences.getInt(PREFERENCES_KEY_PERMISSIONS,0));
@@ -361,6 +368,13 @@ public class UserPreferences implements Serializable {
         LocalTime timeMaxLights = DEFAULT_MAX_LIGHTS_TIME;
         minLightsHour = preferences.getInt(PREFERENCES_KEY_MIN_LIGHTS_TIME_HOUR, timeMaxLights.getHour());
         minLightsMinute = preferences.getInt(PREFERENCES_KEY_MIN_LIGHTS_TIME_MINUTE, timeMaxLights.getMinute());
+        return !previous.equals(getValues());
+    }
+
+    private List<Object> getValues() {
+        return Arrays.asList(username, password, layout, permissions, status, temperature, maxTemperatureAlert,
+            minTemperatureAlert, summerTemperature, winterTemperature, year, month, day, hour, minute, timeFactor,
+            minLightsHour, minLightsMinute, maxLightsHour, maxLightsMinute, winterStart, winterEnd, summerStart, summerEnd);
     }
 
     /**
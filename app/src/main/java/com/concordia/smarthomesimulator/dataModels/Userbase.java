@@ -1,8 +1,6 @@
 package com.concordia.smarthomesimulator.dataModels;
 
-import android.content.Context;
 import androidx.annotation.Nullable;
-import com.concordia.smarthomesimulator.helpers.UserbaseHelper;
 
 import java.io.Serializable;
 import java.util.List;
@@ -15,6 +13,8 @@ import java.util.stream.Collectors;
  */
 public class Userbase implements Serializable {
 
+    private static final long serialVersionUID = 5144704084304305600L;
+
     private final List<User> users;
     private PermissionsConfiguration permissions;
 
@@ -43,7 +43,7 @@ public class Userbase implements Serializable {
      *
      * @return the permission configuration
      */
-    public PermissionsConfiguration getPermissionsConfiguration() {
+    public synchronized PermissionsConfiguration getPermissionsConfiguration() {
         // Make sure to create the permissions if they don't exist
         if (permissions == null) {
             permissions = new PermissionsConfiguration();
@@ -56,7 +56,7 @@ public class Userbase implements Serializable {
      *
      * @param permissionsConfiguration the permission configuration
      */
-    public void setPermissionConfiguration(PermissionsConfiguration permissionsConfiguration) {
+    public synchronized void setPermissionConfiguration(PermissionsConfiguration permissionsConfiguration) {
         this.permissions = permissionsConfiguration;
     }
 
@@ -94,17 +94,16 @@ public class Userbase implements Serializable {
     }
 
     /**
-     * Deletes a user if present
+     * Deletes a user if present.
+     * The userbase is not saved, the caller saves it once done editing it.
      *
-     * @param context          the context
      * @param usernameToDelete the username to delete
      * @return true if deletion successful
      */
-    public boolean deleteUserFromUsernameIfPossible(Context context, String usernameToDelete){
+    public synchronized boolean deleteUserFromUsernameIfPossible(String usernameToDelete){
         for (int i = 0; i < users.size(); i++){
             if (users.get(i).getUsername().equalsIgnoreCase(usernameToDelete)){
                 users.remove(i);
-                UserbaseHelper.saveUserbase(context, this);
                 return true;
             }
         }
@@ -113,17 +112,16 @@ public class Userbase implements Serializable {
 
     /**
      * Will add a user if no similar users exist in the userbase.
+     * The userbase is not saved, the caller saves it once done editing it.
      *
-     * @param context   the context
      * @param userToAdd the user to add
      * @return the boolean showing if the addition was successful
      */
-    public boolean addUserIfPossible(Context context, User userToAdd){
+    public synchronized boolean addUserIfPossible(User userToAdd){
         if (getNumberOfSimilarUsers(userToAdd) > 0){
             return false;
         }
         users.add(userToAdd);
-        UserbaseHelper.saveUserbase(context,this);
         return true;
     }
 
@@ -5,13 +5,19 @@ import com.concordia.smarthomesimulator.R;
 import com.concordia.smarthomesimulator.enums.DeviceType;
 import com.concordia.smarthomesimulator.interfaces.IDevice;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 
 public class Window implements IDevice, Serializable {
 
+    private static final long serialVersionUID = -1507042511700011704L;
+
     private boolean isOpened = false;
     private boolean isLocked = false;
     private Geometry geometry;
+    private transient long version;
+    private transient long id = DeviceIndex.nextId();
 
     public Window() {
         geometry = new Geometry();
@@ -38,7 +44,10 @@ public class Window implements IDevice, Serializable {
 
     @Override
     public void setIsOpened(boolean isOpened) {
-        this.isOpened = isOpened;
+        if (this.isOpened != isOpened) {
+            this.isOpened = isOpened;
+            version++;
+        }
     }
 
     @Override
@@ -49,6 +58,17 @@ public class Window implements IDevice, Serializable {
     @Override
     public void setGeometry(Geometry geometry) {
         this.geometry = geometry;
+        version++;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public long getId() {
+        return id;
     }
 
     @Override
@@ -62,6 +82,7 @@ public class Window implements IDevice, Serializable {
         Window copy = new Window(geometry);
         copy.setIsOpened(isOpened);
         copy.setIsLocked(isLocked);
+        copy.id = id;
         return copy;
     }
 
@@ -96,6 +117,15 @@ public class Window implements IDevice, Serializable {
      * @param isLocked the is locked
      */
     public void setIsLocked(boolean isLocked) {
-        this.isLocked = isLocked;
+        if (this.isLocked != isLocked) {
+            this.isLocked = isLocked;
+            version++;
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        // The id is not serialized
+        id = DeviceIndex.nextId();
     }
 }
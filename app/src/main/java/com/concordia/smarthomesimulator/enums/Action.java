@@ -7,8 +7,6 @@ import com.concordia.smarthomesimulator.dataModels.Room;
 import com.concordia.smarthomesimulator.helpers.LayoutsHelper;
 import com.concordia.smarthomesimulator.interfaces.IDevice;
 
-import java.util.List;
-
 import static com.concordia.smarthomesimulator.Constants.*;
 
 public enum Action {
@@ -52,23 +50,19 @@ public enum Action {
         String loggedUser = preferences.getString(PREFERENCES_KEY_USERNAME,"");
         // Find the room in which the device resides
         HouseLayout houseLayout = LayoutsHelper.getSelectedLayout(context);
-        List<Room> rooms = houseLayout.getRooms();
-        Room room = rooms.stream()
-            .filter(r -> r.getDevices().stream().anyMatch(d -> d.equals(device)))
-            .findFirst()
-            .orElse(null);
+        Room room = houseLayout.getDeviceRoom(device.getId());
         // Checking if the user is in the same room
         boolean sameRoom;
         if (room == null) {
             sameRoom = false;
         } else {
-            sameRoom = room.getInhabitants().stream().anyMatch(inhabitant -> inhabitant.getName().equalsIgnoreCase(loggedUser));
+            sameRoom = room.hasInhabitant(loggedUser);
         }
         // Return the right action
         switch (device.getDeviceType()) {
             case LIGHT: return sameRoom ? INTERACT_LOCAL_LIGHT : INTERACT_ANY_LIGHT;
             case WINDOW: return sameRoom ? INTERACT_LOCAL_WINDOW : INTERACT_ANY_WINDOW;
-            case DOOR: return room.getName().equals(DEFAULT_NAME_GARAGE) ? INTERACT_GARAGE : null;
+            case DOOR: return room != null && room.getName().equals(DEFAULT_NAME_GARAGE) ? INTERACT_GARAGE : null;
             default: return null;
         }
     }
@@ -0,0 +1,20 @@
+package com.concordia.smarthomesimulator.enums;
+
+/**
+ * How a stored file is compressed.
+ * The ordinal is written in the header of the files, new codecs must be added at the end.
+ */
+public enum CompressionCodec {
+    /**
+     * Stored as is, behind the header.
+     */
+    NONE,
+    /**
+     * Deflate favoring speed, for files rewritten often.
+     */
+    DEFLATE_FAST,
+    /**
+     * Deflate favoring size, for files written once and kept.
+     */
+    DEFLATE_BEST
+}
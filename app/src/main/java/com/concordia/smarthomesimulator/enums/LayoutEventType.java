@@ -0,0 +1,24 @@
+package com.concordia.smarthomesimulator.enums;
+
+/**
+ * The kinds of changes recorded in the event log of a house layout.
+ * The ordinal is written in the log, new kinds must be added at the end.
+ */
+public enum LayoutEventType {
+    /**
+     * The state of a device changed.
+     */
+    DEVICE_CHANGED,
+    /**
+     * The desired temperature of a room changed.
+     */
+    ROOM_TEMPERATURE_CHANGED,
+    /**
+     * An inhabitant moved to another room.
+     */
+    INHABITANT_MOVED,
+    /**
+     * The house was put in away mode.
+     */
+    AWAY_MODE_ENABLED
+}
@@ -0,0 +1,30 @@
+package com.concordia.smarthomesimulator.enums;
+
+/**
+ * The text format the activity logs are exported to.
+ */
+public enum LogExportFormat {
+    /**
+     * Comma separated values, with a header line.
+     */
+    CSV("csv"),
+    /**
+     * One JSON object per line.
+     */
+    JSON_LINES("jsonl");
+
+    private final String extension;
+
+    LogExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Gets the extension of the exported files.
+     *
+     * @return the extension
+     */
+    public String getExtension() {
+        return extension;
+    }
+}
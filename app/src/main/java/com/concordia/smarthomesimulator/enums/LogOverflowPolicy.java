@@ -0,0 +1,19 @@
+package com.concordia.smarthomesimulator.enums;
+
+/**
+ * What the batched log writer does when its queue is full.
+ */
+public enum LogOverflowPolicy {
+    /**
+     * Wait until the writer made room in the queue.
+     */
+    BLOCK,
+    /**
+     * Drop MINOR entries, wait for room for the others.
+     */
+    DROP_MINOR,
+    /**
+     * Drop entries identical to one already waiting in the queue, wait for room for the others.
+     */
+    COALESCE
+}
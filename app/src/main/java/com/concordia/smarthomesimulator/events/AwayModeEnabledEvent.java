@@ -0,0 +1,42 @@
+package com.concordia.smarthomesimulator.events;
+
+import com.concordia.smarthomesimulator.dataModels.Door;
+import com.concordia.smarthomesimulator.dataModels.HouseLayout;
+import com.concordia.smarthomesimulator.dataModels.Room;
+import com.concordia.smarthomesimulator.dataModels.Window;
+import com.concordia.smarthomesimulator.enums.LayoutEventType;
+import com.concordia.smarthomesimulator.interfaces.ILayoutEvent;
+
+import java.util.ArrayList;
+
+/**
+ * The house was put in away mode: the doors that lock automatically are locked and every window is closed.
+ */
+public class AwayModeEnabledEvent implements ILayoutEvent {
+
+    @Override
+    public LayoutEventType getEventType() {
+        return LayoutEventType.AWAY_MODE_ENABLED;
+    }
+
+    @Override
+    public boolean apply(HouseLayout layout) {
+        long version = layout.getVersion();
+        ArrayList<Room> rooms = layout.getRooms();
+        for (int i = 0; i < rooms.size(); i++) {
+            Room room = rooms.get(i);
+            ArrayList<Door> doors = room.getDoors();
+            for (int j = 0; j < doors.size(); j++) {
+                Door door = doors.get(j);
+                if (door.isAutoLock()) {
+                    door.setIsLocked(true);
+                }
+            }
+            ArrayList<Window> windows = room.getWindows();
+            for (int j = 0; j < windows.size(); j++) {
+                windows.get(j).setIsOpened(false);
+            }
+        }
+        return layout.getVersion() != version;
+    }
+}
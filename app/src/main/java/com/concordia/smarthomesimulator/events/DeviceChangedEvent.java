@@ -0,0 +1,85 @@
+package com.concordia.smarthomesimulator.events;
+
+import com.concordia.smarthomesimulator.dataModels.*;
+import com.concordia.smarthomesimulator.enums.LayoutEventType;
+import com.concordia.smarthomesimulator.interfaces.IDevice;
+import com.concordia.smarthomesimulator.interfaces.ILayoutEvent;
+
+/**
+ * The state of a device changed.
+ * The device is found in its room by type and position, then takes the state of the device held by the event.
+ */
+public class DeviceChangedEvent implements ILayoutEvent {
+
+    private final String roomName;
+    private final IDevice device;
+
+    /**
+     * Instantiates a new Device changed event.
+     *
+     * @param roomName the name of the room the device is in
+     * @param device   the device in its new state
+     */
+    public DeviceChangedEvent(String roomName, IDevice device) {
+        this.roomName = roomName;
+        this.device = device;
+    }
+
+    @Override
+    public LayoutEventType getEventType() {
+        return LayoutEventType.DEVICE_CHANGED;
+    }
+
+    @Override
+    public boolean apply(HouseLayout layout) {
+        Room room = layout.getRoom(roomName);
+        if (room == null) {
+            return false;
+        }
+        for (int i = 0; i < room.getDeviceCount(); i++) {
+            IDevice target = room.getDevice(i);
+            if (target.getDeviceType() != device.getDeviceType() || !target.getGeometry().equals(device.getGeometry())) {
+                continue;
+            }
+            long version = target.getVersion();
+            switch (device.getDeviceType()) {
+                case DOOR:
+                    Door door = (Door) target;
+                    door.setIsLocked(((Door) device).getIsLocked());
+                    door.setAutoLock(((Door) device).isAutoLock());
+                    door.setIsOpened(device.getIsOpened());
+                    break;
+                case WINDOW:
+                    Window window = (Window) target;
+                    window.setIsLocked(((Window) device).getIsLocked());
+                    window.setIsOpened(device.getIsOpened());
+                    break;
+                case LIGHT:
+                    Light light = (Light) target;
+                    light.setAutoOn(((Light) device).isAutoOn());
+                    light.setIsOpened(device.getIsOpened());
+                    break;
+            }
+            return target.getVersion() != version;
+        }
+        return false;
+    }
+
+    /**
+     * Gets room name.
+     *
+     * @return the room name
+     */
+    public String getRoomName() {
+        return roomName;
+    }
+
+    /**
+     * Gets device.
+     *
+     * @return the device
+     */
+    public IDevice getDevice() {
+        return device;
+    }
+}
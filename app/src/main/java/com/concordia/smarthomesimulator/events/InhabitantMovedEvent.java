@@ -0,0 +1,67 @@
+package com.concordia.smarthomesimulator.events;
+
+import com.concordia.smarthomesimulator.dataModels.HouseLayout;
+import com.concordia.smarthomesimulator.dataModels.Room;
+import com.concordia.smarthomesimulator.enums.LayoutEventType;
+import com.concordia.smarthomesimulator.interfaces.IInhabitant;
+import com.concordia.smarthomesimulator.interfaces.ILayoutEvent;
+
+/**
+ * An inhabitant moved to another room.
+ */
+public class InhabitantMovedEvent implements ILayoutEvent {
+
+    private final String inhabitantName;
+    private final String roomName;
+
+    /**
+     * Instantiates a new Inhabitant moved event.
+     *
+     * @param inhabitantName the name of the inhabitant
+     * @param roomName       the name of the room the inhabitant moved to
+     */
+    public InhabitantMovedEvent(String inhabitantName, String roomName) {
+        this.inhabitantName = inhabitantName;
+        this.roomName = roomName;
+    }
+
+    @Override
+    public LayoutEventType getEventType() {
+        return LayoutEventType.INHABITANT_MOVED;
+    }
+
+    @Override
+    public boolean apply(HouseLayout layout) {
+        Room destination = layout.getRoom(roomName);
+        if (destination == null) {
+            return false;
+        }
+        Room room = layout.getInhabitantRoom(inhabitantName);
+        // Unknown inhabitant, or already there, nothing to do
+        if (room == null || room == destination) {
+            return false;
+        }
+        IInhabitant inhabitant = room.getInhabitant(inhabitantName);
+        room.removeInhabitant(inhabitant.getName());
+        destination.addInhabitant(inhabitant);
+        return true;
+    }
+
+    /**
+     * Gets inhabitant name.
+     *
+     * @return the inhabitant name
+     */
+    public String getInhabitantName() {
+        return inhabitantName;
+    }
+
+    /**
+     * Gets room name.
+     *
+     * @return the room name
+     */
+    public String getRoomName() {
+        return roomName;
+    }
+}
@@ -0,0 +1,73 @@
+package com.concordia.smarthomesimulator.events;
+
+import com.concordia.smarthomesimulator.dataModels.HouseLayout;
+import com.concordia.smarthomesimulator.dataModels.Room;
+import com.concordia.smarthomesimulator.enums.LayoutEventType;
+import com.concordia.smarthomesimulator.interfaces.ILayoutEvent;
+
+/**
+ * The desired temperature of a room changed, and whether it overrides the temperature of its heating zone.
+ */
+public class RoomTemperatureChangedEvent implements ILayoutEvent {
+
+    private final String roomName;
+    private final double desiredTemperature;
+    private final boolean overridden;
+
+    /**
+     * Instantiates a new Room temperature changed event.
+     *
+     * @param roomName           the name of the room
+     * @param desiredTemperature the desired temperature
+     * @param overridden         whether the temperature overrides the one of the heating zone
+     */
+    public RoomTemperatureChangedEvent(String roomName, double desiredTemperature, boolean overridden) {
+        this.roomName = roomName;
+        this.desiredTemperature = desiredTemperature;
+        this.overridden = overridden;
+    }
+
+    @Override
+    public LayoutEventType getEventType() {
+        return LayoutEventType.ROOM_TEMPERATURE_CHANGED;
+    }
+
+    @Override
+    public boolean apply(HouseLayout layout) {
+        Room room = layout.getRoom(roomName);
+        if (room == null) {
+            return false;
+        }
+        long version = room.getVersion();
+        room.setDesiredTemperature(desiredTemperature);
+        room.setIsTemperatureOverridden(overridden);
+        return room.getVersion() != version;
+    }
+
+    /**
+     * Gets room name.
+     *
+     * @return the room name
+     */
+    public String getRoomName() {
+        return roomName;
+    }
+
+    /**
+     * Gets desired temperature.
+     *
+     * @return the desired temperature
+     */
+    public double getDesiredTemperature() {
+        return desiredTemperature;
+    }
+
+    /**
+     * Determines if the temperature overrides the one of the heating zone.
+     *
+     * @return true or false
+     */
+    public boolean isOverridden() {
+        return overridden;
+    }
+}
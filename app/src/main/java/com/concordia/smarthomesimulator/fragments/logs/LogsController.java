@@ -5,6 +5,7 @@ import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.AbsListView;
 import android.widget.ListView;
 import androidx.annotation.NonNull;
 import androidx.fragment.app.Fragment;
@@ -22,12 +23,26 @@ public class LogsController extends Fragment {
     public View onCreateView(@NonNull LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
         context = getActivity();
         logsModel = new ViewModelProvider(this).get(LogsModel.class);
-        logsModel.readLogs(context);
 
         View root = inflater.inflate(R.layout.fragment_logs, container, false);
         ListView logList = root.findViewById(R.id.activity_logs_list);
         ActivityLogsAdapter adapter = new ActivityLogsAdapter(context,0,logsModel.getLogs());
         logList.setAdapter(adapter);
+        logsModel.readLogs(context, adapter::notifyDataSetChanged);
+
+        // Only read the next page of logs when the user gets close to the end of the list
+        logList.setOnScrollListener(new AbsListView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(AbsListView view, int scrollState) { }
+
+            @Override
+            public void onScroll(AbsListView view, int firstVisibleItem, int visibleItemCount, int totalItemCount) {
+                boolean nearEnd = firstVisibleItem + visibleItemCount >= totalItemCount - visibleItemCount;
+                if (nearEnd && logsModel.hasMoreLogs()) {
+                    logsModel.readNextLogs(context, adapter::notifyDataSetChanged);
+                }
+            }
+        });
 
         final FloatingActionButton clearLogs = root.findViewById(R.id.clear_logs_button);
         clearLogs.setOnClickListener(new View.OnClickListener() {
@@ -1,28 +1,121 @@
 package com.concordia.smarthomesimulator.fragments.logs;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 import androidx.lifecycle.ViewModel;
+import com.concordia.smarthomesimulator.dataModels.LogCursor;
 import com.concordia.smarthomesimulator.dataModels.LogEntry;
+import com.concordia.smarthomesimulator.dataModels.LogPage;
+import com.concordia.smarthomesimulator.dataModels.LogQuery;
+import com.concordia.smarthomesimulator.dataModels.LogRow;
+import com.concordia.smarthomesimulator.enums.LogImportance;
 import com.concordia.smarthomesimulator.helpers.LogsHelper;
+import com.concordia.smarthomesimulator.listAdapters.ActivityLogsAdapter;
 
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.concordia.smarthomesimulator.Constants.LOG_PAGE_SIZE;
 
 public class LogsModel extends ViewModel {
 
-    private ArrayList<LogEntry> logs;
+    // Same format as Date.toString(), which the logs used to be displayed with
+    private static final String LOG_DATE_FORMAT = "EEE MMM dd HH:mm:ss zzz yyyy";
+
+    private final ArrayList<LogRow> logs;
+    private final ExecutorService executor;
+    private final Handler handler;
+    // Only used on the executor thread
+    private final SimpleDateFormat dateFormat;
+    private EnumMap<LogImportance, Integer> colors;
+
+    private LogQuery query;
+    private LogCursor next;
+    private boolean hasMoreLogs;
+    private boolean loading;
+    private int generation;
 
     public LogsModel() {
         logs = new ArrayList<>();
+        executor = Executors.newSingleThreadExecutor();
+        handler = new Handler(Looper.getMainLooper());
+        dateFormat = new SimpleDateFormat(LOG_DATE_FORMAT, Locale.getDefault());
+        query = new LogQuery(LOG_PAGE_SIZE);
     }
 
     /**
-     * Read logs.
+     * Read the first page of logs in the background.
      *
-     * @param context the context
+     * @param context  the context
+     * @param onLoaded called on the UI thread once the logs were added
+     */
+    public void readLogs(Context context, Runnable onLoaded) {
+        logs.clear();
+        next = null;
+        hasMoreLogs = true;
+        loading = false;
+        generation++;
+        readNextLogs(context, onLoaded);
+    }
+
+    /**
+     * Read the next page of logs in the background, if any and if no page is already being read.
+     * The entries are read and formatted off the UI thread, then added to the logs on the UI thread.
+     *
+     * @param context  the context
+     * @param onLoaded called on the UI thread once the logs were added
+     */
+    public void readNextLogs(Context context, Runnable onLoaded) {
+        if (!hasMoreLogs || loading) {
+            return;
+        }
+        if (colors == null) {
+            colors = ActivityLogsAdapter.getTextColors(context);
+        }
+        loading = true;
+        final int requestGeneration = generation;
+        final LogQuery requestQuery = query;
+        final LogCursor requestCursor = next;
+        final EnumMap<LogImportance, Integer> requestColors = colors;
+        executor.execute(() -> {
+            LogPage page = LogsHelper.query(context, requestQuery, requestCursor);
+            ArrayList<LogRow> rows = formatRows(page, requestColors);
+            handler.post(() -> {
+                // The logs were cleared or read again in the meantime
+                if (requestGeneration != generation) {
+                    return;
+                }
+                logs.addAll(rows);
+                next = page.getNext();
+                hasMoreLogs = page.hasNext();
+                loading = false;
+                onLoaded.run();
+            });
+        });
+    }
+
+    /**
+     * Determines if there are logs left to read.
+     *
+     * @return true or false
+     */
+    public boolean hasMoreLogs() {
+        return hasMoreLogs;
+    }
+
+    /**
+     * Sets the filters used to read the logs.
+     * Call {@link #readLogs(Context, Runnable)} to apply them.
+     *
+     * @param query the query
      */
-    public void readLogs(Context context) {
-        logs = LogsHelper.read(context);
-        logs.sort((o1, o2) -> o2.getDateTime().compareTo(o1.getDateTime()));
+    public void setQuery(LogQuery query) {
+        this.query = query;
     }
 
     /**
@@ -32,6 +125,10 @@ public class LogsModel extends ViewModel {
      */
     public void clearLogs(Context context) {
         logs.clear();
+        next = null;
+        hasMoreLogs = false;
+        loading = false;
+        generation++;
         LogsHelper.clear(context);
     }
 
@@ -40,7 +137,20 @@ public class LogsModel extends ViewModel {
      *
      * @return the logs
      */
-    public ArrayList<LogEntry> getLogs() {
+    public ArrayList<LogRow> getLogs() {
         return logs;
     }
+
+    @Override
+    protected void onCleared() {
+        executor.shutdownNow();
+    }
+
+    private ArrayList<LogRow> formatRows(LogPage page, EnumMap<LogImportance, Integer> colors) {
+        ArrayList<LogRow> rows = new ArrayList<>(page.getEntries().size());
+        for (LogEntry entry : page.getEntries()) {
+            rows.add(new LogRow(entry, dateFormat.format(entry.getDateTime()), colors.get(entry.getImportance())));
+        }
+        return rows;
+    }
 }
\ No newline at end of file
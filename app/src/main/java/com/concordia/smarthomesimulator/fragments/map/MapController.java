@@ -45,7 +45,12 @@ public class MapController extends Fragment {
 
     @Override
     public void onResume(){
-        updateContent();
+        // The selected layout may still be loading in the background
+        LayoutsHelper.loadSelectedLayout(context, layout -> {
+            if (isAdded()) {
+                updateContent();
+            }
+        });
         super.onResume();
     }
 
@@ -153,7 +158,7 @@ public class MapController extends Fragment {
         TextView numberDevices = view.findViewById(R.id.information_number_devices);
         int deviceCount = 0;
         for (Room room : layout.getRooms()) {
-            deviceCount += room.getDevices().size();
+            deviceCount += room.getDeviceCount();
         }
         numberDevices.setText(deviceCount + " " + getString(R.string.map_active_layout_devices_suffix));
     }
@@ -185,14 +190,19 @@ public class MapController extends Fragment {
         final View customView = LayoutInflater.from(context).inflate(R.layout.alert_open_house_layout, null, false);
         final ListView layoutList = customView.findViewById(R.id.alert_open_layout_list);
 
-        ArrayList<HouseLayout> layouts = LayoutsHelper.listSavedLayouts(context);
+        ArrayList<LayoutSummary> layouts = LayoutsHelper.listLayoutSummaries(context);
 
         HouseLayoutAdapter adapter = new HouseLayoutAdapter(context, 0, layouts);
         layoutList.setAdapter(adapter);
         layoutList.setOnItemClickListener(new AdapterView.OnItemClickListener() {
             @Override
             public void onItemClick(AdapterView<?> parent, View view, int position, long id) {
-                mapModel.setHouseLayout(layouts.get(position));
+                // Only the selected layout is loaded
+                HouseLayout selected = LayoutsHelper.loadHouseLayout(context, layouts.get(position));
+                if (selected == null) {
+                    return;
+                }
+                mapModel.setHouseLayout(selected);
                 for (int i = 0; i < parent.getChildCount(); i++) {
                     View child = parent.getChildAt(i);
                     child.setBackgroundColor(context.getColor(android.R.color.transparent));
@@ -5,32 +5,72 @@ import android.app.Activity;
 import android.content.Context;
 import android.content.pm.PackageManager;
 import androidx.core.app.ActivityCompat;
+import com.concordia.smarthomesimulator.interfaces.IStorage;
+import com.concordia.smarthomesimulator.storage.AndroidStorage;
 
 import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
 
 import static com.concordia.smarthomesimulator.Constants.READ_PERMISSION_REQUEST_CODE;
 import static com.concordia.smarthomesimulator.Constants.WRITE_PERMISSION_REQUEST_CODE;
 
 public final class FilesHelper {
 
+    private static IStorage storage;
+
+    /**
+     * Gets the storage every file of the application is kept in.
+     * Asks for the storage permissions if they were not granted yet.
+     *
+     * @param context the context
+     * @return the storage, or null if the permissions are not granted
+     */
+    public static IStorage getStorage(Context context) {
+        IStorage override = storage;
+        if (override != null) {
+            return override;
+        }
+        if (verifyPermission(context, Manifest.permission.READ_EXTERNAL_STORAGE, READ_PERMISSION_REQUEST_CODE)
+            && verifyPermission(context, Manifest.permission.WRITE_EXTERNAL_STORAGE, WRITE_PERMISSION_REQUEST_CODE)) {
+            return new AndroidStorage(context);
+        }
+        return null;
+    }
+
+    /**
+     * Sets the storage to use instead of the external files directory, to run without a device.
+     *
+     * @param storage the storage, or null to use the external files directory
+     */
+    public static void setStorage(IStorage storage) {
+        FilesHelper.storage = storage;
+    }
+
+    /**
+     * Gets the path of a file in the storage.
+     *
+     * @param directory the directory in which the file is located, or null for the root
+     * @param fileName  the file name
+     * @return the path
+     */
+    public static String getPath(String directory, String fileName) {
+        return directory == null ? fileName : directory + "/" + fileName;
+    }
+
     /**
      * List files in a given directory.
      *
      * @param context   the context
      * @param directory the directory to look into
-     * @return the array of files found
+     * @return the names of the files found
      */
-    public static File[] listFilesInDirectory(Context context, String directory) {
-        if (verifyPermission(context, Manifest.permission.READ_EXTERNAL_STORAGE, READ_PERMISSION_REQUEST_CODE)) {
-            File base = context.getExternalFilesDir(null);
-            File path = new File(base, directory);
-
-            if (!path.exists() || !path.isDirectory())
-                return new File[]{};
-
-            return path.listFiles();
+    public static List<String> listFilesInDirectory(Context context, String directory) {
+        IStorage files = getStorage(context);
+        if (files == null) {
+            return new ArrayList<>();
         }
-        return new File[]{};
+        return files.list(directory);
     }
 
     /**
@@ -42,29 +82,15 @@ public final class FilesHelper {
      * @return the object
      */
     public static Object loadObjectFromFile(Context context, String directory, String fileName) throws IOException, ClassNotFoundException {
-        if (verifyPermission(context, Manifest.permission.READ_EXTERNAL_STORAGE, READ_PERMISSION_REQUEST_CODE)) {
-            File path = context.getExternalFilesDir(null);
-            // Find the right path
-            if (directory != null) {
-                path = new File(path, directory);
-                if (!path.isDirectory())
-                    return null;
-            }
-            // Create the File
-            File file = new File(path, fileName);
-            if (file.exists()){
-                // Read the file
-                try(FileInputStream stream = new FileInputStream(file)){
-                    ObjectInputStream in = new ObjectInputStream(stream);
-                    Object object = in.readObject();
-                    in.close();
-                    return object;
-                } catch (IOException | ClassNotFoundException e){
-                    throw e;
-                }
-            }
+        IStorage files = getStorage(context);
+        String path = getPath(directory, fileName);
+        if (files == null || !files.exists(path)) {
+            return null;
+        }
+        // Read the file, or its previous version if it is corrupted
+        try (ObjectInputStream in = new ObjectInputStream(files.openRead(path))) {
+            return in.readObject();
         }
-        return null;
     }
 
     /**
@@ -88,28 +114,15 @@ public final class FilesHelper {
      * @return the boolean
      */
     public static boolean saveObjectToFile(Context context, String directory, String fileName, Object object) throws IOException {
-        // Make sure we have the right permissions
-        if (verifyPermission(context, Manifest.permission.WRITE_EXTERNAL_STORAGE, WRITE_PERMISSION_REQUEST_CODE)) {
-            File path = context.getExternalFilesDir(null);
-            // Find the right directory
-            if (directory != null) {
-                path = new File(path, directory);
-                if (!path.isDirectory())
-                    path.mkdir();
-            }
-            // Create the file
-            File file = new File(path, fileName);
-            // Output to the file
-            try(FileOutputStream stream = new FileOutputStream(file)){
-                ObjectOutputStream out = new ObjectOutputStream(stream);
-                out.writeObject(object);
-                out.close();
-                return true;
-            } catch (IOException e){
-                throw e;
-            }
+        IStorage files = getStorage(context);
+        if (files == null) {
+            return false;
         }
-        return false;
+        // The previous version is kept if the write does not complete
+        try (ObjectOutputStream out = new ObjectOutputStream(files.openWrite(getPath(directory, fileName)))) {
+            out.writeObject(object);
+        }
+        return true;
     }
 
     /**
@@ -123,6 +136,21 @@ public final class FilesHelper {
         return saveObjectToFile(context, null, fileName, object);
     }
 
+    /**
+     * Gets a directory of the local file system, for the stores that need random access to their files.
+     *
+     * @param context   the context
+     * @param directory the directory, or null for the root of the storage
+     * @return the directory, or null if the permissions are not granted or the storage is not kept in files
+     */
+    public static File getLocalDirectory(Context context, String directory) {
+        IStorage files = getStorage(context);
+        if (files == null) {
+            return null;
+        }
+        return files.getLocalDirectory(directory);
+    }
+
     /**
      * Load raw resource files.
      *
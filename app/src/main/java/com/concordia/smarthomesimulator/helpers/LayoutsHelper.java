@@ -2,22 +2,65 @@ package com.concordia.smarthomesimulator.helpers;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
 import com.concordia.smarthomesimulator.dataModels.*;
 import com.concordia.smarthomesimulator.enums.DeviceType;
+import com.concordia.smarthomesimulator.enums.LogImportance;
 import com.concordia.smarthomesimulator.enums.Orientation;
 import com.concordia.smarthomesimulator.factories.DeviceFactory;
+import com.concordia.smarthomesimulator.interfaces.ILayoutEvent;
+import com.concordia.smarthomesimulator.interfaces.IStorage;
 import com.concordia.smarthomesimulator.singletons.LayoutSingleton;
+import com.concordia.smarthomesimulator.storage.LayoutCatalog;
+import com.concordia.smarthomesimulator.storage.LayoutEventLog;
+import com.concordia.smarthomesimulator.storage.LayoutSaveScheduler;
 
-import java.io.File;
 import java.io.IOException;
-import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 import static com.concordia.smarthomesimulator.Constants.*;
 
 public class LayoutsHelper {
 
+    private final static String CATALOG_FILE_NAME = "layouts.catalog";
+    private final static String STEP_CATALOG = "Catalog";
+    private final static String STEP_SELECTED_LAYOUT = "Selected layout";
+    private final static String STEP_LAYOUT_LIST = "Layout list";
+
+    private static LayoutCatalog catalog;
+    private static LayoutEventLog eventLog;
+    private static final LayoutSaveScheduler saveScheduler = new LayoutSaveScheduler(LAYOUT_SAVE_DELAY);
+    private static final StartupMetrics startupMetrics = new StartupMetrics();
+    // Loads the selected layout then lists the others, one step after the other
+    private static final ExecutorService startup = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "layout-startup");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Only decodes layout files, its tasks never wait for each other
+    private static final ExecutorService loader = Executors.newFixedThreadPool(LAYOUT_LOADER_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "layout-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static CompletableFuture<HouseLayout> selectedLayoutLoad;
+    private static String selectedLayoutLoadName;
+    private static LayoutSummary demoSummary;
+
+    // The away settings last applied to the rooms of the selected layout
+    private static final Object awayLock = new Object();
+    private static HouseLayout awayLayout;
+    private static long awayRoomsVersion;
+    private static boolean awayMode;
+    private static int awayTemperature;
+
     //region Public Methods
 
     //region Memory Operations
@@ -40,10 +83,19 @@ public class LayoutsHelper {
         Userbase userbase = UserbaseHelper.loadUserbase(context);
         User user = userbase.getUserFromUsername(preferences.getString(PREFERENCES_KEY_USERNAME, ""));
         if (user != null) {
-            user.getUserPreferences().receiveFromContext(preferences);
-            userbase.deleteUserFromUsernameIfPossible(context, user.getUsername());
-            userbase.addUserIfPossible(context, user);
-            UserbaseHelper.saveUserbase(context, userbase);
+            // The userbase is only changed in memory, it is written in the background
+            boolean changed;
+            synchronized (userbase) {
+                changed = user.getUserPreferences().receiveFromContext(preferences);
+                if (changed) {
+                    userbase.deleteUserFromUsernameIfPossible(user.getUsername());
+                    userbase.addUserIfPossible(user);
+                }
+            }
+            // Most ticks change nothing, don't snapshot the userbase for them
+            if (changed) {
+                UserbaseHelper.saveUserbase(context, userbase);
+            }
         }
         // Update the house layout
         LayoutSingleton.getInstance().setLayout(layout);
@@ -56,62 +108,134 @@ public class LayoutsHelper {
      * @return the selected layout
      */
     public static HouseLayout getSelectedLayout(Context context) {
-        SharedPreferences preferences = context.getSharedPreferences(context.getPackageName(),Context.MODE_PRIVATE);
         if (LayoutSingleton.getInstance().getLayout() == null) {
+            SharedPreferences preferences = context.getSharedPreferences(context.getPackageName(),Context.MODE_PRIVATE);
             String selection = preferences.getString(PREFERENCES_KEY_LAYOUT, "");
-            ArrayList<HouseLayout> layouts = LayoutsHelper.listSavedLayouts(context);
-
-            HouseLayout selected = layouts.stream().filter(layout -> layout.getName().equals(selection)).findFirst().orElse(null);
-            LayoutSingleton.getInstance().setLayout(selected);
+            // Wait for the layout being loaded in the background rather than loading it a second time
+            LayoutSingleton.getInstance().setLayout(awaitSelectedLayout(context, selection));
         }
-        if(LayoutSingleton.getInstance().getLayout() != null){
-            HouseLayout layout = LayoutSingleton.getInstance().getLayout();
+        HouseLayout layout = LayoutSingleton.getInstance().getLayout();
+        if (layout != null) {
             // Update the away temps
-            int desiredTemperature = preferences.getInt(PREFERENCES_KEY_WINTER_TEMPERATURE, DEFAULT_WINTER_TEMPERATURE);
-            if (isSummer(preferences)) {
-                desiredTemperature = preferences.getInt(PREFERENCES_KEY_SUMMER_TEMPERATURE, DEFAULT_SUMMER_TEMPERATURE);
-            }
-            for (Room room : layout.getRooms()) {
-                room.setDesiredAwayTemperature(desiredTemperature);
-                room.setAwayTemperature(preferences.getBoolean(PREFERENCES_KEY_AWAY_MODE, false));
-            }
-            return layout;
+            applyAwaySettings(layout, SimulationHelper.getSimulationContext(context));
+        }
+        return layout;
+    }
+
+    /**
+     * Start loading the selected layout in the background, before anything asks for it.
+     * Once it is loaded, the other layouts are indexed in parallel so the list of layouts is ready when it is opened.
+     * How long each step took is then added to the logs.
+     *
+     * @param context the context
+     */
+    public static void preloadSelectedLayout(Context context) {
+        startupMetrics.clear();
+        SharedPreferences preferences = context.getSharedPreferences(context.getPackageName(),Context.MODE_PRIVATE);
+        startSelectedLayoutLoad(context, preferences.getString(PREFERENCES_KEY_LAYOUT, ""));
+    }
+
+    /**
+     * Get the selected layout without blocking the UI thread.
+     * If it is not loaded yet, it is loaded in the background and handed to the callback on the UI thread.
+     *
+     * @param context  the context
+     * @param onLoaded called on the UI thread with the selected layout, which may be null
+     */
+    public static void loadSelectedLayout(Context context, Consumer<HouseLayout> onLoaded) {
+        if (LayoutSingleton.getInstance().getLayout() != null) {
+            onLoaded.accept(getSelectedLayout(context));
+            return;
         }
-        return null;
+        SharedPreferences preferences = context.getSharedPreferences(context.getPackageName(),Context.MODE_PRIVATE);
+        CompletableFuture<HouseLayout> load = startSelectedLayoutLoad(context, preferences.getString(PREFERENCES_KEY_LAYOUT, ""));
+        Handler handler = new Handler(Looper.getMainLooper());
+        // Selects the loaded layout, or loads it on the UI thread if the background load failed
+        load.whenComplete((layout, error) -> handler.post(() -> onLoaded.accept(getSelectedLayout(context))));
     }
 
     /**
-     * List saved house layouts.
+     * Gets how long the steps of loading the layouts took the first time.
+     *
+     * @return the startup metrics
+     */
+    public static StartupMetrics getStartupMetrics() {
+        return startupMetrics;
+    }
+
+    /**
+     * List the summaries of the saved house layouts.
+     * Only the catalog is read, use loadHouseLayout to get the layout of a summary. The layout files that changed
+     * since the catalog was saved are decoded in parallel.
      *
      * @param context the context
      * @return the list of layouts saved on the device
      */
-    public static ArrayList<HouseLayout> listSavedLayouts(Context context) {
-        ArrayList<HouseLayout> layouts = new ArrayList<>();
-        File[] files = FilesHelper.listFilesInDirectory(context, DIRECTORY_NAME_LAYOUTS);
-        // Add a new Layout for every saved File
-        for (File file : files) {
-            HouseLayout layout = null;
+    public static ArrayList<LayoutSummary> listLayoutSummaries(Context context) {
+        ArrayList<LayoutSummary> layouts = new ArrayList<>();
+        LayoutCatalog saved = getCatalog(context);
+        if (saved != null) {
+            long start = System.nanoTime();
             try {
-                layout = (HouseLayout) FilesHelper.loadObjectFromFile(context, DIRECTORY_NAME_LAYOUTS, file.getName());
-            } catch (IOException | ClassNotFoundException e) {
+                saved.refresh(loader);
+            } catch (IOException e) {
                 e.printStackTrace();
             }
-            if (layout != null) {
-                layouts.add(layout);
-            }
+            layouts.addAll(saved.list());
+            startupMetrics.record(STEP_LAYOUT_LIST, System.nanoTime() - start);
         }
         // Add the 2 default layouts (Empty and Demo)
         if (layouts.stream().noneMatch(l -> l.getName().equalsIgnoreCase(EMPTY_LAYOUT_NAME))) {
-            layouts.add(0, LayoutsHelper.loadEmptyHouseLayout(context));
+            layouts.add(0, new LayoutSummary(LayoutsHelper.loadEmptyHouseLayout(context)));
         }
         if (layouts.stream().noneMatch(l -> l.getName().equalsIgnoreCase(DEMO_LAYOUT_NAME))) {
-            layouts.add(1, LayoutsHelper.loadDemoHouseLayout(context));
+            layouts.add(1, getDemoSummary(context));
         }
         // Return the full list
         return layouts;
     }
 
+    /**
+     * Load the house layout of a summary.
+     *
+     * @param context the context
+     * @param summary the summary returned by listLayoutSummaries
+     * @return the layout, or null if it could not be loaded
+     */
+    public static HouseLayout loadHouseLayout(Context context, LayoutSummary summary) {
+        // The default layouts are not saved in files
+        if (summary.getFileName() == null) {
+            if (summary.getName().equalsIgnoreCase(DEMO_LAYOUT_NAME)) {
+                return loadDemoHouseLayout(context);
+            }
+            return loadEmptyHouseLayout(context);
+        }
+        LayoutCatalog saved = getCatalog(context);
+        if (saved == null) {
+            return null;
+        }
+        HouseLayout layout;
+        try {
+            layout = saved.load(summary);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+        // Add the changes saved since the layout file was written
+        LayoutEventLog events = getEventLog(context);
+        if (layout != null && events != null) {
+            try {
+                events.replay(summary.getFileName(), layout);
+            } catch (IOException e) {
+                // The events are read before any is applied, the layout is still the one of the file
+                e.printStackTrace();
+                String message = String.format("Recent changes of layout %s could not be restored: %s", layout.getName(), e.getMessage());
+                LogsHelper.add(context, new LogEntry("Layout", message, LogImportance.IMPORTANT));
+            }
+        }
+        return layout;
+    }
+
     /**
      * Checks if the house layout name is a default name (Demo Layout or Empty Layout).
      *
@@ -136,8 +260,17 @@ public class LayoutsHelper {
         if (isLayoutNameDefault(layout)) {
             return false;
         }
-        // Otherwise make sure it's not in the list of saved layouts
-        return listSavedLayouts(context).stream().noneMatch(saved -> saved.getName().trim().equalsIgnoreCase(name));
+        // Otherwise make sure it's not in the catalog of saved layouts
+        LayoutCatalog saved = getCatalog(context);
+        if (saved == null) {
+            return true;
+        }
+        try {
+            saved.refresh();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return saved.find(name) == null;
     }
 
     //endregion
@@ -148,37 +281,111 @@ public class LayoutsHelper {
      * Remove a saved house layout's file.
      *
      * @param context the context
-     * @param layout  the layout to be removed
+     * @param layout  the summary of the layout to be removed
      */
-    public static void removeHouseLayout(Context context, HouseLayout layout) {
-        String fileName = getHouseLayoutFileName(layout);
-        File[] files = FilesHelper.listFilesInDirectory(context, DIRECTORY_NAME_LAYOUTS);
-        File selected = Arrays.stream(files)
-                .filter(file -> file.getName().equalsIgnoreCase(fileName))
-                .findFirst()
-                .orElse(null);
-        if (selected == null) {
+    public static void removeHouseLayout(Context context, LayoutSummary layout) {
+        String fileName = layout.getFileName();
+        LayoutCatalog saved = getCatalog(context);
+        if (fileName == null || saved == null) {
             return;
         }
-        //noinspection ResultOfMethodCallIgnored
-        selected.delete();
+        try {
+            saved.delete(fileName);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        LayoutEventLog events = getEventLog(context);
+        if (events != null) {
+            events.clear(fileName);
+        }
+        saveScheduler.invalidate(fileName);
+    }
+
+    /**
+     * Apply a change to a house layout and save it.
+     * Only the change is appended to the event log of the layout. The whole layout is written instead if it was never
+     * saved, or once enough changes accumulated in its log. The default layouts are only changed in memory.
+     *
+     * @param context the context
+     * @param layout  the layout
+     * @param event   the change
+     * @return whether the change was saved, true as well if the event did not change anything
+     */
+    public static boolean applyEvent(Context context, HouseLayout layout, ILayoutEvent event) {
+        if (isLayoutNameDefault(layout)) {
+            synchronized (layout) {
+                event.apply(layout);
+            }
+            return false;
+        }
+        LayoutCatalog saved = getCatalog(context);
+        LayoutEventLog events = getEventLog(context);
+        if (saved == null || events == null) {
+            return false;
+        }
+        String fileName = getHouseLayoutFileName(layout);
+        LayoutSummary summary = saved.find(layout.getName());
+        int count = 0;
+        // Writing the layout clears its log while holding its lock, an event is never appended in between
+        synchronized (layout) {
+            if (!event.apply(layout)) {
+                return true;
+            }
+            // A layout that was never saved has no file to replay its log on
+            if (summary != null && fileName.equals(summary.getFileName())) {
+                try {
+                    count = events.append(fileName, event);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+        if (count > 0 && count < LAYOUT_EVENTS_COMPACTION_THRESHOLD) {
+            return true;
+        }
+        // Compact the log into the layout file
+        return saveHouseLayout(context, layout);
     }
 
     /**
      * Save a house layout to a file.
+     * Nothing is written if the layout did not change since it was last saved.
      *
      * @param context the context
      * @param layout  the layout to save
      * @return whether the layout was saved or not
      */
     public static boolean saveHouseLayout(Context context, HouseLayout layout) {
-        String fileName = getHouseLayoutFileName(layout);
-        try {
-            return FilesHelper.saveObjectToFile(context, DIRECTORY_NAME_LAYOUTS, fileName, layout);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-        return false;
+        return saveScheduler.saveNow(getHouseLayoutFileName(layout), layout, changed -> writeHouseLayout(context, changed));
+    }
+
+    /**
+     * Save a house layout to a file in the background.
+     * The saves requested for the same layout within LAYOUT_SAVE_DELAY are coalesced into a single write,
+     * and nothing is written if the layout did not change since it was last saved.
+     *
+     * @param context the context
+     * @param layout  the layout to save
+     */
+    public static void scheduleSave(Context context, HouseLayout layout) {
+        saveScheduler.requestSave(getHouseLayoutFileName(layout), layout, changed -> writeHouseLayout(context, changed));
+    }
+
+    /**
+     * Write the saves waiting in the background now.
+     * Should be called before the application stops.
+     */
+    public static void flushSaves() {
+        saveScheduler.flush();
+    }
+
+    /**
+     * Gets the save scheduler, which counts the saves skipped, coalesced and performed.
+     *
+     * @return the save scheduler
+     */
+    public static LayoutSaveScheduler getSaveScheduler() {
+        return saveScheduler;
     }
 
     /**
@@ -197,25 +404,134 @@ public class LayoutsHelper {
 
     //region Private Methods
 
-    private static boolean isSummer(SharedPreferences preferences) {
-        LocalDate date = getSimulationDate(preferences);
-        int summerStart = preferences.getInt(PREFERENCES_KEY_SUMMER_START, DEFAULT_SUMMER_START);
-        int summerEnd = preferences.getInt(PREFERENCES_KEY_SUMMER_END, DEFAULT_SUMMER_END);
-        //Returns true for summer
-        if (summerStart < summerEnd) {
-            return date.getMonthValue() >= summerStart && date.getMonthValue() <= summerEnd;
-        } else {
-            return date.getMonthValue() >= summerStart && date.getMonthValue() <= 12 ||
-                   date.getMonthValue() <= summerEnd && date.getMonthValue() >= 1;
+    private static synchronized LayoutCatalog getCatalog(Context context) {
+        if (catalog == null) {
+            IStorage storage = FilesHelper.getStorage(context);
+            if (storage == null) {
+                return null;
+            }
+            long start = System.nanoTime();
+            catalog = new LayoutCatalog(storage, CATALOG_FILE_NAME, DIRECTORY_NAME_LAYOUTS, LAYOUT_COMPRESSION);
+            startupMetrics.record(STEP_CATALOG, System.nanoTime() - start);
+        }
+        return catalog;
+    }
+
+    private static synchronized CompletableFuture<HouseLayout> startSelectedLayoutLoad(Context context, String selection) {
+        if (selectedLayoutLoad != null && selection.equals(selectedLayoutLoadName)) {
+            return selectedLayoutLoad;
         }
+        selectedLayoutLoadName = selection;
+        selectedLayoutLoad = CompletableFuture.supplyAsync(() -> findSelectedLayout(context, selection), startup);
+        // The other layouts are only needed for the list of layouts, index them once the selected one is ready
+        selectedLayoutLoad.thenRunAsync(() -> {
+            listLayoutSummaries(context);
+            LogsHelper.add(context, new LogEntry("Startup", "Layouts loaded. " + startupMetrics, LogImportance.MINOR));
+        }, startup);
+        return selectedLayoutLoad;
     }
 
-    private static LocalDate getSimulationDate(SharedPreferences preferences) {
-        LocalDate now = LocalDate.now();
-        int year = preferences.getInt(PREFERENCES_KEY_DATETIME_YEAR, now.getYear());
-        int month = preferences.getInt(PREFERENCES_KEY_DATETIME_MONTH, now.getMonthValue());
-        int day = preferences.getInt(PREFERENCES_KEY_DATETIME_DAY, now.getDayOfMonth());
-        return LocalDate.of(year, month, day);
+    private static HouseLayout awaitSelectedLayout(Context context, String selection) {
+        CompletableFuture<HouseLayout> load;
+        synchronized (LayoutsHelper.class) {
+            load = selection.equals(selectedLayoutLoadName) ? selectedLayoutLoad : null;
+            // The next time the layout is needed it is loaded again, the user may have saved it since
+            selectedLayoutLoad = null;
+            selectedLayoutLoadName = null;
+        }
+        if (load != null) {
+            try {
+                return load.get();
+            } catch (InterruptedException | ExecutionException e) {
+                e.printStackTrace();
+            }
+        }
+        return findSelectedLayout(context, selection);
+    }
+
+    private static HouseLayout findSelectedLayout(Context context, String selection) {
+        long start = System.nanoTime();
+        LayoutCatalog saved = getCatalog(context);
+        LayoutSummary summary = null;
+        if (saved != null) {
+            // Only the catalog is read, the other layout files are not even looked at unless the selection is not in it
+            summary = saved.find(selection);
+            if (summary == null) {
+                try {
+                    saved.refresh(loader);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+                summary = saved.find(selection);
+            }
+        }
+        HouseLayout layout = null;
+        if (summary != null) {
+            layout = loadHouseLayout(context, summary);
+        } else if (selection.equalsIgnoreCase(DEMO_LAYOUT_NAME)) {
+            layout = loadDemoHouseLayout(context);
+        } else if (selection.equalsIgnoreCase(EMPTY_LAYOUT_NAME)) {
+            layout = loadEmptyHouseLayout(context);
+        }
+        startupMetrics.record(STEP_SELECTED_LAYOUT, System.nanoTime() - start);
+        return layout;
+    }
+
+    private static synchronized LayoutSummary getDemoSummary(Context context) {
+        // The demo layout never changes, it is only built once to be listed
+        if (demoSummary == null) {
+            demoSummary = new LayoutSummary(loadDemoHouseLayout(context));
+        }
+        return demoSummary;
+    }
+
+    private static synchronized LayoutEventLog getEventLog(Context context) {
+        if (eventLog == null) {
+            IStorage storage = FilesHelper.getStorage(context);
+            if (storage == null) {
+                return null;
+            }
+            eventLog = new LayoutEventLog(storage, DIRECTORY_NAME_LAYOUT_EVENTS);
+        }
+        return eventLog;
+    }
+
+    private static boolean writeHouseLayout(Context context, HouseLayout layout) {
+        LayoutCatalog saved = getCatalog(context);
+        if (saved == null) {
+            return false;
+        }
+        try {
+            String fileName = getHouseLayoutFileName(layout);
+            saved.save(layout, fileName);
+            // The layout file now holds every change of the log
+            LayoutEventLog events = getEventLog(context);
+            if (events != null) {
+                events.clear(fileName);
+            }
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    private static void applyAwaySettings(HouseLayout layout, SimulationContext simulationContext) {
+        synchronized (awayLock) {
+            // Only go through the rooms when the layout or the away settings changed
+            if (layout == awayLayout && layout.getRoomsVersion() == awayRoomsVersion
+                && simulationContext.isAwayMode() == awayMode && simulationContext.getAwayTemperature() == awayTemperature) {
+                return;
+            }
+            for (Room room : layout.getRooms()) {
+                room.setDesiredAwayTemperature(simulationContext.getAwayTemperature());
+                room.setAwayTemperature(simulationContext.isAwayMode());
+            }
+            awayLayout = layout;
+            awayRoomsVersion = layout.getRoomsVersion();
+            awayMode = simulationContext.isAwayMode();
+            awayTemperature = simulationContext.getAwayTemperature();
+        }
     }
 
     private static HouseLayout loadEmptyHouseLayout(Context context) {
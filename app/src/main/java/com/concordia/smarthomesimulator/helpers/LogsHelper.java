@@ -3,80 +3,277 @@ package com.concordia.smarthomesimulator.helpers;
 import android.content.Context;
 import android.widget.Toast;
 import com.concordia.smarthomesimulator.R;
+import com.concordia.smarthomesimulator.dataModels.LogCursor;
 import com.concordia.smarthomesimulator.dataModels.LogEntry;
+import com.concordia.smarthomesimulator.dataModels.LogExportResult;
+import com.concordia.smarthomesimulator.dataModels.LogPage;
+import com.concordia.smarthomesimulator.dataModels.LogQuery;
+import com.concordia.smarthomesimulator.enums.LogExportFormat;
+import com.concordia.smarthomesimulator.enums.LogImportance;
+import com.concordia.smarthomesimulator.interfaces.IStorage;
+import com.concordia.smarthomesimulator.storage.BatchedLogWriter;
+import com.concordia.smarthomesimulator.storage.LogExporter;
+import com.concordia.smarthomesimulator.storage.LogJournal;
+import com.concordia.smarthomesimulator.storage.SegmentedLogStore;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+
+import static com.concordia.smarthomesimulator.Constants.*;
 
 // CREDITS : The following methods are based on an Android Studio tutorial video by Coding In Flow
 // URL https://www.youtube.com/watch?v=EcfUkjlL9RI&t=505s
 
 public final class LogsHelper {
 
-    private final static String FILE_NAME = "logs.txt";
+    private final static String LEGACY_JOURNAL_FILE_NAME = "logs.journal";
+    private final static String LEGACY_FILE_NAME = "logs.txt";
+
+    private static SegmentedLogStore store;
+    private static BatchedLogWriter writer;
 
     /**
      * First call will create the activityLog file inside internal storage.
      * Subsequent calls will strictly append to the existing file.
      *
+     * The entry is only queued, it is written to the file by a background thread.
+     *
      * @param context       Context of the application
      * @param entry         Log entry
      */
     public static void add(Context context, LogEntry entry) {
-        // Read the existing file
-        ArrayList<LogEntry> logs = read(context);
+        try {
+            BatchedLogWriter logs = getWriter(context);
+            if (logs != null) {
+                logs.add(entry);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Wait for every queued entry to be written to the file.
+     * Should be called before the application stops.
+     */
+    public static void flush() {
+        BatchedLogWriter logs;
+        synchronized (LogsHelper.class) {
+            logs = writer;
+        }
         if (logs == null) {
-            logs = new ArrayList<>();
+            return;
+        }
+        try {
+            logs.flush();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Iterates over the log, newest entry first.
+     * Entries are read from the file one at a time while iterating.
+     *
+     * @param context Context of the application
+     * @return the log entries, newest first
+     */
+    public static Iterable<LogEntry> iterate(Context context) {
+        flush();
+        try {
+            SegmentedLogStore logs = getStore(context);
+            if (logs != null) {
+                return logs.newestFirst();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
         }
-        // Add an entry to the file
-        logs.add(0, entry);
-        ActivityLogs activityLogs = new ActivityLogs(logs);
-        // Save to file
+        return Collections.emptyList();
+    }
+
+    /**
+     * Reads one page of the log entries matched by a query, newest entry first.
+     *
+     * @param context Context of the application
+     * @param query   the filters and page size
+     * @param cursor  the cursor returned with the previous page, null for the first page
+     * @return the page
+     */
+    public static LogPage query(Context context, LogQuery query, LogCursor cursor) {
+        flush();
         try {
-            FilesHelper.saveObjectToFile(context, FILE_NAME, activityLogs);
+            SegmentedLogStore logs = getStore(context);
+            if (logs != null) {
+                return logs.query(query, cursor);
+            }
         } catch (IOException e) {
             e.printStackTrace();
         }
+        return new LogPage(new ArrayList<>(), null);
     }
 
     /**
-     * Reads log in it's entirety and stores it in a String
-     * which is returned and the end of execution.
+     * Reads log in it's entirety and stores it in a list, newest entry first.
      *
      * @param context Context of the application
-     * @return String Contents of the activityLog file
+     * @return the log entries
      */
     public static ArrayList<LogEntry> read(Context context) {
-        ActivityLogs logs = null;
+        ArrayList<LogEntry> logs = new ArrayList<>();
+        for (LogEntry entry : iterate(context)) {
+            logs.add(entry);
+        }
+        return logs;
+    }
+
+    /**
+     * Exports the log entries matched by a query to a text file, newest entry first.
+     * Entries are written to the file as they are read, one page at a time.
+     * Right click "files" in Device File Explorer and select Synchronize to find the file in the exports folder.
+     *
+     * @param context Context of the application
+     * @param format  the format of the file
+     * @param query   the filters, null to export every entry
+     * @return the file, or null if the log could not be exported
+     */
+    public static File export(Context context, LogExportFormat format, LogQuery query) {
+        flush();
+        File directory = FilesHelper.getLocalDirectory(context, DIRECTORY_NAME_EXPORTS);
+        if (directory == null || !directory.isDirectory() && !directory.mkdirs()) {
+            return null;
+        }
+        File file = new File(directory, LOG_EXPORT_FILE_NAME + "." + format.getExtension());
+        File temporary = new File(directory, file.getName() + ".tmp");
+        LogExportResult result;
         try {
-            logs = (ActivityLogs) FilesHelper.loadObjectFromFile(context, FILE_NAME);
-        } catch (IOException | ClassNotFoundException e) {
+            SegmentedLogStore logs = getStore(context);
+            if (logs == null) {
+                return null;
+            }
+            try (OutputStream out = new FileOutputStream(temporary)) {
+                result = new LogExporter(format).export(logs, query == null ? new LogQuery(LOG_EXPORT_PAGE_SIZE) : query, out);
+            }
+            // A failed export does not replace the previous one
+            if (!temporary.renameTo(file)) {
+                throw new IOException("Could not rename " + temporary);
+            }
+        } catch (IOException e) {
             e.printStackTrace();
+            //noinspection ResultOfMethodCallIgnored
+            temporary.delete();
+            return null;
         }
-        return logs == null ? new ArrayList<>() : logs.getAll();
+        add(context, new LogEntry("Logs", "Exported to " + file.getName() + ": " + result, LogImportance.MINOR));
+        return file;
     }
 
     /**
-     * This will delete the log.
+     * This will delete every segment of the log.
      * Right click "files" in Device File Explorer and select Synchronize
      * in order to refresh folder.
      *
      * @param context Context of the application
      */
     public static void clear(Context context) {
-        File path = context.getExternalFilesDir(null);
-        File file = new File(path, FILE_NAME);
-        if (file.delete())
+        boolean cleared = false;
+        flush();
+        try {
+            SegmentedLogStore logs = getStore(context);
+            if (logs != null) {
+                logs.clear();
+                cleared = true;
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        if (cleared)
             Toast.makeText(context, R.string.toast_deleted, Toast.LENGTH_LONG).show();
         else
             Toast.makeText(context, R.string.toast_could_not_delete, Toast.LENGTH_LONG).show();
     }
 
+    private static synchronized BatchedLogWriter getWriter(Context context) throws IOException {
+        if (writer == null) {
+            SegmentedLogStore logs = getStore(context);
+            if (logs == null) {
+                return null;
+            }
+            writer = new BatchedLogWriter(logs, LOG_QUEUE_CAPACITY, LOG_BATCH_SIZE, LOG_FLUSH_INTERVAL, LOG_OVERFLOW_POLICY);
+        }
+        return writer;
+    }
+
+    private static synchronized SegmentedLogStore getStore(Context context) throws IOException {
+        if (store == null) {
+            // The segments are appended to in place, they need a directory of the file system
+            File directory = FilesHelper.getLocalDirectory(context, DIRECTORY_NAME_LOGS);
+            if (directory == null) {
+                return null;
+            }
+            store = new SegmentedLogStore(directory, LOG_SEGMENT_MAX_SIZE, LOG_SEGMENT_MAX_AGE, LOG_RETENTION_MAX_SIZE, LOG_RETENTION_MAX_AGE, LOG_COMPRESSION);
+            migrateLegacyLogs(context, store);
+            migrateLegacyJournal(context, store);
+        }
+        return store;
+    }
+
+    private static void migrateLegacyJournal(Context context, SegmentedLogStore store) throws IOException {
+        File root = FilesHelper.getLocalDirectory(context, null);
+        if (root == null) {
+            return;
+        }
+        File legacy = new File(root, LEGACY_JOURNAL_FILE_NAME);
+        if (!legacy.exists()) {
+            return;
+        }
+        // The single journal is read newest first, the segments are written oldest first
+        ArrayList<LogEntry> entries = new ArrayList<>();
+        try (LogJournal journal = new LogJournal(legacy)) {
+            for (LogEntry entry : journal.newestFirst()) {
+                entries.add(entry);
+            }
+        }
+        Collections.reverse(entries);
+        for (LogEntry entry : entries) {
+            store.append(entry);
+        }
+        store.flush();
+        //noinspection ResultOfMethodCallIgnored
+        legacy.delete();
+    }
+
+    private static void migrateLegacyLogs(Context context, SegmentedLogStore store) throws IOException {
+        IStorage storage = FilesHelper.getStorage(context);
+        if (storage == null || !storage.exists(LEGACY_FILE_NAME)) {
+            return;
+        }
+        ActivityLogs logs = null;
+        try {
+            logs = (ActivityLogs) FilesHelper.loadObjectFromFile(context, LEGACY_FILE_NAME);
+        } catch (IOException | ClassNotFoundException e) {
+            e.printStackTrace();
+        }
+        // The legacy file was stored newest first, the segments are written oldest first
+        if (logs != null) {
+            ArrayList<LogEntry> entries = logs.getAll();
+            Collections.reverse(entries);
+            for (LogEntry entry : entries) {
+                store.append(entry);
+            }
+            store.flush();
+        }
+        storage.delete(LEGACY_FILE_NAME);
+    }
+
     /**
-     * The type ActivityLogs is used internally to help writing JSON data to the logs file. It has no other purpose.
+     * The type ActivityLogs is the format used by older versions of the app to store the logs file.
+     * It is only kept to migrate those files to the log segments.
      */
     private static class ActivityLogs implements Serializable {
 
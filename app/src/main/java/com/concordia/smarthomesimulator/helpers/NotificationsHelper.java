@@ -3,26 +3,24 @@ package com.concordia.smarthomesimulator.helpers;
 import android.app.NotificationChannel;
 import android.app.NotificationManager;
 import android.content.Context;
-import android.content.SharedPreferences;
 import androidx.core.app.NotificationCompat;
 import androidx.core.app.NotificationManagerCompat;
 import com.concordia.smarthomesimulator.R;
 import com.concordia.smarthomesimulator.dataModels.LogEntry;
 import com.concordia.smarthomesimulator.dataModels.Room;
+import com.concordia.smarthomesimulator.dataModels.SimulationContext;
 import com.concordia.smarthomesimulator.enums.LogImportance;
+import com.concordia.smarthomesimulator.simulation.SimulationScheduler;
 
 import java.util.ArrayList;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
 
 import static androidx.core.content.ContextCompat.getSystemService;
 import static com.concordia.smarthomesimulator.Constants.*;
 
 public class NotificationsHelper {
 
-    private static final int MINUTES_TO_MILLISECONDS = 60000;
-
-    private static Timer timer;
+    private static SimulationScheduler.Task authoritiesTask;
     private static int id = 0;
 
     /**
@@ -63,22 +61,16 @@ public class NotificationsHelper {
      * @param context the context
      */
     public static void sendIntruderNotification(Context context){
-        // Get the delay from preferences
-        SharedPreferences preferences = context.getSharedPreferences(context.getPackageName(), Context.MODE_PRIVATE);
-        int delay = preferences.getInt(PREFERENCES_KEY_CALL_DELAY, DEFAULT_CALL_DELAY);
-        float scale = preferences.getFloat(PREFERENCES_KEY_TIME_SCALE, DEFAULT_TIME_SCALE);
-        // Set timer to send authorities notification
-        if (timer != null) {
-            timer.cancel();
-            timer.purge();
-        }
-        timer = new Timer();
-        timer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                sendAuthoritiesNotification(context);
+        // Get the delay from the simulation parameters
+        SimulationContext simulationContext = SimulationHelper.getSimulationContext(context);
+        int delay = simulationContext.getCallDelay();
+        // Send the authorities notification once the delay passed in simulated time
+        synchronized (NotificationsHelper.class) {
+            if (authoritiesTask != null) {
+                authoritiesTask.cancel();
             }
-        }, (long) ((delay * MINUTES_TO_MILLISECONDS) / scale));
+            authoritiesTask = SimulationHelper.getScheduler(context).schedule(() -> sendAuthoritiesNotification(context), delay, TimeUnit.MINUTES);
+        }
         // Build notification
         NotificationCompat.Builder builder = new NotificationCompat.Builder(context, INTRUDER_NOTIFICATION_CHANNEL);
         builder.setContentTitle(context.getString(R.string.intruder_title));
@@ -0,0 +1,161 @@
+package com.concordia.smarthomesimulator.helpers;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.SharedPreferences;
+import com.concordia.smarthomesimulator.R;
+import com.concordia.smarthomesimulator.dataModels.FastForwardResult;
+import com.concordia.smarthomesimulator.dataModels.HouseLayout;
+import com.concordia.smarthomesimulator.dataModels.LogEntry;
+import com.concordia.smarthomesimulator.dataModels.SimulationContext;
+import com.concordia.smarthomesimulator.enums.LogImportance;
+import com.concordia.smarthomesimulator.interfaces.OnFastForwardListener;
+import com.concordia.smarthomesimulator.simulation.FastForward;
+import com.concordia.smarthomesimulator.simulation.SimulationScheduler;
+import com.concordia.smarthomesimulator.singletons.SimulationContextSingleton;
+import com.concordia.smarthomesimulator.views.customMapView.CustomMapView;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.concordia.smarthomesimulator.Constants.*;
+
+public final class SimulationHelper {
+
+    private static SimulationScheduler scheduler;
+    private static ExecutorService fastForwardExecutor;
+
+    /**
+     * Gets the simulation context, reading it from the shared preferences the first time.
+     *
+     * @param context the context
+     * @return the simulation context
+     */
+    public static SimulationContext getSimulationContext(Context context) {
+        SimulationContext simulationContext = SimulationContextSingleton.getInstance().getContext();
+        if (simulationContext == null) {
+            simulationContext = updateSimulationContext(context.getSharedPreferences(context.getPackageName(), Context.MODE_PRIVATE));
+        }
+        return simulationContext;
+    }
+
+    /**
+     * Read the simulation context again from the shared preferences.
+     * Should be called whenever the simulation parameters are changed.
+     *
+     * @param preferences the preferences
+     * @return the simulation context
+     */
+    public static SimulationContext updateSimulationContext(SharedPreferences preferences) {
+        SimulationContext simulationContext = SimulationContext.fromPreferences(preferences);
+        SimulationContextSingleton.getInstance().setContext(simulationContext);
+        return simulationContext;
+    }
+
+    /**
+     * Gets the scheduler running the tasks of the simulation in simulated time, creating it if needed.
+     * Its clock follows the status and the time scale of the simulation context.
+     *
+     * @param context the context
+     * @return the scheduler
+     */
+    public static synchronized SimulationScheduler getScheduler(Context context) {
+        if (scheduler == null) {
+            Context application = context.getApplicationContext();
+            scheduler = new SimulationScheduler(SIMULATION_MAX_CATCH_UP_TICKS);
+            SimulationContextSingleton.getInstance().setOnSimulationContextChangedListener(
+                simulationContext -> configureScheduler(application, simulationContext));
+            configureScheduler(application, getSimulationContext(context));
+        }
+        return scheduler;
+    }
+
+    /**
+     * Sets the simulation date time.
+     *
+     * @param preferences the preferences
+     * @param dateTime    the date time
+     */
+    public static void setSimulationDateTime(SharedPreferences preferences, LocalDateTime dateTime) {
+        SharedPreferences.Editor editor = preferences.edit();
+        editor.putInt(PREFERENCES_KEY_DATETIME_YEAR, dateTime.getYear());
+        editor.putInt(PREFERENCES_KEY_DATETIME_MONTH, dateTime.getMonthValue());
+        editor.putInt(PREFERENCES_KEY_DATETIME_DAY, dateTime.getDayOfMonth());
+        editor.putInt(PREFERENCES_KEY_DATETIME_HOUR, dateTime.getHour());
+        editor.putInt(PREFERENCES_KEY_DATETIME_MINUTE, dateTime.getMinute());
+        editor.apply();
+        SimulationContextSingleton.getInstance().setDateTime(dateTime);
+    }
+
+    private static synchronized void configureScheduler(Context context, SimulationContext simulationContext) {
+        boolean wasRunning = scheduler.isRunning();
+        scheduler.setTimeScale(simulationContext.getTimeScale());
+        scheduler.setRunning(simulationContext.getStatus());
+        if (wasRunning && !scheduler.isRunning()) {
+            String message = "Simulation paused. Scheduler: " + scheduler.getMetrics();
+            LogsHelper.add(context, new LogEntry("Simulation", message, LogImportance.MINOR));
+        }
+    }
+
+    /**
+     * Fast-forward the simulation up to a given date time, in the background.
+     * The clock, the room temperatures and the auto lights are advanced in a tight loop, then the layout is
+     * saved, a single log entry is written and the UI refreshed once.
+     *
+     * @param context  the context, an activity
+     * @param target   the simulation time to reach
+     * @param listener called on the UI thread once the target is reached, can be null
+     * @return the future result of the fast-forward, or null if there was nothing to simulate
+     */
+    public static Future<FastForwardResult> fastForward(Context context, LocalDateTime target, OnFastForwardListener listener) {
+        SharedPreferences preferences = context.getSharedPreferences(context.getPackageName(), Context.MODE_PRIVATE);
+        SimulationContext simulationContext = getSimulationContext(context);
+        HouseLayout layout = LayoutsHelper.getSelectedLayout(context);
+        LocalDateTime now = simulationContext.getDateTime();
+        if (layout == null || !target.isAfter(now)) {
+            return null;
+        }
+        return FastForward.submit(
+            getFastForwardExecutor(),
+            layout,
+            TemperatureHelper.getEngine(context),
+            simulationContext.getThermalParameters(),
+            simulationContext.getLightsSchedule(),
+            now,
+            target,
+            result -> {
+                // Single save, log entry and refresh at the end
+                setSimulationDateTime(preferences, result.getDateTime());
+                LayoutsHelper.saveHouseLayout(context, layout);
+                LayoutsHelper.updateSelectedLayout(context, layout);
+                String message = String.format(Locale.getDefault(), "Fast-forwarded %d ticks to %s (%.0f ticks/s, %d ventilation changes)",
+                    result.getTicks(), result.getDateTime().toString(), result.getTicksPerSecond(), result.getVentilationChanges());
+                LogsHelper.add(context, new LogEntry("Simulation", message, LogImportance.MINOR));
+                ((Activity) context).runOnUiThread(() -> {
+                    CustomMapView view = ((Activity) context).findViewById(R.id.custom_map_view);
+                    if (view != null) {
+                        view.updateView();
+                    }
+                    if (listener != null) {
+                        listener.onFastForwarded(result);
+                    }
+                });
+            }
+        );
+    }
+
+    private static synchronized ExecutorService getFastForwardExecutor() {
+        // A single thread, so two fast-forwards never run at the same time
+        if (fastForwardExecutor == null) {
+            fastForwardExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "fast-forward");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return fastForwardExecutor;
+    }
+}
@@ -2,31 +2,30 @@ package com.concordia.smarthomesimulator.helpers;
 
 import android.app.Activity;
 import android.content.Context;
-import android.content.SharedPreferences;
 import com.concordia.smarthomesimulator.R;
 import com.concordia.smarthomesimulator.dataModels.HouseLayout;
 import com.concordia.smarthomesimulator.dataModels.LogEntry;
 import com.concordia.smarthomesimulator.dataModels.Room;
-import com.concordia.smarthomesimulator.dataModels.Window;
+import com.concordia.smarthomesimulator.dataModels.SimulationContext;
 import com.concordia.smarthomesimulator.enums.LogImportance;
 import com.concordia.smarthomesimulator.enums.VentilationStatus;
+import com.concordia.smarthomesimulator.interfaces.OnThermalEventListener;
+import com.concordia.smarthomesimulator.simulation.SimulationScheduler;
+import com.concordia.smarthomesimulator.simulation.ThermalEngine;
 import com.concordia.smarthomesimulator.views.customMapView.CustomMapView;
 
-import java.time.LocalDate;
-import java.util.*;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import static com.concordia.smarthomesimulator.Constants.*;
 
 public class TemperatureHelper {
-    private static final int SECOND_TO_MS = 1000;
 
-    private static Timer temperatureTimer;
-    private static Timer saveTimer;
+    private static SimulationScheduler.Task temperatureTask;
+    private static ScheduledFuture<?> saveTask;
 
-    private static boolean notifiedAboutLockedWindows;
-
-    private static HashMap<String, Double> extremeRooms;
-    private static ArrayList<String> roomNamesWithLockedWindows;
+    private static ThermalEngine engine;
 
     /**
      * Adjusts how the HVAC behaves for each room, updating ventilation status and actual temps.
@@ -34,49 +33,74 @@ public class TemperatureHelper {
      *
      * @param context the context
      */
-    public static void adjustTemperature(Context context){
-        SharedPreferences preferences = context.getSharedPreferences(context.getPackageName(),Context.MODE_PRIVATE);
-        // Initialize the dictionary
-        extremeRooms = new HashMap<>();
-        roomNamesWithLockedWindows = new ArrayList<>();
-        notifiedAboutLockedWindows = false;
-        // Create a timer so that the temperature of each room changes based on their actual temperature, and the desired temperature
-        setupTemperatureTimer(context, preferences);
-        // Create a timer to save the layout at a rate independent of the in-app time
-        setupSaveTimer(context);
+    public static synchronized void adjustTemperature(Context context){
+        // Start from a fresh engine so previous alerts are forgotten
+        engine = createEngine(context);
+        SimulationScheduler scheduler = SimulationHelper.getScheduler(context);
+        // Schedule a task so that the temperature of each room changes based on their actual temperature, and the desired temperature
+        setupTemperatureTask(context, scheduler);
+        // Schedule a task to save the layout at a rate independent of the in-app time
+        setupSaveTask(context, scheduler);
     }
 
-    private static void setupTemperatureTimer(Context context, SharedPreferences preferences) {
-        long period = (long) (SECOND_TO_MS / preferences.getFloat(PREFERENCES_KEY_TIME_SCALE, DEFAULT_TIME_SCALE));
-
-        if (temperatureTimer != null) {
-            temperatureTimer.cancel();
-            temperatureTimer.purge();
+    /**
+     * Gets the thermal engine driven by the temperature task, creating it if needed.
+     * Synchronized like adjustTemperature, the scheduler and the fast-forward threads both get the engine.
+     *
+     * @param context the context
+     * @return the thermal engine
+     */
+    public static synchronized ThermalEngine getEngine(Context context) {
+        if (engine == null) {
+            engine = createEngine(context);
         }
+        return engine;
+    }
+
+    /**
+     * Create a thermal engine reporting its events through logs and notifications.
+     *
+     * @param context the context
+     * @return the thermal engine
+     */
+    public static ThermalEngine createEngine(Context context) {
+        ThermalEngine thermalEngine = new ThermalEngine();
+        thermalEngine.setOnThermalEventListener(new OnThermalEventListener() {
+            @Override
+            public void onVentilationChanged(Room room, VentilationStatus status) {
+                String message = room.getName() + status.getDescription();
+                LogsHelper.add(context, new LogEntry("Temperature Change", message, LogImportance.MINOR));
+            }
 
-        temperatureTimer = new Timer();
-        temperatureTimer.schedule(new TimerTask() {
             @Override
-            public void run() {
-            // Make sure simulation is still running
-            boolean status = preferences.getBoolean(PREFERENCES_KEY_STATUS, false);
-            if (!status) {
-                return;
+            public void onExtremeTemperature(Room room, boolean tooHot) {
+                notifyExtremeTemperature(context, room, tooHot);
             }
-            // Make sure the scale is still valid
-            long newPeriod = (long) (SECOND_TO_MS / preferences.getFloat(PREFERENCES_KEY_TIME_SCALE, DEFAULT_TIME_SCALE));
-            if (newPeriod != period) {
-                adjustTemperature(context);
+
+            @Override
+            public void onWindowsLocked(List<String> roomNames) {
+                notifyWindowLocked(context, roomNames);
             }
+        });
+        return thermalEngine;
+    }
+
+    private static void setupTemperatureTask(Context context, SimulationScheduler scheduler) {
+        if (temperatureTask != null) {
+            temperatureTask.cancel();
+        }
+        // The scheduler only runs the task while the simulation is running, one tick per simulated second
+        temperatureTask = scheduler.scheduleAtFixedRate(() -> {
             // Get the current layout
             HouseLayout layout = LayoutsHelper.getSelectedLayout(context);
-            // Update room temperature and make sure none are extreme
             if (layout == null) {
                 return;
             }
-            updateRoomTemperatures(context, preferences, layout);
-            notifyWindowLocked(context);
-            notifyExtremeTemperatures(context, preferences, layout);
+            // Update room temperature and make sure none are extreme
+            SimulationContext simulationContext = SimulationHelper.getSimulationContext(context);
+            synchronized (layout) {
+                getEngine(context).advance(layout, simulationContext.getThermalParameters(), 1);
+            }
             // Update the layout with the modifications
             LayoutsHelper.updateSelectedLayout(context, layout);
             // Update the Map UI if it's visible
@@ -84,164 +108,48 @@ public class TemperatureHelper {
             if (view != null) {
                 view.updateView();
             }
-            }
-        }, 0, period);
+        }, 1, 1, TimeUnit.SECONDS);
     }
 
-    private static void setupSaveTimer(Context context) {
-        if (saveTimer != null) {
-            saveTimer.cancel();
-            saveTimer.purge();
+    private static void setupSaveTask(Context context, SimulationScheduler scheduler) {
+        if (saveTask != null) {
+            saveTask.cancel(false);
         }
-
-        saveTimer = new Timer();
-        saveTimer.schedule(new TimerTask() {
-            @Override
-            public void run() {
+        saveTask = scheduler.scheduleAtRealRate(() -> {
             HouseLayout layout = LayoutsHelper.getSelectedLayout(context);
             if (layout == null) {
                 return;
             }
-            LayoutsHelper.saveHouseLayout(context, layout);
-            }
-        }, 0, TEMPERATURE_SAVE_INTERVAL);
-    }
-
-    private static void updateRoomTemperatures(Context context, SharedPreferences preferences, HouseLayout layout) {
-        if (layout == null) {
-            return;
-        }
-        boolean isAway = preferences.getBoolean(PREFERENCES_KEY_AWAY_MODE, DEFAULT_STATUS);
-        double outsideTemperature = preferences.getInt(PREFERENCES_KEY_TEMPERATURE, DEFAULT_TEMPERATURE);
-        // Update the temperature for every room in the layout
-        for (Room room: layout.getRooms()){
-            // Make sure the temperatures are not too extreme
-            if (room.getActualTemperature() > MAXIMUM_TEMPERATURE){
-                room.setActualTemperature(outsideTemperature);
-            }
-            if (room.getDesiredTemperature() > MAXIMUM_TEMPERATURE){
-                room.setDesiredTemperature(outsideTemperature);
-            }
-            // Get current room information
-            double actualTemperature = room.getActualTemperature();
-            double desiredTemperature = room.getDesiredTemperature();
-            VentilationStatus currentVentStatus = room.getVentilationStatus();
-            VentilationStatus newVentStatus = actualTemperature > desiredTemperature ? VentilationStatus.COOLING : VentilationStatus.HEATING;
-            // Because of unclear requirements, OFF and PAUSED really just mean the same thing since the system turns itself on.
-            switch (currentVentStatus) {
-                case OFF:
-                case PAUSED:
-                    if (Math.abs(actualTemperature - desiredTemperature) > MAX_TEMPERATURE_DIFFERENCE_WHEN_PAUSED) {
-                        room.setVentilationStatus(newVentStatus);
-                        String message = room.getName() + newVentStatus.getDescription();
-                        LogsHelper.add(context, new LogEntry("Temperature Change", message, LogImportance.MINOR));
-                    } else {
-                        double less = actualTemperature - OUTSIDE_TEMPERATURE_CHANGE;
-                        double more = actualTemperature + OUTSIDE_TEMPERATURE_CHANGE;
-                        room.setActualTemperature(actualTemperature > outsideTemperature ? less : more);
-                    }
-                    break;
-                case COOLING:
-                case HEATING:
-                    if (Math.abs(actualTemperature - desiredTemperature) < HVAC_TEMPERATURE_CHANGE){
-                        room.setVentilationStatus(VentilationStatus.PAUSED);
-                    } else {
-                        // In case the desired temp is changed while the ventilation is already running
-                        if (currentVentStatus != newVentStatus){
-                            room.setVentilationStatus(newVentStatus);
-                            String message = room.getName() + newVentStatus.getDescription();
-                            LogsHelper.add(context, new LogEntry("Temperature Change", message, LogImportance.MINOR));
-                        }
-                        if (newVentStatus == VentilationStatus.COOLING && outsideTemperature < actualTemperature && !isAway) {
-                            tryOpeningWindows(room, preferences);
-                        }
-                        double less = actualTemperature - HVAC_TEMPERATURE_CHANGE;
-                        double more = actualTemperature + HVAC_TEMPERATURE_CHANGE;
-                        room.setActualTemperature(actualTemperature > desiredTemperature ? less : more);
-                    }
-            }
-        }
+            LayoutsHelper.scheduleSave(context, layout);
+        }, TEMPERATURE_SAVE_INTERVAL, TimeUnit.MILLISECONDS);
     }
 
-    private static void notifyExtremeTemperatures(Context context, SharedPreferences preferences, HouseLayout layout) {
-        // Initialize default values
+    private static void notifyExtremeTemperature(Context context, Room room, boolean tooHot) {
+        // Build the notification
         String connectorString = context.getString(R.string.in_the_segment_alert_text);
-        int maxTemperatureAlert = preferences.getInt(PREFERENCES_KEY_MAX_TEMPERATURE_ALERT, DEFAULT_MAX_TEMPERATURE_ALERT);
-        int minTemperatureAlert = preferences.getInt(PREFERENCES_KEY_MIN_TEMPERATURE_ALERT, DEFAULT_MIN_TEMPERATURE_ALERT);
-        // Go through every room
-        for (Room room : layout.getRooms()) {
-            double actualTemp = room.getActualTemperature();
-            // Make sure the temperature is extreme
-            if (actualTemp > minTemperatureAlert && actualTemp < maxTemperatureAlert) {
-                // If not make sure the room is reset in the map
-                extremeRooms.put(room.getName(), Double.MIN_VALUE);
-                continue;
-            }
-            // If the room's desired temp has not changed since last notif, don't send a notification
-            if (extremeRooms.getOrDefault(room.getName(), Double.MIN_VALUE) == room.getDesiredTemperature()) {
-                continue;
-            }
-            // Set the room as extreme
-            extremeRooms.put(room.getName(), room.getDesiredTemperature());
-            // Build the notification
-            int titleResource = actualTemp > maxTemperatureAlert ? R.string.max_temperature_alert_title : R.string.min_temperature_alert_title;
-            int textResource = actualTemp > maxTemperatureAlert ? R.string.max_temperature_alert_text : R.string.min_temperature_alert_text;
-            String alertTitle = context.getString(titleResource);
-            String alertText = context.getString(textResource);
-            // Add a log entry
-            String title = alertTitle + " " +  connectorString + " " + room.getName();
-            LogsHelper.add(context, new LogEntry("Temperature Alert", title, LogImportance.CRITICAL));
-            // Send a notification
-            NotificationsHelper.sendTemperatureAlertNotification(context, alertTitle, alertText, room.getName());
-        }
+        int titleResource = tooHot ? R.string.max_temperature_alert_title : R.string.min_temperature_alert_title;
+        int textResource = tooHot ? R.string.max_temperature_alert_text : R.string.min_temperature_alert_text;
+        String alertTitle = context.getString(titleResource);
+        String alertText = context.getString(textResource);
+        // Add a log entry
+        String title = alertTitle + " " +  connectorString + " " + room.getName();
+        LogsHelper.add(context, new LogEntry("Temperature Alert", title, LogImportance.CRITICAL));
+        // Send a notification
+        NotificationsHelper.sendTemperatureAlertNotification(context, alertTitle, alertText, room.getName());
     }
 
-    private static void notifyWindowLocked(Context context){
-        if (roomNamesWithLockedWindows.size() != 0){
-            if (!notifiedAboutLockedWindows){
-                notifiedAboutLockedWindows = true;
-                String alertTitle = context.getString(R.string.window_locked_alert_title);
-                String alertText = context.getString(R.string.window_locked_alert_text_start);
-                for (String roomName : roomNamesWithLockedWindows){
-                    alertText = alertText.concat(roomName + ", ");
-                }
-                alertText = alertText + context.getString(R.string.window_locked_alert_text_end);
-                NotificationsHelper.sendWindowLockedAlertNotification(context, alertTitle, alertText);
-            } //else the user was notified already, don't notify again
-        } else {
-            notifiedAboutLockedWindows = false;
-        }
-    }
-
-    private static void tryOpeningWindows(Room room, SharedPreferences preferences){
-        int summerStart = preferences.getInt(PREFERENCES_KEY_SUMMER_START, DEFAULT_SUMMER_START);
-        int summerEnd = preferences.getInt(PREFERENCES_KEY_SUMMER_END, DEFAULT_SUMMER_END);
-        int presentMonth = preferences.getInt(PREFERENCES_KEY_DATETIME_MONTH, LocalDate.now().getMonthValue());
-        boolean anyWindowLocked = false;
-        if (!isInSummer(summerStart, summerEnd, presentMonth)) {
-            return;
-        }
-        for (Window window : room.getWindows()){
-            if (window.getIsLocked()){
-                anyWindowLocked = true;
-            } else {
-                window.setIsOpened(true);
-            }
-        }
-        room.setVentilationStatus(VentilationStatus.OFF);
-        if (anyWindowLocked){
-            roomNamesWithLockedWindows.add(room.getName());
-        } else {
-            roomNamesWithLockedWindows.remove(room.getName());
+    private static void notifyWindowLocked(Context context, List<String> roomNames){
+        String alertTitle = context.getString(R.string.window_locked_alert_title);
+        String alertText = context.getString(R.string.window_locked_alert_text_start);
+        for (String roomName : roomNames){
+            alertText = alertText.concat(roomName + ", ");
         }
+        alertText = alertText + context.getString(R.string.window_locked_alert_text_end);
+        NotificationsHelper.sendWindowLockedAlertNotification(context, alertTitle, alertText);
     }
 
     public static boolean isInSummer(int start, int end, int now){
-        // subtracting 1 to everything since we store months nums as 1-12
-        for (int i = start-1; i != (end-1 + 1) % 12; i = (i + 1) % 12){
-            if (now-1 == i) return true;
-        }
-        return false;
+        return ThermalEngine.isInSummer(start, end, now);
     }
 
 }
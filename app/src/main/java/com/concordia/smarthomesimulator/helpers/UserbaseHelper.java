@@ -9,31 +9,31 @@ import com.concordia.smarthomesimulator.enums.Action;
 import com.concordia.smarthomesimulator.enums.LogImportance;
 import com.concordia.smarthomesimulator.enums.Permissions;
 import com.concordia.smarthomesimulator.exceptions.PermissionNotFoundException;
+import com.concordia.smarthomesimulator.interfaces.IStorage;
+import com.concordia.smarthomesimulator.storage.UserbaseStore;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
 import static com.concordia.smarthomesimulator.Constants.PREFERENCES_KEY_PERMISSIONS;
+import static com.concordia.smarthomesimulator.Constants.USERBASE_SAVE_DELAY;
 
 public final class UserbaseHelper {
 
     private final static String USERS_FILE_NAME = "users.txt";
 
+    private static UserbaseStore store;
+
     /**
      * Loads userbase.
+     * The file is only read once, every caller then shares the same userbase.
      *
      * @param context the context of the caller
      * @return the userbase which is either read from a json file stored in external memory or created
      */
     public static Userbase loadUserbase(Context context){
-        Userbase userbase = null;
-        //checking if a user file is present, creating one if it isn't
-        try {
-            userbase = (Userbase) FilesHelper.loadObjectFromFile(context, USERS_FILE_NAME);
-        } catch (IOException | ClassNotFoundException e) {
-            e.printStackTrace();
-        }
+        UserbaseStore users = getStore(context);
+        Userbase userbase = users == null ? null : users.get();
         if (userbase == null){
             // no record of userbase, creating a default one
             userbase = setupDefaultUserbase(context);
@@ -41,17 +41,47 @@ public final class UserbaseHelper {
         return userbase;
     }
 
+    /**
+     * Loads a copy of the userbase, to be edited without changing the userbase shared by every caller.
+     *
+     * @param context the context of the caller
+     * @return the copy of the userbase
+     */
+    public static Userbase loadUserbaseCopy(Context context){
+        loadUserbase(context);
+        UserbaseStore users = getStore(context);
+        Userbase userbase = users == null ? null : users.copy();
+        if (userbase == null){
+            userbase = setupDefaultUserbase(context);
+        }
+        return userbase;
+    }
+
     /**
      * Saves userbase.
+     * The userbase is written to the file in the background, at most USERBASE_SAVE_DELAY later.
      *
      * @param context  the context
      * @param userbase the userbase
      */
     public static void saveUserbase(Context context, Userbase userbase){
-        try {
-            FilesHelper.saveObjectToFile(context, USERS_FILE_NAME, userbase);
-        } catch (IOException e) {
-            e.printStackTrace();
+        UserbaseStore users = getStore(context);
+        if (users != null) {
+            users.save(userbase);
+        }
+    }
+
+    /**
+     * Write the saved userbase to the file now.
+     * Should be called on logout and before the application stops.
+     */
+    public static void flush() {
+        UserbaseStore users;
+        synchronized (UserbaseHelper.class) {
+            users = store;
+        }
+        if (users != null) {
+            users.flush();
         }
     }
 
@@ -97,6 +127,17 @@ public final class UserbaseHelper {
         return false;
     }
 
+    private static synchronized UserbaseStore getStore(Context context) {
+        if (store == null) {
+            IStorage storage = FilesHelper.getStorage(context);
+            if (storage == null) {
+                return null;
+            }
+            store = new UserbaseStore(storage, USERS_FILE_NAME, USERBASE_SAVE_DELAY);
+        }
+        return store;
+    }
+
     private static Userbase setupDefaultUserbase(Context context){
         List<User> users = new ArrayList<>();
         users.add(new User("parent","parent", Permissions.PARENT));
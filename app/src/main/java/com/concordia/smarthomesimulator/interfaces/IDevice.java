@@ -51,6 +51,22 @@ public interface IDevice {
      */
     public void setGeometry(Geometry geometry);
 
+    /**
+     * Gets version.
+     * The version increases every time the device changes.
+     *
+     * @return the version
+     */
+    public long getVersion();
+
+    /**
+     * Gets id.
+     * The id tells devices apart while the application runs, copies made with clone keep the id of the device.
+     *
+     * @return the id
+     */
+    public long getId();
+
     /**
      * Gets device type.
      *
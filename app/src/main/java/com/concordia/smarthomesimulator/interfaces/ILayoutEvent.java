@@ -0,0 +1,27 @@
+package com.concordia.smarthomesimulator.interfaces;
+
+import com.concordia.smarthomesimulator.dataModels.HouseLayout;
+import com.concordia.smarthomesimulator.enums.LayoutEventType;
+
+/**
+ * The interface Layout event.
+ * A layout event is a change to a house layout, small enough to be saved on its own instead of the whole layout.
+ * Events set a state instead of changing it relatively, so applying an event twice has the same result as once.
+ */
+public interface ILayoutEvent {
+
+    /**
+     * Gets event type.
+     *
+     * @return the event type
+     */
+    public LayoutEventType getEventType();
+
+    /**
+     * Apply the change to a house layout.
+     *
+     * @param layout the layout
+     * @return whether the layout changed, false if what the event refers to is not in the layout
+     */
+    public boolean apply(HouseLayout layout);
+}
@@ -0,0 +1,43 @@
+package com.concordia.smarthomesimulator.interfaces;
+
+import com.concordia.smarthomesimulator.dataModels.LogEntry;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * The interface Log store.
+ */
+public interface ILogStore extends Closeable {
+
+    /**
+     * Append an entry to the store.
+     * The entry may be buffered, call {@link #flush()} to make sure it reached the disk.
+     *
+     * @param entry the entry
+     * @throws IOException if the entry could not be written
+     */
+    public void append(LogEntry entry) throws IOException;
+
+    /**
+     * Write the buffered entries to the disk.
+     *
+     * @throws IOException if the entries could not be written
+     */
+    public void flush() throws IOException;
+
+    /**
+     * Iterate over the entries, newest first.
+     *
+     * @return the entries, newest first
+     * @throws IOException if the entries could not be read
+     */
+    public Iterable<LogEntry> newestFirst() throws IOException;
+
+    /**
+     * Remove every entry from the store.
+     *
+     * @throws IOException if the entries could not be removed
+     */
+    public void clear() throws IOException;
+}
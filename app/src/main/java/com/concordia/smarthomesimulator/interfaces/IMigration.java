@@ -0,0 +1,19 @@
+package com.concordia.smarthomesimulator.interfaces;
+
+import java.io.IOException;
+
+/**
+ * The interface Migration.
+ * A migration upgrades the content of a persisted file from one schema version to the next one.
+ */
+public interface IMigration {
+
+    /**
+     * Upgrade the content of a file to the next schema version.
+     *
+     * @param payload the content, without its schema header
+     * @return the upgraded content, without its schema header
+     * @throws IOException if the content is not valid for the version it is migrated from
+     */
+    public byte[] migrate(byte[] payload) throws IOException;
+}
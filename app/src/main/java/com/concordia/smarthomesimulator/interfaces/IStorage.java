@@ -0,0 +1,124 @@
+package com.concordia.smarthomesimulator.interfaces;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * The interface Storage.
+ * A storage holds named blobs of bytes. Names are paths relative to the storage, with '/' between directories.
+ */
+public interface IStorage {
+
+    /**
+     * Determines if a blob exists.
+     *
+     * @param name the name of the blob
+     * @return true or false
+     */
+    public boolean exists(String name);
+
+    /**
+     * Get the content of a blob.
+     *
+     * @param name the name of the blob
+     * @return the content
+     * @throws java.io.FileNotFoundException if the blob does not exist
+     * @throws IOException                   if the blob could not be read
+     */
+    public byte[] get(String name) throws IOException;
+
+    /**
+     * Replace the content of a blob, or create it.
+     * The blob either has its previous content or the new one, never a mix of both.
+     *
+     * @param name the name of the blob
+     * @param data the content
+     * @throws IOException if the blob could not be written
+     */
+    public void put(String name, byte[] data) throws IOException;
+
+    /**
+     * Add to the end of a blob, or create it.
+     * A blob is either written with put or with append, never both. Appended blobs have no protection against a
+     * crash in the middle of a write, their content has to detect a partial last write by itself.
+     *
+     * @param name the name of the blob
+     * @param data the content to add
+     * @throws IOException if the blob could not be written
+     */
+    public void append(String name, byte[] data) throws IOException;
+
+    /**
+     * Open a blob for reading.
+     * The content is read as the stream is read, a blob found corrupted fails with an IOException by the end of it.
+     *
+     * @param name the name of the blob
+     * @return the stream
+     * @throws java.io.FileNotFoundException if the blob does not exist
+     * @throws IOException                   if the blob could not be read
+     */
+    public InputStream openRead(String name) throws IOException;
+
+    /**
+     * Open a blob for writing.
+     * The content replaces the previous one once the stream is closed, storages that keep files write it as it arrives.
+     *
+     * @param name the name of the blob
+     * @return the stream
+     * @throws IOException if the blob could not be opened
+     */
+    public OutputStream openWrite(String name) throws IOException;
+
+    /**
+     * List the blobs of a directory.
+     *
+     * @param directory the directory, or null for the root of the storage
+     * @return the names of the blobs, relative to the directory
+     */
+    public List<String> list(String directory);
+
+    /**
+     * Replace a blob with another one, or move it to a new name.
+     * The target either has its previous content or the content of the source, never neither.
+     *
+     * @param from the name of the blob to move
+     * @param to   the name of the blob to replace
+     * @throws IOException if the blob could not be moved
+     */
+    public void rename(String from, String to) throws IOException;
+
+    /**
+     * Delete a blob.
+     *
+     * @param name the name of the blob
+     * @return whether the blob existed
+     */
+    public boolean delete(String name);
+
+    /**
+     * Gets the size of a blob as stored.
+     *
+     * @param name the name of the blob
+     * @return the size, 0 if the blob does not exist
+     */
+    public long getSize(String name);
+
+    /**
+     * Gets the last time a blob was written.
+     *
+     * @param name the name of the blob
+     * @return the time in milliseconds, 0 if the blob does not exist
+     */
+    public long getLastModified(String name);
+
+    /**
+     * Gets a directory of the local file system, for the stores that need random access to their files.
+     *
+     * @param directory the directory, or null for the root of the storage
+     * @return the directory, or null if the storage does not keep its blobs in files
+     */
+    public File getLocalDirectory(String directory);
+}
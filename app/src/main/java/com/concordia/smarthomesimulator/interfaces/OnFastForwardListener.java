@@ -0,0 +1,13 @@
+package com.concordia.smarthomesimulator.interfaces;
+
+import com.concordia.smarthomesimulator.dataModels.FastForwardResult;
+
+public interface OnFastForwardListener {
+
+    /**
+     * Called once the fast-forward reached its target.
+     *
+     * @param result the result of the fast-forward
+     */
+    public void onFastForwarded(FastForwardResult result);
+}
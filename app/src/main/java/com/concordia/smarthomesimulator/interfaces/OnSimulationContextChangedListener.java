@@ -0,0 +1,13 @@
+package com.concordia.smarthomesimulator.interfaces;
+
+import com.concordia.smarthomesimulator.dataModels.SimulationContext;
+
+public interface OnSimulationContextChangedListener {
+
+    /**
+     * Called when the simulation parameters were changed.
+     *
+     * @param context the new simulation context
+     */
+    public void onSimulationContextChanged(SimulationContext context);
+}
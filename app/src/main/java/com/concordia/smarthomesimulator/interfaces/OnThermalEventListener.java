@@ -0,0 +1,32 @@
+package com.concordia.smarthomesimulator.interfaces;
+
+import com.concordia.smarthomesimulator.dataModels.Room;
+import com.concordia.smarthomesimulator.enums.VentilationStatus;
+
+import java.util.List;
+
+public interface OnThermalEventListener {
+
+    /**
+     * Called when the HVAC system of a room starts heating or cooling.
+     *
+     * @param room   the room
+     * @param status the new ventilation status
+     */
+    public void onVentilationChanged(Room room, VentilationStatus status);
+
+    /**
+     * Called once when a room reaches an extreme temperature.
+     *
+     * @param room   the room
+     * @param tooHot true if the maximum was exceeded, false if the minimum was
+     */
+    public void onExtremeTemperature(Room room, boolean tooHot);
+
+    /**
+     * Called once when the HVAC tried to open windows that were locked.
+     *
+     * @param roomNames the names of the rooms with locked windows
+     */
+    public void onWindowsLocked(List<String> roomNames);
+}
@@ -10,13 +10,15 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import com.concordia.smarthomesimulator.R;
 import com.concordia.smarthomesimulator.dataModels.LogEntry;
+import com.concordia.smarthomesimulator.dataModels.LogRow;
 import com.concordia.smarthomesimulator.enums.LogImportance;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 
-public class ActivityLogsAdapter extends ArrayAdapter<ArrayList<LogEntry>> {
+public class ActivityLogsAdapter extends ArrayAdapter<ArrayList<LogRow>> {
 
-    ArrayList<LogEntry> items;
+    ArrayList<LogRow> items;
     Context context;
 
     /**
@@ -24,9 +26,9 @@ public class ActivityLogsAdapter extends ArrayAdapter<ArrayList<LogEntry>> {
      *
      * @param context  application environment
      * @param resource resource ID
-     * @param list list containing activity log entries to be inserted into items
+     * @param list list containing the formatted activity log entries to be inserted into items
      */
-    public ActivityLogsAdapter(@NonNull Context context, int resource, ArrayList<LogEntry> list) {
+    public ActivityLogsAdapter(@NonNull Context context, int resource, ArrayList<LogRow> list) {
         super(context, resource);
         items = list;
         this.context = context;
@@ -37,63 +39,104 @@ public class ActivityLogsAdapter extends ArrayAdapter<ArrayList<LogEntry>> {
         return items.size();
     }
 
-
-    //REFACTOR : The original issue with this method was that is was quite unnecessarily long. The
-    // getView method originally had a switch case within its body in order to determine the text
-    // color to be applied to the alert based on its importance. This cause the method to be quite
-    // unnecessarily long. To fix this, the switch case was moved to the body of a new method named
-    // setTextColor which takes a log importance as a parameter and returns the appropriate color
-    // for the alert.
+    // Rows are recycled: the views of a row are only looked up when it is inflated, and binding only sets
+    // text that was already formatted off the UI thread.
     @NonNull
     @Override
     public View getView(int position, View convertView, ViewGroup parent){
-        LayoutInflater inflater = LayoutInflater.from(context);
-        View row = inflater.inflate(R.layout.adapter_logs_entry, parent, false);
+        View row = convertView;
+        ViewHolder holder;
+        if (row == null) {
+            row = LayoutInflater.from(context).inflate(R.layout.adapter_logs_entry, parent, false);
+            holder = new ViewHolder(row);
+            row.setTag(holder);
+        } else {
+            holder = (ViewHolder) row.getTag();
+        }
 
         // Add top padding for the first item only
         if (position == 0) {
             int padding = (int) context.getResources().getDimension(R.dimen.activity_horizontal_margin);
-            LinearLayout layout = row.findViewById(R.id.log_item_layout);
-            layout.setPadding(padding, padding, padding, padding);
+            holder.layout.setPadding(padding, padding, padding, padding);
+        } else {
+            holder.layout.setPadding(holder.paddingLeft, holder.paddingTop, holder.paddingRight, holder.paddingBottom);
         }
 
-        LogEntry entry = items.get(position);
+        LogRow item = items.get(position);
+        LogEntry entry = item.getEntry();
 
-        TextView componentText = row.findViewById(R.id.log_component_text);
-        componentText.setText(entry.getComponent());
+        holder.componentText.setText(entry.getComponent());
+        holder.mainText.setText(entry.getMessage());
+        holder.dateTimeText.setText(item.getDateTimeText());
+        holder.importanceText.setText(entry.getImportance().toString());
 
-        TextView mainText = row.findViewById(R.id.log_main_text);
-        mainText.setText(entry.getMessage());
-
-        TextView dateTimeText = row.findViewById(R.id.log_date_time_text);
-        dateTimeText.setText(entry.getDateTime().toString());
-
-        LogImportance entryImportance = entry.getImportance();
-
-        TextView importanceText = row.findViewById(R.id.log_importance_text);
-        importanceText.setText(entryImportance.toString());
-
-        int textColor = setTextColor(entryImportance);
-        mainText.setTextColor(textColor);
-        importanceText.setTextColor(textColor);
+        holder.mainText.setTextColor(item.getColor());
+        holder.importanceText.setTextColor(item.getColor());
 
         return row;
     }
 
-    private int setTextColor(LogImportance logImportance){
+    /**
+     * Gets the text color of every log importance.
+     *
+     * @param context the context
+     * @return the colors
+     */
+    public static EnumMap<LogImportance, Integer> getTextColors(Context context) {
+        EnumMap<LogImportance, Integer> colors = new EnumMap<>(LogImportance.class);
+        for (LogImportance importance : LogImportance.values()) {
+            colors.put(importance, getTextColor(context, importance));
+        }
+        return colors;
+    }
+
+    //REFACTOR : The original issue with this method was that is was quite unnecessarily long. The
+    // getView method originally had a switch case within its body in order to determine the text
+    // color to be applied to the alert based on its importance. This cause the method to be quite
+    // unnecessarily long. To fix this, the switch case was moved to the body of a new method named
+    // setTextColor which takes a log importance as a parameter and returns the appropriate color
+    // for the alert.
+    private static int getTextColor(Context context, LogImportance logImportance){
         int textColor;
         switch(logImportance) {
             case CRITICAL:
-                textColor = getContext().getColor(R.color.danger);;
+                textColor = context.getColor(R.color.danger);
                 break;
             case IMPORTANT:
                 // Orange
-                textColor = getContext().getColor(R.color.accentDark);
+                textColor = context.getColor(R.color.accentDark);
                 break;
             default:
-                textColor = getContext().getColor(R.color.primary);;
+                textColor = context.getColor(R.color.primary);
                 break;
         }
         return textColor;
     }
+
+    /**
+     * The views of a recycled row.
+     */
+    private static class ViewHolder {
+        private final LinearLayout layout;
+        private final TextView componentText;
+        private final TextView mainText;
+        private final TextView dateTimeText;
+        private final TextView importanceText;
+        private final int paddingLeft;
+        private final int paddingTop;
+        private final int paddingRight;
+        private final int paddingBottom;
+
+        private ViewHolder(View row) {
+            layout = row.findViewById(R.id.log_item_layout);
+            componentText = row.findViewById(R.id.log_component_text);
+            mainText = row.findViewById(R.id.log_main_text);
+            dateTimeText = row.findViewById(R.id.log_date_time_text);
+            importanceText = row.findViewById(R.id.log_importance_text);
+            paddingLeft = layout.getPaddingLeft();
+            paddingTop = layout.getPaddingTop();
+            paddingRight = layout.getPaddingRight();
+            paddingBottom = layout.getPaddingBottom();
+        }
+    }
 }
\ No newline at end of file
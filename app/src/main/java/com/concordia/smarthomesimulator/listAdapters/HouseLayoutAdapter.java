@@ -8,13 +8,13 @@ import android.widget.ArrayAdapter;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
 import com.concordia.smarthomesimulator.R;
-import com.concordia.smarthomesimulator.dataModels.HouseLayout;
+import com.concordia.smarthomesimulator.dataModels.LayoutSummary;
 
 import java.util.ArrayList;
 
-public class HouseLayoutAdapter extends ArrayAdapter<ArrayList<HouseLayout>> {
+public class HouseLayoutAdapter extends ArrayAdapter<ArrayList<LayoutSummary>> {
 
-    ArrayList<HouseLayout> layouts;
+    ArrayList<LayoutSummary> layouts;
     Context context;
 
     /**
@@ -22,9 +22,9 @@ public class HouseLayoutAdapter extends ArrayAdapter<ArrayList<HouseLayout>> {
      *
      * @param context  application environment
      * @param resource the resource ID
-     * @param list list containing the different house layouts
+     * @param list list containing the summaries of the different house layouts
      */
-    public HouseLayoutAdapter(@NonNull Context context, int resource, ArrayList<HouseLayout> list) {
+    public HouseLayoutAdapter(@NonNull Context context, int resource, ArrayList<LayoutSummary> list) {
         super(context, resource);
         this.context = context;
         layouts = list;
@@ -41,7 +41,7 @@ public class HouseLayoutAdapter extends ArrayAdapter<ArrayList<HouseLayout>> {
         LayoutInflater inflater = LayoutInflater.from(context);
         View row = inflater.inflate(R.layout.adapter_house_layout, parent, false);
 
-        HouseLayout layout = layouts.get(position);
+        LayoutSummary layout = layouts.get(position);
 
         TextView layoutName = row.findViewById(R.id.adapter_layout_name);
         layoutName.setText(layout.getName());
@@ -0,0 +1,90 @@
+package com.concordia.smarthomesimulator.simulation;
+
+import com.concordia.smarthomesimulator.dataModels.FastForwardResult;
+import com.concordia.smarthomesimulator.dataModels.HouseLayout;
+import com.concordia.smarthomesimulator.dataModels.ThermalParameters;
+import com.concordia.smarthomesimulator.interfaces.OnFastForwardListener;
+import com.concordia.smarthomesimulator.interfaces.OnThermalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Advances the clock, the thermal model and the auto-light schedule of a layout in a tight loop.
+ * Nothing is saved or drawn while it runs, that is left to the caller once the target is reached.
+ * The events of the thermal engine are collected during the jump and published once at the end.
+ */
+public final class FastForward {
+
+    /**
+     * Number of thermal ticks (simulated seconds) per simulated minute.
+     */
+    public static final int TICKS_PER_MINUTE = 60;
+
+    private FastForward() { }
+
+    /**
+     * Simulate the layout from a date time up to another one, one minute at a time.
+     *
+     * @param layout     the layout to update
+     * @param engine     the thermal engine
+     * @param parameters the thermal parameters (the month is updated as the clock advances)
+     * @param schedule   the auto-light schedule, or null to leave the lights alone
+     * @param from       the current simulation time
+     * @param to         the simulation time to reach
+     * @return the result of the fast-forward
+     */
+    public static FastForwardResult run(HouseLayout layout, ThermalEngine engine, ThermalParameters parameters, LightsSchedule schedule, LocalDateTime from, LocalDateTime to) {
+        long start = System.nanoTime();
+        long ticks = 0;
+        LocalDateTime dateTime = from;
+        ThermalParameters current = parameters;
+        // Don't report the events of every tick, only a summary once the target is reached
+        OnThermalEventListener listener = engine.getOnThermalEventListener();
+        ThermalEventSummary events = new ThermalEventSummary();
+        engine.setOnThermalEventListener(events);
+        try {
+            while (dateTime.isBefore(to)) {
+                dateTime = dateTime.plusMinutes(1);
+                current = current.withMonth(dateTime.getMonthValue());
+                engine.advance(layout, current, TICKS_PER_MINUTE);
+                ticks += TICKS_PER_MINUTE;
+                if (schedule != null) {
+                    schedule.apply(layout, dateTime);
+                }
+            }
+        } finally {
+            engine.setOnThermalEventListener(listener);
+        }
+        events.publish(listener);
+        return new FastForwardResult(dateTime, ticks, System.nanoTime() - start, events.getVentilationChanges());
+    }
+
+    /**
+     * Simulate the layout up to a date time on a background executor.
+     * The layout is locked while it runs, so the regular timers never see it half updated.
+     *
+     * @param executor   the executor to run on
+     * @param layout     the layout to update
+     * @param engine     the thermal engine
+     * @param parameters the thermal parameters
+     * @param schedule   the auto-light schedule, or null to leave the lights alone
+     * @param from       the current simulation time
+     * @param to         the simulation time to reach
+     * @param listener   called on the executor once the target is reached, can be null
+     * @return the future result of the fast-forward
+     */
+    public static Future<FastForwardResult> submit(ExecutorService executor, HouseLayout layout, ThermalEngine engine, ThermalParameters parameters, LightsSchedule schedule, LocalDateTime from, LocalDateTime to, OnFastForwardListener listener) {
+        return executor.submit(() -> {
+            FastForwardResult result;
+            synchronized (layout) {
+                result = run(layout, engine, parameters, schedule, from, to);
+            }
+            if (listener != null) {
+                listener.onFastForwarded(result);
+            }
+            return result;
+        });
+    }
+}
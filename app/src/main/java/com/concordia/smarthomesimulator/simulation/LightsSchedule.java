@@ -0,0 +1,91 @@
+package com.concordia.smarthomesimulator.simulation;
+
+import com.concordia.smarthomesimulator.dataModels.HouseLayout;
+import com.concordia.smarthomesimulator.dataModels.Light;
+import com.concordia.smarthomesimulator.dataModels.Room;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+
+/**
+ * Time window during which the auto-on lights of a layout are turned on.
+ */
+public final class LightsSchedule {
+
+    private final LocalTime onTime;
+    private final LocalTime offTime;
+
+    /**
+     * Instantiates a new Lights schedule.
+     *
+     * @param onTime  the time at which the lights are turned on
+     * @param offTime the time at which the lights are turned off
+     */
+    public LightsSchedule(LocalTime onTime, LocalTime offTime) {
+        this.onTime = onTime;
+        this.offTime = offTime;
+    }
+
+    /**
+     * Gets the time at which the lights are turned on.
+     *
+     * @return the on time
+     */
+    public LocalTime getOnTime() {
+        return onTime;
+    }
+
+    /**
+     * Gets the time at which the lights are turned off.
+     *
+     * @return the off time
+     */
+    public LocalTime getOffTime() {
+        return offTime;
+    }
+
+    /**
+     * Whether the given minute is one of the schedule's bounds.
+     *
+     * @param dateTime the current simulation time
+     * @return whether the lights have to be switched
+     */
+    public boolean isBound(LocalDateTime dateTime) {
+        return isSameMinute(dateTime, onTime) || isSameMinute(dateTime, offTime);
+    }
+
+    /**
+     * Turn the auto-on lights on or off if the given minute is one of the schedule's bounds.
+     *
+     * @param layout   the layout
+     * @param dateTime the current simulation time
+     * @return whether the layout was modified
+     */
+    public boolean apply(HouseLayout layout, LocalDateTime dateTime) {
+        // If the current time the minimum or maximum bound ?
+        boolean isMinTime = isSameMinute(dateTime, onTime);
+        boolean isMaxTime = isSameMinute(dateTime, offTime);
+        // If it's not don't do anything
+        if (layout == null || (!isMinTime && !isMaxTime)) {
+            return false;
+        }
+        // Indexed loops, this runs for every light of the layout without allocating anything
+        ArrayList<Room> rooms = layout.getRooms();
+        for (int i = 0; i < rooms.size(); i++) {
+            ArrayList<Light> lights = rooms.get(i).getLights();
+            for (int j = 0; j < lights.size(); j++) {
+                Light light = lights.get(j);
+                // If this is the minimum time, turn on the auto-on lights. If it's the maximum time, close them
+                if (light.isAutoOn()) {
+                    light.setIsOpened(isMinTime);
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSameMinute(LocalDateTime dateTime, LocalTime time) {
+        return dateTime.getHour() == time.getHour() && dateTime.getMinute() == time.getMinute();
+    }
+}
@@ -0,0 +1,307 @@
+package com.concordia.smarthomesimulator.simulation;
+
+import com.concordia.smarthomesimulator.dataModels.SchedulerMetrics;
+
+import java.io.Closeable;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs the periodic and one-shot tasks of the simulation on a single thread, in simulated time.
+ *
+ * The simulated clock is derived from a monotonic real clock: it moves forward by the real time elapsed multiplied by
+ * the time scale, and stands still while the simulation is paused. Changing the time scale restarts nothing, the
+ * thread simply wakes up when the next task is due. Tasks due at the same simulated time run in the order they were
+ * scheduled.
+ *
+ * A periodic task that fell behind, for example while the device was asleep, is run once for every period it missed,
+ * up to a limit. The periods over that limit are skipped and counted as missed ticks.
+ */
+public class SimulationScheduler implements Closeable {
+
+    private final LongSupplier realClock;
+    private final int maxCatchUp;
+    private final ScheduledExecutorService executor;
+    private final PriorityQueue<Task> queue;
+
+    private long sequence;
+    private double timeScale;
+    private boolean running;
+    private long simulatedNanos;
+    private long realNanos;
+    private ScheduledFuture<?> wakeUp;
+
+    private long ticks;
+    private long missedTicks;
+    private long totalLagNanos;
+    private long maxLagNanos;
+
+    /**
+     * Instantiates a new Simulation scheduler, paused at a time scale of 1.
+     *
+     * @param maxCatchUp the most times a periodic task is run in a row to catch up with the clock
+     */
+    public SimulationScheduler(int maxCatchUp) {
+        this(System::nanoTime, maxCatchUp);
+    }
+
+    /**
+     * Instantiates a new Simulation scheduler, paused at a time scale of 1.
+     *
+     * @param realClock  the monotonic real clock, in nanoseconds
+     * @param maxCatchUp the most times a periodic task is run in a row to catch up with the clock
+     */
+    public SimulationScheduler(LongSupplier realClock, int maxCatchUp) {
+        this.realClock = realClock;
+        this.maxCatchUp = Math.max(1, maxCatchUp);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "simulation-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.queue = new PriorityQueue<>();
+        this.timeScale = 1;
+        this.realNanos = realClock.getAsLong();
+    }
+
+    //region Public Methods
+
+    /**
+     * Run a task once, after a delay in simulated time.
+     *
+     * @param task  the task
+     * @param delay the delay
+     * @param unit  the unit of the delay
+     * @return the scheduled task
+     */
+    public synchronized Task schedule(Runnable task, long delay, TimeUnit unit) {
+        return enqueue(task, unit.toNanos(delay), 0);
+    }
+
+    /**
+     * Run a task periodically, in simulated time.
+     *
+     * @param task         the task
+     * @param initialDelay the delay before the first run
+     * @param period       the period between the runs
+     * @param unit         the unit of the delay and period
+     * @return the scheduled task
+     */
+    public synchronized Task scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("The period must be positive");
+        }
+        return enqueue(task, unit.toNanos(initialDelay), unit.toNanos(period));
+    }
+
+    /**
+     * Run a task periodically in real time, on the thread of the scheduler, whether the simulation is paused or not.
+     *
+     * @param task   the task
+     * @param period the period between the runs
+     * @param unit   the unit of the period
+     * @return the future of the task, to cancel it
+     */
+    public ScheduledFuture<?> scheduleAtRealRate(Runnable task, long period, TimeUnit unit) {
+        return executor.scheduleAtFixedRate(() -> run(task), 0, period, unit);
+    }
+
+    /**
+     * Gets the simulated time elapsed since the scheduler was created.
+     *
+     * @param unit the unit of the time
+     * @return the simulated time
+     */
+    public synchronized long getSimulatedTime(TimeUnit unit) {
+        advance();
+        return unit.convert(simulatedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the time scale.
+     *
+     * @return the time scale
+     */
+    public synchronized double getTimeScale() {
+        return timeScale;
+    }
+
+    /**
+     * Sets how much faster than real time the simulated clock moves.
+     *
+     * @param timeScale the time scale
+     */
+    public synchronized void setTimeScale(double timeScale) {
+        if (!(timeScale > 0)) {
+            throw new IllegalArgumentException("The time scale must be positive");
+        }
+        if (timeScale == this.timeScale) {
+            return;
+        }
+        advance();
+        this.timeScale = timeScale;
+        wake();
+    }
+
+    /**
+     * Whether the simulated clock is moving.
+     *
+     * @return the boolean
+     */
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Start or pause the simulated clock.
+     *
+     * @param running whether the simulated clock moves
+     */
+    public synchronized void setRunning(boolean running) {
+        if (running == this.running) {
+            return;
+        }
+        advance();
+        this.running = running;
+        wake();
+    }
+
+    /**
+     * Gets how well the scheduler kept up with the simulated clock.
+     *
+     * @return the metrics
+     */
+    public synchronized SchedulerMetrics getMetrics() {
+        return new SchedulerMetrics(ticks, missedTicks, totalLagNanos, maxLagNanos);
+    }
+
+    /**
+     * Run every task that is due, in the order they are due.
+     * The thread of the scheduler calls it when the next task is due.
+     */
+    public void runDueTasks() {
+        while (true) {
+            Task task;
+            synchronized (this) {
+                advance();
+                task = queue.peek();
+                if (task == null || task.due > simulatedNanos) {
+                    wake();
+                    return;
+                }
+                queue.poll();
+                long behind = simulatedNanos - task.due;
+                if (task.period > 0) {
+                    // Skip the periods over the limit rather than running the task over and over
+                    long due = behind / task.period + 1;
+                    if (due > maxCatchUp) {
+                        long skipped = due - maxCatchUp;
+                        missedTicks += skipped;
+                        task.due += skipped * task.period;
+                        behind = simulatedNanos - task.due;
+                    }
+                    task.due += task.period;
+                    queue.add(task);
+                }
+                long lag = (long) (behind / timeScale);
+                ticks++;
+                totalLagNanos += lag;
+                maxLagNanos = Math.max(maxLagNanos, lag);
+            }
+            // Run outside of the lock, the task may take the lock of the layout
+            run(task.runnable);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    //endregion
+
+    //region Private Methods
+
+    private Task enqueue(Runnable runnable, long delayNanos, long periodNanos) {
+        advance();
+        Task task = new Task(runnable, simulatedNanos + Math.max(0, delayNanos), periodNanos, sequence++);
+        queue.add(task);
+        wake();
+        return task;
+    }
+
+    private synchronized void cancel(Task task) {
+        if (queue.remove(task)) {
+            wake();
+        }
+    }
+
+    private void advance() {
+        long now = realClock.getAsLong();
+        if (running) {
+            simulatedNanos += (long) ((now - realNanos) * timeScale);
+        }
+        realNanos = now;
+    }
+
+    private void wake() {
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+            wakeUp = null;
+        }
+        Task next = queue.peek();
+        if (!running || next == null || executor.isShutdown()) {
+            return;
+        }
+        long delay = (long) Math.ceil((next.due - simulatedNanos) / timeScale);
+        wakeUp = executor.schedule(this::runDueTasks, Math.max(0, delay), TimeUnit.NANOSECONDS);
+    }
+
+    private static void run(Runnable runnable) {
+        try {
+            runnable.run();
+        } catch (RuntimeException e) {
+            // A failing task must not stop the other tasks
+            e.printStackTrace();
+        }
+    }
+
+    //endregion
+
+    /**
+     * A task waiting in the scheduler.
+     */
+    public final class Task implements Comparable<Task> {
+
+        private final Runnable runnable;
+        private final long period;
+        private final long order;
+        private long due;
+
+        private Task(Runnable runnable, long due, long period, long order) {
+            this.runnable = runnable;
+            this.due = due;
+            this.period = period;
+            this.order = order;
+        }
+
+        /**
+         * Cancel the task, it will not run again.
+         */
+        public void cancel() {
+            SimulationScheduler.this.cancel(this);
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            if (due != other.due) {
+                return Long.compare(due, other.due);
+            }
+            return Long.compare(order, other.order);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.concordia.smarthomesimulator.simulation;
+
+import com.concordia.smarthomesimulator.dataModels.HouseLayout;
+import com.concordia.smarthomesimulator.dataModels.Room;
+import com.concordia.smarthomesimulator.dataModels.ThermalParameters;
+import com.concordia.smarthomesimulator.dataModels.Window;
+import com.concordia.smarthomesimulator.enums.VentilationStatus;
+import com.concordia.smarthomesimulator.interfaces.OnThermalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+
+import static com.concordia.smarthomesimulator.Constants.*;
+
+/**
+ * Fixed-step thermal model of a house layout.
+ * A tick represents one simulated second. The engine has no knowledge of Android, so it can be driven
+ * by the simulation scheduler in the app or advanced thousands of ticks at a time in tests and benchmarks.
+ */
+public class ThermalEngine {
+
+    private static final double NOT_EXTREME = Double.MIN_VALUE;
+
+    private final HashMap<String, Double> extremeRooms;
+    private final LinkedHashSet<String> roomNamesWithLockedWindows;
+
+    private boolean notifiedAboutLockedWindows;
+    private OnThermalEventListener listener;
+    private long ticks;
+
+    /**
+     * Instantiates a new Thermal engine.
+     */
+    public ThermalEngine() {
+        extremeRooms = new HashMap<>();
+        roomNamesWithLockedWindows = new LinkedHashSet<>();
+        notifiedAboutLockedWindows = false;
+        ticks = 0;
+    }
+
+    /**
+     * Sets the listener notified of the events happening during a tick.
+     *
+     * @param listener the listener
+     */
+    public void setOnThermalEventListener(OnThermalEventListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Gets the listener notified of the events happening during a tick.
+     *
+     * @return the listener
+     */
+    public OnThermalEventListener getOnThermalEventListener() {
+        return listener;
+    }
+
+    /**
+     * Gets the number of ticks simulated since the engine was created.
+     *
+     * @return the ticks
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Advance the simulation of the layout by a given number of ticks.
+     *
+     * @param layout     the layout to update
+     * @param parameters the simulation parameters
+     * @param count      the number of ticks to simulate
+     */
+    public void advance(HouseLayout layout, ThermalParameters parameters, int count) {
+        if (layout == null || parameters == null) {
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            updateRoomTemperatures(layout, parameters);
+            checkLockedWindows();
+            checkExtremeTemperatures(layout, parameters);
+            ticks++;
+        }
+    }
+
+    /**
+     * Whether the given month is in summer.
+     *
+     * @param start the first month of summer (1-12)
+     * @param end   the last month of summer (1-12)
+     * @param now   the month to check (1-12)
+     * @return whether the month is in summer
+     */
+    public static boolean isInSummer(int start, int end, int now){
+        // subtracting 1 to everything since we store months nums as 1-12
+        for (int i = start-1; i != (end-1 + 1) % 12; i = (i + 1) % 12){
+            if (now-1 == i) return true;
+        }
+        return false;
+    }
+
+    private void updateRoomTemperatures(HouseLayout layout, ThermalParameters parameters) {
+        double outsideTemperature = parameters.getOutsideTemperature();
+        // Update the temperature for every room in the layout
+        for (Room room : layout.getRooms()) {
+            // Make sure the temperatures are not too extreme
+            if (room.getActualTemperature() > MAXIMUM_TEMPERATURE) {
+                room.setActualTemperature(outsideTemperature);
+            }
+            if (room.getDesiredTemperature() > MAXIMUM_TEMPERATURE) {
+                room.setDesiredTemperature(outsideTemperature);
+            }
+            // Get current room information
+            double actualTemperature = room.getActualTemperature();
+            double desiredTemperature = room.getDesiredTemperature();
+            VentilationStatus currentVentStatus = room.getVentilationStatus();
+            VentilationStatus newVentStatus = actualTemperature > desiredTemperature ? VentilationStatus.COOLING : VentilationStatus.HEATING;
+            // Because of unclear requirements, OFF and PAUSED really just mean the same thing since the system turns itself on.
+            switch (currentVentStatus) {
+                case OFF:
+                case PAUSED:
+                    if (Math.abs(actualTemperature - desiredTemperature) > MAX_TEMPERATURE_DIFFERENCE_WHEN_PAUSED) {
+                        room.setVentilationStatus(newVentStatus);
+                        onVentilationChanged(room, newVentStatus);
+                    } else {
+                        double less = actualTemperature - OUTSIDE_TEMPERATURE_CHANGE;
+                        double more = actualTemperature + OUTSIDE_TEMPERATURE_CHANGE;
+                        room.setActualTemperature(actualTemperature > outsideTemperature ? less : more);
+                    }
+                    break;
+                case COOLING:
+                case HEATING:
+                    if (Math.abs(actualTemperature - desiredTemperature) < HVAC_TEMPERATURE_CHANGE) {
+                        room.setVentilationStatus(VentilationStatus.PAUSED);
+                    } else {
+                        // In case the desired temp is changed while the ventilation is already running
+                        if (currentVentStatus != newVentStatus) {
+                            room.setVentilationStatus(newVentStatus);
+                            onVentilationChanged(room, newVentStatus);
+                        }
+                        if (newVentStatus == VentilationStatus.COOLING && outsideTemperature < actualTemperature && !parameters.isAwayMode()) {
+                            tryOpeningWindows(room, parameters);
+                        }
+                        double less = actualTemperature - HVAC_TEMPERATURE_CHANGE;
+                        double more = actualTemperature + HVAC_TEMPERATURE_CHANGE;
+                        room.setActualTemperature(actualTemperature > desiredTemperature ? less : more);
+                    }
+            }
+        }
+    }
+
+    private void checkExtremeTemperatures(HouseLayout layout, ThermalParameters parameters) {
+        int maxTemperatureAlert = parameters.getMaxAlertTemperature();
+        int minTemperatureAlert = parameters.getMinAlertTemperature();
+        // Go through every room
+        for (Room room : layout.getRooms()) {
+            double actualTemp = room.getActualTemperature();
+            // Make sure the temperature is extreme
+            if (actualTemp > minTemperatureAlert && actualTemp < maxTemperatureAlert) {
+                // If not make sure the room is reset in the map
+                extremeRooms.put(room.getName(), NOT_EXTREME);
+                continue;
+            }
+            // If the room's desired temp has not changed since last notif, don't send a notification
+            if (extremeRooms.getOrDefault(room.getName(), NOT_EXTREME) == room.getDesiredTemperature()) {
+                continue;
+            }
+            // Set the room as extreme
+            extremeRooms.put(room.getName(), room.getDesiredTemperature());
+            if (listener != null) {
+                listener.onExtremeTemperature(room, actualTemp > maxTemperatureAlert);
+            }
+        }
+    }
+
+    private void checkLockedWindows() {
+        if (roomNamesWithLockedWindows.size() != 0) {
+            if (!notifiedAboutLockedWindows) {
+                notifiedAboutLockedWindows = true;
+                if (listener != null) {
+                    listener.onWindowsLocked(new ArrayList<>(roomNamesWithLockedWindows));
+                }
+            } //else the user was notified already, don't notify again
+        } else {
+            notifiedAboutLockedWindows = false;
+        }
+    }
+
+    private void tryOpeningWindows(Room room, ThermalParameters parameters) {
+        boolean anyWindowLocked = false;
+        if (!isInSummer(parameters.getSummerStart(), parameters.getSummerEnd(), parameters.getMonth())) {
+            return;
+        }
+        for (Window window : room.getWindows()) {
+            if (window.getIsLocked()) {
+                anyWindowLocked = true;
+            } else {
+                window.setIsOpened(true);
+            }
+        }
+        room.setVentilationStatus(VentilationStatus.OFF);
+        if (anyWindowLocked) {
+            roomNamesWithLockedWindows.add(room.getName());
+        } else {
+            roomNamesWithLockedWindows.remove(room.getName());
+        }
+    }
+
+    private void onVentilationChanged(Room room, VentilationStatus status) {
+        if (listener != null) {
+            listener.onVentilationChanged(room, status);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.concordia.smarthomesimulator.simulation;
+
+import com.concordia.smarthomesimulator.dataModels.Room;
+import com.concordia.smarthomesimulator.enums.VentilationStatus;
+import com.concordia.smarthomesimulator.interfaces.OnThermalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the events of a thermal engine instead of reporting them one tick at a time.
+ * Used while fast-forwarding, the collected events are then published once.
+ */
+public class ThermalEventSummary implements OnThermalEventListener {
+
+    private final LinkedHashMap<Room, Boolean> extremeRooms;
+    private final LinkedHashSet<String> roomNamesWithLockedWindows;
+    private long ventilationChanges;
+
+    /**
+     * Instantiates a new Thermal event summary.
+     */
+    public ThermalEventSummary() {
+        extremeRooms = new LinkedHashMap<>();
+        roomNamesWithLockedWindows = new LinkedHashSet<>();
+        ventilationChanges = 0;
+    }
+
+    @Override
+    public void onVentilationChanged(Room room, VentilationStatus status) {
+        ventilationChanges++;
+    }
+
+    @Override
+    public void onExtremeTemperature(Room room, boolean tooHot) {
+        // Only the last alert of a room matters
+        extremeRooms.put(room, tooHot);
+    }
+
+    @Override
+    public void onWindowsLocked(List<String> roomNames) {
+        roomNamesWithLockedWindows.addAll(roomNames);
+    }
+
+    /**
+     * Gets the number of times the HVAC of a room started heating or cooling.
+     *
+     * @return the ventilation changes
+     */
+    public long getVentilationChanges() {
+        return ventilationChanges;
+    }
+
+    /**
+     * Report the collected alerts to a listener: one alert per room that reached an extreme temperature,
+     * and a single one for the locked windows. The ventilation changes are only counted.
+     *
+     * @param listener the listener
+     */
+    public void publish(OnThermalEventListener listener) {
+        if (listener == null) {
+            return;
+        }
+        for (Map.Entry<Room, Boolean> entry : extremeRooms.entrySet()) {
+            listener.onExtremeTemperature(entry.getKey(), entry.getValue());
+        }
+        if (!roomNamesWithLockedWindows.isEmpty()) {
+            listener.onWindowsLocked(new ArrayList<>(roomNamesWithLockedWindows));
+        }
+    }
+}
@@ -3,7 +3,6 @@ package com.concordia.smarthomesimulator.singletons;
 import com.concordia.smarthomesimulator.dataModels.HouseLayout;
 import com.concordia.smarthomesimulator.interfaces.OnIntruderDetectedListener;
 
-import java.util.ArrayList;
 import java.util.Observable;
 import java.util.Observer;
 
@@ -59,12 +58,18 @@ public class LayoutSingleton implements Observer {
      * @param layout the layout
      */
     public void setLayout(HouseLayout layout) {
+        // The simulation sets the same layout on every tick, its observer is already in place
+        if (this.layout == layout) {
+            return;
+        }
         boolean update = true;
         if (this.layout != null) {
             // Remove the observer from the old layout
             this.layout.deleteObserver(this);
-            // Update if inhabitants changed
-            update = !this.layout.getAllInhabitants().equals(layout == null ? new ArrayList<>() : layout.getAllInhabitants());
+            // Update if inhabitants changed, only the intruders of the new layout call the listener
+            update = layout != null && layout.isIntruderDetected()
+                    && (layout.getIntruderCount() != this.layout.getIntruderCount()
+                    || !this.layout.getAllInhabitants().equals(layout.getAllInhabitants()));
         }
         // Set the new layout and add the observer
         this.layout = layout;
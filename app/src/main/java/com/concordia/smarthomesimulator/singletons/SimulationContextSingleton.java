@@ -0,0 +1,70 @@
+package com.concordia.smarthomesimulator.singletons;
+
+import com.concordia.smarthomesimulator.dataModels.SimulationContext;
+import com.concordia.smarthomesimulator.interfaces.OnSimulationContextChangedListener;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The simulation context shared by the timers, replaced as a whole whenever the parameters change
+ */
+public class SimulationContextSingleton {
+
+    private static final SimulationContextSingleton instance = new SimulationContextSingleton();
+
+    private final AtomicReference<SimulationContext> context = new AtomicReference<>();
+    private volatile OnSimulationContextChangedListener onSimulationContextChangedListener;
+
+    private SimulationContextSingleton() { }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static SimulationContextSingleton getInstance() {
+        return instance;
+    }
+
+    /**
+     * Gets context, null until one was set.
+     *
+     * @return the context
+     */
+    public SimulationContext getContext() {
+        return context.get();
+    }
+
+    /**
+     * Sets context.
+     *
+     * @param context the context
+     */
+    public void setContext(SimulationContext context) {
+        this.context.set(context);
+        OnSimulationContextChangedListener listener = onSimulationContextChangedListener;
+        if (listener != null && context != null) {
+            listener.onSimulationContextChanged(context);
+        }
+    }
+
+    /**
+     * Sets the listener called when the context is set, not when only its date time moves.
+     *
+     * @param listener the listener
+     */
+    public void setOnSimulationContextChangedListener(OnSimulationContextChangedListener listener) {
+        this.onSimulationContextChangedListener = listener;
+    }
+
+    /**
+     * Move the simulation date time of the context, keeping the other parameters.
+     *
+     * @param dateTime the date time
+     * @return the context, null if none was set
+     */
+    public SimulationContext setDateTime(LocalDateTime dateTime) {
+        return context.updateAndGet(current -> current == null ? null : current.withDateTime(dateTime));
+    }
+}
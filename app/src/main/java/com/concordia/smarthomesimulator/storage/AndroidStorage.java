@@ -0,0 +1,19 @@
+package com.concordia.smarthomesimulator.storage;
+
+import android.content.Context;
+
+/**
+ * The storage of the application, in its external files directory.
+ * The storage permissions must be granted before it is used, FilesHelper asks for them.
+ */
+public class AndroidStorage extends DirectoryStorage {
+
+    /**
+     * Instantiates a new Android storage.
+     *
+     * @param context the context
+     */
+    public AndroidStorage(Context context) {
+        super(context.getExternalFilesDir(null));
+    }
+}
@@ -0,0 +1,421 @@
+package com.concordia.smarthomesimulator.storage;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * A file that is always replaced as a whole, and never left half written.
+ *
+ * The new content is written to a temporary file with a CRC32 trailer and synced to the disk. The current file is then
+ * kept as a backup, the temporary file renamed over it and the directory synced so the renames survive a power loss. Reading checks the trailer and falls back to the backup,
+ * the previous good generation, if the file is missing or corrupted.
+ *
+ * Files written before the trailer existed are read as they are.
+ *
+ * The content can also be streamed: {@link #startWrite()} writes to the temporary file as the data arrives, and
+ * {@link #openRead()} reads the file as the caller reads the stream and checks the trailer at the end.
+ */
+public class AtomicFile {
+
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+    private static final String BACKUP_EXTENSION = ".bak";
+    private static final int TRAILER_MAGIC = 0x43524333;
+    private static final int TRAILER_SIZE = 2 * Integer.BYTES;
+
+    private final File file;
+    private final File temporary;
+    private final File backup;
+
+    /**
+     * Instantiates a new Atomic file.
+     *
+     * @param file the file
+     */
+    public AtomicFile(File file) {
+        this.file = file;
+        this.temporary = new File(file.getPath() + TEMPORARY_EXTENSION);
+        this.backup = new File(file.getPath() + BACKUP_EXTENSION);
+    }
+
+    /**
+     * Determines if a file is the temporary file or the backup of an atomic file, rather than the atomic file itself.
+     *
+     * @param file the file
+     * @return true or false
+     */
+    public static boolean isAuxiliaryFile(File file) {
+        String name = file.getName();
+        return name.endsWith(TEMPORARY_EXTENSION) || name.endsWith(BACKUP_EXTENSION);
+    }
+
+    /**
+     * Gets the file.
+     *
+     * @return the file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Determines if the file, or its backup, exists.
+     *
+     * @return true or false
+     */
+    public boolean exists() {
+        return file.exists() || backup.exists();
+    }
+
+    /**
+     * Read the content of the file.
+     *
+     * @return the content
+     * @throws FileNotFoundException if neither the file nor its backup exist
+     * @throws IOException           if neither the file nor its backup are valid
+     */
+    public byte[] read() throws IOException {
+        byte[] current = file.exists() ? Files.readAllBytes(file.toPath()) : null;
+        if (current != null && hasValidTrailer(current)) {
+            return stripTrailer(current);
+        }
+        byte[] previous = backup.exists() ? Files.readAllBytes(backup.toPath()) : null;
+        if (previous != null && hasValidTrailer(previous)) {
+            return stripTrailer(previous);
+        }
+        // Files written by older versions have no trailer
+        if (current != null && !hasTrailer(current)) {
+            return current;
+        }
+        if (current == null && previous != null && !hasTrailer(previous)) {
+            return previous;
+        }
+        if (current == null && previous == null) {
+            throw new FileNotFoundException(file.getPath());
+        }
+        throw new IOException("Corrupted file " + file);
+    }
+
+    /**
+     * Open the content of the file for reading, without loading it in memory.
+     * The file is read unless it has no trailer while its backup has one. Its trailer is checked once the whole
+     * content was read: a corrupted file fails at the end of the stream rather than falling back to the backup.
+     *
+     * @return the stream
+     * @throws FileNotFoundException if neither the file nor its backup exist
+     * @throws IOException           if the file could not be opened
+     */
+    public InputStream openRead() throws IOException {
+        InputStream in = openGeneration(file, true);
+        if (in == null) {
+            in = openGeneration(backup, true);
+        }
+        // Files written by older versions have no trailer
+        if (in == null) {
+            in = openGeneration(file, false);
+        }
+        if (in == null) {
+            in = openGeneration(backup, false);
+        }
+        if (in == null) {
+            throw new FileNotFoundException(file.getPath());
+        }
+        return in;
+    }
+
+    /**
+     * Replace the content of the file.
+     *
+     * @param data the content
+     * @throws IOException if the file could not be written, the previous content is then kept
+     */
+    public void write(byte[] data) throws IOException {
+        try (OutputStream out = startWrite()) {
+            out.write(data);
+        }
+    }
+
+    /**
+     * Start replacing the content of the file.
+     * The content is written to the temporary file as it arrives, and replaces the file once the stream is closed.
+     * If a write to the stream fails, closing it drops the temporary file and keeps the previous content.
+     *
+     * @return the stream
+     * @throws IOException if the temporary file could not be created
+     */
+    public OutputStream startWrite() throws IOException {
+        return new TrailerOutputStream(new FileOutputStream(temporary));
+    }
+
+    /**
+     * Delete the file and its backup.
+     *
+     * @return whether the file existed
+     */
+    public boolean delete() {
+        boolean existed = file.delete();
+        //noinspection ResultOfMethodCallIgnored
+        backup.delete();
+        //noinspection ResultOfMethodCallIgnored
+        temporary.delete();
+        return existed;
+    }
+
+    private void commit() throws IOException {
+        // Keep the current generation until the new one is in place
+        if (file.exists()) {
+            //noinspection ResultOfMethodCallIgnored
+            backup.delete();
+            if (!file.renameTo(backup)) {
+                //noinspection ResultOfMethodCallIgnored
+                temporary.delete();
+                throw new IOException("Could not back up " + file);
+            }
+        }
+        if (!temporary.renameTo(file)) {
+            throw new IOException("Could not replace " + file);
+        }
+        // The renames are only durable once the directory itself is on the disk
+        syncDirectory(file.getAbsoluteFile().getParentFile());
+    }
+
+    private static void syncDirectory(File directory) {
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException | UnsupportedOperationException e) {
+            // Some platforms can't open or sync a directory, the renames are then as durable as they can be
+        }
+    }
+
+    private static InputStream openGeneration(File generation, boolean withTrailer) throws IOException {
+        FileInputStream stream;
+        try {
+            stream = new FileInputStream(generation);
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+        // Check the stream that was opened, the file may be replaced in the meantime
+        boolean trailer;
+        try {
+            trailer = hasTrailer(stream.getChannel());
+        } catch (IOException e) {
+            stream.close();
+            throw e;
+        }
+        if (trailer) {
+            return new TrailerInputStream(stream);
+        }
+        if (withTrailer) {
+            stream.close();
+            return null;
+        }
+        return new BufferedInputStream(stream);
+    }
+
+    private static boolean hasTrailer(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < TRAILER_SIZE) {
+            return false;
+        }
+        ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES);
+        while (magic.hasRemaining()) {
+            if (channel.read(magic, size - Integer.BYTES + magic.position()) < 0) {
+                return false;
+            }
+        }
+        return magic.getInt(0) == TRAILER_MAGIC;
+    }
+
+    private static boolean hasTrailer(byte[] data) {
+        return data.length >= TRAILER_SIZE && readInt(data, data.length - Integer.BYTES) == TRAILER_MAGIC;
+    }
+
+    private static boolean hasValidTrailer(byte[] data) {
+        if (!hasTrailer(data)) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length - TRAILER_SIZE);
+        return readInt(data, data.length - TRAILER_SIZE) == (int) crc.getValue();
+    }
+
+    private static byte[] stripTrailer(byte[] data) {
+        byte[] content = new byte[data.length - TRAILER_SIZE];
+        System.arraycopy(data, 0, content, 0, content.length);
+        return content;
+    }
+
+    private static int readInt(byte[] data, int offset) {
+        return (data[offset] & 0xFF) << 24 | (data[offset + 1] & 0xFF) << 16 | (data[offset + 2] & 0xFF) << 8 | (data[offset + 3] & 0xFF);
+    }
+
+    /**
+     * Reads the content of a file written with a trailer, and checks the trailer once the content was read.
+     */
+    private static class TrailerInputStream extends FilterInputStream {
+
+        private final CRC32 crc = new CRC32();
+        private final byte[] single = new byte[1];
+        private long remaining;
+        private boolean checked;
+
+        private TrailerInputStream(FileInputStream stream) throws IOException {
+            super(new BufferedInputStream(stream));
+            this.remaining = stream.getChannel().size() - TRAILER_SIZE;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (remaining == 0) {
+                checkTrailer();
+                return -1;
+            }
+            int count = in.read(b, off, (int) Math.min(len, remaining));
+            if (count < 0) {
+                throw new EOFException("Truncated file");
+            }
+            crc.update(b, off, count);
+            remaining -= count;
+            return count;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Skipped bytes still count in the checksum
+            byte[] buffer = new byte[(int) Math.min(n, 4096)];
+            long skipped = 0;
+            while (skipped < n) {
+                int count = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+                if (count < 0) {
+                    break;
+                }
+                skipped += count;
+            }
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(in.available(), remaining);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                // Readers that stop right after the content never ask for the end of the stream
+                if (remaining == 0) {
+                    checkTrailer();
+                }
+            } finally {
+                in.close();
+            }
+        }
+
+        @Override
+        public synchronized void mark(int readlimit) { }
+
+        @Override
+        public synchronized void reset() throws IOException {
+            throw new IOException("mark/reset not supported");
+        }
+
+        private void checkTrailer() throws IOException {
+            if (checked) {
+                return;
+            }
+            DataInputStream trailer = new DataInputStream(in);
+            int stored = trailer.readInt();
+            if (stored != (int) crc.getValue() || trailer.readInt() != TRAILER_MAGIC) {
+                throw new IOException("Corrupted file");
+            }
+            checked = true;
+        }
+    }
+
+    /**
+     * Writes the content to the temporary file, then adds the trailer and makes it the current generation when closed.
+     */
+    private class TrailerOutputStream extends FilterOutputStream {
+
+        private final FileOutputStream stream;
+        private final CRC32 crc = new CRC32();
+        private boolean failed;
+        private boolean closed;
+
+        private TrailerOutputStream(FileOutputStream stream) {
+            super(new BufferedOutputStream(stream));
+            this.stream = stream;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            try {
+                out.write(b);
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+            crc.update(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            try {
+                out.write(b, off, len);
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+            crc.update(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                if (failed) {
+                    throw new IOException("Could not write " + temporary);
+                }
+                DataOutputStream trailer = new DataOutputStream(out);
+                trailer.writeInt((int) crc.getValue());
+                trailer.writeInt(TRAILER_MAGIC);
+                trailer.flush();
+                // Make sure the content is on the disk before the rename makes it the current generation
+                stream.getFD().sync();
+                out.close();
+            } catch (IOException e) {
+                try {
+                    out.close();
+                } catch (IOException ignored) {
+                    // The temporary file is dropped anyway
+                }
+                //noinspection ResultOfMethodCallIgnored
+                temporary.delete();
+                throw e;
+            }
+            commit();
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.concordia.smarthomesimulator.storage;
+
+import com.concordia.smarthomesimulator.dataModels.LogEntry;
+import com.concordia.smarthomesimulator.enums.LogImportance;
+import com.concordia.smarthomesimulator.enums.LogOverflowPolicy;
+import com.concordia.smarthomesimulator.interfaces.ILogStore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Asynchronous log writer.
+ *
+ * Callers only enqueue entries in a bounded queue. A single writer thread appends them to the store in batches
+ * and flushes the store to the disk once per batch (group commit), either when enough entries are waiting or when
+ * the oldest waiting entry is older than the flush interval.
+ *
+ * A batch the store failed to write is kept and written again after the flush interval, the error is reported to
+ * the callers of {@link #flush()} in the meantime.
+ */
+public class BatchedLogWriter implements Closeable {
+
+    private final ILogStore store;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final LogOverflowPolicy policy;
+
+    private final ReentrantLock lock;
+    private final Condition notEmpty;
+    private final Condition notFull;
+    private final Condition written;
+    private final ArrayDeque<LogEntry> queue;
+    private final Thread thread;
+
+    private long enqueued;
+    private long committed;
+    private long dropped;
+    private long coalesced;
+    private long batches;
+    private long failures;
+    private boolean flushRequested;
+    private boolean closed;
+    // Set when the writer thread ended, nothing is written anymore
+    private boolean stopped;
+    private IOException lastError;
+
+    /**
+     * Instantiates a new Batched log writer and starts its writer thread.
+     *
+     * @param store           the store to write to
+     * @param capacity        the maximum number of entries waiting in the queue
+     * @param batchSize       the number of waiting entries that triggers a write
+     * @param flushIntervalMs the maximum time an entry waits before being written
+     * @param policy          what to do when the queue is full
+     */
+    public BatchedLogWriter(ILogStore store, int capacity, int batchSize, long flushIntervalMs, LogOverflowPolicy policy) {
+        this.store = store;
+        this.capacity = Math.max(1, capacity);
+        this.batchSize = Math.max(1, Math.min(batchSize, this.capacity));
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.policy = policy;
+
+        lock = new ReentrantLock();
+        notEmpty = lock.newCondition();
+        notFull = lock.newCondition();
+        written = lock.newCondition();
+        queue = new ArrayDeque<>(this.capacity);
+
+        thread = new Thread(this::run, "log-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Enqueue an entry to be written.
+     * Depending on the overflow policy this may wait for room in the queue, or drop the entry.
+     * Entries are dropped once the writer is closed or its thread ended.
+     *
+     * @param entry the entry
+     * @return whether the entry was queued
+     */
+    public boolean add(LogEntry entry) {
+        lock.lock();
+        try {
+            while (queue.size() >= capacity && !closed && !stopped) {
+                if (policy == LogOverflowPolicy.DROP_MINOR && entry.getImportance() == LogImportance.MINOR) {
+                    dropped++;
+                    return false;
+                }
+                if (policy == LogOverflowPolicy.COALESCE && isQueued(entry)) {
+                    coalesced++;
+                    return false;
+                }
+                notFull.awaitUninterruptibly();
+            }
+            if (closed || stopped) {
+                dropped++;
+                return false;
+            }
+            queue.addLast(entry);
+            enqueued++;
+            // Wake the writer up when it has something to wait on, and again when the batch is full
+            if (queue.size() == 1 || queue.size() >= batchSize) {
+                notEmpty.signal();
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait until every entry queued before this call was written to the store, or until a write fails.
+     *
+     * @throws IOException if a write failed, the entries are then written again later
+     */
+    public void flush() throws IOException {
+        lock.lock();
+        try {
+            long target = enqueued;
+            long failed = failures;
+            while (committed < target && failures == failed && !stopped) {
+                flushRequested = true;
+                notEmpty.signal();
+                written.awaitUninterruptibly();
+            }
+            if (lastError != null) {
+                IOException error = lastError;
+                lastError = null;
+                throw error;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Write the waiting entries and stop the writer thread. The store is left open.
+     *
+     * @throws IOException if the last write failed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            lock.lock();
+            try {
+                closed = true;
+                notEmpty.signal();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Gets the number of entries dropped because the queue was full.
+     *
+     * @return the dropped count
+     */
+    public long getDroppedCount() {
+        lock.lock();
+        try {
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of entries merged with an identical waiting entry.
+     *
+     * @return the coalesced count
+     */
+    public long getCoalescedCount() {
+        lock.lock();
+        try {
+            return coalesced;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of batches written to the store.
+     *
+     * @return the batch count
+     */
+    public long getBatchCount() {
+        lock.lock();
+        try {
+            return batches;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isQueued(LogEntry entry) {
+        for (LogEntry queued : queue) {
+            if (queued.getImportance() == entry.getImportance()
+                && Objects.equals(queued.getComponent(), entry.getComponent())
+                && Objects.equals(queued.getMessage(), entry.getMessage())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void run() {
+        try {
+            write();
+        } finally {
+            lock.lock();
+            try {
+                stopped = true;
+                notFull.signalAll();
+                written.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void write() {
+        ArrayList<LogEntry> batch = new ArrayList<>(batchSize);
+        // The entries at the start of the batch that are already appended to the store, but not flushed yet
+        int appended = 0;
+        boolean retry = false;
+        while (true) {
+            lock.lock();
+            try {
+                // A batch that still fails once the writer is closed is given up
+                if (retry && closed) {
+                    return;
+                }
+                // Wait for something to write
+                while (queue.isEmpty() && batch.isEmpty() && !closed) {
+                    notEmpty.awaitUninterruptibly();
+                }
+                if (queue.isEmpty() && batch.isEmpty()) {
+                    return;
+                }
+                // Give the batch a chance to fill up unless someone is waiting on it, a failed batch always waits
+                long remaining = flushIntervalNanos;
+                while ((retry || queue.size() < batchSize && !flushRequested) && !closed && remaining > 0) {
+                    try {
+                        remaining = notEmpty.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                }
+                flushRequested = false;
+                while (!queue.isEmpty() && batch.size() < batchSize) {
+                    batch.add(queue.pollFirst());
+                }
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            // Write outside of the lock so producers are never blocked by the disk
+            IOException error = null;
+            try {
+                while (appended < batch.size()) {
+                    store.append(batch.get(appended));
+                    appended++;
+                }
+                store.flush();
+            } catch (IOException e) {
+                error = e;
+            } catch (RuntimeException e) {
+                // Don't let a failing store end the writer thread
+                error = new IOException(e);
+            }
+            lock.lock();
+            try {
+                if (error == null) {
+                    committed += batch.size();
+                    batches++;
+                    // The failed entries are written now, the error is no longer worth reporting
+                    lastError = null;
+                } else {
+                    failures++;
+                    lastError = error;
+                }
+                written.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            // Keep a failed batch, the entries already appended are only flushed again
+            retry = error != null;
+            if (!retry) {
+                batch.clear();
+                appended = 0;
+            }
+        }
+    }
+}
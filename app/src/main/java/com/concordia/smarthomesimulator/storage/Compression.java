@@ -0,0 +1,217 @@
+package com.concordia.smarthomesimulator.storage;
+
+import com.concordia.smarthomesimulator.enums.CompressionCodec;
+
+import java.io.*;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Transparent compression of stored files.
+ *
+ * A compressed file starts with a header: a magic number, the codec it was written with and the size of the original
+ * data, or -1 if it was not known when the file was written. Data without the header is read as is, so files written
+ * before compression was enabled can still be read.
+ */
+public final class Compression {
+
+    private static final int MAGIC = 0x53485A43;
+    private static final int HEADER_SIZE = Integer.BYTES + 1 + Long.BYTES;
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private Compression() { }
+
+    /**
+     * Compress data.
+     *
+     * @param data  the data
+     * @param codec the codec
+     * @return the compressed data, with its header
+     * @throws IOException if the data could not be compressed
+     */
+    public static byte[] compress(byte[] data, CompressionCodec codec) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_SIZE + data.length / 2);
+        try (OutputStream out = openOutput(bytes, codec, data.length)) {
+            out.write(data);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decompress data, or return it as is if it was not compressed.
+     *
+     * @param data the data
+     * @return the original data
+     * @throws IOException if the data is compressed but corrupted
+     */
+    public static byte[] decompress(byte[] data) throws IOException {
+        if (!isCompressed(data)) {
+            return data;
+        }
+        long length = readLength(data);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(length < 0 || length > Integer.MAX_VALUE ? data.length * 2 : (int) length);
+        try (InputStream in = openInput(new ByteArrayInputStream(data))) {
+            copy(in, bytes);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Open a stream compressing what is written to it.
+     *
+     * @param stream the stream to write the compressed data to
+     * @param codec  the codec
+     * @param length the size of the original data, -1 if unknown
+     * @return the stream to write the original data to, closing it closes the underlying stream
+     * @throws IOException if the header could not be written
+     */
+    public static OutputStream openOutput(OutputStream stream, CompressionCodec codec, long length) throws IOException {
+        DataOutputStream header = new DataOutputStream(stream);
+        header.writeInt(MAGIC);
+        header.writeByte(codec.ordinal());
+        header.writeLong(length);
+        header.flush();
+        switch (codec) {
+            case DEFLATE_FAST:
+                return new DeflatingStream(stream, Deflater.BEST_SPEED);
+            case DEFLATE_BEST:
+                return new DeflatingStream(stream, Deflater.BEST_COMPRESSION);
+            default:
+                return stream;
+        }
+    }
+
+    /**
+     * Open a stream decompressing what is read from another one.
+     * Data without a header is read as is.
+     *
+     * @param stream the stream to read the compressed data from
+     * @return the stream to read the original data from, closing it closes the underlying stream
+     * @throws IOException if the header could not be read
+     */
+    public static InputStream openInput(InputStream stream) throws IOException {
+        BufferedInputStream buffered = stream instanceof BufferedInputStream ? (BufferedInputStream) stream : new BufferedInputStream(stream);
+        buffered.mark(HEADER_SIZE);
+        byte[] header = new byte[HEADER_SIZE];
+        int read = readAtMost(buffered, header);
+        if (read < HEADER_SIZE || !isCompressed(header)) {
+            buffered.reset();
+            return buffered;
+        }
+        int codec = header[Integer.BYTES] & 0xFF;
+        if (codec >= CompressionCodec.values().length) {
+            throw new IOException("Unknown compression codec " + codec);
+        }
+        if (CompressionCodec.values()[codec] == CompressionCodec.NONE) {
+            return buffered;
+        }
+        return new InflatingStream(buffered);
+    }
+
+    /**
+     * Determines if data starts with the compression header.
+     *
+     * @param data the data
+     * @return true or false
+     */
+    public static boolean isCompressed(byte[] data) {
+        return data.length >= HEADER_SIZE
+            && ((data[0] & 0xFF) << 24 | (data[1] & 0xFF) << 16 | (data[2] & 0xFF) << 8 | (data[3] & 0xFF)) == MAGIC;
+    }
+
+    /**
+     * Read the size of the original data from the header of a compressed file.
+     *
+     * @param file the file
+     * @return the size, -1 if it is unknown or the file is not compressed
+     * @throws IOException if the file could not be read
+     */
+    public static long readLength(File file) throws IOException {
+        byte[] header = new byte[HEADER_SIZE];
+        try (InputStream in = new FileInputStream(file)) {
+            if (readAtMost(in, header) < HEADER_SIZE || !isCompressed(header)) {
+                return -1;
+            }
+        }
+        return readLength(header);
+    }
+
+    /**
+     * Copy a stream to another one.
+     *
+     * @param in  the stream to read
+     * @param out the stream to write
+     * @return the number of bytes copied
+     * @throws IOException if the streams could not be read or written
+     */
+    public static long copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long total = 0;
+        int count;
+        while ((count = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, count);
+            total += count;
+        }
+        return total;
+    }
+
+    private static long readLength(byte[] header) {
+        long length = 0;
+        for (int i = Integer.BYTES + 1; i < HEADER_SIZE; i++) {
+            length = length << 8 | (header[i] & 0xFF);
+        }
+        return length;
+    }
+
+    private static int readAtMost(InputStream in, byte[] target) throws IOException {
+        int read = 0;
+        while (read < target.length) {
+            int count = in.read(target, read, target.length - read);
+            if (count < 0) {
+                break;
+            }
+            read += count;
+        }
+        return read;
+    }
+
+    /**
+     * Deflates to a stream, and releases the native memory of the deflater once closed.
+     */
+    private static class DeflatingStream extends DeflaterOutputStream {
+
+        private DeflatingStream(OutputStream out, int level) {
+            super(out, new Deflater(level), BUFFER_SIZE);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                def.end();
+            }
+        }
+    }
+
+    /**
+     * Inflates from a stream, and releases the native memory of the inflater once closed.
+     */
+    private static class InflatingStream extends InflaterInputStream {
+
+        private InflatingStream(InputStream in) {
+            super(in, new Inflater(), BUFFER_SIZE);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                inf.end();
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.concordia.smarthomesimulator.storage;
+
+import com.concordia.smarthomesimulator.interfaces.IStorage;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A storage keeping every blob in a file under a root directory.
+ * Blobs are written with {@link AtomicFile}, so they survive a crash in the middle of a write.
+ */
+public class DirectoryStorage implements IStorage {
+
+    private final File root;
+
+    /**
+     * Instantiates a new Directory storage.
+     *
+     * @param root the root directory
+     */
+    public DirectoryStorage(File root) {
+        this.root = root;
+    }
+
+    /**
+     * Gets the root directory.
+     *
+     * @return the root
+     */
+    public File getRoot() {
+        return root;
+    }
+
+    @Override
+    public boolean exists(String name) {
+        return atomicFile(name).exists();
+    }
+
+    @Override
+    public byte[] get(String name) throws IOException {
+        return atomicFile(name).read();
+    }
+
+    @Override
+    public void put(String name, byte[] data) throws IOException {
+        createParent(resolve(name));
+        atomicFile(name).write(data);
+    }
+
+    @Override
+    public void append(String name, byte[] data) throws IOException {
+        File file = resolve(name);
+        createParent(file);
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(data);
+            // Make sure the data reached the disk before the caller relies on it
+            out.getFD().sync();
+        }
+    }
+
+    @Override
+    public InputStream openRead(String name) throws IOException {
+        return atomicFile(name).openRead();
+    }
+
+    @Override
+    public OutputStream openWrite(String name) throws IOException {
+        createParent(resolve(name));
+        return atomicFile(name).startWrite();
+    }
+
+    @Override
+    public List<String> list(String directory) {
+        List<String> names = new ArrayList<>();
+        File[] files = getLocalDirectory(directory).listFiles();
+        if (files == null) {
+            return names;
+        }
+        for (File file : files) {
+            // Leave out the temporary files and backups of the atomic writes
+            if (file.isFile() && !AtomicFile.isAuxiliaryFile(file)) {
+                names.add(file.getName());
+            }
+        }
+        return names;
+    }
+
+    @Override
+    public void rename(String from, String to) throws IOException {
+        // A single rename of the file system, the target is never missing
+        Files.move(resolve(from).toPath(), resolve(to).toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public boolean delete(String name) {
+        return atomicFile(name).delete();
+    }
+
+    @Override
+    public long getSize(String name) {
+        return resolve(name).length();
+    }
+
+    @Override
+    public long getLastModified(String name) {
+        return resolve(name).lastModified();
+    }
+
+    @Override
+    public File getLocalDirectory(String directory) {
+        return directory == null ? root : resolve(directory);
+    }
+
+    private File resolve(String name) {
+        return new File(root, name);
+    }
+
+    private AtomicFile atomicFile(String name) {
+        return new AtomicFile(resolve(name));
+    }
+
+    private static void createParent(File file) throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Could not create " + parent);
+        }
+    }
+}
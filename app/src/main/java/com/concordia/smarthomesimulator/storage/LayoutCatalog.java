@@ -0,0 +1,289 @@
+package com.concordia.smarthomesimulator.storage;
+
+import com.concordia.smarthomesimulator.dataModels.HouseLayout;
+import com.concordia.smarthomesimulator.dataModels.LayoutSummary;
+import com.concordia.smarthomesimulator.enums.CompressionCodec;
+import com.concordia.smarthomesimulator.interfaces.IStorage;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+/**
+ * The house layout files of a storage directory, and a summary of each of them kept in a catalog file.
+ *
+ * Listing the layouts or looking one up by name only reads the catalog. A layout file is only decoded when the layout
+ * is loaded, or when its size or modification time no longer match the catalog because it was changed by something
+ * else than this class.
+ *
+ * Layout files are compressed with the codec of the catalog. Files that are not compressed, or saved with an older
+ * format version, are still read and only rewritten when the layout is saved again, so refreshing the catalog never
+ * rewrites every file at once.
+ */
+public class LayoutCatalog {
+
+    private static final int FORMAT_VERSION = 2;
+
+    private final IStorage storage;
+    private final String catalogName;
+    private final String directory;
+    private final CompressionCodec codec;
+    private final LinkedHashMap<String, LayoutSummary> summaries;
+
+    /**
+     * Instantiates a new Layout catalog.
+     *
+     * @param storage     the storage
+     * @param catalogName the name of the catalog file, must not be in the layouts directory
+     * @param directory   the layouts directory
+     */
+    public LayoutCatalog(IStorage storage, String catalogName, String directory) {
+        this(storage, catalogName, directory, CompressionCodec.NONE);
+    }
+
+    /**
+     * Instantiates a new Layout catalog.
+     *
+     * @param storage     the storage
+     * @param catalogName the name of the catalog file, must not be in the layouts directory
+     * @param directory   the layouts directory
+     * @param codec       the codec of the layout files
+     */
+    public LayoutCatalog(IStorage storage, String catalogName, String directory, CompressionCodec codec) {
+        this.storage = storage;
+        this.catalogName = catalogName;
+        this.directory = directory;
+        this.codec = codec;
+        this.summaries = new LinkedHashMap<>();
+        readCatalog();
+    }
+
+    //region Public Methods
+
+    /**
+     * Update the catalog with the layout files added, changed or removed since it was last saved.
+     * Only the files that changed are decoded, none of them is written.
+     *
+     * @return whether the catalog changed
+     * @throws IOException if the catalog could not be saved
+     */
+    public synchronized boolean refresh() throws IOException {
+        return refresh(null);
+    }
+
+    /**
+     * Update the catalog with the layout files added, changed or removed since it was last saved.
+     * Only the files that changed are decoded, in parallel on an executor, and none of them is written.
+     *
+     * @param executor the executor decoding the files, null to decode them on the calling thread
+     * @return whether the catalog changed
+     * @throws IOException if the catalog could not be saved
+     */
+    public synchronized boolean refresh(ExecutorService executor) throws IOException {
+        HashSet<String> present = new HashSet<>();
+        ArrayList<String> outdated = new ArrayList<>();
+        for (String fileName : storage.list(directory)) {
+            String path = path(fileName);
+            present.add(fileName);
+            LayoutSummary summary = summaries.get(fileName);
+            if (summary == null || summary.getLastModified() != storage.getLastModified(path) || summary.getSize() != storage.getSize(path)) {
+                outdated.add(fileName);
+            }
+        }
+        List<Future<LayoutSummary>> futures = null;
+        if (executor != null && outdated.size() > 1) {
+            ArrayList<Callable<LayoutSummary>> tasks = new ArrayList<>(outdated.size());
+            for (String fileName : outdated) {
+                tasks.add(() -> index(fileName));
+            }
+            try {
+                futures = executor.invokeAll(tasks);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while indexing the layouts");
+            }
+        }
+        boolean changed = false;
+        for (int i = 0; i < outdated.size(); i++) {
+            String fileName = outdated.get(i);
+            try {
+                summaries.put(fileName, futures == null ? index(fileName) : futures.get(i).get());
+                changed = true;
+            } catch (IOException | ExecutionException e) {
+                // Unreadable files are not listed, like before the catalog existed
+                e.printStackTrace();
+                changed |= summaries.remove(fileName) != null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while indexing the layouts");
+            }
+        }
+        changed |= summaries.keySet().retainAll(present);
+        if (changed) {
+            writeCatalog();
+        }
+        return changed;
+    }
+
+    /**
+     * List the summaries of the layouts, sorted by name.
+     *
+     * @return the summaries
+     */
+    public synchronized ArrayList<LayoutSummary> list() {
+        ArrayList<LayoutSummary> list = new ArrayList<>(summaries.values());
+        list.sort((first, second) -> first.getName().compareToIgnoreCase(second.getName()));
+        return list;
+    }
+
+    /**
+     * Find the summary of a layout by name, ignoring case and surrounding spaces.
+     *
+     * @param name the name of the layout
+     * @return the summary, or null if there is no layout with that name
+     */
+    public synchronized LayoutSummary find(String name) {
+        String trimmed = name.trim();
+        for (LayoutSummary summary : summaries.values()) {
+            if (summary.getName().trim().equalsIgnoreCase(trimmed)) {
+                return summary;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Load a layout.
+     * The catalog is updated if the file does not match its summary anymore.
+     *
+     * @param summary the summary of the layout
+     * @return the layout, or null if the file does not exist anymore
+     * @throws IOException if the layout could not be read
+     */
+    public synchronized HouseLayout load(LayoutSummary summary) throws IOException {
+        String fileName = summary.getFileName();
+        String path = path(fileName);
+        if (!storage.exists(path)) {
+            if (summaries.remove(fileName) != null) {
+                writeCatalog();
+            }
+            return null;
+        }
+        byte[] data = storage.get(path);
+        HouseLayout layout = LayoutCodec.decode(Compression.decompress(data));
+        LayoutSummary current = summaries.get(fileName);
+        if (current == null || current.getSize() != storage.getSize(path) || current.getChecksum() != checksum(data)) {
+            summaries.put(fileName, summarize(layout, fileName, data));
+            writeCatalog();
+        }
+        return layout;
+    }
+
+    /**
+     * Save a layout to a file of the layouts directory and add it to the catalog.
+     *
+     * @param layout   the layout
+     * @param fileName the name of the file
+     * @throws IOException if the layout could not be saved
+     */
+    public synchronized void save(HouseLayout layout, String fileName) throws IOException {
+        byte[] data = encode(layout);
+        storage.put(path(fileName), data);
+        summaries.put(fileName, summarize(layout, fileName, data));
+        writeCatalog();
+    }
+
+    /**
+     * Delete a layout file and remove it from the catalog.
+     *
+     * @param fileName the name of the file
+     * @return whether there was a layout to delete
+     * @throws IOException if the catalog could not be saved
+     */
+    public synchronized boolean delete(String fileName) throws IOException {
+        boolean deleted = storage.delete(path(fileName));
+        if (summaries.remove(fileName) != null) {
+            writeCatalog();
+            return true;
+        }
+        return deleted;
+    }
+
+    //endregion
+
+    //region Private Methods
+
+    private LayoutSummary index(String fileName) throws IOException {
+        byte[] data = storage.get(path(fileName));
+        HouseLayout layout = LayoutCodec.decode(Compression.decompress(data));
+        return summarize(layout, fileName, data);
+    }
+
+    private byte[] encode(HouseLayout layout) throws IOException {
+        byte[] data = LayoutCodec.encode(layout);
+        return codec == CompressionCodec.NONE ? data : Compression.compress(data, codec);
+    }
+
+    private LayoutSummary summarize(HouseLayout layout, String fileName, byte[] data) {
+        String path = path(fileName);
+        return new LayoutSummary(layout.getName(), fileName, layout.getRooms().size(),
+            LayoutSummary.countDevices(layout), storage.getLastModified(path), storage.getSize(path), checksum(data));
+    }
+
+    private String path(String fileName) {
+        return directory == null ? fileName : directory + "/" + fileName;
+    }
+
+    private static long checksum(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        return crc.getValue();
+    }
+
+    private void readCatalog() {
+        if (!storage.exists(catalogName)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(storage.openRead(catalogName))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                LayoutSummary summary = new LayoutSummary(in.readUTF(), in.readUTF(), in.readInt(), in.readInt(),
+                    in.readLong(), in.readLong(), in.readLong());
+                summaries.put(summary.getFileName(), summary);
+            }
+        } catch (IOException e) {
+            // The catalog is rebuilt from the layout files by the next refresh
+            summaries.clear();
+        }
+    }
+
+    private void writeCatalog() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(summaries.size());
+            for (LayoutSummary summary : summaries.values()) {
+                out.writeUTF(summary.getName());
+                out.writeUTF(summary.getFileName());
+                out.writeInt(summary.getRoomCount());
+                out.writeInt(summary.getDeviceCount());
+                out.writeLong(summary.getLastModified());
+                out.writeLong(summary.getSize());
+                out.writeLong(summary.getChecksum());
+            }
+        }
+        storage.put(catalogName, bytes.toByteArray());
+    }
+
+    //endregion
+}
@@ -0,0 +1,552 @@
+package com.concordia.smarthomesimulator.storage;
+
+import com.concordia.smarthomesimulator.adapters.InhabitantAdapter;
+import com.concordia.smarthomesimulator.dataModels.*;
+import com.concordia.smarthomesimulator.enums.DeviceType;
+import com.concordia.smarthomesimulator.enums.Orientation;
+import com.concordia.smarthomesimulator.enums.Permissions;
+import com.concordia.smarthomesimulator.enums.VentilationStatus;
+import com.concordia.smarthomesimulator.interfaces.IDevice;
+import com.concordia.smarthomesimulator.interfaces.IInhabitant;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+/**
+ * Compact binary format of a house layout.
+ *
+ * The file starts with a magic number and a format version, followed by a table of every string used in the layout.
+ * Names are then written as an index in that table, coordinates and counts as variable length integers, and the
+ * booleans of a device are packed with its type in a single byte. Heating zones refer to their rooms by index.
+ *
+ * The magic number and the format version are the schema header of the file. Files of older versions are migrated
+ * when they are read, files that do not start with the magic number are layouts saved with Java serialization, the
+ * version 0.
+ */
+public final class LayoutCodec {
+
+    private static final int MAGIC = 0x53484C59;
+    private static final int FORMAT_VERSION = 1;
+    private static final SchemaRegistry SCHEMA = new SchemaRegistry(MAGIC, FORMAT_VERSION)
+        .register(0, LayoutCodec::migrateSerialized);
+
+    private static final int INHABITANT = 0;
+    private static final int INTRUDER = 1;
+    private static final int USER = 2;
+
+    private static final int ROOM_TEMPERATURE_OVERRIDDEN = 1;
+    private static final int ROOM_AWAY_TEMPERATURE = 1 << 1;
+
+    private static final int DEVICE_TYPE_MASK = 0x03;
+    private static final int DEVICE_OPENED = 1 << 2;
+    private static final int DEVICE_LOCKED = 1 << 3;
+    private static final int DEVICE_AUTOMATIC = 1 << 4;
+
+    private static final int MAX_PRESIZE = 1024;
+    private static final int READ_CHUNK = 8192;
+
+    private LayoutCodec() { }
+
+    //region Public Methods
+
+    /**
+     * Encode a house layout.
+     *
+     * @param layout the layout
+     * @return the encoded layout
+     * @throws IOException if the layout could not be encoded
+     */
+    public static byte[] encode(HouseLayout layout) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        write(layout, bytes);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Write a house layout to a stream.
+     *
+     * @param layout the layout
+     * @param stream the stream
+     * @throws IOException if the layout could not be written
+     */
+    public static void write(HouseLayout layout, OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        SCHEMA.writeHeader(out);
+        writePayload(layout, out);
+        out.flush();
+    }
+
+    /**
+     * Write a house layout to a file.
+     *
+     * @param layout the layout
+     * @param file   the file
+     * @throws IOException if the file could not be written
+     */
+    public static void write(HouseLayout layout, File file) throws IOException {
+        try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(file))) {
+            write(layout, stream);
+        }
+    }
+
+    /**
+     * Decode a house layout, of any format version or saved with Java serialization.
+     *
+     * @param data the encoded layout
+     * @return the layout
+     * @throws IOException if the data is not a valid layout
+     */
+    public static HouseLayout decode(byte[] data) throws IOException {
+        return read(new ByteArrayInputStream(data));
+    }
+
+    /**
+     * Read a house layout file, of any format version or saved with Java serialization.
+     *
+     * @param file the file
+     * @return the layout
+     * @throws IOException if the file is not a valid layout
+     */
+    public static HouseLayout read(File file) throws IOException {
+        try (InputStream stream = new BufferedInputStream(new FileInputStream(file))) {
+            return read(stream);
+        }
+    }
+
+    /**
+     * Read a house layout from a stream, of any format version or saved with Java serialization.
+     * Older versions are migrated in memory, the stream of the current version is decoded as it is read.
+     *
+     * @param stream the stream
+     * @return the layout
+     * @throws IOException if the stream does not hold a valid layout
+     */
+    public static HouseLayout read(InputStream stream) throws IOException {
+        BufferedInputStream buffered = stream instanceof BufferedInputStream ? (BufferedInputStream) stream : new BufferedInputStream(stream);
+        if (!isCompact(buffered)) {
+            return readPayload(SCHEMA.migrate(0, readRemaining(buffered)));
+        }
+        DataInputStream in = new DataInputStream(buffered);
+        in.readInt();
+        int version = VarInt.read(in);
+        if (version != FORMAT_VERSION) {
+            return readPayload(SCHEMA.migrate(version, readRemaining(in)));
+        }
+        return readPayload(in);
+    }
+
+    /**
+     * Gets the format version of an encoded layout.
+     *
+     * @param data the encoded layout
+     * @return the version, 0 for a layout saved with Java serialization
+     * @throws IOException if the header is not valid
+     */
+    public static int getVersion(byte[] data) throws IOException {
+        return SCHEMA.getVersion(data);
+    }
+
+    /**
+     * Determines if an encoded layout is of the current format version, so it does not have to be migrated.
+     *
+     * @param data the encoded layout
+     * @return true or false
+     * @throws IOException if the header is not valid
+     */
+    public static boolean isCurrent(byte[] data) throws IOException {
+        return SCHEMA.getVersion(data) == FORMAT_VERSION;
+    }
+
+    /**
+     * Determines if encoded data uses the compact format.
+     *
+     * @param data the encoded layout
+     * @return true or false
+     */
+    public static boolean isCompact(byte[] data) {
+        return SCHEMA.hasHeader(data);
+    }
+
+    /**
+     * Determines if a file uses the compact format.
+     *
+     * @param file the file
+     * @return true or false
+     * @throws IOException if the file could not be read
+     */
+    public static boolean isCompact(File file) throws IOException {
+        try (BufferedInputStream stream = new BufferedInputStream(new FileInputStream(file))) {
+            return isCompact(stream);
+        }
+    }
+
+    //endregion
+
+    //region Private Methods
+
+    private static boolean isCompact(BufferedInputStream stream) throws IOException {
+        stream.mark(Integer.BYTES);
+        byte[] magic = new byte[Integer.BYTES];
+        int read = 0;
+        while (read < magic.length) {
+            int count = stream.read(magic, read, magic.length - read);
+            if (count < 0) {
+                break;
+            }
+            read += count;
+        }
+        stream.reset();
+        return read == magic.length && isCompact(magic);
+    }
+
+    private static byte[] migrateSerialized(byte[] payload) throws IOException {
+        HouseLayout layout;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+            layout = (HouseLayout) in.readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Not a house layout", e);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        writePayload(layout, new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    private static byte[] readRemaining(InputStream stream) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        Compression.copy(stream, bytes);
+        return bytes.toByteArray();
+    }
+
+    private static void writePayload(HouseLayout layout, DataOutputStream stream) throws IOException {
+        StringTable strings = new StringTable();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+        DataOutputStream out = new DataOutputStream(body);
+
+        VarInt.write(out, strings.indexOf(layout.getName()));
+        VarInt.write(out, strings.indexOf(layout.getCurrentUser()));
+
+        // Rooms
+        ArrayList<Room> rooms = layout.getRooms();
+        IdentityHashMap<Room, Integer> roomIndexes = new IdentityHashMap<>();
+        HashMap<String, Integer> roomNameIndexes = new HashMap<>();
+        VarInt.write(out, rooms.size());
+        for (int i = 0; i < rooms.size(); i++) {
+            Room room = rooms.get(i);
+            roomIndexes.put(room, i);
+            roomNameIndexes.putIfAbsent(room.getName().toLowerCase(), i);
+            writeRoom(out, strings, room);
+        }
+
+        // Heating zones
+        ArrayList<HeatingZone> zones = layout.getHeatingZones();
+        VarInt.write(out, zones.size());
+        for (HeatingZone zone : zones) {
+            VarInt.write(out, strings.indexOf(zone.getName()));
+            out.writeDouble(zone.getDesiredTemperature());
+            ArrayList<Integer> members = new ArrayList<>();
+            for (Room room : zone.getRooms()) {
+                // Cloned layouts have zones holding copies of the rooms, match those by name
+                Integer index = roomIndexes.get(room);
+                if (index == null) {
+                    index = roomNameIndexes.get(room.getName().toLowerCase());
+                }
+                if (index != null) {
+                    members.add(index);
+                }
+            }
+            VarInt.write(out, members.size());
+            for (int index : members) {
+                VarInt.write(out, index);
+            }
+        }
+        out.flush();
+
+        strings.write(stream);
+        body.writeTo(stream);
+    }
+
+    private static HouseLayout readPayload(byte[] payload) throws IOException {
+        return readPayload(new DataInputStream(new ByteArrayInputStream(payload)));
+    }
+
+    private static HouseLayout readPayload(DataInputStream in) throws IOException {
+        String[] strings = StringTable.read(in);
+
+        String name = readName(in, strings);
+        String currentUser = readString(in, strings);
+        HouseLayout layout = new HouseLayout(name, currentUser);
+        layout.clearForClone();
+
+        // Rooms
+        int roomCount = readCount(in);
+        ArrayList<Room> rooms = new ArrayList<>(Math.min(roomCount, MAX_PRESIZE));
+        for (int i = 0; i < roomCount; i++) {
+            rooms.add(readRoom(in, strings));
+        }
+        layout.addRooms(rooms);
+
+        // Heating zones
+        int zoneCount = readCount(in);
+        ArrayList<HeatingZone> zones = new ArrayList<>(Math.min(zoneCount, MAX_PRESIZE));
+        for (int i = 0; i < zoneCount; i++) {
+            HeatingZone zone = new HeatingZone(readName(in, strings));
+            zone.setDesiredTemperature(in.readDouble());
+            int memberCount = readCount(in);
+            for (int j = 0; j < memberCount; j++) {
+                int index = VarInt.read(in);
+                if (index < 0 || index >= rooms.size()) {
+                    throw new IOException("Invalid room index " + index);
+                }
+                zone.addRoom(rooms.get(index));
+            }
+            zones.add(zone);
+        }
+        layout.addHeatingZones(zones);
+        return layout;
+    }
+
+    private static void writeRoom(DataOutputStream out, StringTable strings, Room room) throws IOException {
+        VarInt.write(out, strings.indexOf(room.getName()));
+        writeGeometry(out, room.getGeometry());
+        int flags = 0;
+        if (room.isTemperatureOverridden()) {
+            flags |= ROOM_TEMPERATURE_OVERRIDDEN;
+        }
+        if (room.isAwayTemperature()) {
+            flags |= ROOM_AWAY_TEMPERATURE;
+        }
+        out.writeByte(flags);
+        out.writeByte(room.getVentilationStatus().ordinal());
+        out.writeDouble(room.getDesiredHomeTemperature());
+        out.writeDouble(room.getDesiredAwayTemperature());
+        out.writeDouble(room.getActualTemperature());
+
+        ArrayList<IInhabitant> inhabitants = room.getInhabitants();
+        VarInt.write(out, inhabitants.size());
+        for (IInhabitant inhabitant : inhabitants) {
+            if (inhabitant instanceof InhabitantAdapter) {
+                out.writeByte(USER);
+                out.writeByte(((InhabitantAdapter) inhabitant).getUser().getPermission().ordinal());
+            } else {
+                out.writeByte(inhabitant.isIntruder() ? INTRUDER : INHABITANT);
+            }
+            VarInt.write(out, strings.indexOf(inhabitant.getName()));
+        }
+
+        VarInt.write(out, room.getDeviceCount());
+        for (int i = 0; i < room.getDeviceCount(); i++) {
+            writeDevice(out, room.getDevice(i));
+        }
+    }
+
+    private static Room readRoom(DataInputStream in, String[] strings) throws IOException {
+        Room room = new Room(readName(in, strings), readGeometry(in));
+        int flags = in.readUnsignedByte();
+        room.setIsTemperatureOverridden((flags & ROOM_TEMPERATURE_OVERRIDDEN) != 0);
+        room.setAwayTemperature((flags & ROOM_AWAY_TEMPERATURE) != 0);
+        room.setVentilationStatus(readOrdinal(in, VentilationStatus.values()));
+        room.setDesiredTemperature(in.readDouble());
+        room.setDesiredAwayTemperature(in.readDouble());
+        room.setActualTemperature(in.readDouble());
+
+        // Inhabitants are added before the devices so the automatic lights keep their saved state
+        int inhabitantCount = readCount(in);
+        for (int i = 0; i < inhabitantCount; i++) {
+            int kind = in.readUnsignedByte();
+            if (kind == USER) {
+                Permissions permission = readOrdinal(in, Permissions.values());
+                room.addInhabitant(new InhabitantAdapter(new User(readString(in, strings), "", permission)));
+            } else {
+                room.addInhabitant(new Inhabitant(readString(in, strings), kind == INTRUDER));
+            }
+        }
+
+        int deviceCount = readCount(in);
+        for (int i = 0; i < deviceCount; i++) {
+            room.addDevice(readDevice(in));
+        }
+        return room;
+    }
+
+    static void writeDevice(DataOutputStream out, IDevice device) throws IOException {
+        int flags = device.getDeviceType().ordinal() & DEVICE_TYPE_MASK;
+        switch (device.getDeviceType()) {
+            case DOOR:
+                Door door = (Door) device;
+                flags |= flag(door.getIsOpened(), DEVICE_OPENED) | flag(door.getIsLocked(), DEVICE_LOCKED) | flag(door.isAutoLock(), DEVICE_AUTOMATIC);
+                break;
+            case WINDOW:
+                Window window = (Window) device;
+                flags |= flag(window.getIsOpened(), DEVICE_OPENED) | flag(window.getIsLocked(), DEVICE_LOCKED);
+                break;
+            case LIGHT:
+                Light light = (Light) device;
+                flags |= flag(light.getIsOpened(), DEVICE_OPENED) | flag(light.isAutoOn(), DEVICE_AUTOMATIC);
+                break;
+        }
+        out.writeByte(flags);
+        writeGeometry(out, device.getGeometry());
+    }
+
+    static IDevice readDevice(DataInputStream in) throws IOException {
+        int flags = in.readUnsignedByte();
+        Geometry geometry = readGeometry(in);
+        DeviceType[] types = DeviceType.values();
+        if ((flags & DEVICE_TYPE_MASK) >= types.length) {
+            throw new IOException("Invalid device type " + (flags & DEVICE_TYPE_MASK));
+        }
+        DeviceType type = types[flags & DEVICE_TYPE_MASK];
+        boolean opened = (flags & DEVICE_OPENED) != 0;
+        boolean locked = (flags & DEVICE_LOCKED) != 0;
+        boolean automatic = (flags & DEVICE_AUTOMATIC) != 0;
+        switch (type) {
+            case DOOR:
+                Door door = new Door(geometry);
+                door.setIsOpened(opened);
+                door.setIsLocked(locked);
+                door.setAutoLock(automatic);
+                return door;
+            case WINDOW:
+                Window window = new Window(geometry);
+                window.setIsOpened(opened);
+                window.setIsLocked(locked);
+                return window;
+            case LIGHT:
+                Light light = new Light(geometry);
+                light.setIsOpened(opened);
+                light.setAutoOn(automatic);
+                return light;
+            default:
+                throw new IOException("Invalid device type " + type);
+        }
+    }
+
+    private static void writeGeometry(DataOutputStream out, Geometry geometry) throws IOException {
+        VarInt.write(out, zigZag(geometry.getX()));
+        VarInt.write(out, zigZag(geometry.getY()));
+        VarInt.write(out, zigZag(geometry.getWidth()));
+        VarInt.write(out, zigZag(geometry.getHeight()));
+        out.writeByte(geometry.getOrientation().ordinal());
+    }
+
+    private static Geometry readGeometry(DataInputStream in) throws IOException {
+        int x = unZigZag(VarInt.read(in));
+        int y = unZigZag(VarInt.read(in));
+        int width = unZigZag(VarInt.read(in));
+        int height = unZigZag(VarInt.read(in));
+        Orientation orientation = readOrdinal(in, Orientation.values());
+        // Set the size after the orientation, which would otherwise overwrite it
+        Geometry geometry = new Geometry(x, y);
+        geometry.setOrientation(orientation);
+        geometry.setWidth(width);
+        geometry.setHeight(height);
+        return geometry;
+    }
+
+    private static String readString(DataInputStream in, String[] strings) throws IOException {
+        int index = VarInt.read(in);
+        if (index == 0) {
+            return null;
+        }
+        if (index < 0 || index > strings.length) {
+            throw new IOException("Invalid string index " + index);
+        }
+        return strings[index - 1];
+    }
+
+    private static String readName(DataInputStream in, String[] strings) throws IOException {
+        // The layout, its rooms and its heating zones are looked up by name, they can't be null
+        String name = readString(in, strings);
+        if (name == null) {
+            throw new IOException("Missing name");
+        }
+        return name;
+    }
+
+    private static int readCount(DataInputStream in) throws IOException {
+        int count = VarInt.read(in);
+        if (count < 0) {
+            throw new IOException("Invalid count " + count);
+        }
+        return count;
+    }
+
+    private static <T> T readOrdinal(DataInputStream in, T[] values) throws IOException {
+        int ordinal = in.readUnsignedByte();
+        if (ordinal >= values.length) {
+            throw new IOException("Invalid ordinal " + ordinal);
+        }
+        return values[ordinal];
+    }
+
+    private static byte[] readBytes(DataInputStream in, int length) throws IOException {
+        // Grow with what is actually read, so a corrupted length runs out of input instead of allocating it upfront
+        byte[] bytes = new byte[Math.min(length, READ_CHUNK)];
+        in.readFully(bytes);
+        while (bytes.length < length) {
+            int read = bytes.length;
+            bytes = Arrays.copyOf(bytes, (int) Math.min(length, (long) read * 2));
+            in.readFully(bytes, read, bytes.length - read);
+        }
+        return bytes;
+    }
+
+    private static int flag(boolean value, int flag) {
+        return value ? flag : 0;
+    }
+
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    //endregion
+
+    /**
+     * Every distinct string of a layout, written once. Index 0 stands for null.
+     */
+    private static class StringTable {
+
+        private final HashMap<String, Integer> indexes = new HashMap<>();
+        private final ArrayList<String> strings = new ArrayList<>();
+
+        private int indexOf(String value) {
+            if (value == null) {
+                return 0;
+            }
+            Integer index = indexes.get(value);
+            if (index == null) {
+                strings.add(value);
+                index = strings.size();
+                indexes.put(value, index);
+            }
+            return index;
+        }
+
+        private void write(DataOutputStream out) throws IOException {
+            VarInt.write(out, strings.size());
+            for (String value : strings) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                VarInt.write(out, bytes.length);
+                out.write(bytes);
+            }
+        }
+
+        private static String[] read(DataInputStream in) throws IOException {
+            // The counts come from the input, the strings are only kept once they have been read
+            int count = readCount(in);
+            ArrayList<String> strings = new ArrayList<>(Math.min(count, MAX_PRESIZE));
+            for (int i = 0; i < count; i++) {
+                strings.add(new String(readBytes(in, readCount(in)), StandardCharsets.UTF_8));
+            }
+            return strings.toArray(new String[0]);
+        }
+    }
+}
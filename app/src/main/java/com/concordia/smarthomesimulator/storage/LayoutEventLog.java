@@ -0,0 +1,256 @@
+package com.concordia.smarthomesimulator.storage;
+
+import com.concordia.smarthomesimulator.dataModels.HouseLayout;
+import com.concordia.smarthomesimulator.enums.LayoutEventType;
+import com.concordia.smarthomesimulator.events.AwayModeEnabledEvent;
+import com.concordia.smarthomesimulator.events.DeviceChangedEvent;
+import com.concordia.smarthomesimulator.events.InhabitantMovedEvent;
+import com.concordia.smarthomesimulator.events.RoomTemperatureChangedEvent;
+import com.concordia.smarthomesimulator.interfaces.ILayoutEvent;
+import com.concordia.smarthomesimulator.interfaces.IStorage;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.zip.CRC32;
+
+/**
+ * The changes made to house layouts since their file was last written, one log per layout file.
+ *
+ * Saving a change only appends the event to the log of the layout, a few bytes instead of the whole layout. Loading a
+ * layout replays its log on top of the layout file. Once the layout file is written again, its log is cleared.
+ *
+ * Every record is the length of the event, the event and its CRC32. A record cut short by a crash, and anything after
+ * it, is dropped the next time the log is read.
+ */
+public class LayoutEventLog {
+
+    private static final int RECORD_OVERHEAD = Integer.BYTES * 2;
+    private static final String REPAIR_EXTENSION = ".repair";
+
+    private final IStorage storage;
+    private final String directory;
+    private final HashMap<String, Integer> eventCounts;
+
+    /**
+     * Instantiates a new Layout event log.
+     *
+     * @param storage   the storage
+     * @param directory the directory of the logs, must not be the layouts directory
+     */
+    public LayoutEventLog(IStorage storage, String directory) {
+        this.storage = storage;
+        this.directory = directory;
+        this.eventCounts = new HashMap<>();
+    }
+
+    //region Public Methods
+
+    /**
+     * Append an event to the log of a layout file.
+     *
+     * @param fileName the name of the layout file
+     * @param event    the event
+     * @return the number of events in the log
+     * @throws IOException if the event could not be written
+     */
+    public synchronized int append(String fileName, ILayoutEvent event) throws IOException {
+        int count = getEventCount(fileName);
+        byte[] data = encode(event);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length + RECORD_OVERHEAD);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(data.length);
+        out.write(data);
+        out.writeInt(checksum(data));
+        out.flush();
+        storage.append(path(fileName), bytes.toByteArray());
+        eventCounts.put(fileName, ++count);
+        return count;
+    }
+
+    /**
+     * Apply the events of the log of a layout file to the layout read from that file.
+     * Events referring to something that is not in the layout anymore are skipped.
+     *
+     * @param fileName the name of the layout file
+     * @param layout   the layout
+     * @return the number of events read from the log
+     * @throws IOException if the log could not be read
+     */
+    public synchronized int replay(String fileName, HouseLayout layout) throws IOException {
+        ArrayList<ILayoutEvent> events = read(fileName);
+        // The simulation updates the layout while holding its lock
+        synchronized (layout) {
+            for (ILayoutEvent event : events) {
+                event.apply(layout);
+            }
+        }
+        return events.size();
+    }
+
+    /**
+     * Read the events of the log of a layout file, oldest first.
+     *
+     * @param fileName the name of the layout file
+     * @return the events
+     * @throws IOException if the log could not be read
+     */
+    public synchronized ArrayList<ILayoutEvent> read(String fileName) throws IOException {
+        String path = path(fileName);
+        ArrayList<ILayoutEvent> events = new ArrayList<>();
+        if (!storage.exists(path)) {
+            eventCounts.put(fileName, 0);
+            return events;
+        }
+        byte[] log = storage.get(path);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(log));
+        int valid = 0;
+        while (log.length - valid >= RECORD_OVERHEAD) {
+            int length = in.readInt();
+            if (length < 0 || length > log.length - valid - RECORD_OVERHEAD) {
+                break;
+            }
+            byte[] data = new byte[length];
+            in.readFully(data);
+            if (in.readInt() != checksum(data)) {
+                break;
+            }
+            try {
+                events.add(decode(data));
+            } catch (IOException e) {
+                break;
+            }
+            valid += length + RECORD_OVERHEAD;
+        }
+        // Drop the record cut short by a crash, so the next events are not appended after it
+        if (valid < log.length) {
+            repair(path, Arrays.copyOf(log, valid));
+        }
+        eventCounts.put(fileName, events.size());
+        return events;
+    }
+
+    /**
+     * Clear the log of a layout file, once the layout file holds every event.
+     *
+     * @param fileName the name of the layout file
+     */
+    public synchronized void clear(String fileName) {
+        storage.delete(path(fileName));
+        eventCounts.put(fileName, 0);
+    }
+
+    /**
+     * Gets the number of events in the log of a layout file.
+     *
+     * @param fileName the name of the layout file
+     * @return the event count
+     * @throws IOException if the log could not be read
+     */
+    public synchronized int getEventCount(String fileName) throws IOException {
+        Integer count = eventCounts.get(fileName);
+        if (count == null) {
+            count = read(fileName).size();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the size of the log of a layout file.
+     *
+     * @param fileName the name of the layout file
+     * @return the size in bytes
+     */
+    public long getSize(String fileName) {
+        return storage.getSize(path(fileName));
+    }
+
+    /**
+     * Encode an event.
+     *
+     * @param event the event
+     * @return the encoded event
+     * @throws IOException if the event could not be encoded
+     */
+    public static byte[] encode(ILayoutEvent event) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(event.getEventType().ordinal());
+        switch (event.getEventType()) {
+            case DEVICE_CHANGED:
+                DeviceChangedEvent deviceChanged = (DeviceChangedEvent) event;
+                out.writeUTF(deviceChanged.getRoomName());
+                LayoutCodec.writeDevice(out, deviceChanged.getDevice());
+                break;
+            case ROOM_TEMPERATURE_CHANGED:
+                RoomTemperatureChangedEvent temperatureChanged = (RoomTemperatureChangedEvent) event;
+                out.writeUTF(temperatureChanged.getRoomName());
+                out.writeDouble(temperatureChanged.getDesiredTemperature());
+                out.writeBoolean(temperatureChanged.isOverridden());
+                break;
+            case INHABITANT_MOVED:
+                InhabitantMovedEvent inhabitantMoved = (InhabitantMovedEvent) event;
+                out.writeUTF(inhabitantMoved.getInhabitantName());
+                out.writeUTF(inhabitantMoved.getRoomName());
+                break;
+            case AWAY_MODE_ENABLED:
+                break;
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode an event.
+     *
+     * @param data the encoded event
+     * @return the event
+     * @throws IOException if the data is not a valid event
+     */
+    public static ILayoutEvent decode(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        int type = in.readUnsignedByte();
+        if (type >= LayoutEventType.values().length) {
+            throw new IOException("Invalid event type " + type);
+        }
+        switch (LayoutEventType.values()[type]) {
+            case DEVICE_CHANGED:
+                return new DeviceChangedEvent(in.readUTF(), LayoutCodec.readDevice(in));
+            case ROOM_TEMPERATURE_CHANGED:
+                return new RoomTemperatureChangedEvent(in.readUTF(), in.readDouble(), in.readBoolean());
+            case INHABITANT_MOVED:
+                return new InhabitantMovedEvent(in.readUTF(), in.readUTF());
+            default:
+                return new AwayModeEnabledEvent();
+        }
+    }
+
+    //endregion
+
+    //region Private Methods
+
+    private void repair(String path, byte[] kept) throws IOException {
+        if (kept.length == 0) {
+            storage.delete(path);
+            return;
+        }
+        // Write the valid records next to the log then replace it in one step, so they are never lost
+        String repaired = path + REPAIR_EXTENSION;
+        storage.delete(repaired);
+        storage.append(repaired, kept);
+        storage.rename(repaired, path);
+    }
+
+    private String path(String fileName) {
+        return directory == null ? fileName : directory + "/" + fileName;
+    }
+
+    private static int checksum(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        return (int) crc.getValue();
+    }
+
+    //endregion
+}
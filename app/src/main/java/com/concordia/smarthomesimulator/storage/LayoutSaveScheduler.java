@@ -0,0 +1,201 @@
+package com.concordia.smarthomesimulator.storage;
+
+import com.concordia.smarthomesimulator.dataModels.HouseLayout;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Decides when house layouts are written to their files.
+ *
+ * The version of a layout is remembered every time it is written, so saving a layout that did not change since is
+ * skipped. Saves requested with {@link #requestSave(String, HouseLayout, Predicate)} are delayed a little, and every
+ * request made for the same file in the meantime is coalesced into that single write.
+ */
+public class LayoutSaveScheduler {
+
+    private final long delayMs;
+    private final ScheduledExecutorService executor;
+    // Serializes the writes so two saves of the same file never interleave
+    private final Object writeLock;
+
+    private final HashMap<String, SavedLayout> saved;
+    private final HashMap<String, PendingSave> pending;
+    private long skipped;
+    private long coalesced;
+    private long performed;
+
+    /**
+     * Instantiates a new Layout save scheduler.
+     *
+     * @param delayMs how long requested saves wait for other requests to coalesce with
+     */
+    public LayoutSaveScheduler(long delayMs) {
+        this.delayMs = delayMs;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "layout-saver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writeLock = new Object();
+        this.saved = new HashMap<>();
+        this.pending = new HashMap<>();
+    }
+
+    /**
+     * Request a layout to be saved in the background.
+     * Nothing is written if the layout did not change since it was last saved.
+     *
+     * @param key    the name of the layout file
+     * @param layout the layout
+     * @param writer writes the layout, returns whether it was written
+     */
+    public synchronized void requestSave(String key, HouseLayout layout, Predicate<HouseLayout> writer) {
+        PendingSave save = pending.get(key);
+        if (save != null) {
+            save.layout = layout;
+            save.writer = writer;
+            coalesced++;
+            return;
+        }
+        pending.put(key, new PendingSave(layout, writer));
+        executor.schedule(() -> savePending(key), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Save a layout right away, unless it did not change since it was last saved.
+     * A save of the same layout waiting in the background is done by this one.
+     *
+     * @param key    the name of the layout file
+     * @param layout the layout
+     * @param writer writes the layout, returns whether it was written
+     * @return whether the layout file is up to date
+     */
+    public boolean saveNow(String key, HouseLayout layout, Predicate<HouseLayout> writer) {
+        synchronized (this) {
+            PendingSave save = pending.get(key);
+            if (save != null && save.layout == layout) {
+                pending.remove(key);
+                coalesced++;
+            }
+        }
+        return write(key, layout, writer);
+    }
+
+    /**
+     * Write every save waiting in the background now.
+     */
+    public void flush() {
+        ArrayList<String> keys;
+        synchronized (this) {
+            keys = new ArrayList<>(pending.keySet());
+        }
+        for (String key : keys) {
+            savePending(key);
+        }
+    }
+
+    /**
+     * Forget the saved version of a layout file, so its next save is always written.
+     *
+     * @param key the name of the layout file
+     */
+    public synchronized void invalidate(String key) {
+        saved.remove(key);
+    }
+
+    /**
+     * Gets the number of saves skipped because the layout did not change.
+     *
+     * @return the skipped count
+     */
+    public synchronized long getSkippedCount() {
+        return skipped;
+    }
+
+    /**
+     * Gets the number of save requests merged into another save.
+     *
+     * @return the coalesced count
+     */
+    public synchronized long getCoalescedCount() {
+        return coalesced;
+    }
+
+    /**
+     * Gets the number of layouts actually written.
+     *
+     * @return the performed count
+     */
+    public synchronized long getPerformedCount() {
+        return performed;
+    }
+
+    private void savePending(String key) {
+        PendingSave save;
+        synchronized (this) {
+            save = pending.remove(key);
+        }
+        if (save != null) {
+            write(key, save.layout, save.writer);
+        }
+    }
+
+    private boolean write(String key, HouseLayout layout, Predicate<HouseLayout> writer) {
+        long version;
+        boolean written;
+        synchronized (writeLock) {
+            // The simulation updates the layout while holding its lock, don't save it half updated
+            synchronized (layout) {
+                version = layout.getVersion();
+                synchronized (this) {
+                    SavedLayout last = saved.get(key);
+                    if (last != null && last.layout == layout && last.version == version) {
+                        skipped++;
+                        return true;
+                    }
+                }
+                written = writer.test(layout);
+            }
+        }
+        synchronized (this) {
+            if (written) {
+                saved.put(key, new SavedLayout(layout, version));
+                performed++;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * A layout and the version it had when it was written.
+     */
+    private static class SavedLayout {
+
+        private final HouseLayout layout;
+        private final long version;
+
+        private SavedLayout(HouseLayout layout, long version) {
+            this.layout = layout;
+            this.version = version;
+        }
+    }
+
+    /**
+     * A save waiting to be written.
+     */
+    private static class PendingSave {
+
+        private HouseLayout layout;
+        private Predicate<HouseLayout> writer;
+
+        private PendingSave(HouseLayout layout, Predicate<HouseLayout> writer) {
+            this.layout = layout;
+            this.writer = writer;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.concordia.smarthomesimulator.storage;
+
+import com.concordia.smarthomesimulator.dataModels.LogCursor;
+import com.concordia.smarthomesimulator.dataModels.LogEntry;
+import com.concordia.smarthomesimulator.dataModels.LogExportResult;
+import com.concordia.smarthomesimulator.dataModels.LogPage;
+import com.concordia.smarthomesimulator.dataModels.LogQuery;
+import com.concordia.smarthomesimulator.enums.LogExportFormat;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Writes the activity logs as text that can be read without the app, one entry per line.
+ *
+ * The entries matched by a query are read from the store one page at a time and written as soon as they are read, so
+ * the memory used does not depend on the size of the logs. They are written newest first, like the app shows them.
+ * Times are written in ISO-8601, in UTC.
+ */
+public class LogExporter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "time,importance,component,message";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final LogExportFormat format;
+
+    /**
+     * Instantiates a new Log exporter.
+     *
+     * @param format the format
+     */
+    public LogExporter(LogExportFormat format) {
+        this.format = format;
+    }
+
+    //region Public Methods
+
+    /**
+     * Export the entries matched by a query.
+     * The stream is flushed but not closed.
+     *
+     * @param store the store the entries are read from
+     * @param query the filters, its page size is the number of entries read at once
+     * @param out   the stream the entries are written to, in UTF-8
+     * @return the number of entries and bytes written, and how long it took
+     * @throws IOException if the entries could not be read or written
+     */
+    public LogExportResult export(SegmentedLogStore store, LogQuery query, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        CountingOutputStream counter = new CountingOutputStream(out);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(counter, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == LogExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        long count = 0;
+        LogCursor cursor = null;
+        do {
+            LogPage page = store.query(query, cursor);
+            for (LogEntry entry : page.getEntries()) {
+                write(writer, entry);
+                count++;
+            }
+            cursor = page.getNext();
+        } while (cursor != null);
+        writer.flush();
+        return new LogExportResult(count, counter.count, System.nanoTime() - start);
+    }
+
+    /**
+     * Write one entry, followed by a line break.
+     *
+     * @param writer the writer
+     * @param entry  the entry
+     * @throws IOException if the entry could not be written
+     */
+    public void write(Writer writer, LogEntry entry) throws IOException {
+        String time = entry.getDateTime() == null ? null : Instant.ofEpochMilli(entry.getDateTime().getTime()).toString();
+        String importance = entry.getImportance() == null ? null : entry.getImportance().name();
+        if (format == LogExportFormat.CSV) {
+            writeCsvField(writer, time);
+            writer.write(',');
+            writeCsvField(writer, importance);
+            writer.write(',');
+            writeCsvField(writer, entry.getComponent());
+            writer.write(',');
+            writeCsvField(writer, entry.getMessage());
+        } else {
+            writer.write("{\"time\":");
+            writeJsonString(writer, time);
+            writer.write(",\"importance\":");
+            writeJsonString(writer, importance);
+            writer.write(",\"component\":");
+            writeJsonString(writer, entry.getComponent());
+            writer.write(",\"message\":");
+            writeJsonString(writer, entry.getMessage());
+            writer.write('}');
+        }
+        writer.write('\n');
+    }
+
+    //endregion
+
+    //region Private Methods
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quoted) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static void writeJsonString(Writer writer, String value) throws IOException {
+        if (value == null) {
+            writer.write("null");
+            return;
+        }
+        writer.write('"');
+        // Write the runs of characters that need no escaping at once
+        int run = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            writer.write(value, run, i - run);
+            run = i + 1;
+            switch (c) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    writer.write("\\u00");
+                    writer.write(HEX_DIGITS[c >> 4]);
+                    writer.write(HEX_DIGITS[c & 0xF]);
+            }
+        }
+        writer.write(value, run, value.length() - run);
+        writer.write('"');
+    }
+
+    //endregion
+
+    /**
+     * Counts the bytes written to a stream.
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
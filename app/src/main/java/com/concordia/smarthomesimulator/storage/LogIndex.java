@@ -0,0 +1,320 @@
+package com.concordia.smarthomesimulator.storage;
+
+import com.concordia.smarthomesimulator.dataModels.LogEntry;
+import com.concordia.smarthomesimulator.dataModels.LogQuery;
+import com.concordia.smarthomesimulator.enums.LogImportance;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Sparse index of a log journal.
+ *
+ * The journal is split in blocks of consecutive records. For every block the index keeps its offsets, the time
+ * range of its entries, a mask of their importances and a 64 bit bloom filter of their components. A query only has
+ * to decode the records of the blocks that may contain a match, and finds the blocks of a time range without reading
+ * the journal at all.
+ */
+public class LogIndex {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int recordsPerBlock;
+
+    private int blockCount;
+    private int openRecords;
+    private long[] starts;
+    private long[] ends;
+    private long[] minTimes;
+    private long[] maxTimes;
+    private long[] components;
+    private int[] importances;
+
+    /**
+     * Instantiates a new empty Log index.
+     *
+     * @param recordsPerBlock the number of records summarized by each block
+     */
+    public LogIndex(int recordsPerBlock) {
+        this(recordsPerBlock, INITIAL_CAPACITY);
+    }
+
+    private LogIndex(int recordsPerBlock, int capacity) {
+        this.recordsPerBlock = Math.max(1, recordsPerBlock);
+        starts = new long[capacity];
+        ends = new long[capacity];
+        minTimes = new long[capacity];
+        maxTimes = new long[capacity];
+        components = new long[capacity];
+        importances = new int[capacity];
+    }
+
+    /**
+     * Index a record appended at the end of the journal.
+     *
+     * @param start the offset of the record
+     * @param end   the offset right after the record
+     * @param entry the entry of the record
+     */
+    public void add(long start, long end, LogEntry entry) {
+        long time = entry.getDateTime().getTime();
+        if (blockCount == 0 || openRecords >= recordsPerBlock) {
+            openBlock(start, time);
+        }
+        int block = blockCount - 1;
+        ends[block] = end;
+        minTimes[block] = Math.min(minTimes[block], time);
+        maxTimes[block] = Math.max(maxTimes[block], time);
+        components[block] |= componentBit(entry.getComponent());
+        importances[block] |= importanceBit(entry.getImportance());
+        openRecords++;
+    }
+
+    /**
+     * Gets the number of blocks.
+     *
+     * @return the block count
+     */
+    public int getBlockCount() {
+        return blockCount;
+    }
+
+    /**
+     * Gets the offset of the first record of a block.
+     *
+     * @param block the block
+     * @return the start offset
+     */
+    public long getStart(int block) {
+        return starts[block];
+    }
+
+    /**
+     * Gets the offset right after the last record of a block.
+     *
+     * @param block the block
+     * @return the end offset
+     */
+    public long getEnd(int block) {
+        return ends[block];
+    }
+
+    /**
+     * Gets the offset right after the last indexed record.
+     *
+     * @return the end offset
+     */
+    public long getEnd() {
+        return blockCount == 0 ? 0 : ends[blockCount - 1];
+    }
+
+    /**
+     * Gets the oldest time of the indexed entries.
+     *
+     * @return the min time
+     */
+    public long getMinTime() {
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < blockCount; i++) {
+            min = Math.min(min, minTimes[i]);
+        }
+        return min;
+    }
+
+    /**
+     * Gets the newest time of the indexed entries.
+     *
+     * @return the max time
+     */
+    public long getMaxTime() {
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < blockCount; i++) {
+            max = Math.max(max, maxTimes[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Determines if a block may contain entries matched by a query.
+     * False positives are possible, false negatives are not.
+     *
+     * @param block the block
+     * @param query the query
+     * @return true or false
+     */
+    public boolean mayMatch(int block, LogQuery query) {
+        if (!query.overlaps(minTimes[block], maxTimes[block])) {
+            return false;
+        }
+        Set<LogImportance> wantedImportances = query.getImportances();
+        if (wantedImportances != null) {
+            int mask = 0;
+            for (LogImportance importance : wantedImportances) {
+                mask |= importanceBit(importance);
+            }
+            if ((importances[block] & mask) == 0) {
+                return false;
+            }
+        }
+        Set<String> wantedComponents = query.getComponents();
+        if (wantedComponents != null) {
+            long mask = 0;
+            for (String component : wantedComponents) {
+                mask |= componentBit(component);
+            }
+            return (components[block] & mask) != 0;
+        }
+        return true;
+    }
+
+    /**
+     * Save the index to a file.
+     *
+     * @param file the file
+     * @throws IOException if the file could not be written
+     */
+    public void write(File file) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4 * Integer.BYTES + blockCount * (5 * Long.BYTES + Integer.BYTES));
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(recordsPerBlock);
+            out.writeInt(blockCount);
+            out.writeInt(openRecords);
+            for (int i = 0; i < blockCount; i++) {
+                out.writeLong(starts[i]);
+                out.writeLong(ends[i]);
+                out.writeLong(minTimes[i]);
+                out.writeLong(maxTimes[i]);
+                out.writeLong(components[i]);
+                out.writeInt(importances[i]);
+            }
+        }
+        new AtomicFile(file).write(bytes.toByteArray());
+    }
+
+    /**
+     * Load an index saved with {@link #write(File)}.
+     *
+     * @param file the file
+     * @return the index, or null if the file does not exist or is not a valid index
+     */
+    public static LogIndex read(File file) {
+        AtomicFile atomicFile = new AtomicFile(file);
+        if (!atomicFile.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(atomicFile.read()))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            int recordsPerBlock = in.readInt();
+            int blockCount = in.readInt();
+            int openRecords = in.readInt();
+            LogIndex index = new LogIndex(recordsPerBlock, Math.max(INITIAL_CAPACITY, blockCount));
+            for (int i = 0; i < blockCount; i++) {
+                index.starts[i] = in.readLong();
+                index.ends[i] = in.readLong();
+                index.minTimes[i] = in.readLong();
+                index.maxTimes[i] = in.readLong();
+                index.components[i] = in.readLong();
+                index.importances[i] = in.readInt();
+            }
+            index.blockCount = blockCount;
+            index.openRecords = openRecords;
+            return index;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Build the index of a journal by reading every record.
+     *
+     * @param journal         the journal
+     * @param recordsPerBlock the number of records summarized by each block
+     * @return the index
+     * @throws IOException if the journal could not be read
+     */
+    public static LogIndex build(LogJournal journal, int recordsPerBlock) throws IOException {
+        // Records can only be walked newest first, so the blocks are built backwards and reversed at the end
+        LogIndex index = new LogIndex(recordsPerBlock);
+        LogJournal.RecordIterator records = journal.newestFirst(journal.size(), 0);
+        int newestBlockRecords = 0;
+        while (records.hasNext()) {
+            long end = records.getPosition();
+            LogEntry entry = records.next();
+            long start = records.getPosition();
+            long time = entry.getDateTime().getTime();
+            if (index.blockCount == 0 || index.openRecords >= index.recordsPerBlock) {
+                if (index.blockCount == 1) {
+                    newestBlockRecords = index.openRecords;
+                }
+                index.openBlock(end, time);
+                index.ends[index.blockCount - 1] = end;
+            }
+            int block = index.blockCount - 1;
+            index.starts[block] = start;
+            index.minTimes[block] = Math.min(index.minTimes[block], time);
+            index.maxTimes[block] = Math.max(index.maxTimes[block], time);
+            index.components[block] |= componentBit(entry.getComponent());
+            index.importances[block] |= importanceBit(entry.getImportance());
+            index.openRecords++;
+        }
+        if (index.blockCount == 1) {
+            newestBlockRecords = index.openRecords;
+        }
+        index.reverse();
+        // The newest block is the one new records are added to
+        index.openRecords = newestBlockRecords;
+        return index;
+    }
+
+    private void openBlock(long start, long time) {
+        if (blockCount == starts.length) {
+            int capacity = starts.length * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            minTimes = Arrays.copyOf(minTimes, capacity);
+            maxTimes = Arrays.copyOf(maxTimes, capacity);
+            components = Arrays.copyOf(components, capacity);
+            importances = Arrays.copyOf(importances, capacity);
+        }
+        starts[blockCount] = start;
+        ends[blockCount] = start;
+        minTimes[blockCount] = time;
+        maxTimes[blockCount] = time;
+        components[blockCount] = 0;
+        importances[blockCount] = 0;
+        blockCount++;
+        openRecords = 0;
+    }
+
+    private void reverse() {
+        for (int i = 0, j = blockCount - 1; i < j; i++, j--) {
+            swap(starts, i, j);
+            swap(ends, i, j);
+            swap(minTimes, i, j);
+            swap(maxTimes, i, j);
+            swap(components, i, j);
+            int importance = importances[i];
+            importances[i] = importances[j];
+            importances[j] = importance;
+        }
+    }
+
+    private static void swap(long[] values, int i, int j) {
+        long value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+
+    private static long componentBit(String component) {
+        return 1L << ((component == null ? 0 : component.hashCode()) & 63);
+    }
+
+    private static int importanceBit(LogImportance importance) {
+        return 1 << (importance == null ? 0 : importance.ordinal());
+    }
+}
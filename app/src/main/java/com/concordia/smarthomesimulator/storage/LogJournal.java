@@ -0,0 +1,476 @@
+package com.concordia.smarthomesimulator.storage;
+
+import com.concordia.smarthomesimulator.dataModels.LogEntry;
+import com.concordia.smarthomesimulator.enums.CompressionCodec;
+import com.concordia.smarthomesimulator.enums.LogImportance;
+import com.concordia.smarthomesimulator.interfaces.ILogStore;
+
+import java.io.*;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Append-only journal of log entries.
+ *
+ * Every record is framed by its length on both sides: [length][payload][length].
+ * Appending only writes the new record at the end of the file, and the trailing length lets readers walk the file
+ * backwards so the newest entries can be read first without loading the whole journal in memory.
+ * When the file is opened after a crash, a record is only kept if both of its lengths match and its payload decodes,
+ * so a tail of zeroes or garbage left by the crash is dropped.
+ *
+ * A journal that will not be appended to anymore can be sealed: it is then compressed and becomes read only. Offsets
+ * still refer to the uncompressed records, and the records are decompressed in memory the first time they are read.
+ */
+public class LogJournal implements ILogStore {
+
+    private static final int LENGTH_SIZE = Integer.BYTES;
+    private static final int FRAME_SIZE = LENGTH_SIZE * 2;
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_RECORD_SIZE = 1024 * 1024;
+    // The date, the importance and the lengths of the two strings
+    private static final int MIN_RECORD_SIZE = Long.BYTES + 1 + Short.BYTES * 2;
+
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+
+    private final File file;
+    private final ByteBuffer buffer;
+    private FileChannel channel;
+
+    // Only for sealed journals, the records are dropped when memory runs low and decompressed again when needed
+    private final boolean sealed;
+    private final long sealedSize;
+    private SoftReference<byte[]> records;
+    private boolean closed;
+
+    /**
+     * Opens a journal, creating the file if needed.
+     * A record left incomplete by a crash at the end of the file is discarded.
+     *
+     * @param file the journal file
+     * @throws IOException if the file cannot be opened
+     */
+    public LogJournal(File file) throws IOException {
+        this.file = file;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.sealed = false;
+        this.sealedSize = 0;
+        open();
+    }
+
+    private LogJournal(File file, long size) {
+        this.file = file;
+        this.buffer = null;
+        this.sealed = true;
+        this.sealedSize = size;
+    }
+
+    /**
+     * Opens a sealed journal, written by {@link #seal(File, CompressionCodec)}.
+     * Nothing is decompressed until the records are read.
+     *
+     * @param file the sealed journal file
+     * @return the journal, read only
+     * @throws IOException if the file cannot be read
+     */
+    public static LogJournal openSealed(File file) throws IOException {
+        long size = Compression.readLength(file);
+        if (size < 0) {
+            size = Compression.decompress(Files.readAllBytes(file.toPath())).length;
+        }
+        return new LogJournal(file, size);
+    }
+
+    /**
+     * Gets the journal file.
+     *
+     * @return the file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Determines if the journal is sealed, and so read only.
+     *
+     * @return true or false
+     */
+    public boolean isSealed() {
+        return sealed;
+    }
+
+    /**
+     * Append an entry at the end of the journal.
+     * The record is buffered, call {@link #flush()} to make sure it reached the file.
+     *
+     * @param entry the entry
+     * @throws IOException if the buffer could not be written
+     */
+    @Override
+    public synchronized void append(LogEntry entry) throws IOException {
+        checkWritable();
+        byte[] payload = encode(entry);
+        if (payload.length + FRAME_SIZE > buffer.remaining()) {
+            drain();
+        }
+        // Records larger than the buffer are written straight to the channel
+        if (payload.length + FRAME_SIZE > buffer.capacity()) {
+            ByteBuffer large = ByteBuffer.allocate(payload.length + FRAME_SIZE);
+            large.putInt(payload.length).put(payload).putInt(payload.length).flip();
+            while (large.hasRemaining()) {
+                channel.write(large);
+            }
+            return;
+        }
+        buffer.putInt(payload.length).put(payload).putInt(payload.length);
+    }
+
+    /**
+     * Write the buffered records to the file and force them to the disk.
+     *
+     * @throws IOException if the records could not be written
+     */
+    @Override
+    public synchronized void flush() throws IOException {
+        drain();
+        if (!sealed) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Size of the records of the journal, including the ones that are still buffered.
+     * For a sealed journal this is the size of the records once decompressed.
+     *
+     * @return the size in bytes
+     * @throws IOException if the size could not be read
+     */
+    public synchronized long size() throws IOException {
+        if (sealed) {
+            return sealedSize;
+        }
+        return channel.size() + buffer.position();
+    }
+
+    /**
+     * Size of the journal on disk, including the records that are still buffered.
+     * It only differs from {@link #size()} for a sealed journal.
+     *
+     * @return the size in bytes
+     * @throws IOException if the size could not be read
+     */
+    public synchronized long getStoredSize() throws IOException {
+        return sealed ? file.length() : size();
+    }
+
+    /**
+     * Iterate over the entries, newest first.
+     * Buffered records are flushed first. Entries are decoded one at a time while iterating.
+     *
+     * @return the entries, newest first
+     * @throws IOException if the buffered records could not be flushed
+     */
+    @Override
+    public synchronized Iterable<LogEntry> newestFirst() throws IOException {
+        drain();
+        final long end = size();
+        return () -> new RecordIterator(end, 0);
+    }
+
+    /**
+     * Iterate over the records between two offsets, newest first.
+     * Both offsets must be record boundaries, as returned by {@link #size()} or {@link RecordIterator#getPosition()}.
+     * Buffered records are flushed first.
+     *
+     * @param end   the offset right after the newest record to read
+     * @param start the offset of the oldest record to read
+     * @return the records iterator
+     * @throws IOException if the buffered records could not be flushed
+     */
+    public synchronized RecordIterator newestFirst(long end, long start) throws IOException {
+        drain();
+        return new RecordIterator(Math.min(end, size()), start);
+    }
+
+    /**
+     * Remove every entry from the journal.
+     *
+     * @throws IOException if the file could not be truncated
+     */
+    @Override
+    public synchronized void clear() throws IOException {
+        checkWritable();
+        buffer.clear();
+        channel.truncate(0);
+    }
+
+    /**
+     * Compress the journal to another file and close it.
+     * The compressed file is complete on the disk before the journal file is deleted, so a crash in between leaves
+     * both files with the same records.
+     *
+     * @param target the sealed journal file
+     * @param codec  the codec
+     * @return the sealed journal
+     * @throws IOException if the journal could not be compressed, it is then left as it was
+     */
+    public synchronized LogJournal seal(File target, CompressionCodec codec) throws IOException {
+        checkWritable();
+        drain();
+        long size = channel.size();
+        File temporary = new File(target.getPath() + TEMPORARY_EXTENSION);
+        try (InputStream in = new FileInputStream(file);
+             OutputStream out = Compression.openOutput(new BufferedOutputStream(new FileOutputStream(temporary)), codec, size)) {
+            Compression.copy(in, out);
+        } catch (IOException e) {
+            //noinspection ResultOfMethodCallIgnored
+            temporary.delete();
+            throw e;
+        }
+        // Make sure the compressed records are on the disk before the rename makes them the journal
+        try (FileChannel written = FileChannel.open(temporary.toPath(), StandardOpenOption.WRITE)) {
+            written.force(true);
+        }
+        Files.move(temporary.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        close();
+        // The sealed journal is complete, a journal file left behind holds the same records and can be dropped later
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+        return new LogJournal(target, size);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (sealed) {
+            closed = true;
+            records = null;
+            return;
+        }
+        if (channel == null) {
+            return;
+        }
+        try {
+            drain();
+        } finally {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Encode an entry as a record payload.
+     *
+     * @param entry the entry
+     * @return the payload
+     * @throws IOException if the entry could not be encoded
+     */
+    public static byte[] encode(LogEntry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(entry.getDateTime() == null ? 0 : entry.getDateTime().getTime());
+            out.writeByte(entry.getImportance() == null ? LogImportance.MINOR.ordinal() : entry.getImportance().ordinal());
+            out.writeUTF(entry.getComponent() == null ? "" : entry.getComponent());
+            out.writeUTF(entry.getMessage() == null ? "" : entry.getMessage());
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode a record payload.
+     *
+     * @param payload the payload
+     * @return the entry
+     * @throws IOException if the payload is not a valid entry
+     */
+    public static LogEntry decode(byte[] payload) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            long time = in.readLong();
+            int ordinal = in.readUnsignedByte();
+            LogImportance[] importances = LogImportance.values();
+            if (ordinal >= importances.length) {
+                throw new IOException("Invalid log importance " + ordinal);
+            }
+            String component = in.readUTF();
+            String message = in.readUTF();
+            if (in.available() > 0) {
+                throw new IOException("Invalid log record, " + in.available() + " bytes left");
+            }
+            return new LogEntry(component, message, importances[ordinal], new Date(time));
+        }
+    }
+
+    private void open() throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.isDirectory()) {
+            //noinspection ResultOfMethodCallIgnored
+            parent.mkdirs();
+        }
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.truncate(findValidEnd());
+        channel.position(channel.size());
+    }
+
+    private void checkWritable() throws IOException {
+        if (sealed) {
+            throw new IOException("Sealed journal " + file);
+        }
+    }
+
+    private byte[] getRecords() throws IOException {
+        if (closed) {
+            throw new ClosedChannelException();
+        }
+        byte[] data = records == null ? null : records.get();
+        if (data == null) {
+            data = Compression.decompress(Files.readAllBytes(file.toPath()));
+            records = new SoftReference<>(data);
+        }
+        return data;
+    }
+
+    private void drain() throws IOException {
+        if (sealed) {
+            return;
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private long findValidEnd() throws IOException {
+        long size = channel.size();
+        // Most of the time the last record is complete and nothing has to be scanned
+        if (size == 0 || isRecordEndingAt(size)) {
+            return size;
+        }
+        // Otherwise keep every valid record from the start
+        long position = 0;
+        ByteBuffer length = ByteBuffer.allocate(LENGTH_SIZE);
+        while (position + FRAME_SIZE <= size) {
+            length.clear();
+            readFully(length, position);
+            int payload = length.getInt(0);
+            if (!isValidLength(payload) || position + payload + FRAME_SIZE > size || !isRecordAt(position, payload)) {
+                break;
+            }
+            position += payload + FRAME_SIZE;
+        }
+        return position;
+    }
+
+    private static boolean isValidLength(int payload) {
+        return payload >= MIN_RECORD_SIZE && payload <= MAX_RECORD_SIZE;
+    }
+
+    private boolean isRecordEndingAt(long end) throws IOException {
+        if (end < FRAME_SIZE) {
+            return false;
+        }
+        ByteBuffer length = ByteBuffer.allocate(LENGTH_SIZE);
+        readFully(length, end - LENGTH_SIZE);
+        int payload = length.getInt(0);
+        long start = end - payload - FRAME_SIZE;
+        if (!isValidLength(payload) || start < 0) {
+            return false;
+        }
+        length.clear();
+        readFully(length, start);
+        return length.getInt(0) == payload && isRecordAt(start, payload);
+    }
+
+    private boolean isRecordAt(long start, int payload) throws IOException {
+        // The leading length was checked by the caller, check the trailing one and the payload itself
+        ByteBuffer length = ByteBuffer.allocate(LENGTH_SIZE);
+        readFully(length, start + LENGTH_SIZE + payload);
+        if (length.getInt(0) != payload) {
+            return false;
+        }
+        ByteBuffer data = ByteBuffer.allocate(payload);
+        readFully(data, start + LENGTH_SIZE);
+        try {
+            decode(data.array());
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void readFully(ByteBuffer target, long position) throws IOException {
+        if (sealed) {
+            byte[] data = getRecords();
+            long offset = position + target.position();
+            if (offset < 0 || offset + target.remaining() > data.length) {
+                throw new EOFException();
+            }
+            target.put(data, (int) offset, target.remaining());
+            return;
+        }
+        while (target.hasRemaining()) {
+            int read = channel.read(target, position + target.position());
+            if (read < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    /**
+     * Walks the journal from an end offset back to a start offset, decoding one record at a time.
+     */
+    public class RecordIterator implements Iterator<LogEntry> {
+
+        private final ByteBuffer length = ByteBuffer.allocate(LENGTH_SIZE);
+        private final long start;
+        private long position;
+
+        private RecordIterator(long end, long start) {
+            this.position = end;
+            this.start = Math.max(0, start);
+        }
+
+        /**
+         * Gets the offset of the last record returned, which is also where the iteration would resume.
+         *
+         * @return the position
+         */
+        public long getPosition() {
+            return position;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position - start >= FRAME_SIZE;
+        }
+
+        @Override
+        public LogEntry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                synchronized (LogJournal.this) {
+                    length.clear();
+                    readFully(length, position - LENGTH_SIZE);
+                    int size = length.getInt(0);
+                    if (!isValidLength(size) || position - size - FRAME_SIZE < start) {
+                        throw new IOException("Invalid log record length " + size + " at " + position);
+                    }
+                    ByteBuffer payload = ByteBuffer.allocate(size);
+                    readFully(payload, position - LENGTH_SIZE - size);
+                    position -= size + FRAME_SIZE;
+                    return decode(payload.array());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
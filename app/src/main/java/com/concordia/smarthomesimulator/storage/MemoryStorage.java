@@ -0,0 +1,149 @@
+package com.concordia.smarthomesimulator.storage;
+
+import com.concordia.smarthomesimulator.interfaces.IStorage;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * A storage keeping every blob in memory.
+ * Nothing survives the process, it is meant for tests and benchmarks.
+ */
+public class MemoryStorage implements IStorage {
+
+    private final HashMap<String, Blob> blobs = new HashMap<>();
+
+    @Override
+    public synchronized boolean exists(String name) {
+        return blobs.containsKey(normalize(name));
+    }
+
+    @Override
+    public synchronized byte[] get(String name) throws IOException {
+        Blob blob = blobs.get(normalize(name));
+        if (blob == null) {
+            throw new FileNotFoundException(name);
+        }
+        return blob.data.clone();
+    }
+
+    @Override
+    public synchronized void put(String name, byte[] data) {
+        blobs.put(normalize(name), new Blob(data.clone(), System.currentTimeMillis()));
+    }
+
+    @Override
+    public synchronized void append(String name, byte[] data) {
+        String key = normalize(name);
+        Blob blob = blobs.get(key);
+        byte[] content = data.clone();
+        if (blob != null) {
+            content = Arrays.copyOf(blob.data, blob.data.length + data.length);
+            System.arraycopy(data, 0, content, blob.data.length, data.length);
+        }
+        blobs.put(key, new Blob(content, System.currentTimeMillis()));
+    }
+
+    @Override
+    public InputStream openRead(String name) throws IOException {
+        return new ByteArrayInputStream(get(name));
+    }
+
+    @Override
+    public OutputStream openWrite(String name) {
+        return new BlobOutputStream(name);
+    }
+
+    @Override
+    public synchronized List<String> list(String directory) {
+        String prefix = directory == null ? "" : normalize(directory) + "/";
+        List<String> names = new ArrayList<>();
+        for (String name : blobs.keySet()) {
+            if (name.startsWith(prefix) && name.indexOf('/', prefix.length()) < 0) {
+                names.add(name.substring(prefix.length()));
+            }
+        }
+        return names;
+    }
+
+    @Override
+    public synchronized void rename(String from, String to) throws IOException {
+        Blob blob = blobs.remove(normalize(from));
+        if (blob == null) {
+            throw new FileNotFoundException(from);
+        }
+        blobs.put(normalize(to), blob);
+    }
+
+    @Override
+    public synchronized boolean delete(String name) {
+        return blobs.remove(normalize(name)) != null;
+    }
+
+    @Override
+    public synchronized long getSize(String name) {
+        Blob blob = blobs.get(normalize(name));
+        return blob == null ? 0 : blob.data.length;
+    }
+
+    @Override
+    public synchronized long getLastModified(String name) {
+        Blob blob = blobs.get(normalize(name));
+        return blob == null ? 0 : blob.lastModified;
+    }
+
+    @Override
+    public File getLocalDirectory(String directory) {
+        return null;
+    }
+
+    private static String normalize(String name) {
+        String normalized = name.replace('\\', '/');
+        while (normalized.startsWith("/")) {
+            normalized = normalized.substring(1);
+        }
+        while (normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized;
+    }
+
+    /**
+     * The content of a blob and when it was written.
+     */
+    private static class Blob {
+
+        private final byte[] data;
+        private final long lastModified;
+
+        private Blob(byte[] data, long lastModified) {
+            this.data = data;
+            this.lastModified = lastModified;
+        }
+    }
+
+    /**
+     * Buffers what is written to a blob and stores it when closed.
+     */
+    private class BlobOutputStream extends ByteArrayOutputStream {
+
+        private final String name;
+        private boolean closed;
+
+        private BlobOutputStream(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            put(name, toByteArray());
+        }
+    }
+}
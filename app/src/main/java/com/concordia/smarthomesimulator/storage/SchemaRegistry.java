@@ -0,0 +1,151 @@
+package com.concordia.smarthomesimulator.storage;
+
+import com.concordia.smarthomesimulator.interfaces.IMigration;
+
+import java.io.*;
+import java.util.HashMap;
+
+/**
+ * The schema version of one kind of persisted file, and the migrations from its older versions.
+ *
+ * Every file starts with a header: a magic number and the schema version it was written with. Files without the
+ * header were written before versions existed, they are version 0. Reading a file of an older version runs the
+ * migrations one version after the other, in memory only: the file keeps its old content until it is saved again.
+ */
+public class SchemaRegistry {
+
+    private final int magic;
+    private final int currentVersion;
+    private final HashMap<Integer, IMigration> migrations;
+
+    /**
+     * Instantiates a new Schema registry.
+     *
+     * @param magic          the magic number of the files
+     * @param currentVersion the version files are written with
+     */
+    public SchemaRegistry(int magic, int currentVersion) {
+        this.magic = magic;
+        this.currentVersion = currentVersion;
+        this.migrations = new HashMap<>();
+    }
+
+    /**
+     * Register the migration of a version to the next one.
+     *
+     * @param fromVersion the version it migrates from
+     * @param migration   the migration
+     * @return the registry
+     */
+    public SchemaRegistry register(int fromVersion, IMigration migration) {
+        if (fromVersion < 0 || fromVersion >= currentVersion) {
+            throw new IllegalArgumentException("Invalid migration from version " + fromVersion);
+        }
+        migrations.put(fromVersion, migration);
+        return this;
+    }
+
+    /**
+     * Gets the version files are written with.
+     *
+     * @return the current version
+     */
+    public int getCurrentVersion() {
+        return currentVersion;
+    }
+
+    /**
+     * Write the header of the current version.
+     *
+     * @param out the stream
+     * @throws IOException if the header could not be written
+     */
+    public void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(magic);
+        VarInt.write(out, currentVersion);
+    }
+
+    /**
+     * Add the header of the current version to a payload.
+     *
+     * @param payload the payload
+     * @return the content of the file
+     * @throws IOException if the header could not be written
+     */
+    public byte[] wrap(byte[] payload) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(payload.length + Integer.BYTES + 1);
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeHeader(out);
+        out.write(payload);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Get the payload of a file, migrated to the current version if needed.
+     *
+     * @param data the content of the file
+     * @return the payload of the current version
+     * @throws IOException if the file was written by a newer version, or could not be migrated
+     */
+    public byte[] unwrap(byte[] data) throws IOException {
+        if (!hasHeader(data)) {
+            return migrate(0, data);
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        in.readInt();
+        int version = VarInt.read(in);
+        byte[] payload = new byte[in.available()];
+        in.readFully(payload);
+        return migrate(version, payload);
+    }
+
+    /**
+     * Migrate a payload to the current version.
+     *
+     * @param version the version of the payload
+     * @param payload the payload
+     * @return the payload of the current version
+     * @throws IOException if the version is newer than the current one, or a migration is missing or failed
+     */
+    public byte[] migrate(int version, byte[] payload) throws IOException {
+        if (version > currentVersion) {
+            throw new IOException("Saved by a newer version, schema version " + version);
+        }
+        for (int from = version; from < currentVersion; from++) {
+            IMigration migration = migrations.get(from);
+            if (migration == null) {
+                throw new IOException("No migration from schema version " + from);
+            }
+            payload = migration.migrate(payload);
+        }
+        return payload;
+    }
+
+    /**
+     * Gets the schema version of a file.
+     *
+     * @param data the content of the file
+     * @return the version, 0 if it has no header
+     * @throws IOException if the header is not valid
+     */
+    public int getVersion(byte[] data) throws IOException {
+        if (!hasHeader(data)) {
+            return 0;
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, Integer.BYTES, data.length - Integer.BYTES));
+        return VarInt.read(in);
+    }
+
+    /**
+     * Determines if a file starts with the header of this schema. The magic number alone decides, so a truncated
+     * header is reported as invalid instead of being read as a file without one.
+     *
+     * @param data the content of the file
+     * @return true or false
+     */
+    public boolean hasHeader(byte[] data) {
+        return data.length >= Integer.BYTES
+            && ((data[0] & 0xFF) << 24 | (data[1] & 0xFF) << 16 | (data[2] & 0xFF) << 8 | (data[3] & 0xFF)) == magic;
+    }
+}
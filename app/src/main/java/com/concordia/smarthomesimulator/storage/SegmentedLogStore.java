@@ -0,0 +1,446 @@
+package com.concordia.smarthomesimulator.storage;
+
+import com.concordia.smarthomesimulator.dataModels.LogCursor;
+import com.concordia.smarthomesimulator.dataModels.LogEntry;
+import com.concordia.smarthomesimulator.dataModels.LogPage;
+import com.concordia.smarthomesimulator.dataModels.LogQuery;
+import com.concordia.smarthomesimulator.enums.CompressionCodec;
+import com.concordia.smarthomesimulator.interfaces.ILogStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Log store split in a directory of journal segments.
+ *
+ * Entries are always appended to the newest segment. A new segment is started when the current one gets too large
+ * or spans too much time. Old entries age out by deleting whole segments once they fall outside of the retention
+ * policy, so nothing is ever rewritten and the amount of data kept on disk stays bounded.
+ *
+ * Ages are measured with the timestamps of the entries, not with the current time.
+ * A limit of 0 or less disables the corresponding rotation or retention rule.
+ *
+ * Every segment has a {@link LogIndex} kept next to it, so queries can page through the log without decoding
+ * the entries that do not match.
+ *
+ * Unless the codec is NONE, a segment is sealed once a new one is started: it is compressed and only read from then on.
+ * Only the segment being written to stays uncompressed. The sizes used by the retention policy are the sizes on disk.
+ */
+public class SegmentedLogStore implements ILogStore {
+
+    private static final String SEGMENT_EXTENSION = ".journal";
+    private static final String SEALED_EXTENSION = ".z";
+    private static final String INDEX_EXTENSION = ".index";
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+    private static final int RECORDS_PER_BLOCK = 64;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("(\\d+)-(\\d+)\\" + SEGMENT_EXTENSION + "(\\" + SEALED_EXTENSION + ")?");
+
+    private final File directory;
+    private final long maxSegmentSize;
+    private final long maxSegmentAge;
+    private final long maxTotalSize;
+    private final long maxAge;
+    private final CompressionCodec codec;
+
+    // Oldest segment first, the last one is the segment being written to
+    private final ArrayList<Segment> segments;
+    private long nextSequence;
+    private long newestTime;
+
+    /**
+     * Opens the segments of a directory, creating the directory if needed.
+     *
+     * @param directory      the directory holding the segments
+     * @param maxSegmentSize the size in bytes after which a new segment is started
+     * @param maxSegmentAge  the time span in milliseconds after which a new segment is started
+     * @param maxTotalSize   the size in bytes of all the segments after which the oldest ones are deleted
+     * @param maxAge         the age in milliseconds after which the oldest segments are deleted
+     * @throws IOException if the segments cannot be opened
+     */
+    public SegmentedLogStore(File directory, long maxSegmentSize, long maxSegmentAge, long maxTotalSize, long maxAge) throws IOException {
+        this(directory, maxSegmentSize, maxSegmentAge, maxTotalSize, maxAge, CompressionCodec.NONE);
+    }
+
+    /**
+     * Opens the segments of a directory, creating the directory if needed.
+     *
+     * @param directory      the directory holding the segments
+     * @param maxSegmentSize the size in bytes after which a new segment is started
+     * @param maxSegmentAge  the time span in milliseconds after which a new segment is started
+     * @param maxTotalSize   the size in bytes of all the segments after which the oldest ones are deleted
+     * @param maxAge         the age in milliseconds after which the oldest segments are deleted
+     * @param codec          the codec of the segments that are not written to anymore
+     * @throws IOException if the segments cannot be opened
+     */
+    public SegmentedLogStore(File directory, long maxSegmentSize, long maxSegmentAge, long maxTotalSize, long maxAge, CompressionCodec codec) throws IOException {
+        this.directory = directory;
+        this.maxSegmentSize = maxSegmentSize;
+        this.maxSegmentAge = maxSegmentAge;
+        this.maxTotalSize = maxTotalSize;
+        this.maxAge = maxAge;
+        this.codec = codec;
+        this.segments = new ArrayList<>();
+        open();
+    }
+
+    /**
+     * Gets the number of segments on disk.
+     *
+     * @return the segment count
+     */
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Size of all the segments on disk, including the entries that are still buffered.
+     *
+     * @return the size in bytes
+     * @throws IOException if the size could not be read
+     */
+    public synchronized long size() throws IOException {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.journal.getStoredSize();
+        }
+        return size;
+    }
+
+    /**
+     * Size of the entries of all the segments once decompressed, including the entries that are still buffered.
+     *
+     * @return the size in bytes
+     * @throws IOException if the size could not be read
+     */
+    public synchronized long getUncompressedSize() throws IOException {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.journal.size();
+        }
+        return size;
+    }
+
+    @Override
+    public synchronized void append(LogEntry entry) throws IOException {
+        long time = entry.getDateTime() == null ? 0 : entry.getDateTime().getTime();
+        Segment active = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (active == null) {
+            active = createSegment(time);
+        } else if (shouldRotate(active, time)) {
+            active.journal.flush();
+            active.index.write(active.indexFile);
+            seal(segments.size() - 1);
+            active = createSegment(time);
+            enforceRetention(Math.max(newestTime, time));
+        }
+        long start = active.journal.size();
+        active.journal.append(entry);
+        active.index.add(start, active.journal.size(), entry);
+        newestTime = Math.max(newestTime, time);
+    }
+
+    /**
+     * Read one page of the entries matched by a query, newest first.
+     * Only the blocks of records that may contain a match are decoded, and the read stops as soon as the page is full.
+     *
+     * @param query  the query
+     * @param cursor the cursor returned with the previous page, null for the first page
+     * @return the page
+     * @throws IOException if the entries could not be read
+     */
+    public synchronized LogPage query(LogQuery query, LogCursor cursor) throws IOException {
+        ArrayList<LogEntry> entries = new ArrayList<>(query.getPageSize());
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            Segment segment = segments.get(i);
+            long end = segment.journal.size();
+            if (cursor != null) {
+                if (segment.sequence > cursor.getSegment()) {
+                    continue;
+                }
+                if (segment.sequence == cursor.getSegment()) {
+                    end = Math.min(end, cursor.getPosition());
+                }
+            }
+            LogIndex index = segment.index;
+            for (int block = index.getBlockCount() - 1; block >= 0; block--) {
+                if (index.getStart(block) >= end || !index.mayMatch(block, query)) {
+                    continue;
+                }
+                LogJournal.RecordIterator records = segment.journal.newestFirst(Math.min(end, index.getEnd(block)), index.getStart(block));
+                while (records.hasNext()) {
+                    LogEntry entry = records.next();
+                    if (!query.matches(entry)) {
+                        continue;
+                    }
+                    entries.add(entry);
+                    if (entries.size() == query.getPageSize()) {
+                        return new LogPage(entries, new LogCursor(segment.sequence, records.getPosition()));
+                    }
+                }
+            }
+        }
+        return new LogPage(entries, null);
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        if (!segments.isEmpty()) {
+            segments.get(segments.size() - 1).journal.flush();
+        }
+    }
+
+    /**
+     * Iterate over the entries of every segment, newest first.
+     * Entries are decoded one at a time while iterating. If the segment being read is deleted by the retention
+     * policy in the meantime, the iteration ends there.
+     *
+     * @return the entries, newest first
+     * @throws IOException if the buffered entries could not be flushed
+     */
+    @Override
+    public synchronized Iterable<LogEntry> newestFirst() throws IOException {
+        final List<Iterable<LogEntry>> parts = new ArrayList<>(segments.size());
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            parts.add(segments.get(i).journal.newestFirst());
+        }
+        return () -> new ChainedIterator(parts.iterator());
+    }
+
+    /**
+     * Delete every segment.
+     *
+     * @throws IOException if a segment could not be closed
+     */
+    @Override
+    public synchronized void clear() throws IOException {
+        while (!segments.isEmpty()) {
+            deleteOldestSegment();
+        }
+        newestTime = 0;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        IOException error = null;
+        // Save the index of the active segment so it does not have to be rebuilt on the next start
+        if (!segments.isEmpty()) {
+            Segment active = segments.get(segments.size() - 1);
+            try {
+                active.index.write(active.indexFile);
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+        for (Segment segment : segments) {
+            try {
+                segment.journal.close();
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+        segments.clear();
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void open() throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                // A segment being sealed when the app stopped, the uncompressed segment is still there
+                if (file.getName().endsWith(SEGMENT_EXTENSION + SEALED_EXTENSION + TEMPORARY_EXTENSION)) {
+                    //noinspection ResultOfMethodCallIgnored
+                    file.delete();
+                    continue;
+                }
+                Matcher matcher = SEGMENT_NAME.matcher(file.getName());
+                if (!matcher.matches()) {
+                    continue;
+                }
+                boolean isSealed = matcher.group(3) != null;
+                // The segment was sealed but the uncompressed one was not deleted yet, keep the sealed one
+                if (!isSealed && new File(file.getPath() + SEALED_EXTENSION).exists()) {
+                    //noinspection ResultOfMethodCallIgnored
+                    file.delete();
+                    continue;
+                }
+                long sequence = Long.parseLong(matcher.group(1));
+                long start = Long.parseLong(matcher.group(2));
+                segments.add(openSegment(sequence, start, file, isSealed));
+            }
+        }
+        segments.sort(Comparator.comparingLong(segment -> segment.sequence));
+        if (segments.isEmpty()) {
+            return;
+        }
+        Segment active = segments.get(segments.size() - 1);
+        nextSequence = active.sequence + 1;
+        // Only the newest entry of the newest segment has to be read to know where the log stands
+        newestTime = active.start;
+        Iterator<LogEntry> newest = active.journal.newestFirst().iterator();
+        if (newest.hasNext()) {
+            LogEntry entry = newest.next();
+            if (entry.getDateTime() != null) {
+                newestTime = Math.max(newestTime, entry.getDateTime().getTime());
+            }
+        }
+        enforceRetention(newestTime);
+    }
+
+    private boolean shouldRotate(Segment active, long time) throws IOException {
+        if (active.journal.size() == 0) {
+            return false;
+        }
+        if (maxSegmentSize > 0 && active.journal.size() >= maxSegmentSize) {
+            return true;
+        }
+        return maxSegmentAge > 0 && time - active.start >= maxSegmentAge;
+    }
+
+    private Segment openSegment(long sequence, long start, File file, boolean isSealed) throws IOException {
+        LogJournal journal = isSealed ? LogJournal.openSealed(file) : new LogJournal(file);
+        File indexFile = getIndexFile(file);
+        LogIndex index = LogIndex.read(indexFile);
+        // A missing index, or one that does not match the journal after a crash, is rebuilt once
+        if (index == null || index.getEnd() != journal.size()) {
+            index = LogIndex.build(journal, RECORDS_PER_BLOCK);
+            index.write(indexFile);
+        }
+        return new Segment(sequence, start, journal, index, indexFile);
+    }
+
+    private Segment createSegment(long start) throws IOException {
+        long sequence = nextSequence++;
+        String name = String.format(Locale.US, "%010d-%d%s", sequence, Math.max(0, start), SEGMENT_EXTENSION);
+        File file = new File(directory, name);
+        Segment segment = new Segment(sequence, start, new LogJournal(file), new LogIndex(RECORDS_PER_BLOCK), getIndexFile(file));
+        segments.add(segment);
+        return segment;
+    }
+
+    private void seal(int position) throws IOException {
+        Segment segment = segments.get(position);
+        if (codec == CompressionCodec.NONE || segment.journal.isSealed()) {
+            return;
+        }
+        // The index offsets stay valid, they refer to the uncompressed records
+        File target = new File(segment.journal.getFile().getPath() + SEALED_EXTENSION);
+        LogJournal sealed = segment.journal.seal(target, codec);
+        segments.set(position, new Segment(segment.sequence, segment.start, sealed, segment.index, segment.indexFile));
+    }
+
+    private File getIndexFile(File segmentFile) {
+        // Sealed or not, a segment keeps the same index
+        String name = segmentFile.getName();
+        name = name.substring(0, name.lastIndexOf(SEGMENT_EXTENSION)) + INDEX_EXTENSION;
+        return new File(segmentFile.getParentFile(), name);
+    }
+
+    private void enforceRetention(long now) throws IOException {
+        // Every entry of a segment is older than the start of the next one
+        if (maxAge > 0) {
+            while (segments.size() > 1 && segments.get(1).start <= now - maxAge) {
+                deleteOldestSegment();
+            }
+        }
+        if (maxTotalSize > 0) {
+            long size = size();
+            while (segments.size() > 1 && size > maxTotalSize) {
+                size -= deleteOldestSegment();
+            }
+        }
+    }
+
+    private long deleteOldestSegment() throws IOException {
+        Segment oldest = segments.remove(0);
+        long size = oldest.journal.getStoredSize();
+        oldest.journal.close();
+        File file = oldest.journal.getFile();
+        if (file.exists() && !file.delete()) {
+            throw new IOException("Could not delete " + file);
+        }
+        new AtomicFile(oldest.indexFile).delete();
+        return size;
+    }
+
+    /**
+     * A journal file, its index and the time of its first entry.
+     */
+    private static class Segment {
+
+        private final long sequence;
+        private final long start;
+        private final LogJournal journal;
+        private final LogIndex index;
+        private final File indexFile;
+
+        private Segment(long sequence, long start, LogJournal journal, LogIndex index, File indexFile) {
+            this.sequence = sequence;
+            this.start = start;
+            this.journal = journal;
+            this.index = index;
+            this.indexFile = indexFile;
+        }
+    }
+
+    /**
+     * Walks the segments one after the other, stopping early if a segment was deleted while being read.
+     */
+    private static class ChainedIterator implements Iterator<LogEntry> {
+
+        private final Iterator<Iterable<LogEntry>> parts;
+        private Iterator<LogEntry> current;
+        private LogEntry next;
+
+        private ChainedIterator(Iterator<Iterable<LogEntry>> parts) {
+            this.parts = parts;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public LogEntry next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            LogEntry entry = next;
+            advance();
+            return entry;
+        }
+
+        private void advance() {
+            next = null;
+            try {
+                while (current == null || !current.hasNext()) {
+                    if (!parts.hasNext()) {
+                        return;
+                    }
+                    current = parts.next().iterator();
+                }
+                next = current.next();
+            } catch (UncheckedIOException e) {
+                if (!(e.getCause() instanceof ClosedChannelException)) {
+                    throw e;
+                }
+            }
+        }
+    }
+}
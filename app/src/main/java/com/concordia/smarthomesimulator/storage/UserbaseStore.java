@@ -0,0 +1,211 @@
+package com.concordia.smarthomesimulator.storage;
+
+import com.concordia.smarthomesimulator.dataModels.Userbase;
+import com.concordia.smarthomesimulator.interfaces.IStorage;
+
+import java.io.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the userbase in memory and writes it to its file behind the callers' back.
+ *
+ * The file is read once, then every caller shares the same userbase. Saving takes a snapshot of the userbase on the
+ * caller's thread: the first save schedules a write a little later, and every save made until then only replaces the
+ * snapshot that write uses. Saves that never stop are still written once per delay. The writer thread never reads the
+ * shared userbase. Call {@link #flush()} to write the pending changes right away.
+ *
+ * The file has a schema header, files of older versions are migrated when read and rewritten with the next save.
+ */
+public class UserbaseStore {
+
+    private static final int MAGIC = 0x53485542;
+    private static final int FORMAT_VERSION = 1;
+    private static final SchemaRegistry SCHEMA = new SchemaRegistry(MAGIC, FORMAT_VERSION)
+        // The userbase was serialized without a header, the header is all that changed
+        .register(0, payload -> payload);
+
+    private final IStorage storage;
+    private final String name;
+    private final long delayMs;
+    private final ScheduledExecutorService executor;
+    // Serializes the writes so a flush and a delayed write never interleave
+    private final Object writeLock;
+
+    private Userbase userbase;
+    private boolean loaded;
+    // The snapshot taken by the last save, not written yet
+    private byte[] pending;
+    private ScheduledFuture<?> pendingWrite;
+    private long saveCount;
+    private long writeCount;
+
+    /**
+     * Instantiates a new Userbase store.
+     *
+     * @param storage the storage
+     * @param name    the name of the userbase file
+     * @param delayMs how long a save waits for other saves to be written with
+     */
+    public UserbaseStore(IStorage storage, String name, long delayMs) {
+        this.storage = storage;
+        this.name = name;
+        this.delayMs = delayMs;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "userbase-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writeLock = new Object();
+    }
+
+    /**
+     * Gets the userbase, read from the file the first time.
+     *
+     * @return the userbase, or null if there is none saved yet
+     */
+    public synchronized Userbase get() {
+        if (!loaded) {
+            userbase = read();
+            loaded = true;
+        }
+        return userbase;
+    }
+
+    /**
+     * Gets a copy of the userbase, to be edited without changing the shared one.
+     *
+     * @return the copy, or null if there is no userbase saved yet
+     */
+    public Userbase copy() {
+        Userbase current = get();
+        if (current == null) {
+            return null;
+        }
+        try {
+            return deserialize(serialize(current));
+        } catch (IOException | ClassNotFoundException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Save the userbase.
+     * It becomes the userbase shared by every caller, and is written to the file within the delay.
+     * Changes made to it after this call are only written by the next save.
+     *
+     * @param userbase the userbase
+     */
+    public void save(Userbase userbase) {
+        // Serialize on the caller's thread, the writer thread only gets the bytes
+        byte[] snapshot;
+        try {
+            snapshot = serialize(userbase);
+        } catch (IOException e) {
+            e.printStackTrace();
+            snapshot = null;
+        }
+        synchronized (this) {
+            this.userbase = userbase;
+            loaded = true;
+            saveCount++;
+            if (snapshot == null) {
+                return;
+            }
+            pending = snapshot;
+            // A write is already scheduled, it writes this snapshot instead. Don't push it back, or saves made more
+            // often than the delay would never be written
+            if (pendingWrite == null) {
+                pendingWrite = executor.schedule(this::flush, delayMs, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Write the pending changes to the file now.
+     *
+     * @return whether the file is up to date
+     */
+    public boolean flush() {
+        synchronized (writeLock) {
+            byte[] snapshot;
+            synchronized (this) {
+                if (pending == null) {
+                    return true;
+                }
+                snapshot = pending;
+                pending = null;
+                if (pendingWrite != null) {
+                    pendingWrite.cancel(false);
+                    pendingWrite = null;
+                }
+            }
+            try {
+                storage.put(name, snapshot);
+                synchronized (this) {
+                    writeCount++;
+                }
+                return true;
+            } catch (IOException e) {
+                e.printStackTrace();
+                synchronized (this) {
+                    // Try again on the next flush, unless a newer snapshot was saved since
+                    if (pending == null) {
+                        pending = snapshot;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Gets the number of saves.
+     *
+     * @return the save count
+     */
+    public synchronized long getSaveCount() {
+        return saveCount;
+    }
+
+    /**
+     * Gets the number of times the file was written.
+     *
+     * @return the write count
+     */
+    public synchronized long getWriteCount() {
+        return writeCount;
+    }
+
+    private Userbase read() {
+        if (!storage.exists(name)) {
+            return null;
+        }
+        try {
+            return deserialize(storage.get(name));
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    private static byte[] serialize(Userbase userbase) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        // Callers change the shared userbase while holding its lock, don't copy it half updated
+        synchronized (userbase) {
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(userbase);
+            }
+        }
+        return SCHEMA.wrap(bytes.toByteArray());
+    }
+
+    private static Userbase deserialize(byte[] data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(SCHEMA.unwrap(data)))) {
+            return (Userbase) in.readObject();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.concordia.smarthomesimulator.storage;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Variable length integers, shared by the stored formats: seven bits per byte, the high bit set on every byte but
+ * the last one. Small values take a single byte.
+ */
+final class VarInt {
+
+    private VarInt() { }
+
+    /**
+     * Write a variable length integer.
+     *
+     * @param out   the stream
+     * @param value the value
+     * @throws IOException if the value could not be written
+     */
+    static void write(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Read a variable length integer.
+     *
+     * @param in the stream
+     * @return the value
+     * @throws IOException if the stream ended or the value is longer than an int
+     */
+    static int read(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Invalid variable length integer");
+    }
+}
@@ -1,24 +1,26 @@
 package com.concordia.smarthomesimulator.views.customDateTimeView;
 
 import android.app.Activity;
+import android.app.DatePickerDialog;
+import android.app.TimePickerDialog;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.util.AttributeSet;
 import android.widget.LinearLayout;
 import android.widget.TextView;
+import android.widget.Toast;
 import com.concordia.smarthomesimulator.R;
 import com.concordia.smarthomesimulator.dataModels.HouseLayout;
-import com.concordia.smarthomesimulator.dataModels.Light;
-import com.concordia.smarthomesimulator.dataModels.Room;
-import com.concordia.smarthomesimulator.enums.DeviceType;
+import com.concordia.smarthomesimulator.dataModels.SimulationContext;
 import com.concordia.smarthomesimulator.helpers.LayoutsHelper;
-import com.concordia.smarthomesimulator.interfaces.IDevice;
+import com.concordia.smarthomesimulator.helpers.SimulationHelper;
+import com.concordia.smarthomesimulator.simulation.LightsSchedule;
+import com.concordia.smarthomesimulator.simulation.SimulationScheduler;
 import com.concordia.smarthomesimulator.views.customMapView.CustomMapView;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
 
 import static com.concordia.smarthomesimulator.Constants.*;
 
@@ -27,12 +29,12 @@ import static com.concordia.smarthomesimulator.Constants.*;
  */
 public class CustomDateTimeView extends LinearLayout {
 
-    private static final int MINUTE = 60000;
+    // A single clock moves the simulation time forward, whichever view started it last
+    private static SimulationScheduler.Task clockTask;
 
     private Context context;
     private SharedPreferences preferences;
     private LocalDateTime dateTime = null;
-    private Timer timer;
 
     /**
      * Instantiates a new Custom clock view.
@@ -71,9 +73,8 @@ public class CustomDateTimeView extends LinearLayout {
      * Start the clock behaviour
      */
     public void startClock() {
-        if (preferences.getBoolean(PREFERENCES_KEY_STATUS, false)) {
-            setClockBehavior();
-        }
+        setClockBehavior();
+        setFastForwardBehavior();
         getPreferences();
         updateView();
     }
@@ -84,83 +85,69 @@ public class CustomDateTimeView extends LinearLayout {
     }
 
     private void setClockBehavior() {
-        SharedPreferences preferences = context.getSharedPreferences(context.getPackageName(), Context.MODE_PRIVATE);
-        // Set the clock's update rate (i.e. 10x means a period 10 times shorter)
-        // Use millisecond to allow time acceleration of up to 100x
-        float scale = preferences.getFloat(PREFERENCES_KEY_TIME_SCALE, DEFAULT_TIME_SCALE);
-        long period = (long) (MINUTE / scale);
-        // Update the clock time
-        if (timer != null) {
-            timer.cancel();
-            timer.purge();
-        }
-        timer = new Timer();
-        timer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-            // Make sure the scale is still good
-            float newScale = preferences.getFloat(PREFERENCES_KEY_TIME_SCALE, DEFAULT_TIME_SCALE);
-            if (scale != newScale) {
-                setClockBehavior();
+        // Update the clock time every simulated minute, the scheduler follows the time scale and pauses with the simulation
+        synchronized (CustomDateTimeView.class) {
+            if (clockTask != null) {
+                clockTask.cancel();
             }
-            // Get the current time and increase it by 1 min
-            getPreferences();
-            dateTime = dateTime.plusMinutes(1);
-            setPreferences();
-            // Take care of the UI
-            updateAutoLights();
+            clockTask = SimulationHelper.getScheduler(context).scheduleAtFixedRate(() -> {
+                // Get the current time and increase it by 1 min
+                SimulationContext simulationContext = SimulationHelper.getSimulationContext(context);
+                dateTime = simulationContext.getDateTime().plusMinutes(1);
+                setPreferences();
+                // Take care of the UI
+                updateAutoLights(simulationContext.getLightsSchedule());
+                updateView();
+            }, 1, 1, TimeUnit.MINUTES);
+        }
+    }
+
+    private void setFastForwardBehavior() {
+        // Long press the clock to pick a date and time to fast-forward the simulation to
+        setOnLongClickListener(view -> {
+            LocalDateTime now = SimulationHelper.getSimulationContext(context).getDateTime();
+            // The month of the picker starts at 0
+            new DatePickerDialog(context, (datePicker, year, month, dayOfMonth) ->
+                new TimePickerDialog(context, (timePicker, hourOfDay, minute) ->
+                    fastForward(LocalDateTime.of(year, month + 1, dayOfMonth, hourOfDay, minute)),
+                    now.getHour(), now.getMinute(), false).show(),
+                now.getYear(), now.getMonthValue() - 1, now.getDayOfMonth()).show();
+            return true;
+        });
+    }
+
+    private void fastForward(LocalDateTime target) {
+        // The simulation runs in the background, the clock is updated once it is done
+        boolean started = SimulationHelper.fastForward(context, target, result -> {
+            dateTime = result.getDateTime();
             updateView();
-            }
-        }, 0, period);
+            String message = context.getString(R.string.fast_forward_done, dateTime.format(DateTimeFormatter.ofPattern(DATE_FORMAT + " " + TIME_FORMAT)));
+            Toast.makeText(context, message, Toast.LENGTH_LONG).show();
+        }) != null;
+        int feedback = started ? R.string.fast_forward_started : R.string.fast_forward_invalid;
+        Toast.makeText(context, context.getString(feedback), Toast.LENGTH_SHORT).show();
     }
 
     private void getPreferences() {
-        LocalDateTime timeNow = LocalDateTime.now();
-        int year = preferences.getInt(PREFERENCES_KEY_DATETIME_YEAR, timeNow.getYear());
-        int month = preferences.getInt(PREFERENCES_KEY_DATETIME_MONTH, timeNow.getMonthValue());
-        int day = preferences.getInt(PREFERENCES_KEY_DATETIME_DAY, timeNow.getDayOfMonth());
-        int hour = preferences.getInt(PREFERENCES_KEY_DATETIME_HOUR, timeNow.getHour());
-        int minute = preferences.getInt(PREFERENCES_KEY_DATETIME_MINUTE, timeNow.getMinute());
-        dateTime = LocalDateTime.of(year, month, day, hour, minute);
+        dateTime = SimulationHelper.getSimulationContext(context).getDateTime();
     }
 
     private void setPreferences() {
-        SharedPreferences.Editor editor = preferences.edit();
-        editor.putInt(PREFERENCES_KEY_DATETIME_YEAR, dateTime.getYear());
-        editor.putInt(PREFERENCES_KEY_DATETIME_MONTH, dateTime.getMonthValue());
-        editor.putInt(PREFERENCES_KEY_DATETIME_DAY, dateTime.getDayOfMonth());
-        editor.putInt(PREFERENCES_KEY_DATETIME_HOUR, dateTime.getHour());
-        editor.putInt(PREFERENCES_KEY_DATETIME_MINUTE, dateTime.getMinute());
-        editor.apply();
+        SimulationHelper.setSimulationDateTime(preferences, dateTime);
     }
 
-    private void updateAutoLights() {
-        // Get the lower bound for the time range
-        int minLightsHour = preferences.getInt(PREFERENCES_KEY_MIN_LIGHTS_TIME_HOUR, DEFAULT_MIN_LIGHTS_TIME.getHour());
-        int minLightsMinute = preferences.getInt(PREFERENCES_KEY_MIN_LIGHTS_TIME_MINUTE, DEFAULT_MIN_LIGHTS_TIME.getMinute());
-        // Get the higher bound for the time range
-        int maxLightsHour = preferences.getInt(PREFERENCES_KEY_MAX_LIGHTS_TIME_HOUR, DEFAULT_MAX_LIGHTS_TIME.getHour());
-        int maxLightsMinute = preferences.getInt(PREFERENCES_KEY_MAX_LIGHTS_TIME_MINUTE, DEFAULT_MAX_LIGHTS_TIME.getMinute());
-        // If the current time the minimum or maximum bound ?
-        boolean isMinTime = dateTime.getHour() == minLightsHour && dateTime.getMinute() == minLightsMinute;
-        boolean isMaxTime = dateTime.getHour() == maxLightsHour && dateTime.getMinute() == maxLightsMinute;
-        // If it's not don't do anything
-        if(!isMinTime && !isMaxTime){
+    private void updateAutoLights(LightsSchedule schedule) {
+        // If the current time is not one of the bounds don't do anything
+        if (!schedule.isBound(dateTime)) {
             return;
         }
         // Update the layout otherwise
         HouseLayout layout = LayoutsHelper.getSelectedLayout(context);
-        for (Room room : layout.getRooms()) {
-            for (IDevice device : room.getDevices()) {
-                // If the device is an auto-on light
-                if (device.getDeviceType() == DeviceType.LIGHT && ((Light) device).isAutoOn()) {
-                    // If this is the minimum time, turn on the lights. If it's the maximum time, close them
-                    device.setIsOpened(isMinTime);
-                }
-            }
+        if (!schedule.apply(layout, dateTime)) {
+            return;
         }
         // Update the centralized layout
-        LayoutsHelper.saveHouseLayout(context, layout);
+        LayoutsHelper.scheduleSave(context, layout);
         LayoutsHelper.updateSelectedLayout(context, layout);
         // Update the map UI if it's visible
         CustomMapView view = ((Activity) context).findViewById(R.id.custom_map_view);
@@ -14,6 +14,7 @@ import com.concordia.smarthomesimulator.R;
 import com.concordia.smarthomesimulator.dataModels.*;
 import com.concordia.smarthomesimulator.enums.DeviceType;
 import com.concordia.smarthomesimulator.enums.Orientation;
+import com.concordia.smarthomesimulator.events.InhabitantMovedEvent;
 import com.concordia.smarthomesimulator.factories.DeviceFactory;
 import com.concordia.smarthomesimulator.helpers.LayoutsHelper;
 import com.concordia.smarthomesimulator.interfaces.IDevice;
@@ -208,8 +209,7 @@ public class CustomMapSettingsModel {
         }
         Inhabitant inhabitant = new Inhabitant(name, isIntruder);
         // Verify that its name is unique
-        ArrayList<IInhabitant> inhabitants =  layout.getAllInhabitants();
-        if (inhabitants.stream().anyMatch(i -> i.getName().equalsIgnoreCase(inhabitant.getName()))) {
+        if (layout.getInhabitantRoom(inhabitant.getName()) != null) {
             Toast.makeText(context, context.getString(R.string.add_inhabitant_used), Toast.LENGTH_LONG).show();
             return;
         }
@@ -305,13 +305,12 @@ public class CustomMapSettingsModel {
                         Toast.makeText(context, context.getString(R.string.text_alert_error_inhabitant_edit_map), Toast.LENGTH_LONG).show();
                         return;
                     }
-                    // Remove from the first room
-                    removeInhabitant(inhabitant);
-                    // Add to the modified room
-                    modifiedRoom.addInhabitant(inhabitant);
-                    // Update the layout
-                    layout.removeRoom(modifiedRoom.getName());
-                    layout.addRoom(modifiedRoom);
+                    // Move to the modified room, the layout is saved with the other changes of the editor
+                    Room room = getInhabitantRoom(inhabitant);
+                    new InhabitantMovedEvent(inhabitant.getName(), modifiedRoom.getName()).apply(layout);
+                    if (room != null) {
+                        selectedRoom = room;
+                    }
                     // Update the Settings UI
                     CustomMapSettingsView view = ((Activity) context).findViewById(R.id.edit_map_settings);
                     view.updateView();
@@ -326,15 +325,13 @@ public class CustomMapSettingsModel {
 
     //region Private Methods
 
-    private void removeInhabitant(IInhabitant inhabitant) {
-        Room room = null;
+    private Room getInhabitantRoom(IInhabitant inhabitant) {
         // Find the room the inhabitant is in
-        for (Room r : layout.getRooms()) {
-            if (r.getInhabitants().stream().anyMatch(i -> i.getName().equalsIgnoreCase(inhabitant.getName()))) {
-                room = r;
-                break;
-            }
-        }
+        return layout.getInhabitantRoom(inhabitant.getName());
+    }
+
+    private void removeInhabitant(IInhabitant inhabitant) {
+        Room room = getInhabitantRoom(inhabitant);
         // Crash check
         if (room == null) {
             return;
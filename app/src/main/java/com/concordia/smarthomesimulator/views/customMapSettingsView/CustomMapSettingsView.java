@@ -562,8 +562,7 @@ public class CustomMapSettingsView extends ScrollView {
                                 model.getLayout().removeRoom(room.getName());
                                 model.getLayout().addRoom(room);
                                 // Make sure to put it back in the right zone
-                                model.getLayout().getHeatingZones().get(0).removeRoom(room.getName());
-                                zone.addRoom(room);
+                                model.getLayout().moveRoom(room.getName(), zone.getName());
                             }
                             // Update the view
                             updateView();
@@ -628,8 +627,7 @@ public class CustomMapSettingsView extends ScrollView {
                                 model.getLayout().removeRoom(room.getName());
                                 model.getLayout().addRoom(room);
                                 // Update the zones
-                                model.getSelectedZone().addRoom(room);
-                                model.getLayout().getHeatingZones().get(0).removeRoom(room.getName());
+                                model.getLayout().moveRoom(room.getName(), model.getSelectedZone().getName());
                                 // Update the view
                                 updateView();
                                 // Log the action
@@ -684,13 +682,11 @@ public class CustomMapSettingsView extends ScrollView {
     private View setupAddInhabitantLayout() {
         // Create the custom view
         View customView = inflate(context, R.layout.alert_add_inhabitant, null);
-        // Get all the inhabitants in the layout
-        ArrayList<IInhabitant> inhabitants =  model.getLayout().getAllInhabitants();
         // Get the currently logged in user
         SharedPreferences preferences = context.getSharedPreferences(context.getPackageName(),Context.MODE_PRIVATE);
         String currentUser = preferences.getString(PREFERENCES_KEY_USERNAME, "");
         // Remove the checkbox layout if the user already has an inhabitant
-        if (inhabitants.stream().anyMatch(i -> i.getName().equalsIgnoreCase(currentUser))) {
+        if (model.getLayout().getInhabitantRoom(currentUser) != null) {
             LinearLayout checkBoxLayout = customView.findViewById(R.id.alert_add_inhabitant_checkbox_layout);
             checkBoxLayout.setVisibility(GONE);
         } else {
@@ -18,12 +18,15 @@ import com.concordia.smarthomesimulator.R;
 import com.concordia.smarthomesimulator.dataModels.*;
 import com.concordia.smarthomesimulator.enums.Action;
 import com.concordia.smarthomesimulator.enums.LogImportance;
+import com.concordia.smarthomesimulator.events.DeviceChangedEvent;
+import com.concordia.smarthomesimulator.events.RoomTemperatureChangedEvent;
 import com.concordia.smarthomesimulator.exceptions.PermissionNotFoundException;
 import com.concordia.smarthomesimulator.helpers.LayoutsHelper;
 import com.concordia.smarthomesimulator.helpers.LogsHelper;
 import com.concordia.smarthomesimulator.helpers.UserbaseHelper;
 import com.concordia.smarthomesimulator.interfaces.IDevice;
 import com.concordia.smarthomesimulator.interfaces.IInhabitant;
+import com.concordia.smarthomesimulator.interfaces.ILayoutEvent;
 import com.concordia.smarthomesimulator.singletons.LayoutSingleton;
 import com.concordia.smarthomesimulator.views.alerts.CustomDeviceAlertView;
 import com.concordia.smarthomesimulator.views.alerts.CustomEditRoomAlertView;
@@ -479,10 +482,7 @@ public class CustomMapModel {
         // Make sure we don't edit the original device
         Room deepCopy = (Room) room.clone();
         // Get the zone temperature
-        HeatingZone zone = layout.getHeatingZones().stream()
-                .filter(z -> z.getRoom(room.getName()) != null)
-                .findFirst()
-                .orElse(null);
+        HeatingZone zone = layout.getHeatingZoneOfRoom(room.getName());
         if (zone == null) {
             Toast.makeText(context, context.getString(R.string.generic_error_message), Toast.LENGTH_LONG).show();
             return;
@@ -499,22 +499,9 @@ public class CustomMapModel {
                 @Override
                 public void onClick(DialogInterface dialog, int which) {
                     Room newRoom = customView.getRoomInformation();
-                    // Find the current zone
-                    HeatingZone zone = layout.getHeatingZones().stream()
-                        .filter(z -> z.getRoom(room.getName()) != null)
-                        .findFirst()
-                        .orElse(null);
-                    // Update the local layout
-                    layout.removeRoom(room.getName());
-                    layout.addRoom(newRoom);
-                    // Put the room in the right heating zone
-                    if (zone != null) {
-                        layout.getHeatingZones().get(0).removeRoom(newRoom.getName());
-                        layout.getHeatingZone(zone.getName()).addRoom(newRoom);
-                    }
-                    // Update the centralized layout
-                    LayoutsHelper.updateSelectedLayout(context, layout);
-                    saveUpdatedLayout(context, layout);
+                    // Only save the new temperature, the room stays in its heating zone
+                    saveLayoutEvent(context, layout, new RoomTemperatureChangedEvent(room.getName(),
+                        newRoom.getDesiredHomeTemperature(), newRoom.isTemperatureOverridden()));
                     // Log the action
                     LogsHelper.add(context, new LogEntry("Map", "Temperature setting changed for " + room.getName(), LogImportance.IMPORTANT));
                 }
@@ -537,26 +524,12 @@ public class CustomMapModel {
                 @Override
                 public void onClick(DialogInterface dialog, int which) {
                     HouseLayout layout = LayoutsHelper.getSelectedLayout(context);
-                    // We don't know which room the user clicked in so we have to check in all of them
-                    boolean found = false;
-                    for (Room room : layout.getRooms()) {
-                        // Try to find the device that was clicked on in the room
-                        for (IDevice roomDevice : room.getDevices()) {
-                            // If we find it, remove it from the room
-                            if (roomDevice.equals(device)) {
-                                room.removeDevice(roomDevice);
-                                found = true;
-                                break;
-                            }
-                        }
-                        // Only add the modified one if we found the old one first
-                        if (found) {
-                            room.addDevice(customView.getDeviceInformation());
-                            break;
-                        }
+                    // The copies of the map keep the id of the device that was clicked on
+                    Room deviceRoom = layout.getDeviceRoom(device.getId());
+                    // Only save the modified one if we found the old one first
+                    if (deviceRoom != null) {
+                        saveLayoutEvent(context, layout, new DeviceChangedEvent(deviceRoom.getName(), customView.getDeviceInformation()));
                     }
-                    LayoutsHelper.updateSelectedLayout(context, layout);
-                    saveUpdatedLayout(context, layout);
                 }
             })
             .create();
@@ -620,6 +593,29 @@ public class CustomMapModel {
             return;
         }
 
+        updateMap(context);
+    }
+
+    private void saveLayoutEvent(Context context, HouseLayout layout, ILayoutEvent event) {
+        // Only the change is saved, not the whole layout
+        boolean saved = LayoutsHelper.applyEvent(context, layout, event);
+        LayoutsHelper.updateSelectedLayout(context, layout);
+
+        // The default layouts have to be renamed before they are saved
+        if (LayoutsHelper.isLayoutNameDefault(layout)) {
+            showRenameLayoutDialog(context, layout);
+            return;
+        }
+
+        if (!saved) {
+            Toast.makeText(context, context.getString(R.string.error_unknown_alert_save_layout), Toast.LENGTH_LONG).show();
+            return;
+        }
+
+        updateMap(context);
+    }
+
+    private void updateMap(Context context) {
         // Clear the know shapes
         windows.clear();
         doors.clear();
@@ -215,7 +215,7 @@ public class CustomMapView extends View {
             float horizontal = ((points[2] - points[0]) / 2f) + points[0];
             // Draw remaining shapes
             drawInhabitants(room.getInhabitants(), vertical, horizontal);
-            drawDevices(room.getDevices());
+            drawDevices(room);
         }
     }
 
@@ -241,8 +241,10 @@ public class CustomMapView extends View {
         }
     }
 
-    private void drawDevices(ArrayList<IDevice> devices) {
-        for (IDevice device : devices) {
+    private void drawDevices(Room room) {
+        // Indexed loop, this runs for every room on every frame
+        for (int i = 0; i < room.getDeviceCount(); i++) {
+            IDevice device = room.getDevice(i);
             // Get the color to use when drawing the device
             int color = device.getIsOpened() ? device.getOpenedTint() : device.getClosedTint();
             devicePaint.setColor(context.getColor(color));
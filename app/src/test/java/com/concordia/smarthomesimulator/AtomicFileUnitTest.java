@@ -0,0 +1,208 @@
+package com.concordia.smarthomesimulator;
+
+import com.concordia.smarthomesimulator.storage.AtomicFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class AtomicFileUnitTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void atomicFileReadsWhatWasWritten() throws IOException {
+        // Setup
+        AtomicFile file = new AtomicFile(new File(folder.getRoot(), "file.txt"));
+        // Act
+        file.write(bytes("first"));
+        file.write(bytes("second"));
+        // Test
+        assertArrayEquals(bytes("second"), file.read());
+        assertFalse(new File(folder.getRoot(), "file.txt.tmp").exists());
+    }
+
+    @Test
+    public void atomicFileFallsBackToThePreviousGeneration() throws IOException {
+        // Setup
+        File target = new File(folder.getRoot(), "file.txt");
+        AtomicFile file = new AtomicFile(target);
+        file.write(bytes("first"));
+        file.write(bytes("second"));
+        // Act
+        try (RandomAccessFile corrupted = new RandomAccessFile(target, "rw")) {
+            corrupted.seek(0);
+            corrupted.write('X');
+        }
+        // Test
+        assertArrayEquals(bytes("first"), file.read());
+    }
+
+    @Test
+    public void atomicFileStreamsLargeContent() throws IOException {
+        // Setup
+        AtomicFile file = new AtomicFile(new File(folder.getRoot(), "file.txt"));
+        byte[] content = new byte[1024 * 1024];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        // Act
+        try (OutputStream out = file.startWrite()) {
+            for (int i = 0; i < content.length; i += 1000) {
+                out.write(content, i, Math.min(1000, content.length - i));
+            }
+            // Nothing replaced before the stream is closed
+            assertFalse(file.exists());
+        }
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        try (InputStream in = file.openRead()) {
+            byte[] buffer = new byte[777];
+            int count;
+            while ((count = in.read(buffer)) >= 0) {
+                read.write(buffer, 0, count);
+            }
+        }
+        // Test
+        assertArrayEquals(content, read.toByteArray());
+        assertArrayEquals(content, file.read());
+    }
+
+    @Test(expected = IOException.class)
+    public void atomicFileStreamFailsAtTheEndOfACorruptedFile() throws IOException {
+        // Setup
+        File target = new File(folder.getRoot(), "file.txt");
+        AtomicFile file = new AtomicFile(target);
+        file.write(bytes("content"));
+        try (RandomAccessFile corrupted = new RandomAccessFile(target, "rw")) {
+            corrupted.seek(0);
+            corrupted.write('X');
+        }
+        // Act
+        try (InputStream in = file.openRead()) {
+            //noinspection StatementWithEmptyBody
+            while (in.read() >= 0) { }
+        }
+    }
+
+    @Test
+    public void atomicFileStreamsFilesWithoutTrailer() throws IOException {
+        // Setup
+        File target = new File(folder.getRoot(), "file.txt");
+        try (FileOutputStream out = new FileOutputStream(target)) {
+            out.write(bytes("plain"));
+        }
+        byte[] read = new byte[5];
+        // Act
+        try (InputStream in = new AtomicFile(target).openRead()) {
+            assertEquals(5, in.read(read));
+            assertEquals(-1, in.read());
+        }
+        // Test
+        assertArrayEquals(bytes("plain"), read);
+    }
+
+    @Test
+    public void atomicFileFallsBackWhenTheFileIsMissing() throws IOException {
+        // Setup
+        File target = new File(folder.getRoot(), "file.txt");
+        AtomicFile file = new AtomicFile(target);
+        file.write(bytes("first"));
+        file.write(bytes("second"));
+        // Act
+        // A crash between the two renames leaves only the backup
+        assertTrue(target.delete());
+        // Test
+        assertArrayEquals(bytes("first"), file.read());
+    }
+
+    @Test
+    public void atomicFileReadsFilesWithoutTrailer() throws IOException {
+        // Setup
+        File target = new File(folder.getRoot(), "file.txt");
+        Files.write(target.toPath(), bytes("legacy"));
+        AtomicFile file = new AtomicFile(target);
+        // Act
+        byte[] legacy = file.read();
+        file.write(bytes("new"));
+        // Test
+        assertArrayEquals(bytes("legacy"), legacy);
+        assertArrayEquals(bytes("new"), file.read());
+    }
+
+    @Test
+    public void atomicFileRejectsCorruptedFiles() throws IOException {
+        // Setup
+        File target = new File(folder.getRoot(), "file.txt");
+        AtomicFile file = new AtomicFile(target);
+        file.write(bytes("only"));
+        try (RandomAccessFile corrupted = new RandomAccessFile(target, "rw")) {
+            corrupted.seek(0);
+            corrupted.write('X');
+        }
+        // Act
+        IOException error = null;
+        try {
+            file.read();
+        } catch (IOException e) {
+            error = e;
+        }
+        // Test
+        assertNotNull(error);
+        assertFalse(error instanceof FileNotFoundException);
+    }
+
+    @Test(expected = FileNotFoundException.class)
+    public void atomicFileThrowsWhenMissing() throws IOException {
+        new AtomicFile(new File(folder.getRoot(), "file.txt")).read();
+    }
+
+    @Test
+    public void atomicFileLatencyAgainstPlainWrites() throws IOException {
+        // Setup
+        byte[] data = new byte[8 * 1024];
+        File plain = new File(folder.getRoot(), "plain.txt");
+        AtomicFile atomic = new AtomicFile(new File(folder.getRoot(), "atomic.txt"));
+        int iterations = 100;
+        for (int i = 0; i < 10; i++) {
+            try (FileOutputStream out = new FileOutputStream(plain)) {
+                out.write(data);
+            }
+            atomic.write(data);
+        }
+        // Act
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            try (FileOutputStream out = new FileOutputStream(plain)) {
+                out.write(data);
+            }
+        }
+        long plainTime = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            atomic.write(data);
+        }
+        long atomicTime = System.nanoTime() - start;
+        System.out.printf("Plain write: %d us, atomic write: %d us%n",
+            plainTime / iterations / 1000, atomicTime / iterations / 1000);
+        // Test
+        // The cost of the sync depends on the disk, only check the content
+        assertArrayEquals(data, atomic.read());
+    }
+}
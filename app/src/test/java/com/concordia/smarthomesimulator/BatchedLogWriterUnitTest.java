@@ -0,0 +1,248 @@
+package com.concordia.smarthomesimulator;
+
+import com.concordia.smarthomesimulator.dataModels.LogEntry;
+import com.concordia.smarthomesimulator.enums.LogImportance;
+import com.concordia.smarthomesimulator.enums.LogOverflowPolicy;
+import com.concordia.smarthomesimulator.interfaces.ILogStore;
+import com.concordia.smarthomesimulator.storage.BatchedLogWriter;
+import com.concordia.smarthomesimulator.storage.LogJournal;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BatchedLogWriterUnitTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private List<LogEntry> readAll(LogJournal journal) throws IOException {
+        List<LogEntry> entries = new ArrayList<>();
+        for (LogEntry entry : journal.newestFirst()) {
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    private int flushUntilWritten(BatchedLogWriter writer) {
+        int errors = 0;
+        while (true) {
+            try {
+                writer.flush();
+                return errors;
+            } catch (IOException e) {
+                errors++;
+            }
+        }
+    }
+
+    @Test
+    public void batchedLogWriterWritesEverythingOnFlush() throws IOException {
+        // Setup
+        try (LogJournal journal = new LogJournal(folder.newFile("logs.journal"))) {
+            BatchedLogWriter writer = new BatchedLogWriter(journal, 1000, 10, 1000, LogOverflowPolicy.BLOCK);
+            // Act
+            for (int i = 0; i < 25; i++) {
+                writer.add(new LogEntry("Component", "Message " + i, LogImportance.MINOR));
+            }
+            writer.flush();
+            // Test
+            List<LogEntry> entries = readAll(journal);
+            assertEquals(25, entries.size());
+            assertEquals("Message 24", entries.get(0).getMessage());
+            assertTrue(writer.getBatchCount() >= 3);
+            writer.close();
+        }
+    }
+
+    @Test
+    public void batchedLogWriterKeepsOrderAcrossThreads() throws Exception {
+        // Setup
+        try (LogJournal journal = new LogJournal(folder.newFile("logs.journal"))) {
+            BatchedLogWriter writer = new BatchedLogWriter(journal, 16, 8, 1, LogOverflowPolicy.BLOCK);
+            Thread[] threads = new Thread[4];
+            for (int t = 0; t < threads.length; t++) {
+                final String component = "Thread " + t;
+                threads[t] = new Thread(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        writer.add(new LogEntry(component, Integer.toString(i), LogImportance.IMPORTANT));
+                    }
+                });
+                threads[t].start();
+            }
+            // Act
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            writer.close();
+            // Test
+            List<LogEntry> entries = readAll(journal);
+            assertEquals(2000, entries.size());
+            assertEquals(0, writer.getDroppedCount());
+        }
+    }
+
+    @Test
+    public void batchedLogWriterDropsMinorEntriesWhenFull() throws IOException {
+        // Setup
+        try (LogJournal journal = new LogJournal(folder.newFile("logs.journal"))) {
+            // A long interval and a large batch keep the entries in the queue
+            BatchedLogWriter writer = new BatchedLogWriter(journal, 2, 2, 60000, LogOverflowPolicy.DROP_MINOR);
+            writer.add(new LogEntry("A", "1", LogImportance.MINOR));
+            writer.add(new LogEntry("A", "2", LogImportance.MINOR));
+            // Act
+            boolean queued = writer.add(new LogEntry("A", "3", LogImportance.MINOR));
+            writer.close();
+            // Test
+            assertTrue(queued || writer.getDroppedCount() == 1);
+            assertEquals(queued ? 3 : 2, readAll(journal).size());
+        }
+    }
+
+    @Test
+    public void batchedLogWriterCoalescesIdenticalEntries() throws IOException {
+        // Setup
+        try (LogJournal journal = new LogJournal(folder.newFile("logs.journal"))) {
+            BatchedLogWriter writer = new BatchedLogWriter(journal, 1, 1, 60000, LogOverflowPolicy.COALESCE);
+            // Act
+            int queued = 0;
+            for (int i = 0; i < 100; i++) {
+                if (writer.add(new LogEntry("Temperature Change", "Kitchen is being heated", LogImportance.MINOR))) {
+                    queued++;
+                }
+            }
+            writer.close();
+            // Test
+            assertEquals(100, queued + writer.getCoalescedCount());
+            assertEquals(queued, readAll(journal).size());
+        }
+    }
+
+    @Test
+    public void batchedLogWriterWritesASingleEntryAfterTheFlushInterval() throws Exception {
+        // Setup
+        try (LogJournal journal = new LogJournal(folder.newFile("logs.journal"))) {
+            BatchedLogWriter writer = new BatchedLogWriter(journal, 1000, 64, 50, LogOverflowPolicy.BLOCK);
+            // Act
+            writer.add(new LogEntry("Component", "Message", LogImportance.MINOR));
+            long deadline = System.currentTimeMillis() + 2000;
+            while (writer.getBatchCount() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            // Test
+            assertEquals(1, writer.getBatchCount());
+            List<LogEntry> entries = readAll(journal);
+            assertEquals(1, entries.size());
+            assertEquals("Message", entries.get(0).getMessage());
+            writer.close();
+        }
+    }
+
+    @Test
+    public void batchedLogWriterWritesFailedBatchesAgain() throws Exception {
+        // Setup
+        FailingStore store = new FailingStore(2, false);
+        BatchedLogWriter writer = new BatchedLogWriter(store, 1000, 10, 10, LogOverflowPolicy.BLOCK);
+        int errors;
+        // Act
+        for (int i = 0; i < 5; i++) {
+            writer.add(new LogEntry("Component", "Message " + i, LogImportance.MINOR));
+        }
+        errors = flushUntilWritten(writer);
+        writer.close();
+        // Test
+        assertTrue(errors > 0);
+        assertEquals(5, store.entries.size());
+        assertEquals("Message 0", store.entries.get(0).getMessage());
+        assertEquals("Message 4", store.entries.get(4).getMessage());
+    }
+
+    @Test(timeout = 10000)
+    public void batchedLogWriterSurvivesUncheckedExceptions() throws Exception {
+        // Setup
+        FailingStore store = new FailingStore(1, true);
+        BatchedLogWriter writer = new BatchedLogWriter(store, 1, 1, 10, LogOverflowPolicy.BLOCK);
+        // Act
+        boolean first = writer.add(new LogEntry("Component", "first", LogImportance.MINOR));
+        boolean second = writer.add(new LogEntry("Component", "second", LogImportance.MINOR));
+        flushUntilWritten(writer);
+        writer.close();
+        // Test
+        assertTrue(first);
+        assertTrue(second);
+        assertEquals(2, store.entries.size());
+    }
+
+    @Test(timeout = 10000)
+    public void batchedLogWriterStopsWaitingOnceItsThreadEnded() throws Exception {
+        // Setup
+        FailingStore store = new FailingStore(Integer.MAX_VALUE, false);
+        store.error = new AssertionError("Store broken");
+        BatchedLogWriter writer = new BatchedLogWriter(store, 1, 1, 10, LogOverflowPolicy.BLOCK);
+        // Act
+        writer.add(new LogEntry("Component", "first", LogImportance.MINOR));
+        writer.add(new LogEntry("Component", "second", LogImportance.MINOR));
+        // The queue stays full once the writer thread ended, this would otherwise wait forever
+        boolean dropped = !writer.add(new LogEntry("Component", "third", LogImportance.MINOR));
+        // Test
+        assertTrue(dropped);
+        assertTrue(writer.getDroppedCount() >= 1);
+    }
+
+    /**
+     * A store whose first flushes fail.
+     */
+    private static class FailingStore implements ILogStore {
+
+        private final List<LogEntry> entries = new ArrayList<>();
+        private final List<LogEntry> buffered = new ArrayList<>();
+        private final boolean unchecked;
+        private int failures;
+        private Error error;
+
+        private FailingStore(int failures, boolean unchecked) {
+            this.failures = failures;
+            this.unchecked = unchecked;
+        }
+
+        @Override
+        public synchronized void append(LogEntry entry) {
+            buffered.add(entry);
+        }
+
+        @Override
+        public synchronized void flush() throws IOException {
+            if (error != null) {
+                throw error;
+            }
+            if (failures > 0) {
+                failures--;
+                if (unchecked) {
+                    throw new UncheckedIOException(new IOException("Disk full"));
+                }
+                throw new IOException("Disk full");
+            }
+            entries.addAll(buffered);
+            buffered.clear();
+        }
+
+        @Override
+        public Iterable<LogEntry> newestFirst() {
+            return entries;
+        }
+
+        @Override
+        public void clear() {
+            entries.clear();
+        }
+
+        @Override
+        public void close() { }
+    }
+}
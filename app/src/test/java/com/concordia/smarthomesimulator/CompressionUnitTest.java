@@ -0,0 +1,202 @@
+package com.concordia.smarthomesimulator;
+
+import com.concordia.smarthomesimulator.dataModels.*;
+import com.concordia.smarthomesimulator.enums.CompressionCodec;
+import com.concordia.smarthomesimulator.enums.LogImportance;
+import com.concordia.smarthomesimulator.storage.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CompressionUnitTest {
+
+    private static final String[] COMPONENTS = {"Smart Heating", "Smart Security", "Smart Core", "Smart Lights"};
+    private static final String[] ACTIONS = {"was opened", "was closed", "was locked", "was turned on", "was turned off"};
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private HouseLayout createLayout(int rooms) {
+        HouseLayout layout = new HouseLayout("layout", null);
+        for (int i = 0; i < rooms; i++) {
+            Room room = new Room("Room " + i, new Geometry(i * 3, 0, 3, 3));
+            room.addDevice(new Door(new Geometry(i * 3, 1)));
+            room.addDevice(new Window(new Geometry(i * 3 + 1, 0)));
+            room.addDevice(new Light(new Geometry(i * 3 + 1, 1)));
+            room.addInhabitant(new Inhabitant("Inhabitant " + i, false));
+            layout.addRoom(room);
+        }
+        return layout;
+    }
+
+    private LogEntry createEntry(int i) {
+        String message = "The device of Room " + (i % 40) + " " + ACTIONS[i % ACTIONS.length];
+        return new LogEntry(COMPONENTS[i % COMPONENTS.length], message, LogImportance.values()[i % LogImportance.values().length], new Date(1600000000000L + i * 1000L));
+    }
+
+    private byte[] createLog(long size) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream((int) size);
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (int i = 0; bytes.size() < size; i++) {
+            byte[] payload = LogJournal.encode(createEntry(i));
+            out.writeInt(payload.length);
+            out.write(payload);
+            out.writeInt(payload.length);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void benchmark(String name, byte[] data, CompressionCodec codec) throws IOException {
+        int runs = Math.max(1, 8 * 1024 * 1024 / data.length);
+        byte[] compressed = Compression.compress(data, codec);
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            compressed = Compression.compress(data, codec);
+        }
+        long compressTime = System.nanoTime() - start;
+        byte[] decompressed = null;
+        start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            decompressed = Compression.decompress(compressed);
+        }
+        long decompressTime = System.nanoTime() - start;
+        double megabytes = (double) data.length * runs / (1024 * 1024);
+        System.out.printf("%s (%s): %d -> %d bytes, ratio %.1f, compress %.1f MB/s, decompress %.1f MB/s%n", name, codec,
+            data.length, compressed.length, (double) data.length / compressed.length,
+            megabytes / (compressTime / 1e9), megabytes / (decompressTime / 1e9));
+        assertArrayEquals(data, decompressed);
+    }
+
+    @Test
+    public void compressionRestoresTheData() throws IOException {
+        // Setup
+        byte[] data = LayoutCodec.encode(createLayout(20));
+        for (CompressionCodec codec : CompressionCodec.values()) {
+            // Act
+            byte[] compressed = Compression.compress(data, codec);
+            // Test
+            assertTrue(Compression.isCompressed(compressed));
+            assertArrayEquals(data, Compression.decompress(compressed));
+        }
+        assertTrue(Compression.compress(data, CompressionCodec.DEFLATE_BEST).length < data.length);
+    }
+
+    @Test
+    public void compressionReadsUncompressedDataAsIs() throws IOException {
+        // Setup
+        byte[] data = "not compressed".getBytes(StandardCharsets.UTF_8);
+        // Act
+        byte[] read;
+        try (InputStream in = Compression.openInput(new ByteArrayInputStream(data))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Compression.copy(in, out);
+            read = out.toByteArray();
+        }
+        // Test
+        assertFalse(Compression.isCompressed(data));
+        assertArrayEquals(data, Compression.decompress(data));
+        assertArrayEquals(data, read);
+        assertArrayEquals(new byte[0], Compression.decompress(new byte[0]));
+    }
+
+    @Test
+    public void compressionStreamsDataOfUnknownLength() throws IOException {
+        // Setup
+        byte[] data = createLog(256 * 1024);
+        File file = folder.newFile("log.z");
+        // Act
+        try (OutputStream out = Compression.openOutput(new FileOutputStream(file), CompressionCodec.DEFLATE_FAST, -1)) {
+            for (int offset = 0; offset < data.length; offset += 1000) {
+                out.write(data, offset, Math.min(1000, data.length - offset));
+            }
+        }
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        try (InputStream in = Compression.openInput(new FileInputStream(file))) {
+            Compression.copy(in, read);
+        }
+        // Test
+        assertEquals(-1, Compression.readLength(file));
+        assertTrue(file.length() < data.length / 4);
+        assertArrayEquals(data, read.toByteArray());
+    }
+
+    @Test
+    public void layoutCatalogCompressesTheLayoutFiles() throws IOException {
+        // Setup
+        MemoryStorage storage = new MemoryStorage();
+        new LayoutCatalog(storage, "plain.catalog", "layouts").save(createLayout(20), "plain.txt");
+        LayoutCatalog catalog = new LayoutCatalog(storage, "layouts.catalog", "layouts", CompressionCodec.DEFLATE_BEST);
+        // Act
+        catalog.save(createLayout(20), "compressed.txt");
+        catalog.refresh();
+        boolean plainRead = !Compression.isCompressed(storage.get("layouts/plain.txt"));
+        HouseLayout layout = new LayoutCatalog(storage, "layouts.catalog", "layouts", CompressionCodec.DEFLATE_BEST).load(catalog.find("layout"));
+        catalog.save(layout, "plain.txt");
+        // Test
+        assertTrue(Compression.isCompressed(storage.get("layouts/compressed.txt")));
+        // Layouts saved before compression are read as they are, and compressed the next time they are saved
+        assertTrue(plainRead);
+        assertTrue(Compression.isCompressed(storage.get("layouts/plain.txt")));
+        assertEquals(22, layout.getRooms().size());
+    }
+
+    @Test
+    public void segmentedLogStoreCompressesRotatedSegments() throws IOException {
+        // Setup
+        File directory = folder.newFolder("logs");
+        long uncompressedSize;
+        long storedSize;
+        try (SegmentedLogStore store = new SegmentedLogStore(directory, 16 * 1024, 0, 0, 0, CompressionCodec.DEFLATE_FAST)) {
+            // Act
+            for (int i = 0; i < 5000; i++) {
+                store.append(createEntry(i));
+            }
+            store.flush();
+            uncompressedSize = store.getUncompressedSize();
+            storedSize = store.size();
+        }
+        List<LogEntry> entries = new ArrayList<>();
+        LogPage critical;
+        try (SegmentedLogStore store = new SegmentedLogStore(directory, 16 * 1024, 0, 0, 0, CompressionCodec.DEFLATE_FAST)) {
+            for (LogEntry entry : store.newestFirst()) {
+                entries.add(entry);
+            }
+            critical = store.query(new LogQuery(10).withImportances(LogImportance.CRITICAL), null);
+        }
+        // Test
+        assertTrue(directory.listFiles((dir, name) -> name.endsWith(".journal.z")).length > 1);
+        // Only the active segment is not compressed
+        assertEquals(1, directory.listFiles((dir, name) -> name.endsWith(".journal")).length);
+        assertTrue(storedSize * 3 < uncompressedSize);
+        assertEquals(5000, entries.size());
+        assertEquals(createEntry(4999).getMessage(), entries.get(0).getMessage());
+        assertEquals(createEntry(0).getMessage(), entries.get(4999).getMessage());
+        assertEquals(10, critical.getEntries().size());
+    }
+
+    @Test
+    public void compressionRatioAndThroughput() throws IOException {
+        // Setup
+        byte[] typicalLayout = LayoutCodec.encode(createLayout(20));
+        byte[] largeLayout = LayoutCodec.encode(createLayout(2000));
+        byte[] typicalLog = createLog(1024 * 1024);
+        byte[] largeLog = createLog(16 * 1024 * 1024);
+        // Act
+        for (CompressionCodec codec : new CompressionCodec[]{CompressionCodec.DEFLATE_FAST, CompressionCodec.DEFLATE_BEST}) {
+            benchmark("Typical layout", typicalLayout, codec);
+            benchmark("Large layout", largeLayout, codec);
+            benchmark("Typical log segment", typicalLog, codec);
+            benchmark("Large log", largeLog, codec);
+        }
+        // Test
+        assertTrue(Compression.compress(largeLog, CompressionCodec.DEFLATE_FAST).length * 3 < largeLog.length);
+    }
+}
@@ -4,6 +4,7 @@ import com.concordia.smarthomesimulator.enums.DeviceType;
 import com.concordia.smarthomesimulator.dataModels.Door;
 import com.concordia.smarthomesimulator.dataModels.Light;
 import com.concordia.smarthomesimulator.dataModels.Window;
+import com.concordia.smarthomesimulator.interfaces.IDevice;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -125,4 +126,20 @@ public class DeviceUnitTest {
         // Test
         assertFalse(window.getIsOpened());
     }
+    @Test
+    public void devicesHaveDistinctIdsKeptByCopies() {
+        // Setup
+        Door door = new Door();
+        Light light = new Light();
+        Window window = new Window();
+        // Act
+        IDevice copy = window.clone();
+        // Test
+        assertNotEquals(door.getId(), light.getId());
+        assertNotEquals(light.getId(), window.getId());
+        assertNotEquals(0, door.getId());
+        assertEquals(window.getId(), copy.getId());
+        assertEquals(door.getId(), door.clone().getId());
+        assertNotEquals(window.getId(), new Window().getId());
+    }
 }
\ No newline at end of file
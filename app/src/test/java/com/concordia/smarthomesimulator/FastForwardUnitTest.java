@@ -0,0 +1,130 @@
+package com.concordia.smarthomesimulator;
+
+import com.concordia.smarthomesimulator.dataModels.*;
+import com.concordia.smarthomesimulator.enums.VentilationStatus;
+import com.concordia.smarthomesimulator.interfaces.OnThermalEventListener;
+import com.concordia.smarthomesimulator.simulation.FastForward;
+import com.concordia.smarthomesimulator.simulation.LightsSchedule;
+import com.concordia.smarthomesimulator.simulation.ThermalEngine;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class FastForwardUnitTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2020, 6, 1, 12, 0);
+
+    private ThermalParameters parameters() {
+        return new ThermalParameters(false, 10, Constants.DEFAULT_SUMMER_START, Constants.DEFAULT_SUMMER_END, START.getMonthValue(), 0, 35);
+    }
+
+    @Test
+    public void fastForwardReachesTargetTime() {
+        // Setup
+        HouseLayout layout = new HouseLayout("layout", null);
+        ThermalEngine engine = new ThermalEngine();
+        LocalDateTime target = START.plusDays(7);
+        // Act
+        FastForwardResult result = FastForward.run(layout, engine, parameters(), null, START, target);
+        // Test
+        assertEquals(target, result.getDateTime());
+        assertEquals(7 * 24 * 60 * FastForward.TICKS_PER_MINUTE, result.getTicks());
+        assertEquals(result.getTicks(), engine.getTicks());
+        assertTrue(result.getTicksPerSecond() > 0);
+    }
+
+    @Test
+    public void fastForwardFollowsLightsSchedule() {
+        // Setup
+        HouseLayout layout = new HouseLayout("layout", null);
+        Room room = new Room("room", new Geometry());
+        Light light = new Light(new Geometry());
+        light.setAutoOn(true);
+        room.addDevice(light);
+        layout.addRoom(room);
+        LightsSchedule schedule = new LightsSchedule(LocalTime.of(19, 0), LocalTime.of(5, 0));
+        // Act
+        FastForward.run(layout, new ThermalEngine(), parameters(), schedule, START, START.withHour(20));
+        // Test
+        assertTrue(light.getIsOpened());
+        // Act
+        FastForward.run(layout, new ThermalEngine(), parameters(), schedule, START.withHour(20), START.plusDays(1).withHour(6));
+        // Test
+        assertFalse(light.getIsOpened());
+    }
+
+    @Test
+    public void fastForwardRunsInTheBackgroundAndSummarizesEvents() throws Exception {
+        // Setup
+        HouseLayout layout = new HouseLayout("layout", null);
+        // Cooling with a locked window turns the HVAC off and on again every other tick
+        Room cooled = new Room("cooled", new Geometry());
+        cooled.setActualTemperature(20);
+        cooled.setDesiredTemperature(15);
+        Window window = new Window(new Geometry());
+        window.setIsLocked(true);
+        cooled.addDevice(window);
+        layout.addRoom(cooled);
+        Room hot = new Room("hot", new Geometry(1, 0));
+        hot.setActualTemperature(40);
+        hot.setDesiredTemperature(40);
+        layout.addRoom(hot);
+        AtomicInteger ventilationChanges = new AtomicInteger();
+        AtomicInteger extremeTemperatures = new AtomicInteger();
+        AtomicInteger lockedWindows = new AtomicInteger();
+        OnThermalEventListener listener = new OnThermalEventListener() {
+            @Override
+            public void onVentilationChanged(Room room, VentilationStatus status) {
+                ventilationChanges.incrementAndGet();
+            }
+
+            @Override
+            public void onExtremeTemperature(Room room, boolean tooHot) {
+                extremeTemperatures.incrementAndGet();
+            }
+
+            @Override
+            public void onWindowsLocked(List<String> roomNames) {
+                lockedWindows.incrementAndGet();
+            }
+        };
+        ThermalEngine engine = new ThermalEngine();
+        engine.setOnThermalEventListener(listener);
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "fast-forward"));
+        AtomicReference<String> callbackThread = new AtomicReference<>();
+        // Act
+        Future<FastForwardResult> future = FastForward.submit(executor, layout, engine, parameters(), null, START, START.plusDays(1),
+            result -> callbackThread.set(Thread.currentThread().getName()));
+        FastForwardResult result = future.get();
+        executor.shutdown();
+        // Test
+        assertEquals(START.plusDays(1), result.getDateTime());
+        assertEquals("fast-forward", callbackThread.get());
+        assertTrue(result.getVentilationChanges() > 10);
+        // Only the summary reached the listener
+        assertEquals(0, ventilationChanges.get());
+        assertEquals(1, extremeTemperatures.get());
+        assertEquals(1, lockedWindows.get());
+        assertSame(listener, engine.getOnThermalEventListener());
+    }
+
+    @Test
+    public void fastForwardDoesNothingForPastTarget() {
+        // Setup
+        HouseLayout layout = new HouseLayout("layout", null);
+        // Act
+        FastForwardResult result = FastForward.run(layout, new ThermalEngine(), parameters(), null, START, START.minusHours(1));
+        // Test
+        assertEquals(START, result.getDateTime());
+        assertEquals(0, result.getTicks());
+    }
+}
@@ -1,15 +1,31 @@
 package com.concordia.smarthomesimulator;
 
+import com.concordia.smarthomesimulator.dataModels.Door;
 import com.concordia.smarthomesimulator.dataModels.Geometry;
+import com.concordia.smarthomesimulator.dataModels.HeatingZone;
 import com.concordia.smarthomesimulator.dataModels.HouseLayout;
+import com.concordia.smarthomesimulator.dataModels.Inhabitant;
+import com.concordia.smarthomesimulator.dataModels.Light;
 import com.concordia.smarthomesimulator.dataModels.Room;
+import com.concordia.smarthomesimulator.dataModels.Window;
+import com.concordia.smarthomesimulator.events.InhabitantMovedEvent;
+import com.concordia.smarthomesimulator.interfaces.IDevice;
+import com.concordia.smarthomesimulator.interfaces.IInhabitant;
 import org.junit.Test;
 
+import java.io.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 
+import static com.concordia.smarthomesimulator.Constants.DEFAULT_NAME_GARAGE;
+import static com.concordia.smarthomesimulator.Constants.DEFAULT_NAME_HEATING_ZONE;
+import static com.concordia.smarthomesimulator.Constants.DEFAULT_NAME_OUTDOORS;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class HouseLayoutUnitTest {
 
@@ -72,4 +88,500 @@ public class HouseLayoutUnitTest {
         // Test
         assertEquals(layout.getRooms().size(), 1);
     }
+
+    @Test
+    public void houseLayoutVersionChangesWithDevices() {
+        // Setup
+        Room room = new Room("room", new Geometry());
+        Light light = new Light(new Geometry());
+        room.addDevice(light);
+        HouseLayout layout = new HouseLayout("layout", null);
+        layout.addRoom(room);
+        long version = layout.getVersion();
+        // Act
+        light.setIsOpened(true);
+        // Test
+        assertTrue(layout.getVersion() > version);
+    }
+
+    @Test
+    public void houseLayoutVersionIgnoresSameValues() {
+        // Setup
+        Room room = new Room("room", new Geometry());
+        HouseLayout layout = new HouseLayout("layout", null);
+        layout.addRoom(room);
+        room.setActualTemperature(21);
+        long version = layout.getVersion();
+        // Act
+        room.setActualTemperature(21);
+        // Test
+        assertEquals(version, layout.getVersion());
+    }
+
+    @Test
+    public void houseLayoutVersionNeverGoesBackWhenRemovingRooms() {
+        // Setup
+        Room room = new Room("room", new Geometry());
+        HouseLayout layout = new HouseLayout("layout", null);
+        layout.addRoom(room);
+        room.setActualTemperature(30);
+        room.setDesiredTemperature(30);
+        long version = layout.getVersion();
+        // Act
+        layout.removeRoom(room.getName());
+        // Test
+        assertTrue(layout.getVersion() > version);
+    }
+
+    @Test
+    public void houseLayoutRoomsVersionChangesWhenARoomIsReplaced() {
+        // Setup
+        HouseLayout layout = new HouseLayout("layout", null);
+        layout.addRoom(new Room("old", new Geometry()));
+        long version = layout.getRoomsVersion();
+        // Act
+        layout.getRoom("old").setDesiredTemperature(25);
+        long changedRoomVersion = layout.getRoomsVersion();
+        layout.removeRoom("old");
+        layout.addRoom(new Room("new", new Geometry()));
+        // Test
+        assertEquals(version, changedRoomVersion);
+        assertTrue(layout.getRoomsVersion() > version);
+    }
+
+    @Test
+    public void houseLayoutFindsRoomsAndZonesInAnyCase() {
+        // Setup
+        Room room = new Room("Kitchen", new Geometry());
+        HeatingZone zone = new HeatingZone("Upstairs");
+        HouseLayout layout = new HouseLayout("layout", null);
+        // Act
+        layout.addRoom(room);
+        layout.addHeatingZone(zone);
+        // Test
+        assertSame(room, layout.getRoom("KITCHEN"));
+        assertSame(room, layout.getHeatingZone(DEFAULT_NAME_HEATING_ZONE.toUpperCase()).getRoom("kitchen"));
+        assertSame(zone, layout.getHeatingZone("upstairs"));
+        assertNull(layout.getRoom("missing"));
+        assertNull(layout.getRoom(null));
+    }
+
+    @Test
+    public void houseLayoutFindsRenamedRoomsAndZones() {
+        // Setup
+        Room room = new Room("room", new Geometry());
+        HeatingZone zone = new HeatingZone("zone");
+        HouseLayout layout = new HouseLayout("layout", null);
+        layout.addRoom(room);
+        layout.addHeatingZone(zone);
+        // Act
+        room.setName("Kitchen");
+        zone.setName("Upstairs");
+        // Test
+        assertNull(layout.getRoom("room"));
+        assertSame(room, layout.getRoom("kitchen"));
+        assertNull(layout.getHeatingZone(DEFAULT_NAME_HEATING_ZONE).getRoom("room"));
+        assertSame(room, layout.getHeatingZone(DEFAULT_NAME_HEATING_ZONE).getRoom("kitchen"));
+        assertNull(layout.getHeatingZone("zone"));
+        assertSame(zone, layout.getHeatingZone("upstairs"));
+    }
+
+    @Test
+    public void houseLayoutFindsTheFirstRoomOfARenamedName() {
+        // Setup
+        Room first = new Room("first", new Geometry());
+        Room second = new Room("second", new Geometry());
+        Room third = new Room("third", new Geometry());
+        HouseLayout layout = new HouseLayout("layout", null);
+        layout.addRooms(new ArrayList<>(Arrays.asList(first, second, third)));
+        // Act
+        first.setName("Second");
+        Room renamedFirst = layout.getRoom("second");
+        third.setName("FIRST");
+        Room renamedLast = layout.getRoom("first");
+        first.setName("third");
+        // Test
+        assertSame(first, renamedFirst);
+        assertSame(third, renamedLast);
+        assertSame(second, layout.getRoom("second"));
+        assertSame(first, layout.getRoom("third"));
+    }
+
+    @Test
+    public void houseLayoutFindsTheNextRoomWithTheSameName() {
+        // Setup
+        Room room = new Room("room", new Geometry());
+        Room sameName = new Room("ROOM", new Geometry());
+        HouseLayout layout = new HouseLayout("layout", null);
+        layout.addRooms(new ArrayList<>(Arrays.asList(room, sameName)));
+        // Act
+        Room first = layout.getRoom("room");
+        layout.removeRoom("room");
+        // Test
+        assertSame(room, first);
+        assertSame(sameName, layout.getRoom("room"));
+    }
+
+    @Test
+    public void houseLayoutIndexesRemovedZonesAndRooms() {
+        // Setup
+        Room room = new Room("room", new Geometry());
+        HouseLayout layout = new HouseLayout("layout", null);
+        layout.addRoom(room);
+        layout.addHeatingZone(new HeatingZone("zone"));
+        // Act
+        layout.removeHeatingZone("ZONE");
+        layout.removeRoom("ROOM");
+        // Test
+        assertNull(layout.getHeatingZone("zone"));
+        assertNull(layout.getRoom("room"));
+        assertNull(layout.getHeatingZone(DEFAULT_NAME_HEATING_ZONE).getRoom("room"));
+        assertEquals(2, layout.getRooms().size());
+    }
+
+    @Test
+    public void houseLayoutIndexesDeserializedLayouts() throws IOException, ClassNotFoundException {
+        // Setup
+        HouseLayout layout = new HouseLayout("layout", null);
+        layout.addRoom(new Room("room", new Geometry()));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(layout);
+        }
+        // Act
+        HouseLayout read;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            read = (HouseLayout) in.readObject();
+        }
+        read.getRoom("room").setName("Kitchen");
+        // Test
+        assertSame(read.getRooms().get(2), read.getRoom("kitchen"));
+        assertSame(read.getRooms().get(2), read.getHeatingZone(DEFAULT_NAME_HEATING_ZONE).getRoom("kitchen"));
+    }
+
+    @Test
+    public void houseLayoutRoomLookupsDoNotDependOnTheNumberOfRooms() {
+        // Setup
+        int lookups = 200000;
+        HouseLayout small = createLayout(100);
+        HouseLayout large = createLayout(10000);
+        // Warm up
+        lookUp(small, 100, lookups);
+        lookUp(large, 10000, lookups);
+        // Act
+        long smallTime = lookUp(small, 100, lookups);
+        long largeTime = lookUp(large, 10000, lookups);
+        long start = System.nanoTime();
+        for (int i = 0; i < 200; i++) {
+            String name = "room " + (i * 50);
+            assertNotNull(large.getRooms().stream().filter(room -> room.getName().equalsIgnoreCase(name)).findFirst().orElse(null));
+        }
+        long scanTime = (System.nanoTime() - start) / 200;
+        System.out.printf("Room lookup: %d ns with 100 rooms, %d ns with 10000 rooms, linear scan of 10000 rooms: %d ns%n",
+            smallTime / lookups, largeTime / lookups, scanTime);
+        // Test
+        assertEquals("Room 9999", large.getRoom("ROOM 9999").getName());
+        assertEquals("Room 99", small.getRoom("room 99").getName());
+    }
+
+    @Test
+    public void houseLayoutKnowsTheZoneOfEveryRoom() {
+        // Setup
+        Room room = new Room("room", new Geometry());
+        HouseLayout layout = new HouseLayout("layout", null);
+        layout.addRoom(room);
+        layout.addHeatingZone(new HeatingZone("zone"));
+        HeatingZone defaultZone = layout.getHeatingZone(DEFAULT_NAME_HEATING_ZONE);
+        HeatingZone added = layout.getHeatingZoneOfRoom("ROOM");
+        // Act
+        boolean moved = layout.moveRoom("room", "zone");
+        boolean movedAgain = layout.moveRoom("room", "zone");
+        // Test
+        assertSame(defaultZone, added);
+        assertTrue(moved);
+        assertFalse(movedAgain);
+        assertSame(layout.getHeatingZone("zone"), layout.getHeatingZoneOfRoom("room"));
+        assertSame(room, layout.getHeatingZone("zone").getRoom("room"));
+        assertNull(defaultZone.getRoom("room"));
+        assertFalse(layout.moveRoom(DEFAULT_NAME_OUTDOORS, "zone"));
+        assertNull(layout.getHeatingZoneOfRoom(DEFAULT_NAME_OUTDOORS));
+        assertSame(defaultZone, layout.getHeatingZoneOfRoom(DEFAULT_NAME_GARAGE));
+    }
+
+    @Test
+    public void houseLayoutKeepsRoomsInASingleZone() {
+        // Setup
+        Room room = new Room("room", new Geometry());
+        HeatingZone zone = new HeatingZone("zone");
+        HouseLayout layout = new HouseLayout("layout", null);
+        layout.addRoom(room);
+        layout.addHeatingZone(zone);
+        HeatingZone defaultZone = layout.getHeatingZone(DEFAULT_NAME_HEATING_ZONE);
+        // Act
+        zone.addRoom(room);
+        boolean inASingleZone = defaultZone.getRoom("room") == null;
+        room.setName("Kitchen");
+        HouseLayout clone = (HouseLayout) layout.clone();
+        layout.removeHeatingZone("zone");
+        // Test
+        assertTrue(inASingleZone);
+        assertEquals("zone", clone.getHeatingZoneOfRoom("kitchen").getName());
+        assertSame(defaultZone, layout.getHeatingZoneOfRoom("kitchen"));
+        assertTrue(zone.getRooms().isEmpty());
+        layout.removeRoom("kitchen");
+        assertNull(layout.getHeatingZoneOfRoom("kitchen"));
+        assertNull(defaultZone.getRoom("kitchen"));
+    }
+
+    @Test
+    public void houseLayoutZoneOfRoomAgainstScanningTheZones() {
+        // Setup
+        int lookups = 20000;
+        HouseLayout layout = createLayout(10000);
+        for (int i = 0; i < 100; i++) {
+            layout.addHeatingZone(new HeatingZone("zone " + i));
+        }
+        for (int i = 0; i < 10000; i++) {
+            layout.moveRoom("room " + i, "zone " + (i % 100));
+        }
+        // Act
+        long indexTime = 0;
+        long scanTime = 0;
+        for (int run = 0; run < 2; run++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                String name = "room " + (i * 7 % 10000);
+                assertNotNull(layout.getHeatingZoneOfRoom(name));
+            }
+            indexTime = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (int i = 0; i < lookups / 100; i++) {
+                String name = "room " + (i * 7 % 10000);
+                assertNotNull(layout.getHeatingZones().stream().filter(zone -> zone.getRoom(name) != null).findFirst().orElse(null));
+            }
+            scanTime = (System.nanoTime() - start) * 100;
+        }
+        System.out.printf("Zone of room with 10000 rooms in 102 zones: %d ns, scanning the zones: %d ns%n",
+            indexTime / lookups, scanTime / lookups);
+        // Test
+        assertEquals(100, layout.getHeatingZone("zone 0").getRooms().size());
+        assertTrue(layout.getHeatingZone(DEFAULT_NAME_HEATING_ZONE).getRooms().stream().noneMatch(room -> room.getName().startsWith("Room")));
+    }
+
+    @Test
+    public void houseLayoutFindsTheRoomOfEveryDevice() {
+        // Setup
+        Room room = new Room("room", new Geometry());
+        Light light = new Light(new Geometry());
+        room.addDevice(light);
+        HouseLayout layout = new HouseLayout("layout", null);
+        layout.addRoom(room);
+        Window window = new Window(new Geometry(1, 0));
+        // Act
+        room.addDevice(window);
+        room.removeDevice(light);
+        HouseLayout clone = (HouseLayout) layout.clone();
+        // Test
+        assertSame(room, layout.getDeviceRoom(window.getId()));
+        assertSame(window, layout.getDevice(window.getId()));
+        assertNull(layout.getDevice(light.getId()));
+        assertEquals("room", clone.getDeviceRoom(window.getId()).getName());
+        assertEquals(DEFAULT_NAME_GARAGE, layout.getDeviceRoom(layout.getRoom(DEFAULT_NAME_GARAGE).getDevices().get(0).getId()).getName());
+        layout.removeRoom("room");
+        assertNull(layout.getDeviceRoom(window.getId()));
+    }
+
+    @Test
+    public void houseLayoutIndexesDevicesOfDeserializedLayouts() throws IOException, ClassNotFoundException {
+        // Setup
+        HouseLayout layout = createLayout(10);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(layout);
+        }
+        // Act
+        HouseLayout read;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            read = (HouseLayout) in.readObject();
+        }
+        // Test
+        for (Room room : read.getRooms()) {
+            for (IDevice device : room.getDevices()) {
+                assertSame(room, read.getDeviceRoom(device.getId()));
+                assertNull(layout.getDevice(device.getId()));
+            }
+        }
+    }
+
+    @Test
+    public void houseLayoutDeviceRoomAgainstScanningTheRooms() {
+        // Setup
+        int lookups = 100000;
+        HouseLayout layout = createLayout(2000);
+        ArrayList<IDevice> devices = new ArrayList<>();
+        for (Room room : layout.getRooms()) {
+            devices.addAll(room.getDevices());
+        }
+        // Remove devices to move entries of the table around
+        for (int i = 0; i < 2000; i += 2) {
+            Room room = layout.getRoom("room " + i);
+            IDevice light = room.getDevices().get(1);
+            room.removeDevice(light);
+            devices.remove(light);
+        }
+        // Act
+        long indexTime = 0;
+        long scanTime = 0;
+        for (int run = 0; run < 2; run++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                assertNotNull(layout.getDeviceRoom(devices.get(i * 7 % devices.size()).getId()));
+            }
+            indexTime = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (int i = 0; i < lookups / 1000; i++) {
+                IDevice device = devices.get(i * 7 % devices.size());
+                assertNotNull(layout.getRooms().stream()
+                    .filter(r -> r.getDevices().stream().anyMatch(d -> d.equals(device)))
+                    .findFirst()
+                    .orElse(null));
+            }
+            scanTime = (System.nanoTime() - start) * 1000;
+        }
+        System.out.printf("Device room with %d devices: %d ns, scanning the rooms: %d ns%n",
+            devices.size(), indexTime / lookups, scanTime / lookups);
+        // Test
+        for (IDevice device : devices) {
+            assertSame(device, layout.getDevice(device.getId()));
+        }
+    }
+
+    @Test
+    public void houseLayoutFindsTheRoomOfEveryInhabitant() {
+        // Setup
+        HouseLayout layout = new HouseLayout("layout", "user");
+        Room kitchen = new Room("kitchen", new Geometry());
+        Room bedroom = new Room("bedroom", new Geometry(1, 0));
+        layout.addRoom(kitchen);
+        layout.addRoom(bedroom);
+        // Act
+        kitchen.addInhabitant(new Inhabitant("Alex", false));
+        bedroom.addInhabitant(new Inhabitant("Sam", false));
+        boolean moved = new InhabitantMovedEvent("sam", "kitchen").apply(layout);
+        boolean movedAgain = new InhabitantMovedEvent("SAM", "kitchen").apply(layout);
+        HouseLayout clone = (HouseLayout) layout.clone();
+        // Test
+        assertTrue(moved);
+        assertFalse(movedAgain);
+        assertSame(kitchen, layout.getInhabitantRoom("ALEX"));
+        assertSame(kitchen, layout.getInhabitantRoom("Sam"));
+        assertEquals(DEFAULT_NAME_OUTDOORS, layout.getInhabitantRoom("user").getName());
+        assertEquals("kitchen", clone.getInhabitantRoom("sam").getName());
+        assertNull(layout.getInhabitantRoom("nobody"));
+        assertNull(layout.getInhabitantRoom(null));
+        assertEquals(3, layout.getInhabitantCount());
+        kitchen.removeInhabitant("alex");
+        assertNull(layout.getInhabitantRoom("Alex"));
+        layout.removeRoom("kitchen");
+        assertNull(layout.getInhabitantRoom("Sam"));
+        assertEquals(1, layout.getInhabitantCount());
+    }
+
+    @Test
+    public void houseLayoutCountsIntruders() throws IOException, ClassNotFoundException {
+        // Setup
+        HouseLayout layout = new HouseLayout("layout", "user");
+        Room room = new Room("room", new Geometry());
+        room.addInhabitant(new Inhabitant("intruder 1", true));
+        layout.addRoom(room);
+        // Act
+        boolean detected = layout.isIntruderDetected();
+        room.addInhabitant(new Inhabitant("intruder 2", true));
+        room.addInhabitant(new Inhabitant("inhabitant", false));
+        new InhabitantMovedEvent("intruder 2", DEFAULT_NAME_GARAGE).apply(layout);
+        int intruders = layout.getIntruderCount();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(layout);
+        }
+        HouseLayout read;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            read = (HouseLayout) in.readObject();
+        }
+        // Test
+        assertTrue(detected);
+        assertEquals(2, intruders);
+        assertEquals(2, read.getIntruderCount());
+        assertEquals(4, read.getInhabitantCount());
+        assertEquals(DEFAULT_NAME_GARAGE, read.getInhabitantRoom("intruder 2").getName());
+        assertEquals(2, ((HouseLayout) layout.clone()).getIntruderCount());
+        room.removeInhabitant("intruder 1");
+        layout.getRoom(DEFAULT_NAME_GARAGE).removeInhabitant("intruder 2");
+        assertEquals(0, layout.getIntruderCount());
+        assertFalse(layout.isIntruderDetected());
+        assertEquals(2, layout.getInhabitantCount());
+    }
+
+    @Test
+    public void houseLayoutIntruderCheckAgainstScanningTheInhabitants() {
+        // Setup
+        int lookups = 100000;
+        HouseLayout layout = createLayout(2000);
+        for (int i = 0; i < 2000; i++) {
+            layout.getRoom("room " + i).addInhabitant(new Inhabitant("Inhabitant " + i, false));
+        }
+        layout.getRoom("room 1999").addInhabitant(new Inhabitant("Intruder", true));
+        // Act
+        long indexTime = 0;
+        long scanTime = 0;
+        for (int run = 0; run < 2; run++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                assertTrue(layout.isIntruderDetected());
+                assertNotNull(layout.getInhabitantRoom("inhabitant " + i % 2000));
+            }
+            indexTime = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (int i = 0; i < lookups / 1000; i++) {
+                String name = "inhabitant " + i % 2000;
+                assertTrue(layout.getAllInhabitants().stream().anyMatch(IInhabitant::isIntruder));
+                assertNotNull(layout.getRooms().stream()
+                    .filter(r -> r.getInhabitants().stream().anyMatch(inhabitant -> name.equalsIgnoreCase(inhabitant.getName())))
+                    .findFirst()
+                    .orElse(null));
+            }
+            scanTime = (System.nanoTime() - start) * 1000;
+        }
+        System.out.printf("Intruder check and inhabitant room with %d inhabitants: %d ns, scanning the inhabitants: %d ns%n",
+            layout.getInhabitantCount(), indexTime / lookups, scanTime / lookups);
+        // Test
+        assertEquals(1, layout.getIntruderCount());
+    }
+
+    private HouseLayout createLayout(int rooms) {
+        HouseLayout layout = new HouseLayout("layout", null);
+        layout.addHeatingZone(new HeatingZone("zone"));
+        for (int i = 0; i < rooms; i++) {
+            Room room = new Room("Room " + i, new Geometry(i, 0));
+            room.addDevice(new Door(new Geometry(i, 1)));
+            room.addDevice(new Light(new Geometry(i, 2)));
+            room.addDevice(new Window(new Geometry(i, 3)));
+            layout.addRoom(room);
+        }
+        return layout;
+    }
+
+    private long lookUp(HouseLayout layout, int rooms, int lookups) {
+        String[] names = new String[rooms];
+        for (int i = 0; i < rooms; i++) {
+            names[i] = "room " + i;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            String name = names[i % rooms];
+            assertNotNull(layout.getRoom(name));
+            assertNotNull(layout.getHeatingZone("ZONE"));
+        }
+        return System.nanoTime() - start;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.concordia.smarthomesimulator;
+
+import com.concordia.smarthomesimulator.dataModels.*;
+import com.concordia.smarthomesimulator.storage.DirectoryStorage;
+import com.concordia.smarthomesimulator.storage.LayoutCatalog;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+public class LayoutCatalogUnitTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private HouseLayout createLayout(String name) {
+        HouseLayout layout = new HouseLayout(name, null);
+        Room room = new Room("room", new Geometry(0, 0, 2, 2));
+        room.addDevice(new Light(new Geometry(1, 1)));
+        layout.addRoom(room);
+        return layout;
+    }
+
+    @Test
+    public void layoutCatalogListsSavedLayouts() throws IOException {
+        // Setup
+        DirectoryStorage storage = new DirectoryStorage(folder.getRoot());
+        LayoutCatalog catalog = new LayoutCatalog(storage, "layouts.catalog", "layouts");
+        // Act
+        catalog.save(createLayout("B layout"), "b.txt");
+        catalog.save(createLayout("a layout"), "a.txt");
+        ArrayList<LayoutSummary> summaries = new LayoutCatalog(storage, "layouts.catalog", "layouts").list();
+        // Test
+        assertEquals(2, summaries.size());
+        assertEquals("a layout", summaries.get(0).getName());
+        assertEquals("a.txt", summaries.get(0).getFileName());
+        assertEquals(3, summaries.get(0).getRoomCount());
+        assertEquals(5, summaries.get(0).getDeviceCount());
+        assertEquals("B layout", summaries.get(1).getName());
+    }
+
+    @Test
+    public void layoutCatalogFindsLayoutsByName() throws IOException {
+        // Setup
+        LayoutCatalog catalog = new LayoutCatalog(new DirectoryStorage(folder.getRoot()), "layouts.catalog", "layouts");
+        // Act
+        catalog.save(createLayout("My Layout"), "my_layout.txt");
+        // Test
+        assertNotNull(catalog.find(" my layout "));
+        assertNull(catalog.find("other layout"));
+    }
+
+    @Test
+    public void layoutCatalogLoadsLayouts() throws IOException {
+        // Setup
+        LayoutCatalog catalog = new LayoutCatalog(new DirectoryStorage(folder.getRoot()), "layouts.catalog", "layouts");
+        catalog.save(createLayout("layout"), "layout.txt");
+        // Act
+        HouseLayout layout = catalog.load(catalog.find("layout"));
+        // Test
+        assertEquals("layout", layout.getName());
+        assertNotNull(layout.getRoom("room"));
+    }
+
+    @Test
+    public void layoutCatalogRefreshesChangedFiles() throws IOException {
+        // Setup
+        DirectoryStorage storage = new DirectoryStorage(folder.getRoot());
+        LayoutCatalog catalog = new LayoutCatalog(storage, "layouts.catalog", "layouts");
+        catalog.save(createLayout("kept"), "kept.txt");
+        catalog.save(createLayout("deleted"), "deleted.txt");
+        // Act
+        File directory = new File(folder.getRoot(), "layouts");
+        assertTrue(new File(directory, "deleted.txt").delete());
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(new File(directory, "legacy.txt")))) {
+            out.writeObject(createLayout("legacy"));
+        }
+        LayoutCatalog reopened = new LayoutCatalog(storage, "layouts.catalog", "layouts");
+        boolean changed = reopened.refresh();
+        // Test
+        assertTrue(changed);
+        assertFalse(reopened.refresh());
+        assertNotNull(reopened.find("kept"));
+        assertNotNull(reopened.find("legacy"));
+        assertNull(reopened.find("deleted"));
+        assertEquals("legacy", reopened.load(reopened.find("legacy")).getName());
+    }
+
+    @Test
+    public void layoutCatalogDeletesLayouts() throws IOException {
+        // Setup
+        File directory = new File(folder.getRoot(), "layouts");
+        LayoutCatalog catalog = new LayoutCatalog(new DirectoryStorage(folder.getRoot()), "layouts.catalog", "layouts");
+        catalog.save(createLayout("layout"), "layout.txt");
+        // Act
+        boolean deleted = catalog.delete("layout.txt");
+        // Test
+        assertTrue(deleted);
+        assertFalse(new File(directory, "layout.txt").exists());
+        assertTrue(catalog.list().isEmpty());
+    }
+
+    @Test
+    public void layoutCatalogIndexesChangedFilesInParallel() throws IOException {
+        // Setup
+        DirectoryStorage storage = new DirectoryStorage(folder.getRoot());
+        LayoutCatalog writer = new LayoutCatalog(storage, "writer.catalog", "layouts");
+        for (int i = 0; i < 100; i++) {
+            HouseLayout layout = createLayout("layout " + i);
+            for (int j = 0; j < 50; j++) {
+                Room room = new Room("room " + j, new Geometry(j * 2, 2, 2, 2));
+                room.addDevice(new Door(new Geometry(j * 2, 3)));
+                layout.addRoom(room);
+            }
+            writer.save(layout, "layout_" + i + ".txt");
+        }
+        storage.put("layouts/corrupted.txt", new byte[]{1, 2, 3, 4, 5});
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        StartupMetrics metrics = new StartupMetrics();
+        // Act
+        long start = System.nanoTime();
+        LayoutCatalog sequential = new LayoutCatalog(storage, "sequential.catalog", "layouts");
+        sequential.refresh();
+        metrics.record("Sequential", System.nanoTime() - start);
+        start = System.nanoTime();
+        LayoutCatalog parallel = new LayoutCatalog(storage, "parallel.catalog", "layouts");
+        boolean changed = parallel.refresh(executor);
+        metrics.record("Parallel", System.nanoTime() - start);
+        boolean changedAgain = parallel.refresh(executor);
+        executor.shutdown();
+        System.out.println("Indexing 100 layouts, " + metrics);
+        // Test
+        assertTrue(changed);
+        assertFalse(changedAgain);
+        assertEquals(100, parallel.list().size());
+        for (int i = 0; i < 100; i++) {
+            LayoutSummary expected = sequential.list().get(i);
+            LayoutSummary actual = parallel.list().get(i);
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getRoomCount(), actual.getRoomCount());
+            assertEquals(expected.getChecksum(), actual.getChecksum());
+        }
+        assertTrue(metrics.getElapsedNanos("Parallel") > 0);
+        assertEquals(-1, metrics.getElapsedNanos("Missing"));
+    }
+}
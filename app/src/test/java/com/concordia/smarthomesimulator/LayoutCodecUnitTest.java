@@ -0,0 +1,262 @@
+package com.concordia.smarthomesimulator;
+
+import com.concordia.smarthomesimulator.adapters.InhabitantAdapter;
+import com.concordia.smarthomesimulator.dataModels.*;
+import com.concordia.smarthomesimulator.enums.Orientation;
+import com.concordia.smarthomesimulator.enums.Permissions;
+import com.concordia.smarthomesimulator.enums.VentilationStatus;
+import com.concordia.smarthomesimulator.interfaces.IDevice;
+import com.concordia.smarthomesimulator.interfaces.IInhabitant;
+import com.concordia.smarthomesimulator.storage.LayoutCodec;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LayoutCodecUnitTest {
+
+    private HouseLayout createLayout(int roomCount) {
+        HouseLayout layout = new HouseLayout("layout", "user");
+        HeatingZone zone = new HeatingZone("zone");
+        zone.setDesiredTemperature(19.5);
+        for (int i = 0; i < roomCount; i++) {
+            Room room = new Room("room " + i, new Geometry(i * 4, -i, 4, 3));
+            room.setActualTemperature(20 + i);
+            room.setDesiredTemperature(22);
+            room.setIsTemperatureOverridden(i % 2 == 0);
+            room.setVentilationStatus(VentilationStatus.COOLING);
+            Door door = new Door(new Geometry(i * 4, 1, Orientation.VERTICAL));
+            door.setIsOpened(true);
+            door.setAutoLock(true);
+            Window window = new Window(new Geometry(i * 4 + 1, 0, Orientation.HORIZONTAL));
+            window.setIsLocked(true);
+            Light light = new Light(new Geometry(i * 4 + 2, 1));
+            light.setIsOpened(i % 2 == 1);
+            room.addDevice(door);
+            room.addDevice(window);
+            room.addDevice(light);
+            room.addInhabitant(new Inhabitant("person " + i, i == 1));
+            layout.addRoom(room);
+            zone.addRoom(room);
+        }
+        layout.addHeatingZone(zone);
+        return layout;
+    }
+
+    private byte[] serialize(HouseLayout layout) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(layout);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void assertGeometryEquals(Geometry expected, Geometry actual) {
+        assertEquals(expected, actual);
+        assertEquals(expected.getOrientation(), actual.getOrientation());
+    }
+
+    private void assertLayoutEquals(HouseLayout expected, HouseLayout actual) {
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getCurrentUser(), actual.getCurrentUser());
+        assertEquals(expected.getRooms().size(), actual.getRooms().size());
+        for (int i = 0; i < expected.getRooms().size(); i++) {
+            Room expectedRoom = expected.getRooms().get(i);
+            Room actualRoom = actual.getRooms().get(i);
+            assertEquals(expectedRoom.getName(), actualRoom.getName());
+            assertGeometryEquals(expectedRoom.getGeometry(), actualRoom.getGeometry());
+            assertEquals(expectedRoom.getActualTemperature(), actualRoom.getActualTemperature(), 0);
+            assertEquals(expectedRoom.getDesiredTemperature(), actualRoom.getDesiredTemperature(), 0);
+            assertEquals(expectedRoom.isTemperatureOverridden(), actualRoom.isTemperatureOverridden());
+            assertEquals(expectedRoom.getVentilationStatus(), actualRoom.getVentilationStatus());
+            assertEquals(expectedRoom.getInhabitants().size(), actualRoom.getInhabitants().size());
+            for (int j = 0; j < expectedRoom.getInhabitants().size(); j++) {
+                IInhabitant expectedInhabitant = expectedRoom.getInhabitants().get(j);
+                IInhabitant actualInhabitant = actualRoom.getInhabitants().get(j);
+                assertEquals(expectedInhabitant.getClass(), actualInhabitant.getClass());
+                assertEquals(expectedInhabitant.getName(), actualInhabitant.getName());
+                assertEquals(expectedInhabitant.isIntruder(), actualInhabitant.isIntruder());
+            }
+            assertEquals(expectedRoom.getDevices().size(), actualRoom.getDevices().size());
+            for (int j = 0; j < expectedRoom.getDevices().size(); j++) {
+                IDevice expectedDevice = expectedRoom.getDevices().get(j);
+                IDevice actualDevice = actualRoom.getDevices().get(j);
+                assertEquals(expectedDevice.getDeviceType(), actualDevice.getDeviceType());
+                assertEquals(expectedDevice.getIsOpened(), actualDevice.getIsOpened());
+                assertGeometryEquals(expectedDevice.getGeometry(), actualDevice.getGeometry());
+            }
+        }
+        assertEquals(expected.getHeatingZones().size(), actual.getHeatingZones().size());
+        for (int i = 0; i < expected.getHeatingZones().size(); i++) {
+            HeatingZone expectedZone = expected.getHeatingZones().get(i);
+            HeatingZone actualZone = actual.getHeatingZones().get(i);
+            assertEquals(expectedZone.getName(), actualZone.getName());
+            assertEquals(expectedZone.getDesiredTemperature(), actualZone.getDesiredTemperature(), 0);
+            assertEquals(expectedZone.getRooms().size(), actualZone.getRooms().size());
+            for (Room room : actualZone.getRooms()) {
+                // Zones must hold the rooms of the layout, not copies
+                assertSame(actual.getRoom(room.getName()), room);
+            }
+        }
+    }
+
+    @Test
+    public void layoutCodecRoundTripsLayouts() throws IOException {
+        // Setup
+        HouseLayout layout = createLayout(3);
+        // Act
+        byte[] data = LayoutCodec.encode(layout);
+        HouseLayout decoded = LayoutCodec.decode(data);
+        // Test
+        assertTrue(LayoutCodec.isCompact(data));
+        assertLayoutEquals(layout, decoded);
+    }
+
+    @Test
+    public void layoutCodecKeepsDeviceStates() throws IOException {
+        // Setup
+        HouseLayout layout = createLayout(2);
+        Room room = layout.getRoom("room 0");
+        Light light = (Light) room.getDevices().stream().filter(device -> device instanceof Light).findFirst().orElse(null);
+        Door door = (Door) room.getDevices().stream().filter(device -> device instanceof Door).findFirst().orElse(null);
+        Window window = room.getWindows().get(0);
+        // Act
+        HouseLayout decoded = LayoutCodec.decode(LayoutCodec.encode(layout));
+        Room decodedRoom = decoded.getRoom("room 0");
+        // Test
+        assertNotNull(light);
+        assertNotNull(door);
+        for (IDevice device : decodedRoom.getDevices()) {
+            if (device instanceof Light) {
+                assertEquals(light.isAutoOn(), ((Light) device).isAutoOn());
+                assertEquals(light.getIsOpened(), device.getIsOpened());
+            } else if (device instanceof Door) {
+                assertEquals(door.isAutoLock(), ((Door) device).isAutoLock());
+                assertEquals(door.getIsLocked(), ((Door) device).getIsLocked());
+            } else {
+                assertEquals(window.getIsLocked(), ((Window) device).getIsLocked());
+            }
+        }
+    }
+
+    @Test
+    public void layoutCodecKeepsUsersAndNulls() throws IOException {
+        // Setup
+        HouseLayout layout = new HouseLayout("layout", null);
+        layout.getRoom(Constants.DEFAULT_NAME_GARAGE).addInhabitant(new InhabitantAdapter(new User("parent", "secret", Permissions.PARENT)));
+        // Act
+        HouseLayout decoded = LayoutCodec.decode(LayoutCodec.encode(layout));
+        InhabitantAdapter user = (InhabitantAdapter) decoded.getRoom(Constants.DEFAULT_NAME_GARAGE).getInhabitants().get(0);
+        // Test
+        assertNull(decoded.getCurrentUser());
+        assertEquals("parent", user.getName());
+        assertEquals(Permissions.PARENT, user.getUser().getPermission());
+        assertLayoutEquals(layout, decoded);
+    }
+
+    @Test
+    public void layoutCodecReadsSerializedLayouts() throws IOException {
+        // Setup
+        HouseLayout layout = createLayout(2);
+        byte[] legacy = serialize(layout);
+        // Act
+        HouseLayout decoded = LayoutCodec.decode(legacy);
+        // Test
+        assertFalse(LayoutCodec.isCompact(legacy));
+        assertLayoutEquals(layout, decoded);
+    }
+
+    @Test(expected = IOException.class)
+    public void layoutCodecRejectsInvalidData() throws IOException {
+        LayoutCodec.decode(new byte[]{1, 2, 3, 4, 5});
+    }
+
+    @Test
+    public void layoutCodecRejectsTruncatedAndCorruptedData() throws IOException {
+        // Setup
+        byte[] encoded = LayoutCodec.encode(createLayout(3));
+        Random random = new Random(42);
+        int rejected = 0;
+        // Act
+        for (int length = 0; length < encoded.length; length++) {
+            try {
+                LayoutCodec.decode(Arrays.copyOf(encoded, length));
+            } catch (IOException e) {
+                rejected++;
+            }
+        }
+        for (int i = 0; i < 2000; i++) {
+            byte[] corrupted = encoded.clone();
+            // Keep the header, so the garbage reaches the payload decoder
+            for (int j = 0; j < 4; j++) {
+                int index = Integer.BYTES + 1 + random.nextInt(corrupted.length - Integer.BYTES - 1);
+                corrupted[index] = (byte) random.nextInt(256);
+            }
+            try {
+                LayoutCodec.decode(corrupted);
+            } catch (IOException e) {
+                // Only an IOException is expected, anything else fails the test
+            }
+        }
+        // Test
+        assertEquals(encoded.length, rejected);
+    }
+
+    @Test(expected = IOException.class)
+    public void layoutCodecRejectsCountsLargerThanTheInput() throws IOException {
+        // A string table of Integer.MAX_VALUE strings, with a single one present
+        LayoutCodec.decode(new byte[]{0x53, 0x48, 0x4C, 0x59, 1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 1, 'a'});
+    }
+
+    @Test(expected = IOException.class)
+    public void layoutCodecRejectsNegativeCounts() throws IOException {
+        // A single string of length -1
+        LayoutCodec.decode(new byte[]{0x53, 0x48, 0x4C, 0x59, 1, 1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F});
+    }
+
+    @Test
+    public void layoutCodecIsSmallerAndFasterThanSerialization() throws IOException {
+        // Setup
+        HouseLayout layout = createLayout(20);
+        int iterations = 200;
+        for (int i = 0; i < iterations; i++) {
+            LayoutCodec.decode(LayoutCodec.encode(layout));
+            LayoutCodec.decode(serialize(layout));
+        }
+        // Act
+        byte[] compact = null;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            compact = LayoutCodec.encode(layout);
+        }
+        long compactEncode = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            LayoutCodec.decode(compact);
+        }
+        long compactDecode = System.nanoTime() - start;
+        byte[] serialized = null;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            serialized = serialize(layout);
+        }
+        long serializedEncode = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            LayoutCodec.decode(serialized);
+        }
+        long serializedDecode = System.nanoTime() - start;
+        System.out.printf("Layout codec: %d bytes, encode %d us, decode %d us%n",
+            compact.length, compactEncode / iterations / 1000, compactDecode / iterations / 1000);
+        System.out.printf("Java serialization: %d bytes, encode %d us, decode %d us%n",
+            serialized.length, serializedEncode / iterations / 1000, serializedDecode / iterations / 1000);
+        // Test
+        // Timings vary too much between machines to be asserted, only the size is
+        assertTrue(compact.length * 4 < serialized.length);
+    }
+}
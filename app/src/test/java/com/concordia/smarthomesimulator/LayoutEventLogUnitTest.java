@@ -0,0 +1,183 @@
+package com.concordia.smarthomesimulator;
+
+import com.concordia.smarthomesimulator.dataModels.*;
+import com.concordia.smarthomesimulator.enums.DeviceType;
+import com.concordia.smarthomesimulator.events.AwayModeEnabledEvent;
+import com.concordia.smarthomesimulator.events.DeviceChangedEvent;
+import com.concordia.smarthomesimulator.events.InhabitantMovedEvent;
+import com.concordia.smarthomesimulator.events.RoomTemperatureChangedEvent;
+import com.concordia.smarthomesimulator.interfaces.ILayoutEvent;
+import com.concordia.smarthomesimulator.storage.LayoutCodec;
+import com.concordia.smarthomesimulator.storage.LayoutEventLog;
+import com.concordia.smarthomesimulator.storage.MemoryStorage;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class LayoutEventLogUnitTest {
+
+    private HouseLayout createLayout() {
+        HouseLayout layout = new HouseLayout("layout", null);
+        for (int i = 0; i < 20; i++) {
+            Room room = new Room("room " + i, new Geometry(i * 3, 0, 3, 3));
+            Door door = new Door(new Geometry(i * 3, 1));
+            door.setAutoLock(i % 2 == 0);
+            door.setIsOpened(true);
+            room.addDevice(door);
+            Window window = new Window(new Geometry(i * 3 + 1, 0));
+            window.setIsOpened(true);
+            room.addDevice(window);
+            room.addDevice(new Light(new Geometry(i * 3 + 1, 1)));
+            room.addInhabitant(new Inhabitant("inhabitant " + i, false));
+            layout.addRoom(room);
+        }
+        return layout;
+    }
+
+    private Light createLight(int room, boolean opened) {
+        Light light = new Light(new Geometry(room * 3 + 1, 1));
+        light.setIsOpened(opened);
+        return light;
+    }
+
+    @Test
+    public void layoutEventsChangeTheLayout() {
+        // Setup
+        HouseLayout layout = createLayout();
+        // Act
+        boolean lightChanged = new DeviceChangedEvent("room 0", createLight(0, true)).apply(layout);
+        boolean temperatureChanged = new RoomTemperatureChangedEvent("room 1", 25, true).apply(layout);
+        boolean inhabitantMoved = new InhabitantMovedEvent("inhabitant 2", "room 3").apply(layout);
+        boolean awayModeEnabled = new AwayModeEnabledEvent().apply(layout);
+        // Test
+        assertTrue(lightChanged && temperatureChanged && inhabitantMoved && awayModeEnabled);
+        assertTrue(layout.getRoom("room 0").getDevices().stream().allMatch(device -> device.getDeviceType() != DeviceType.LIGHT || device.getIsOpened()));
+        assertEquals(25, layout.getRoom("room 1").getDesiredTemperature(), 0);
+        assertTrue(layout.getRoom("room 1").isTemperatureOverridden());
+        assertFalse(layout.getRoom("room 2").hasInhabitant("inhabitant 2"));
+        assertTrue(layout.getRoom("room 3").hasInhabitant("inhabitant 2"));
+        assertFalse(layout.getRoom("room 0").getWindows().get(0).getIsOpened());
+    }
+
+    @Test
+    public void layoutEventsCanBeAppliedTwice() {
+        // Setup
+        HouseLayout layout = createLayout();
+        ILayoutEvent event = new InhabitantMovedEvent("inhabitant 2", "room 3");
+        event.apply(layout);
+        // Act
+        boolean changed = event.apply(layout);
+        // Test
+        assertFalse(changed);
+        assertTrue(layout.getRoom("room 3").hasInhabitant("inhabitant 2"));
+        assertFalse(new DeviceChangedEvent("missing", createLight(0, true)).apply(layout));
+    }
+
+    @Test
+    public void layoutEventLogReplaysTheChangesOnTheSavedLayout() throws IOException {
+        // Setup
+        MemoryStorage storage = new MemoryStorage();
+        LayoutEventLog log = new LayoutEventLog(storage, "events");
+        HouseLayout layout = createLayout();
+        byte[] snapshot = LayoutCodec.encode(layout);
+        // Act
+        for (ILayoutEvent event : Arrays.asList(
+            new DeviceChangedEvent("room 4", createLight(4, true)),
+            new RoomTemperatureChangedEvent("room 5", 18, true),
+            new InhabitantMovedEvent("inhabitant 6", "room 7"),
+            new AwayModeEnabledEvent())) {
+            event.apply(layout);
+            log.append("layout.txt", event);
+        }
+        HouseLayout loaded = LayoutCodec.decode(snapshot);
+        int replayed = new LayoutEventLog(storage, "events").replay("layout.txt", loaded);
+        // Test
+        assertEquals(4, replayed);
+        assertArrayEquals(LayoutCodec.encode(layout), LayoutCodec.encode(loaded));
+    }
+
+    @Test
+    public void layoutEventLogDropsATornRecord() throws IOException {
+        // Setup
+        MemoryStorage storage = new MemoryStorage();
+        LayoutEventLog log = new LayoutEventLog(storage, "events");
+        log.append("layout.txt", new RoomTemperatureChangedEvent("room 1", 18, true));
+        byte[] record = LayoutEventLog.encode(new RoomTemperatureChangedEvent("room 2", 18, true));
+        // Act
+        // A crash in the middle of the second write only leaves part of it
+        storage.append("events/layout.txt", new byte[]{0, 0, 0, (byte) (record.length + 8), 1, 2});
+        LayoutEventLog reopened = new LayoutEventLog(storage, "events");
+        int count = reopened.getEventCount("layout.txt");
+        int appended = reopened.append("layout.txt", new InhabitantMovedEvent("inhabitant 6", "room 7"));
+        // Test
+        assertEquals(1, count);
+        assertEquals(2, appended);
+        assertEquals(2, new LayoutEventLog(storage, "events").read("layout.txt").size());
+    }
+
+    @Test
+    public void layoutEventLogKeepsItsRecordsWhenTheRepairFails() throws IOException {
+        // Setup
+        boolean[] failing = {true};
+        MemoryStorage storage = new MemoryStorage() {
+            @Override
+            public synchronized void rename(String from, String to) throws IOException {
+                // A crash in the middle of the repair
+                if (failing[0]) {
+                    throw new IOException("Crash");
+                }
+                super.rename(from, to);
+            }
+        };
+        LayoutEventLog log = new LayoutEventLog(storage, "events");
+        log.append("layout.txt", new RoomTemperatureChangedEvent("room 1", 18, true));
+        log.append("layout.txt", new RoomTemperatureChangedEvent("room 2", 18, true));
+        storage.append("events/layout.txt", new byte[]{0, 0, 0, 1});
+        // Act
+        try {
+            new LayoutEventLog(storage, "events").read("layout.txt");
+            fail();
+        } catch (IOException e) {
+            // Expected
+        }
+        failing[0] = false;
+        int count = new LayoutEventLog(storage, "events").read("layout.txt").size();
+        // Test
+        assertEquals(2, count);
+        assertEquals(2, new LayoutEventLog(storage, "events").read("layout.txt").size());
+        assertFalse(storage.exists("events/layout.txt.repair"));
+    }
+
+    @Test
+    public void layoutEventLogIsClearedAfterTheLayoutIsWritten() throws IOException {
+        // Setup
+        LayoutEventLog log = new LayoutEventLog(new MemoryStorage(), "events");
+        log.append("layout.txt", new AwayModeEnabledEvent());
+        // Act
+        log.clear("layout.txt");
+        // Test
+        assertEquals(0, log.getEventCount("layout.txt"));
+        assertEquals(0, log.replay("layout.txt", createLayout()));
+    }
+
+    @Test
+    public void layoutEventLogSizeAgainstTheWholeLayout() throws IOException {
+        // Setup
+        MemoryStorage storage = new MemoryStorage();
+        LayoutEventLog log = new LayoutEventLog(storage, "events");
+        HouseLayout layout = createLayout();
+        int events = 50;
+        // Act
+        for (int i = 0; i < events; i++) {
+            log.append("layout.txt", new DeviceChangedEvent("room " + (i % 20), createLight(i % 20, i % 2 == 0)));
+        }
+        long logSize = log.getSize("layout.txt");
+        long layoutSize = LayoutCodec.encode(layout).length;
+        System.out.printf("Layout: %d bytes, event: %d bytes%n", layoutSize, logSize / events);
+        // Test
+        assertTrue(logSize / events * 10 < layoutSize);
+    }
+}
@@ -0,0 +1,87 @@
+package com.concordia.smarthomesimulator;
+
+import com.concordia.smarthomesimulator.dataModels.Geometry;
+import com.concordia.smarthomesimulator.dataModels.HouseLayout;
+import com.concordia.smarthomesimulator.dataModels.Room;
+import com.concordia.smarthomesimulator.storage.LayoutSaveScheduler;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.*;
+
+public class LayoutSaveSchedulerUnitTest {
+
+    private HouseLayout createLayout() {
+        HouseLayout layout = new HouseLayout("layout", null);
+        layout.addRoom(new Room("room", new Geometry()));
+        return layout;
+    }
+
+    @Test
+    public void layoutSaveSchedulerSkipsUnchangedLayouts() {
+        // Setup
+        LayoutSaveScheduler scheduler = new LayoutSaveScheduler(0);
+        HouseLayout layout = createLayout();
+        AtomicInteger writes = new AtomicInteger();
+        Predicate<HouseLayout> writer = saved -> writes.incrementAndGet() > 0;
+        // Act
+        scheduler.saveNow("layout", layout, writer);
+        scheduler.saveNow("layout", layout, writer);
+        layout.getRoom("room").setActualTemperature(42);
+        scheduler.saveNow("layout", layout, writer);
+        // Test
+        assertEquals(2, writes.get());
+        assertEquals(2, scheduler.getPerformedCount());
+        assertEquals(1, scheduler.getSkippedCount());
+    }
+
+    @Test
+    public void layoutSaveSchedulerCoalescesRequests() {
+        // Setup
+        LayoutSaveScheduler scheduler = new LayoutSaveScheduler(60000);
+        HouseLayout layout = createLayout();
+        AtomicInteger writes = new AtomicInteger();
+        Predicate<HouseLayout> writer = saved -> writes.incrementAndGet() > 0;
+        // Act
+        for (int i = 0; i < 10; i++) {
+            layout.getRoom("room").setActualTemperature(i);
+            scheduler.requestSave("layout", layout, writer);
+        }
+        scheduler.flush();
+        // Test
+        assertEquals(1, writes.get());
+        assertEquals(9, scheduler.getCoalescedCount());
+        assertEquals(1, scheduler.getPerformedCount());
+    }
+
+    @Test
+    public void layoutSaveSchedulerWritesAgainAfterFailure() {
+        // Setup
+        LayoutSaveScheduler scheduler = new LayoutSaveScheduler(0);
+        HouseLayout layout = createLayout();
+        AtomicInteger attempts = new AtomicInteger();
+        // Act
+        boolean first = scheduler.saveNow("layout", layout, saved -> attempts.incrementAndGet() > 1);
+        boolean second = scheduler.saveNow("layout", layout, saved -> attempts.incrementAndGet() > 1);
+        // Test
+        assertFalse(first);
+        assertTrue(second);
+        assertEquals(2, attempts.get());
+        assertEquals(0, scheduler.getSkippedCount());
+    }
+
+    @Test
+    public void layoutSaveSchedulerWritesOtherLayoutObjects() {
+        // Setup
+        LayoutSaveScheduler scheduler = new LayoutSaveScheduler(0);
+        AtomicInteger writes = new AtomicInteger();
+        Predicate<HouseLayout> writer = saved -> writes.incrementAndGet() > 0;
+        // Act
+        scheduler.saveNow("layout", createLayout(), writer);
+        scheduler.saveNow("layout", createLayout(), writer);
+        // Test
+        assertEquals(2, writes.get());
+    }
+}
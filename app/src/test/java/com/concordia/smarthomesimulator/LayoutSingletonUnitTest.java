@@ -1,8 +1,13 @@
 package com.concordia.smarthomesimulator;
 
+import com.concordia.smarthomesimulator.dataModels.HouseLayout;
+import com.concordia.smarthomesimulator.dataModels.Inhabitant;
 import com.concordia.smarthomesimulator.singletons.LayoutSingleton;
 import org.junit.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.concordia.smarthomesimulator.Constants.DEFAULT_NAME_GARAGE;
 import static org.junit.Assert.assertEquals;
 
 public class LayoutSingletonUnitTest {
@@ -14,4 +19,21 @@ public class LayoutSingletonUnitTest {
         // Test
         assertEquals(layoutSingleton, sameReferenceToLayoutSingleton);
     }
+
+    @Test
+    public void layoutSingletonOnlyReportsIntrudersOfANewLayout() {
+        // Setup
+        LayoutSingleton layoutSingleton = LayoutSingleton.getInstance();
+        AtomicInteger alerts = new AtomicInteger();
+        layoutSingleton.setOnIntruderDetectedListener(alerts::incrementAndGet);
+        HouseLayout layout = new HouseLayout("layout", "user");
+        layout.getRoom(DEFAULT_NAME_GARAGE).addInhabitant(new Inhabitant("Intruder", true));
+        // Act
+        layoutSingleton.setLayout(layout);
+        layoutSingleton.setLayout(layout);
+        layoutSingleton.setLayout(layout);
+        layoutSingleton.setLayout(null);
+        // Test
+        assertEquals(1, alerts.get());
+    }
 }
@@ -0,0 +1,132 @@
+package com.concordia.smarthomesimulator;
+
+import com.concordia.smarthomesimulator.dataModels.LogEntry;
+import com.concordia.smarthomesimulator.dataModels.LogExportResult;
+import com.concordia.smarthomesimulator.dataModels.LogQuery;
+import com.concordia.smarthomesimulator.enums.CompressionCodec;
+import com.concordia.smarthomesimulator.enums.LogExportFormat;
+import com.concordia.smarthomesimulator.enums.LogImportance;
+import com.concordia.smarthomesimulator.storage.LogExporter;
+import com.concordia.smarthomesimulator.storage.SegmentedLogStore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+public class LogExporterUnitTest {
+
+    private static final String[] COMPONENTS = {"Smart Heating", "Smart Security", "Smart Core", "Smart Lights"};
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private LogEntry createEntry(int i) {
+        String message = "The door of Room " + (i % 40) + " was opened";
+        return new LogEntry(COMPONENTS[i % COMPONENTS.length], message, LogImportance.values()[i % LogImportance.values().length], new Date(1600000000000L + i * 1000L));
+    }
+
+    private SegmentedLogStore createStore(int entries) throws IOException {
+        SegmentedLogStore store = new SegmentedLogStore(folder.newFolder(), 256 * 1024, 0, 0, 0, CompressionCodec.DEFLATE_FAST);
+        for (int i = 0; i < entries; i++) {
+            store.append(createEntry(i));
+        }
+        store.flush();
+        return store;
+    }
+
+    private String export(SegmentedLogStore store, LogExportFormat format, LogQuery query) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LogExportResult result = new LogExporter(format).export(store, query, out);
+        assertEquals(out.size(), result.getSize());
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void logExporterWritesCsv() throws IOException {
+        // Setup
+        try (SegmentedLogStore store = createStore(3)) {
+            store.append(new LogEntry("Smart Core", "Said \"hi\", twice\nthen left", LogImportance.MINOR, new Date(1600000010000L)));
+            store.flush();
+            // Act
+            String csv = export(store, LogExportFormat.CSV, new LogQuery(2));
+            // Test
+            String[] lines = csv.split("\n", -1);
+            assertEquals("time,importance,component,message", lines[0]);
+            // Newest first, with quotes doubled and line breaks kept inside the quotes
+            assertEquals("2020-09-13T12:26:50Z,MINOR,Smart Core,\"Said \"\"hi\"\", twice", lines[1]);
+            assertEquals("then left\"", lines[2]);
+            assertEquals("2020-09-13T12:26:42Z,CRITICAL,Smart Core,The door of Room 2 was opened", lines[3]);
+            assertEquals(7, lines.length);
+            assertEquals("", lines[6]);
+        }
+    }
+
+    @Test
+    public void logExporterWritesJsonLines() throws IOException {
+        // Setup
+        try (SegmentedLogStore store = createStore(0)) {
+            store.append(new LogEntry("Smart Core", "Path C:\\home\t\"quoted\"\u0001", LogImportance.ASSERT, new Date(1600000000123L)));
+            store.flush();
+            // Act
+            String json = export(store, LogExportFormat.JSON_LINES, new LogQuery(10));
+            // Test
+            assertEquals("{\"time\":\"2020-09-13T12:26:40.123Z\",\"importance\":\"ASSERT\",\"component\":\"Smart Core\","
+                + "\"message\":\"Path C:\\\\home\\t\\\"quoted\\\"\\u0001\"}\n", json);
+        }
+    }
+
+    @Test
+    public void logExporterOnlyWritesTheMatchedEntries() throws IOException {
+        // Setup
+        try (SegmentedLogStore store = createStore(1000)) {
+            LogQuery query = new LogQuery(50)
+                .withImportances(LogImportance.CRITICAL)
+                .withComponents("Smart Core")
+                .withTimeRange(new Date(1600000000000L + 100 * 1000L), new Date(1600000000000L + 200 * 1000L));
+            // Act
+            String json = export(store, LogExportFormat.JSON_LINES, query);
+            // Test
+            String[] lines = json.split("\n");
+            // Entries 102 to 198, every fourth one
+            assertEquals(25, lines.length);
+            for (String line : lines) {
+                assertTrue(line.contains("\"importance\":\"CRITICAL\",\"component\":\"Smart Core\""));
+            }
+            assertTrue(lines[0].contains("Room 38"));
+            assertTrue(lines[24].contains("Room 22"));
+        }
+    }
+
+    @Test
+    public void logExporterThroughput() throws IOException {
+        // Setup
+        int entries = 200000;
+        try (SegmentedLogStore store = createStore(entries)) {
+            // Nothing is kept, only the bytes are counted
+            OutputStream discard = new OutputStream() {
+                @Override
+                public void write(int b) {
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                }
+            };
+            for (LogExportFormat format : LogExportFormat.values()) {
+                // Act
+                LogExportResult result = new LogExporter(format).export(store, new LogQuery(500), discard);
+                System.out.println("Export to " + format + ": " + result);
+                // Test
+                assertEquals(entries, result.getEntryCount());
+                assertTrue(result.getSize() > entries * 60L);
+            }
+        }
+    }
+}
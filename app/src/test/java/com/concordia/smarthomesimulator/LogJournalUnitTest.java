@@ -0,0 +1,160 @@
+package com.concordia.smarthomesimulator;
+
+import com.concordia.smarthomesimulator.dataModels.LogEntry;
+import com.concordia.smarthomesimulator.enums.LogImportance;
+import com.concordia.smarthomesimulator.storage.LogJournal;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LogJournalUnitTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private List<LogEntry> readAll(LogJournal journal) throws IOException {
+        List<LogEntry> entries = new ArrayList<>();
+        for (LogEntry entry : journal.newestFirst()) {
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    @Test
+    public void logJournalReadsNewestFirst() throws IOException {
+        // Setup
+        File file = folder.newFile("logs.journal");
+        try (LogJournal journal = new LogJournal(file)) {
+            // Act
+            for (int i = 0; i < 100; i++) {
+                journal.append(new LogEntry("Component", "Message " + i, LogImportance.MINOR));
+            }
+            List<LogEntry> entries = readAll(journal);
+            // Test
+            assertEquals(100, entries.size());
+            assertEquals("Message 99", entries.get(0).getMessage());
+            assertEquals("Message 0", entries.get(99).getMessage());
+        }
+    }
+
+    @Test
+    public void logJournalKeepsEntryFields() throws IOException {
+        // Setup
+        File file = folder.newFile("logs.journal");
+        Date date = new Date(1234567890L);
+        try (LogJournal journal = new LogJournal(file)) {
+            journal.append(new LogEntry("Map", "Light turned on", LogImportance.CRITICAL, date));
+        }
+        // Act
+        try (LogJournal journal = new LogJournal(file)) {
+            LogEntry entry = readAll(journal).get(0);
+            // Test
+            assertEquals("Map", entry.getComponent());
+            assertEquals("Light turned on", entry.getMessage());
+            assertEquals(LogImportance.CRITICAL, entry.getImportance());
+            assertEquals(date, entry.getDateTime());
+        }
+    }
+
+    @Test
+    public void logJournalDropsIncompleteRecord() throws IOException {
+        // Setup
+        File file = folder.newFile("logs.journal");
+        try (LogJournal journal = new LogJournal(file)) {
+            journal.append(new LogEntry("A", "first", LogImportance.MINOR));
+            journal.append(new LogEntry("A", "second", LogImportance.MINOR));
+        }
+        // Simulate a crash in the middle of a write
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(new byte[] {0, 0, 0, 42, 1, 2, 3});
+        }
+        // Act
+        try (LogJournal journal = new LogJournal(file)) {
+            journal.append(new LogEntry("A", "third", LogImportance.MINOR));
+            List<LogEntry> entries = readAll(journal);
+            // Test
+            assertEquals(3, entries.size());
+            assertEquals("third", entries.get(0).getMessage());
+            assertEquals("first", entries.get(2).getMessage());
+        }
+    }
+
+    @Test
+    public void logJournalDropsZeroesLeftByACrash() throws IOException {
+        // Setup
+        File file = folder.newFile("logs.journal");
+        try (LogJournal journal = new LogJournal(file)) {
+            journal.append(new LogEntry("A", "first", LogImportance.MINOR));
+        }
+        // Simulate blocks allocated but never written before the crash
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(new byte[64]);
+        }
+        // Act
+        try (LogJournal journal = new LogJournal(file)) {
+            journal.append(new LogEntry("A", "second", LogImportance.MINOR));
+            List<LogEntry> entries = readAll(journal);
+            // Test
+            assertEquals(2, entries.size());
+            assertEquals("second", entries.get(0).getMessage());
+            assertEquals("first", entries.get(1).getMessage());
+        }
+    }
+
+    @Test
+    public void logJournalDropsRecordsThatDoNotDecode() throws IOException {
+        // Setup
+        File file = folder.newFile("logs.journal");
+        try (LogJournal journal = new LogJournal(file)) {
+            journal.append(new LogEntry("A", "first", LogImportance.MINOR));
+        }
+        byte[] payload = LogJournal.encode(new LogEntry("A", "second", LogImportance.MINOR));
+        // An importance that does not exist, framed with matching lengths
+        payload[Long.BYTES] = (byte) 0xFF;
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file, true))) {
+            out.writeInt(payload.length);
+            out.write(payload);
+            out.writeInt(payload.length);
+        }
+        // Act
+        try (LogJournal journal = new LogJournal(file)) {
+            List<LogEntry> entries = readAll(journal);
+            // Test
+            assertEquals(1, entries.size());
+            assertEquals("first", entries.get(0).getMessage());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void logJournalRejectsInvalidImportances() throws IOException {
+        // Setup
+        byte[] payload = LogJournal.encode(new LogEntry("A", "message", LogImportance.MINOR));
+        payload[Long.BYTES] = (byte) LogImportance.values().length;
+        // Act
+        LogJournal.decode(payload);
+    }
+
+    @Test
+    public void logJournalCanBeCleared() throws IOException {
+        // Setup
+        File file = folder.newFile("logs.journal");
+        try (LogJournal journal = new LogJournal(file)) {
+            journal.append(new LogEntry("A", "first", LogImportance.MINOR));
+            // Act
+            journal.clear();
+            // Test
+            assertEquals(0, journal.size());
+            assertFalse(journal.newestFirst().iterator().hasNext());
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.concordia.smarthomesimulator;
 
 import com.concordia.smarthomesimulator.dataModels.*;
+import com.concordia.smarthomesimulator.interfaces.IDevice;
+import com.concordia.smarthomesimulator.simulation.LightsSchedule;
 import org.junit.Test;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 
 import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
 
 public class RoomUnitTest {
 
@@ -121,4 +128,120 @@ public class RoomUnitTest {
         // Test
         assertEquals(room.getInhabitants().size(), 1);
     }
+
+    @Test
+    public void roomInhabitantsAreFoundAndCountedByName() {
+        // Setup
+        Inhabitant inhabitant = new Inhabitant("Inhabitant", false);
+        Inhabitant intruder = new Inhabitant("Intruder", true);
+        Room room = new Room("room", new Geometry());
+        room.addInhabitants(new ArrayList<>(Arrays.asList(inhabitant, intruder)));
+        // Act
+        Room clone = (Room) room.clone();
+        room.removeInhabitant("INTRUDER");
+        // Test
+        assertSame(inhabitant, room.getInhabitant("inhabitant"));
+        assertNull(room.getInhabitant("intruder"));
+        assertFalse(room.hasInhabitant("Intruder"));
+        assertEquals(0, room.getIntruderCount());
+        assertEquals(1, clone.getIntruderCount());
+        assertTrue(clone.hasInhabitant("intruder"));
+    }
+
+    @Test
+    public void roomDevicesCanBeReadWithoutTheList() {
+        // Setup
+        Room room = new Room("room", new Geometry());
+        room.addDevice(new Window(new Geometry(0, 1)));
+        room.addDevice(new Light(new Geometry(0, 2)));
+        room.addDevice(new Door(new Geometry(0, 3)));
+        room.addDevice(new Light(new Geometry(0, 4)));
+        // Act
+        ArrayList<IDevice> devices = new ArrayList<>();
+        for (int i = 0; i < room.getDeviceCount(); i++) {
+            devices.add(room.getDevice(i));
+        }
+        // Test
+        assertEquals(room.getDevices(), devices);
+        assertEquals(1, room.getDoors().size());
+        assertEquals(2, room.getLights().size());
+    }
+
+    @Test
+    public void roomDeviceLoopsDoNotAllocate() {
+        // Setup
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        long thread = Thread.currentThread().getId();
+        HouseLayout layout = new HouseLayout("layout", null);
+        for (int i = 0; i < 200; i++) {
+            Room room = new Room("room " + i, new Geometry(i, 0));
+            room.addDevice(new Door(new Geometry(i, 1)));
+            Light light = new Light(new Geometry(i, 2));
+            light.setAutoOn(true);
+            room.addDevice(light);
+            room.addDevice(new Window(new Geometry(i, 3)));
+            layout.addRoom(room);
+        }
+        LightsSchedule schedule = new LightsSchedule(LocalTime.of(19, 0), LocalTime.of(5, 0));
+        LocalDateTime onTime = LocalDateTime.of(2020, 1, 1, 19, 0);
+        int runs = 2000;
+        // Warm up
+        for (int run = 0; run < runs; run++) {
+            countOpened(layout);
+            countOpenedFromLists(layout);
+            schedule.apply(layout, onTime);
+        }
+        // Act
+        long start = allocations.getThreadAllocatedBytes(thread);
+        int opened = 0;
+        for (int run = 0; run < runs; run++) {
+            opened += countOpened(layout);
+        }
+        long indexed = allocations.getThreadAllocatedBytes(thread) - start;
+        start = allocations.getThreadAllocatedBytes(thread);
+        for (int run = 0; run < runs; run++) {
+            schedule.apply(layout, onTime);
+        }
+        long lights = allocations.getThreadAllocatedBytes(thread) - start;
+        start = allocations.getThreadAllocatedBytes(thread);
+        for (int run = 0; run < runs; run++) {
+            opened -= countOpenedFromLists(layout);
+        }
+        long lists = allocations.getThreadAllocatedBytes(thread) - start;
+        System.out.printf("Allocated per pass over %d devices: getDevice %d bytes, lights schedule %d bytes, getDevices %d bytes%n",
+            LayoutSummary.countDevices(layout), indexed / runs, lights / runs, lists / runs);
+        // Test
+        assertEquals(0, opened);
+        assertTrue(indexed < runs);
+        assertTrue(lights < runs);
+        assertTrue(lists > runs * 1000L);
+    }
+
+    private int countOpened(HouseLayout layout) {
+        int opened = 0;
+        ArrayList<Room> rooms = layout.getRooms();
+        for (int i = 0; i < rooms.size(); i++) {
+            Room room = rooms.get(i);
+            for (int j = 0; j < room.getDeviceCount(); j++) {
+                if (room.getDevice(j).getIsOpened()) {
+                    opened++;
+                }
+            }
+        }
+        return opened;
+    }
+
+    private int countOpenedFromLists(HouseLayout layout) {
+        int opened = 0;
+        for (Room room : layout.getRooms()) {
+            for (IDevice device : room.getDevices()) {
+                if (device.getIsOpened()) {
+                    opened++;
+                }
+            }
+        }
+        return opened;
+    }
 }
\ No newline at end of file
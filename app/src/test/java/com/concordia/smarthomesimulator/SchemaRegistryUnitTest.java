@@ -0,0 +1,141 @@
+package com.concordia.smarthomesimulator;
+
+import com.concordia.smarthomesimulator.dataModels.*;
+import com.concordia.smarthomesimulator.enums.Permissions;
+import com.concordia.smarthomesimulator.storage.LayoutCatalog;
+import com.concordia.smarthomesimulator.storage.LayoutCodec;
+import com.concordia.smarthomesimulator.storage.MemoryStorage;
+import com.concordia.smarthomesimulator.storage.SchemaRegistry;
+import com.concordia.smarthomesimulator.storage.UserbaseStore;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SchemaRegistryUnitTest {
+
+    private static final int MAGIC = 0x54455354;
+
+    private byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private SchemaRegistry createRegistry() {
+        return new SchemaRegistry(MAGIC, 3)
+            .register(0, payload -> bytes(new String(payload, StandardCharsets.UTF_8) + ">1"))
+            .register(1, payload -> bytes(new String(payload, StandardCharsets.UTF_8) + ">2"))
+            .register(2, payload -> bytes(new String(payload, StandardCharsets.UTF_8) + ">3"));
+    }
+
+    @Test
+    public void schemaRegistryMigratesOneVersionAfterTheOther() throws IOException {
+        // Setup
+        SchemaRegistry registry = createRegistry();
+        // Act
+        byte[] unversioned = registry.unwrap(bytes("0"));
+        byte[] migrated = registry.migrate(1, bytes("1"));
+        byte[] current = registry.unwrap(registry.wrap(bytes("3")));
+        // Test
+        assertArrayEquals(bytes("0>1>2>3"), unversioned);
+        assertArrayEquals(bytes("1>2>3"), migrated);
+        assertArrayEquals(bytes("3"), current);
+        assertEquals(0, registry.getVersion(bytes("0")));
+        assertEquals(3, registry.getVersion(registry.wrap(bytes("3"))));
+    }
+
+    @Test(expected = IOException.class)
+    public void schemaRegistryRejectsNewerVersions() throws IOException {
+        // Act
+        createRegistry().migrate(4, bytes("4"));
+    }
+
+    @Test(expected = IOException.class)
+    public void schemaRegistryRejectsMissingMigrations() throws IOException {
+        // Setup
+        SchemaRegistry registry = new SchemaRegistry(MAGIC, 2).register(1, payload -> payload);
+        // Act
+        registry.unwrap(bytes("0"));
+    }
+
+    @Test
+    public void schemaRegistryAndLayoutCodecAgreeOnTruncatedHeaders() throws IOException {
+        // Setup
+        byte[] magicOnly = Arrays.copyOf(LayoutCodec.encode(new HouseLayout("layout", "user")), Integer.BYTES);
+        SchemaRegistry registry = new SchemaRegistry(MAGIC, 1);
+        byte[] registryMagicOnly = new byte[]{0x54, 0x45, 0x53, 0x54};
+        // Act
+        boolean compact = LayoutCodec.isCompact(magicOnly);
+        boolean header = registry.hasHeader(registryMagicOnly);
+        // Test
+        assertTrue(compact);
+        assertTrue(header);
+        try {
+            registry.getVersion(registryMagicOnly);
+            fail("A truncated header has no version");
+        } catch (IOException e) {
+            // Expected
+        }
+        try {
+            LayoutCodec.getVersion(magicOnly);
+            fail("A truncated header has no version");
+        } catch (IOException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void layoutCatalogMigratesLayoutsOnlyWhenSaved() throws IOException {
+        // Setup
+        MemoryStorage storage = new MemoryStorage();
+        byte[] serialized = serialize(new HouseLayout("legacy", null));
+        storage.put("layouts/legacy.txt", serialized);
+        LayoutCatalog catalog = new LayoutCatalog(storage, "layouts.catalog", "layouts");
+        // Act
+        catalog.refresh();
+        HouseLayout layout = catalog.load(catalog.find("legacy"));
+        byte[] read = storage.get("layouts/legacy.txt");
+        catalog.save(layout, "legacy.txt");
+        // Test
+        assertEquals("legacy", layout.getName());
+        assertArrayEquals(serialized, read);
+        assertEquals(0, LayoutCodec.getVersion(read));
+        assertTrue(LayoutCodec.isCurrent(storage.get("layouts/legacy.txt")));
+    }
+
+    @Test
+    public void userbaseStoreMigratesUserbasesOnlyWhenSaved() throws IOException {
+        // Setup
+        MemoryStorage storage = new MemoryStorage();
+        List<User> users = new ArrayList<>();
+        users.add(new User("a", "a", Permissions.PARENT));
+        byte[] serialized = serialize(new Userbase(users));
+        storage.put("users.txt", serialized);
+        UserbaseStore store = new UserbaseStore(storage, "users.txt", 60000);
+        // Act
+        Userbase userbase = store.get();
+        byte[] read = storage.get("users.txt");
+        store.save(userbase);
+        store.flush();
+        // Test
+        assertEquals(1, userbase.getUsers().size());
+        assertArrayEquals(serialized, read);
+        assertEquals(userbase, new UserbaseStore(storage, "users.txt", 0).get());
+        // The saved file starts with the schema header instead of the serialization stream header
+        assertNotEquals(serialized[0], storage.get("users.txt")[0]);
+    }
+}
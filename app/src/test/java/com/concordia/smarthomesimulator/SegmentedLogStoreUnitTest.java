@@ -0,0 +1,215 @@
+package com.concordia.smarthomesimulator;
+
+import com.concordia.smarthomesimulator.dataModels.LogEntry;
+import com.concordia.smarthomesimulator.dataModels.LogPage;
+import com.concordia.smarthomesimulator.dataModels.LogQuery;
+import com.concordia.smarthomesimulator.enums.LogImportance;
+import com.concordia.smarthomesimulator.storage.SegmentedLogStore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SegmentedLogStoreUnitTest {
+
+    private static final long HOUR = 60 * 60 * 1000L;
+    private static final long DAY = 24 * HOUR;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private List<LogEntry> readAll(SegmentedLogStore store) throws IOException {
+        List<LogEntry> entries = new ArrayList<>();
+        for (LogEntry entry : store.newestFirst()) {
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    private LogEntry entryAt(long time, String message) {
+        return new LogEntry("Component", message, LogImportance.MINOR, new Date(time));
+    }
+
+    @Test
+    public void segmentedLogStoreRotatesOnSize() throws IOException {
+        // Setup
+        File directory = folder.newFolder("logs");
+        try (SegmentedLogStore store = new SegmentedLogStore(directory, 1024, 0, 0, 0)) {
+            // Act
+            for (int i = 0; i < 200; i++) {
+                store.append(entryAt(i, "Message " + i));
+            }
+            List<LogEntry> entries = readAll(store);
+            // Test
+            assertTrue(store.getSegmentCount() > 1);
+            assertEquals(200, entries.size());
+            assertEquals("Message 199", entries.get(0).getMessage());
+            assertEquals("Message 0", entries.get(199).getMessage());
+        }
+    }
+
+    @Test
+    public void segmentedLogStoreRotatesOnTime() throws IOException {
+        // Setup
+        File directory = folder.newFolder("logs");
+        try (SegmentedLogStore store = new SegmentedLogStore(directory, 0, DAY, 0, 0)) {
+            // Act
+            for (int i = 0; i < 3 * 24; i++) {
+                store.append(entryAt(i * HOUR, "Message " + i));
+            }
+            // Test
+            assertEquals(3, store.getSegmentCount());
+        }
+    }
+
+    @Test
+    public void segmentedLogStoreDeletesSegmentsOlderThanRetention() throws IOException {
+        // Setup
+        File directory = folder.newFolder("logs");
+        try (SegmentedLogStore store = new SegmentedLogStore(directory, 0, DAY, 0, 7 * DAY)) {
+            // Act
+            for (int i = 0; i < 30 * 24; i++) {
+                store.append(entryAt(i * HOUR, "Message " + i));
+            }
+            List<LogEntry> entries = readAll(store);
+            // Test
+            assertTrue(store.getSegmentCount() <= 8);
+            long oldest = entries.get(entries.size() - 1).getDateTime().getTime();
+            long newest = entries.get(0).getDateTime().getTime();
+            assertTrue(newest - oldest <= 8 * DAY);
+            assertTrue(newest - oldest >= 7 * DAY);
+        }
+    }
+
+    @Test
+    public void segmentedLogStoreDeletesSegmentsOverSizeLimit() throws IOException {
+        // Setup
+        File directory = folder.newFolder("logs");
+        try (SegmentedLogStore store = new SegmentedLogStore(directory, 1024, 0, 4 * 1024, 0)) {
+            // Act
+            for (int i = 0; i < 1000; i++) {
+                store.append(entryAt(i, "Message " + i));
+            }
+            store.flush();
+            // Test
+            assertTrue(store.size() <= 5 * 1024);
+            assertEquals("Message 999", readAll(store).get(0).getMessage());
+            assertEquals(store.getSegmentCount(), directory.listFiles((dir, name) -> name.endsWith(".journal")).length);
+        }
+    }
+
+    @Test
+    public void segmentedLogStoreReopensExistingSegments() throws IOException {
+        // Setup
+        File directory = folder.newFolder("logs");
+        try (SegmentedLogStore store = new SegmentedLogStore(directory, 1024, 0, 0, 0)) {
+            for (int i = 0; i < 100; i++) {
+                store.append(entryAt(i, "Message " + i));
+            }
+        }
+        // Act
+        try (SegmentedLogStore store = new SegmentedLogStore(directory, 1024, 0, 0, 0)) {
+            store.append(entryAt(100, "Message 100"));
+            List<LogEntry> entries = readAll(store);
+            // Test
+            assertEquals(101, entries.size());
+            assertEquals("Message 100", entries.get(0).getMessage());
+            assertEquals("Message 0", entries.get(100).getMessage());
+        }
+    }
+
+    @Test
+    public void segmentedLogStoreCanBeCleared() throws IOException {
+        // Setup
+        File directory = folder.newFolder("logs");
+        try (SegmentedLogStore store = new SegmentedLogStore(directory, 1024, 0, 0, 0)) {
+            for (int i = 0; i < 100; i++) {
+                store.append(entryAt(i, "Message " + i));
+            }
+            // Act
+            store.clear();
+            // Test
+            assertEquals(0, store.getSegmentCount());
+            assertEquals(0, directory.listFiles().length);
+            assertFalse(store.newestFirst().iterator().hasNext());
+        }
+    }
+
+    @Test
+    public void segmentedLogStorePagesThroughEveryEntry() throws IOException {
+        // Setup
+        File directory = folder.newFolder("logs");
+        try (SegmentedLogStore store = new SegmentedLogStore(directory, 4 * 1024, 0, 0, 0)) {
+            for (int i = 0; i < 1000; i++) {
+                store.append(entryAt(i, "Message " + i));
+            }
+            LogQuery query = new LogQuery(30);
+            // Act
+            List<LogEntry> entries = new ArrayList<>();
+            LogPage page = store.query(query, null);
+            entries.addAll(page.getEntries());
+            while (page.hasNext()) {
+                // Entries written while paging must not move the cursor
+                store.append(entryAt(5000, "Late message"));
+                page = store.query(query, page.getNext());
+                entries.addAll(page.getEntries());
+            }
+            // Test
+            assertEquals(1000, entries.size());
+            for (int i = 0; i < 1000; i++) {
+                assertEquals("Message " + (999 - i), entries.get(i).getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void segmentedLogStoreFiltersQueries() throws IOException {
+        // Setup
+        File directory = folder.newFolder("logs");
+        try (SegmentedLogStore store = new SegmentedLogStore(directory, 4 * 1024, 0, 0, 0)) {
+            for (int i = 0; i < 1000; i++) {
+                LogImportance importance = i % 100 == 0 ? LogImportance.CRITICAL : LogImportance.MINOR;
+                String component = i % 2 == 0 ? "Even" : "Odd";
+                store.append(new LogEntry(component, "Message " + i, importance, new Date(i)));
+            }
+            // Act
+            LogPage critical = store.query(new LogQuery(100).withImportances(LogImportance.CRITICAL), null);
+            LogPage odd = store.query(new LogQuery(1000).withComponents("Odd").withTimeRange(new Date(100), new Date(200)), null);
+            // Test
+            assertEquals(10, critical.getEntries().size());
+            assertEquals("Message 900", critical.getEntries().get(0).getMessage());
+            assertFalse(critical.hasNext());
+            assertEquals(50, odd.getEntries().size());
+            assertEquals("Message 199", odd.getEntries().get(0).getMessage());
+            assertEquals("Message 101", odd.getEntries().get(49).getMessage());
+        }
+    }
+
+    @Test
+    public void segmentedLogStoreRebuildsMissingIndexes() throws IOException {
+        // Setup
+        File directory = folder.newFolder("logs");
+        try (SegmentedLogStore store = new SegmentedLogStore(directory, 4 * 1024, 0, 0, 0)) {
+            for (int i = 0; i < 1000; i++) {
+                store.append(entryAt(i, "Message " + i));
+            }
+        }
+        for (File index : directory.listFiles((dir, name) -> name.endsWith(".index"))) {
+            assertTrue(index.delete());
+        }
+        // Act
+        try (SegmentedLogStore store = new SegmentedLogStore(directory, 4 * 1024, 0, 0, 0)) {
+            LogPage page = store.query(new LogQuery(10).withTimeRange(new Date(500), new Date(510)), null);
+            // Test
+            assertEquals(10, page.getEntries().size());
+            assertEquals("Message 509", page.getEntries().get(0).getMessage());
+        }
+    }
+}
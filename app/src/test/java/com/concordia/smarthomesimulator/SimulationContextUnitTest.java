@@ -0,0 +1,70 @@
+package com.concordia.smarthomesimulator;
+
+import com.concordia.smarthomesimulator.dataModels.SimulationContext;
+import com.concordia.smarthomesimulator.simulation.LightsSchedule;
+import com.concordia.smarthomesimulator.singletons.SimulationContextSingleton;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.junit.Assert.*;
+
+public class SimulationContextUnitTest {
+
+    private SimulationContext createContext(boolean awayMode, int month) {
+        LightsSchedule schedule = new LightsSchedule(LocalTime.of(19, 0), LocalTime.of(5, 0));
+        return new SimulationContext(true, 2f, awayMode, 12, 22, 17, 5, 8, 0, 35, 5, schedule, LocalDateTime.of(2020, month, 15, 12, 0));
+    }
+
+    @Test
+    public void simulationContextPrecomputesTheSeason() {
+        // Act
+        SimulationContext summer = createContext(true, 7);
+        SimulationContext winter = createContext(true, 1);
+        // Test
+        assertTrue(summer.isSummer());
+        assertEquals(22, summer.getAwayTemperature());
+        assertFalse(winter.isSummer());
+        assertEquals(17, winter.getAwayTemperature());
+        assertTrue(summer.getThermalParameters().isAwayMode());
+        assertEquals(12, summer.getThermalParameters().getOutsideTemperature(), 0);
+        assertEquals(7, summer.getThermalParameters().getMonth());
+    }
+
+    @Test
+    public void simulationContextMovesToAnotherDateTime() {
+        // Setup
+        SimulationContext context = createContext(false, 8);
+        // Act
+        SimulationContext sameMonth = context.withDateTime(LocalDateTime.of(2020, 8, 31, 23, 59));
+        SimulationContext nextMonth = sameMonth.withDateTime(LocalDateTime.of(2020, 9, 1, 0, 0));
+        // Test
+        assertSame(context.getThermalParameters(), sameMonth.getThermalParameters());
+        assertTrue(sameMonth.isSummer());
+        assertFalse(nextMonth.isSummer());
+        assertEquals(17, nextMonth.getAwayTemperature());
+        assertEquals(9, nextMonth.getThermalParameters().getMonth());
+        assertEquals(2f, nextMonth.getTimeScale(), 0);
+        assertSame(context.getLightsSchedule(), nextMonth.getLightsSchedule());
+        // The context itself is never changed
+        assertEquals(LocalDateTime.of(2020, 8, 15, 12, 0), context.getDateTime());
+    }
+
+    @Test
+    public void simulationContextSingletonPublishesTheContext() {
+        // Setup
+        SimulationContextSingleton singleton = SimulationContextSingleton.getInstance();
+        singleton.setContext(null);
+        // Act
+        SimulationContext missing = singleton.setDateTime(LocalDateTime.of(2020, 1, 1, 0, 0));
+        singleton.setContext(createContext(false, 6));
+        SimulationContext moved = singleton.setDateTime(LocalDateTime.of(2020, 12, 1, 0, 0));
+        // Test
+        assertNull(missing);
+        assertSame(moved, singleton.getContext());
+        assertEquals(12, singleton.getContext().getDateTime().getMonthValue());
+        assertFalse(singleton.getContext().isSummer());
+        singleton.setContext(null);
+    }
+}
@@ -0,0 +1,134 @@
+package com.concordia.smarthomesimulator;
+
+import com.concordia.smarthomesimulator.dataModels.SchedulerMetrics;
+import com.concordia.smarthomesimulator.simulation.SimulationScheduler;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class SimulationSchedulerUnitTest {
+
+    private final AtomicLong realTime = new AtomicLong();
+
+    private void sleep(long duration, TimeUnit unit) {
+        realTime.addAndGet(unit.toNanos(duration));
+    }
+
+    @Test
+    public void simulationSchedulerRunsTheTasksInSimulatedTime() {
+        // Setup
+        List<String> runs = new ArrayList<>();
+        try (SimulationScheduler scheduler = new SimulationScheduler(realTime::get, 100)) {
+            scheduler.scheduleAtFixedRate(() -> runs.add("thermal"), 1, 1, TimeUnit.SECONDS);
+            scheduler.scheduleAtFixedRate(() -> runs.add("clock"), 1, 1, TimeUnit.MINUTES);
+            scheduler.setTimeScale(2);
+            scheduler.setRunning(true);
+            // Act
+            sleep(30, TimeUnit.SECONDS);
+            scheduler.runDueTasks();
+            // Test
+            assertEquals(60, scheduler.getSimulatedTime(TimeUnit.SECONDS));
+            assertEquals(61, runs.size());
+            assertEquals(60, runs.stream().filter("thermal"::equals).count());
+            // The clock and the thermal model see the same minute
+            assertEquals("clock", runs.get(60));
+            assertEquals(61, scheduler.getMetrics().getTicks());
+        }
+    }
+
+    @Test
+    public void simulationSchedulerStandsStillWhilePaused() {
+        // Setup
+        AtomicInteger runs = new AtomicInteger();
+        try (SimulationScheduler scheduler = new SimulationScheduler(realTime::get, 10)) {
+            scheduler.schedule(runs::incrementAndGet, 5, TimeUnit.MINUTES);
+            // Act
+            sleep(10, TimeUnit.MINUTES);
+            scheduler.runDueTasks();
+            int pausedRuns = runs.get();
+            scheduler.setRunning(true);
+            sleep(4, TimeUnit.MINUTES);
+            scheduler.runDueTasks();
+            int earlyRuns = runs.get();
+            sleep(2, TimeUnit.MINUTES);
+            scheduler.runDueTasks();
+            sleep(10, TimeUnit.MINUTES);
+            scheduler.runDueTasks();
+            // Test
+            assertEquals(0, pausedRuns);
+            assertEquals(0, earlyRuns);
+            assertEquals(1, runs.get());
+            assertEquals(16, scheduler.getSimulatedTime(TimeUnit.MINUTES));
+        }
+    }
+
+    @Test
+    public void simulationSchedulerSkipsThePeriodsOverTheCatchUpLimit() {
+        // Setup
+        AtomicInteger runs = new AtomicInteger();
+        try (SimulationScheduler scheduler = new SimulationScheduler(realTime::get, 10)) {
+            scheduler.scheduleAtFixedRate(runs::incrementAndGet, 1, 1, TimeUnit.SECONDS);
+            scheduler.setRunning(true);
+            // Act
+            sleep(100, TimeUnit.SECONDS);
+            scheduler.runDueTasks();
+            int caughtUp = runs.get();
+            sleep(1, TimeUnit.SECONDS);
+            scheduler.runDueTasks();
+            SchedulerMetrics metrics = scheduler.getMetrics();
+            // Test
+            assertEquals(10, caughtUp);
+            assertEquals(11, runs.get());
+            assertEquals(90, metrics.getMissedTicks());
+            assertEquals(11, metrics.getTicks());
+            assertEquals(TimeUnit.SECONDS.toNanos(9), metrics.getMaxLagNanos());
+        }
+    }
+
+    @Test
+    public void simulationSchedulerKeepsGoingAfterAFailingTask() {
+        // Setup
+        AtomicInteger runs = new AtomicInteger();
+        try (SimulationScheduler scheduler = new SimulationScheduler(realTime::get, 10)) {
+            scheduler.scheduleAtFixedRate(() -> {
+                throw new IllegalStateException("Expected");
+            }, 1, 1, TimeUnit.SECONDS);
+            SimulationScheduler.Task cancelled = scheduler.scheduleAtFixedRate(runs::incrementAndGet, 1, 1, TimeUnit.SECONDS);
+            scheduler.setRunning(true);
+            // Act
+            sleep(3, TimeUnit.SECONDS);
+            scheduler.runDueTasks();
+            cancelled.cancel();
+            sleep(3, TimeUnit.SECONDS);
+            scheduler.runDueTasks();
+            // Test
+            assertEquals(3, runs.get());
+            assertEquals(9, scheduler.getMetrics().getTicks());
+        }
+    }
+
+    @Test
+    public void simulationSchedulerWakesUpOnItsOwn() throws InterruptedException {
+        // Setup
+        CountDownLatch ticks = new CountDownLatch(50);
+        try (SimulationScheduler scheduler = new SimulationScheduler(10)) {
+            scheduler.scheduleAtFixedRate(ticks::countDown, 1, 1, TimeUnit.SECONDS);
+            // Act
+            scheduler.setTimeScale(200);
+            scheduler.setRunning(true);
+            boolean done = ticks.await(10, TimeUnit.SECONDS);
+            scheduler.setRunning(false);
+            System.out.println("Scheduler at 200x: " + scheduler.getMetrics());
+            // Test
+            assertTrue(done);
+            assertTrue(scheduler.getSimulatedTime(TimeUnit.SECONDS) >= 50);
+        }
+    }
+}
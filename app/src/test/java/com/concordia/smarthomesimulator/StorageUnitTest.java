@@ -0,0 +1,139 @@
+package com.concordia.smarthomesimulator;
+
+import com.concordia.smarthomesimulator.dataModels.HouseLayout;
+import com.concordia.smarthomesimulator.interfaces.IStorage;
+import com.concordia.smarthomesimulator.storage.DirectoryStorage;
+import com.concordia.smarthomesimulator.storage.LayoutCatalog;
+import com.concordia.smarthomesimulator.storage.MemoryStorage;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class StorageUnitTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private List<IStorage> createStorages() {
+        return Arrays.asList(new MemoryStorage(), new DirectoryStorage(folder.getRoot()));
+    }
+
+    private byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void storageReadsWhatWasPut() throws IOException {
+        for (IStorage storage : createStorages()) {
+            // Act
+            storage.put("directory/blob.txt", bytes("first"));
+            storage.put("directory/blob.txt", bytes("second"));
+            // Test
+            assertTrue(storage.exists("directory/blob.txt"));
+            assertArrayEquals(bytes("second"), storage.get("directory/blob.txt"));
+            assertTrue(storage.getSize("directory/blob.txt") > 0);
+            assertTrue(storage.getLastModified("directory/blob.txt") > 0);
+        }
+    }
+
+    @Test
+    public void storageStreamsBlobs() throws IOException {
+        for (IStorage storage : createStorages()) {
+            // Act
+            try (OutputStream out = storage.openWrite("blob.txt")) {
+                out.write(bytes("streamed"));
+                // Nothing is stored before the stream is closed
+                assertFalse(storage.exists("blob.txt"));
+            }
+            byte[] read = new byte[8];
+            int count;
+            try (InputStream in = storage.openRead("blob.txt")) {
+                count = in.read(read);
+            }
+            // Test
+            assertEquals(8, count);
+            assertArrayEquals(bytes("streamed"), read);
+        }
+    }
+
+    @Test
+    public void storageListsTheBlobsOfADirectory() throws IOException {
+        for (IStorage storage : createStorages()) {
+            // Setup
+            storage.put("root.txt", bytes("root"));
+            storage.put("directory/b.txt", bytes("b"));
+            storage.put("directory/a.txt", bytes("a"));
+            storage.put("directory/nested/c.txt", bytes("c"));
+            // Act
+            ArrayList<String> names = new ArrayList<>(storage.list("directory"));
+            Collections.sort(names);
+            // Test
+            assertEquals(Arrays.asList("a.txt", "b.txt"), names);
+            assertEquals(Collections.singletonList("root.txt"), storage.list(null));
+            assertTrue(storage.list("missing").isEmpty());
+        }
+    }
+
+    @Test
+    public void storageRenamesAppendedBlobsOverOthers() throws IOException {
+        for (IStorage storage : createStorages()) {
+            // Setup
+            storage.append("log.txt", bytes("old"));
+            storage.append("log.txt.new", bytes("new"));
+            // Act
+            storage.rename("log.txt.new", "log.txt");
+            // Test
+            assertArrayEquals(bytes("new"), storage.get("log.txt"));
+            assertFalse(storage.exists("log.txt.new"));
+        }
+    }
+
+    @Test
+    public void storageDeletesBlobs() throws IOException {
+        for (IStorage storage : createStorages()) {
+            // Setup
+            storage.put("blob.txt", bytes("blob"));
+            // Act
+            boolean deleted = storage.delete("blob.txt");
+            // Test
+            assertTrue(deleted);
+            assertFalse(storage.delete("blob.txt"));
+            assertFalse(storage.exists("blob.txt"));
+            assertEquals(0, storage.getSize("blob.txt"));
+            try {
+                storage.get("blob.txt");
+                fail();
+            } catch (FileNotFoundException e) {
+                // Expected
+            }
+        }
+    }
+
+    @Test
+    public void storageRunsTheLayoutCatalogInMemory() throws IOException {
+        // Setup
+        MemoryStorage storage = new MemoryStorage();
+        LayoutCatalog catalog = new LayoutCatalog(storage, "layouts.catalog", "layouts");
+        // Act
+        catalog.save(new HouseLayout("layout", null), "layout.txt");
+        LayoutCatalog reopened = new LayoutCatalog(storage, "layouts.catalog", "layouts");
+        HouseLayout layout = reopened.load(reopened.find("layout"));
+        // Test
+        assertFalse(reopened.refresh());
+        assertEquals("layout", layout.getName());
+        assertEquals(Collections.singletonList("layout.txt"), storage.list("layouts"));
+        assertNull(storage.getLocalDirectory("layouts"));
+    }
+}
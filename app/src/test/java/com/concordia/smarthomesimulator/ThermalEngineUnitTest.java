@@ -0,0 +1,125 @@
+package com.concordia.smarthomesimulator;
+
+import com.concordia.smarthomesimulator.dataModels.*;
+import com.concordia.smarthomesimulator.enums.VentilationStatus;
+import com.concordia.smarthomesimulator.interfaces.OnThermalEventListener;
+import com.concordia.smarthomesimulator.simulation.ThermalEngine;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ThermalEngineUnitTest {
+
+    private static final int SUMMER_MONTH = 6;
+    private static final int WINTER_MONTH = 12;
+
+    private ThermalParameters parameters(double outside, int month) {
+        return new ThermalParameters(false, outside, Constants.DEFAULT_SUMMER_START, Constants.DEFAULT_SUMMER_END, month, 0, 35);
+    }
+
+    @Test
+    public void thermalEngineHeatsRoomToDesiredTemperature() {
+        // Setup
+        HouseLayout layout = new HouseLayout("layout", null);
+        Room room = new Room("room", new Geometry());
+        room.setActualTemperature(15);
+        room.setDesiredTemperature(20);
+        layout.addRoom(room);
+        ThermalEngine engine = new ThermalEngine();
+        // Act
+        engine.advance(layout, parameters(10, WINTER_MONTH), 100);
+        // Test
+        assertEquals(20, room.getActualTemperature(), Constants.MAX_TEMPERATURE_DIFFERENCE_WHEN_PAUSED + Constants.HVAC_TEMPERATURE_CHANGE);
+        assertEquals(100, engine.getTicks());
+    }
+
+    @Test
+    public void thermalEngineReportsVentilationChanges() {
+        // Setup
+        HouseLayout layout = new HouseLayout("layout", null);
+        Room room = new Room("room", new Geometry());
+        room.setActualTemperature(25);
+        room.setDesiredTemperature(20);
+        layout.addRoom(room);
+        RecordingListener listener = new RecordingListener();
+        ThermalEngine engine = new ThermalEngine();
+        engine.setOnThermalEventListener(listener);
+        // Act
+        engine.advance(layout, parameters(30, WINTER_MONTH), 1);
+        // Test
+        assertEquals(VentilationStatus.COOLING, room.getVentilationStatus());
+        assertTrue(listener.ventilation.contains("room"));
+    }
+
+    @Test
+    public void thermalEngineOpensWindowsInSummer() {
+        // Setup
+        HouseLayout layout = new HouseLayout("layout", null);
+        Room room = new Room("room", new Geometry());
+        Window window = new Window(new Geometry());
+        Window locked = new Window(new Geometry(1, 1));
+        locked.setIsLocked(true);
+        room.addDevice(window);
+        room.addDevice(locked);
+        room.setActualTemperature(25);
+        room.setDesiredTemperature(20);
+        room.setVentilationStatus(VentilationStatus.COOLING);
+        layout.addRoom(room);
+        RecordingListener listener = new RecordingListener();
+        ThermalEngine engine = new ThermalEngine();
+        engine.setOnThermalEventListener(listener);
+        // Act
+        engine.advance(layout, parameters(10, SUMMER_MONTH), 1);
+        // Test
+        assertTrue(window.getIsOpened());
+        assertEquals(1, listener.lockedWindows.size());
+        assertTrue(listener.lockedWindows.get(0).contains("room"));
+    }
+
+    @Test
+    public void thermalEngineReportsExtremeTemperatureOnce() {
+        // Setup
+        HouseLayout layout = new HouseLayout("layout", null);
+        Room room = new Room("room", new Geometry());
+        room.setActualTemperature(50);
+        room.setDesiredTemperature(50);
+        layout.addRoom(room);
+        RecordingListener listener = new RecordingListener();
+        ThermalEngine engine = new ThermalEngine();
+        engine.setOnThermalEventListener(listener);
+        // Act
+        engine.advance(layout, parameters(50, WINTER_MONTH), 10);
+        // Test
+        assertEquals(1, listener.extreme.size());
+    }
+
+    @Test
+    public void thermalEngineKnowsIfMonthIsInSummer() {
+        assertTrue(ThermalEngine.isInSummer(11, 2, 1));
+        assertFalse(ThermalEngine.isInSummer(11, 2, 5));
+    }
+
+    private static class RecordingListener implements OnThermalEventListener {
+        private final List<String> ventilation = new ArrayList<>();
+        private final List<String> extreme = new ArrayList<>();
+        private final List<List<String>> lockedWindows = new ArrayList<>();
+
+        @Override
+        public void onVentilationChanged(Room room, VentilationStatus status) {
+            ventilation.add(room.getName());
+        }
+
+        @Override
+        public void onExtremeTemperature(Room room, boolean tooHot) {
+            extreme.add(room.getName());
+        }
+
+        @Override
+        public void onWindowsLocked(List<String> roomNames) {
+            lockedWindows.add(roomNames);
+        }
+    }
+}
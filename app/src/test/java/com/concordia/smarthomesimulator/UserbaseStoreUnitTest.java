@@ -0,0 +1,129 @@
+package com.concordia.smarthomesimulator;
+
+import com.concordia.smarthomesimulator.dataModels.User;
+import com.concordia.smarthomesimulator.dataModels.Userbase;
+import com.concordia.smarthomesimulator.enums.Permissions;
+import com.concordia.smarthomesimulator.storage.MemoryStorage;
+import com.concordia.smarthomesimulator.storage.UserbaseStore;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class UserbaseStoreUnitTest {
+
+    private Userbase createUserbase() {
+        List<User> users = new ArrayList<>();
+        users.add(new User("a", "a", Permissions.PARENT));
+        users.add(new User("b", "b", Permissions.CHILD));
+        return new Userbase(users);
+    }
+
+    @Test
+    public void userbaseStoreHasNoUserbaseByDefault() {
+        // Setup
+        UserbaseStore store = new UserbaseStore(new MemoryStorage(), "users.txt", 0);
+        // Test
+        assertNull(store.get());
+    }
+
+    @Test
+    public void userbaseStoreSharesTheSavedUserbase() {
+        // Setup
+        UserbaseStore store = new UserbaseStore(new MemoryStorage(), "users.txt", 60000);
+        Userbase userbase = createUserbase();
+        // Act
+        store.save(userbase);
+        // Test
+        assertSame(userbase, store.get());
+        assertEquals(0, store.getWriteCount());
+    }
+
+    @Test
+    public void userbaseStoreWritesBurstsOfSavesOnce() {
+        // Setup
+        MemoryStorage storage = new MemoryStorage();
+        UserbaseStore store = new UserbaseStore(storage, "users.txt", 60000);
+        Userbase userbase = createUserbase();
+        // Act
+        for (int i = 0; i < 10; i++) {
+            userbase.addUserIfPossible(new User("user " + i, "password", Permissions.GUEST));
+            store.save(userbase);
+        }
+        boolean flushed = store.flush();
+        store.flush();
+        // Test
+        assertTrue(flushed);
+        assertEquals(10, store.getSaveCount());
+        assertEquals(1, store.getWriteCount());
+        assertEquals(userbase, new UserbaseStore(storage, "users.txt", 0).get());
+    }
+
+    @Test
+    public void userbaseStoreWritesTheUserbaseAsItWasSaved() {
+        // Setup
+        MemoryStorage storage = new MemoryStorage();
+        UserbaseStore store = new UserbaseStore(storage, "users.txt", 60000);
+        Userbase userbase = createUserbase();
+        // Act
+        store.save(userbase);
+        userbase.addUserIfPossible(new User("not saved", "password", Permissions.GUEST));
+        store.flush();
+        Userbase read = new UserbaseStore(storage, "users.txt", 0).get();
+        // Test
+        assertSame(userbase, store.get());
+        assertEquals(2, read.getUsers().size());
+        assertNull(read.getUserFromUsername("not saved"));
+    }
+
+    @Test
+    public void userbaseStoreWritesAfterTheDelay() throws InterruptedException {
+        // Setup
+        MemoryStorage storage = new MemoryStorage();
+        UserbaseStore store = new UserbaseStore(storage, "users.txt", 10);
+        // Act
+        store.save(createUserbase());
+        long deadline = System.currentTimeMillis() + 5000;
+        while (store.getWriteCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        // Test
+        assertEquals(1, store.getWriteCount());
+        assertTrue(storage.exists("users.txt"));
+    }
+
+    @Test
+    public void userbaseStoreWritesSavesThatNeverStop() throws InterruptedException {
+        // Setup
+        MemoryStorage storage = new MemoryStorage();
+        UserbaseStore store = new UserbaseStore(storage, "users.txt", 50);
+        Userbase userbase = createUserbase();
+        // Act
+        // Save more often than the delay, like the simulation does on every tick
+        long deadline = System.currentTimeMillis() + 5000;
+        while (store.getWriteCount() == 0 && System.currentTimeMillis() < deadline) {
+            store.save(userbase);
+            Thread.sleep(5);
+        }
+        // Test
+        assertTrue(store.getWriteCount() > 0);
+        assertTrue(storage.exists("users.txt"));
+    }
+
+    @Test
+    public void userbaseStoreCopiesAreIndependent() {
+        // Setup
+        UserbaseStore store = new UserbaseStore(new MemoryStorage(), "users.txt", 60000);
+        Userbase userbase = createUserbase();
+        store.save(userbase);
+        // Act
+        Userbase copy = store.copy();
+        copy.deleteUserFromUsernameIfPossible("a");
+        // Test
+        assertNotSame(userbase, copy);
+        assertNotNull(userbase.getUserFromUsername("a"));
+        assertNull(copy.getUserFromUsername("a"));
+    }
+}